@@ -0,0 +1,83 @@
+package com.weather.benchmarks;
+
+import com.weather.processing.entity.WeatherData;
+import com.weather.processing.forecast.LinearTrendForecastModel;
+import com.weather.processing.forecast.ObservationWindow;
+import com.weather.processing.forecast.batch.BatchForecast;
+import com.weather.processing.forecast.batch.BatchForecastEngine;
+import com.weather.processing.forecast.batch.BatchForecastKernel;
+import com.weather.processing.forecast.batch.ScalarBatchForecastKernel;
+import com.weather.processing.forecast.batch.StationBatch;
+import com.weather.shared.dto.WeatherForecastDto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fleet forecast throughput: per-station {@code LinearTrendForecastModel} calls against the
+ * scalar and SIMD kernels of the batch engine. Scores are per batch of {@code stations}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class BatchForecastBenchmark {
+
+    private static final int HOURS = 24;
+
+    @Param({"1024", "65536"})
+    private int stations;
+
+    private final Instant now = Instant.parse("2025-10-31T12:00:00Z");
+    private final LinearTrendForecastModel linearModel = new LinearTrendForecastModel();
+    private final ScalarBatchForecastKernel scalarKernel = new ScalarBatchForecastKernel();
+    private BatchForecastKernel vectorKernel;
+    private List<ObservationWindow> histories;
+    private StationBatch batch;
+    private BatchForecast out;
+
+    @Setup
+    public void setUp() {
+        vectorKernel = BatchForecastEngine.vectorKernel().orElseThrow(() -> new IllegalStateException(
+                "Vector API kernel is missing: build weather-processing with -Pvector"));
+        Random random = new Random(42);
+        histories = new ArrayList<>(stations);
+        batch = new StationBatch(stations);
+        for (int s = 0; s < stations; s++) {
+            List<WeatherData> history = List.of(
+                    ForecastModelBenchmark.createObservation(now, random.nextInt(24)),
+                    ForecastModelBenchmark.createObservation(now.minusSeconds(3600 + random.nextInt(7200)),
+                            random.nextInt(24)));
+            histories.add(ObservationWindow.of(history));
+            batch.add("station-" + s, history);
+        }
+        out = new BatchForecast(stations, HOURS);
+    }
+
+    @Benchmark
+    public void perStationModel(Blackhole blackhole) {
+        for (ObservationWindow history : histories) {
+            List<WeatherForecastDto.ForecastItem> items = linearModel.forecast(0, () -> history, now, HOURS);
+            blackhole.consume(items);
+        }
+    }
+
+    @Benchmark
+    public BatchForecast scalarKernel() {
+        scalarKernel.forecast(batch, out);
+        return out;
+    }
+
+    @Benchmark
+    public BatchForecast vectorKernel() {
+        vectorKernel.forecast(batch, out);
+        return out;
+    }
+}
\ No newline at end of file
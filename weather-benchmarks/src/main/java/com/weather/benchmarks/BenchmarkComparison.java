@@ -0,0 +1,81 @@
+package com.weather.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Compares two JMH JSON result files benchmark by benchmark (name, mode and parameters) and
+ * prints the change of the primary score. Benchmarks present in only one of the files are
+ * listed as added or removed.
+ * <pre>
+ * java -cp benchmarks.jar com.weather.benchmarks.BenchmarkComparison jmh-result-1.0.0.json jmh-result-1.1.0.json
+ * </pre>
+ */
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <candidate.json>");
+            System.exit(1);
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        compare(read(objectMapper, Path.of(args[0])), read(objectMapper, Path.of(args[1])), System.out);
+    }
+
+    static Map<String, Score> read(ObjectMapper objectMapper, Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : objectMapper.readTree(file.toFile())) {
+            JsonNode metric = result.path("primaryMetric");
+            scores.put(key(result), new Score(metric.path("score").asDouble(), metric.path("scoreError").asDouble(),
+                    metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    static void compare(Map<String, Score> baseline, Map<String, Score> candidate, PrintStream out) {
+        out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        baseline.forEach((key, before) -> {
+            Score after = candidate.get(key);
+            if (after == null) {
+                out.printf("%-90s %14.3f %14s %9s%n", key, before.score(), "-", "removed");
+            } else {
+                double change = before.score() == 0 ? 0 : (after.score() - before.score()) / before.score() * 100;
+                out.printf("%-90s %14.3f %14.3f %+8.1f%% %s%n", key, before.score(), after.score(), change,
+                        after.unit());
+            }
+        });
+        candidate.forEach((key, after) -> {
+            if (!baseline.containsKey(key)) {
+                out.printf("%-90s %14s %14.3f %9s%n", key, "-", after.score(), "added");
+            }
+        });
+    }
+
+    private static String key(JsonNode result) {
+        // Class and method only: the package is the same for every benchmark.
+        String benchmark = result.path("benchmark").asText();
+        String name = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1)
+                + " [" + result.path("mode").asText() + "]";
+        StringJoiner params = new StringJoiner(", ", " (", ")").setEmptyValue("");
+        Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> param = fields.next();
+            params.add(param.getKey() + "=" + param.getValue().asText());
+        }
+        return name + params;
+    }
+
+    record Score(double score, double error, String unit) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.weather.benchmarks;
+
+import java.lang.reflect.Field;
+
+/**
+ * Sets {@code @Value} fields of services constructed outside of a Spring context.
+ */
+final class Fields {
+
+    private Fields() {
+    }
+
+    static void set(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + name + " on " + target.getClass().getSimpleName(), e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.weather.benchmarks;
+
+import com.weather.processing.entity.WeatherData;
+import com.weather.processing.forecast.HoltForecastModel;
+import com.weather.processing.forecast.LeastSquaresForecastModel;
+import com.weather.processing.forecast.LinearTrendForecastModel;
+import com.weather.processing.forecast.ObservationWindow;
+import com.weather.shared.dto.WeatherForecastDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-forecast cost of the two-point linear model, which needs the station history on every
+ * cache miss, against the incremental Holt model, which forecasts from O(1) state, and the
+ * least-squares model, which fits the whole window.
+ * <p>
+ * {@code linearWithHistoryLoad} rebuilds the history on every call and is a lower bound of what
+ * the database path costs; the real query adds a round trip on top. Run with {@code -prof gc} to
+ * see that {@code regression} allocates only the returned items.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForecastModelBenchmark {
+
+    private static final int STATION_KEY = 1;
+    private static final int HISTORY_SIZE = 15;
+
+    @Param({"1", "24"})
+    private int hours;
+
+    private final Instant now = Instant.parse("2025-10-31T12:00:00Z");
+    private LinearTrendForecastModel linearModel;
+    private HoltForecastModel holtModel;
+    private LeastSquaresForecastModel regressionModel;
+    private ObservationWindow window;
+    private WeatherData nextObservation;
+
+    @Setup
+    public void setUp() {
+        linearModel = new LinearTrendForecastModel();
+        holtModel = new HoltForecastModel(0.5, 0.3);
+        regressionModel = new LeastSquaresForecastModel();
+        window = ObservationWindow.of(createHistory(now));
+        holtModel.forecast(STATION_KEY, () -> window, now, 1);
+        nextObservation = createObservation(now.plus(1, ChronoUnit.HOURS), 0);
+    }
+
+    @Benchmark
+    public List<WeatherForecastDto.ForecastItem> linear() {
+        return linearModel.forecast(STATION_KEY, () -> window, now, hours);
+    }
+
+    @Benchmark
+    public List<WeatherForecastDto.ForecastItem> linearWithHistoryLoad() {
+        return linearModel.forecast(STATION_KEY, () -> ObservationWindow.of(createHistory(now)), now, hours);
+    }
+
+    @Benchmark
+    public List<WeatherForecastDto.ForecastItem> holt() {
+        return holtModel.forecast(STATION_KEY, () -> window, now, hours);
+    }
+
+    @Benchmark
+    public List<WeatherForecastDto.ForecastItem> regression() {
+        return regressionModel.forecast(STATION_KEY, () -> window, now, hours);
+    }
+
+    @Benchmark
+    public void holtObservationUpdate() {
+        nextObservation.setTimestamp(nextObservation.getTimestamp().plusSeconds(3600));
+        holtModel.onObservation(nextObservation);
+    }
+
+    static List<WeatherData> createHistory(Instant latest) {
+        List<WeatherData> data = new ArrayList<>(HISTORY_SIZE);
+        for (int i = 0; i < HISTORY_SIZE; i++) {
+            data.add(createObservation(latest.minus(i, ChronoUnit.HOURS), i));
+        }
+        return data;
+    }
+
+    static WeatherData createObservation(Instant timestamp, int hoursAgo) {
+        WeatherData data = new WeatherData();
+        data.setStationKey(STATION_KEY);
+        data.setTimestamp(timestamp);
+        data.setTemperature(20.0 + Math.sin(hoursAgo / 3.0));
+        data.setHumidity(60.0 - hoursAgo * 0.5);
+        data.setPressure(1013.0 + hoursAgo * 0.1);
+        data.setPrecipitation(hoursAgo % 4 == 0 ? 0.5 : 0.0);
+        return data;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.weather.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.shared.dto.WeatherForecastDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding cost of a forecast response as JSON and Smile, with and without gzip, using mappers
+ * configured the way Spring MVC builds them. Response sizes are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForecastSerializationBenchmark {
+
+    @Param({"json", "smile", "json-gzip", "smile-gzip"})
+    private String encoding;
+
+    @Param({"24"})
+    private int hours;
+
+    private ObjectMapper mapper;
+    private boolean gzip;
+    private WeatherForecastDto forecast;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = encoding.startsWith("smile")
+                ? Jackson2ObjectMapperBuilder.smile().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        gzip = encoding.endsWith("-gzip");
+
+        Instant now = Instant.parse("2025-10-31T12:00:00Z");
+        List<WeatherForecastDto.ForecastItem> items = new ArrayList<>(hours);
+        for (int i = 1; i <= hours; i++) {
+            items.add(new WeatherForecastDto.ForecastItem(now.plus(i, ChronoUnit.HOURS),
+                    18.25 + i * 0.37, 64.5 - i * 0.8, 1012.6 + i * 0.05, i % 5 == 0 ? 0.4 : 0.0));
+        }
+        forecast = new WeatherForecastDto("station-42", now, items);
+        encoded = serialize();
+        System.out.printf("%n%s forecast of %d hours: %d bytes%n", encoding, hours, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(2048);
+        try (OutputStream out = gzip ? new GZIPOutputStream(buffer) : buffer) {
+            mapper.writeValue(out, forecast);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Benchmark
+    public WeatherForecastDto deserialize() throws IOException {
+        try (InputStream in = gzip ? new GZIPInputStream(new ByteArrayInputStream(encoded))
+                : new ByteArrayInputStream(encoded)) {
+            return mapper.readValue(in, WeatherForecastDto.class);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.weather.benchmarks;
+
+import com.weather.processing.forecast.ForecastModelRegistry;
+import com.weather.processing.forecast.HoltForecastModel;
+import com.weather.processing.forecast.LeastSquaresForecastModel;
+import com.weather.processing.forecast.LinearTrendForecastModel;
+import com.weather.processing.forecast.ObservationWindow;
+import com.weather.processing.service.ForecastHorizonMode;
+import com.weather.processing.service.ForecastService;
+import com.weather.processing.service.WeatherDataService;
+import com.weather.processing.station.StationDictionary;
+import com.weather.processing.station.StationService;
+import com.weather.shared.dto.WeatherForecastDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ForecastService#generateForecast} end to end with the data service stubbed out: model
+ * resolution, cache lookup and, without a cache, the model itself on every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForecastServiceBenchmark {
+
+    private static final String STATION_ID = "station-1";
+    private static final int STATION_KEY = 1;
+    private static final int HISTORY_SIZE = 15;
+
+    @Param({LinearTrendForecastModel.NAME, HoltForecastModel.NAME, LeastSquaresForecastModel.NAME})
+    private String model;
+
+    @Param({"none", "caffeine"})
+    private String cache;
+
+    @Param({"24"})
+    private int hours;
+
+    private ForecastService forecastService;
+
+    @Setup
+    public void setUp() {
+        ObservationWindow history = ObservationWindow.of(ForecastModelBenchmark.createHistory(Instant.now()));
+        StationDictionary stationDictionary = new StationDictionary(null, null) {
+            @Override
+            public OptionalInt findKey(String stationId) {
+                return OptionalInt.of(STATION_KEY);
+            }
+
+            @Override
+            public String getStationId(int key) {
+                return STATION_ID;
+            }
+        };
+        WeatherDataService weatherDataService = new WeatherDataService(null, null, stationDictionary, null) {
+            @Override
+            public ObservationWindow getLatestWindow(int stationKey, int limit) {
+                return history;
+            }
+        };
+        ForecastModelRegistry registry = new ForecastModelRegistry(
+                List.of(new LinearTrendForecastModel(), new HoltForecastModel(0.5, 0.3), new LeastSquaresForecastModel()),
+                LinearTrendForecastModel.NAME);
+        CacheManager cacheManager = "caffeine".equals(cache)
+                ? new CaffeineCacheManager(ForecastService.FORECAST_CACHE)
+                : new NoOpCacheManager();
+
+        forecastService = new ForecastService(weatherDataService, registry, cacheManager,
+                new StationService(null, stationDictionary), stationDictionary);
+        Fields.set(forecastService, "historySize", HISTORY_SIZE);
+        Fields.set(forecastService, "maxForecastHours", 24);
+        Fields.set(forecastService, "horizonMode", ForecastHorizonMode.PER_REQUEST);
+        Fields.set(forecastService, "neighbourCount", 4);
+        Fields.set(forecastService, "neighbourCandidates", 16);
+        Fields.set(forecastService, "neighbourMaxDistanceKm", 300.0);
+    }
+
+    @Benchmark
+    public WeatherForecastDto generateForecast() {
+        return forecastService.generateForecast(STATION_ID, hours, model);
+    }
+}
\ No newline at end of file
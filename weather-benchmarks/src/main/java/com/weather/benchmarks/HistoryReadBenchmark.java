@@ -0,0 +1,119 @@
+package com.weather.benchmarks;
+
+import com.weather.processing.WeatherProcessingApplication;
+import com.weather.processing.entity.WeatherData;
+import com.weather.processing.forecast.ObservationWindow;
+import com.weather.processing.repository.WeatherDataRepository;
+import com.weather.processing.station.StationDictionary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the latest history of one station for a forecast against PostgreSQL 15 in a
+ * Testcontainers container: managed {@link WeatherData} entities loaded through a persistence
+ * context, as the forecast path used to, against the JDBC projection into an
+ * {@link ObservationWindow}. Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}.
+ * Needs a Docker daemon.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HistoryReadBenchmark {
+
+    private static final String LATEST_ENTITIES =
+            "SELECT * FROM weather_data WHERE station_key = ?1 ORDER BY timestamp DESC LIMIT ?2";
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+    private static final int ROWS_PER_STATION = 200;
+
+    @Param({"100"})
+    private int stations;
+
+    @Param({"15"})
+    private int historySize;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private WeatherDataRepository weatherDataRepository;
+    private int[] stationKeys;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:15")
+                .withDatabaseName("benchmark_db")
+                .withUsername("benchmark")
+                .withPassword("benchmark");
+        postgres.start();
+
+        context = new SpringApplicationBuilder(WeatherProcessingApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgres.getUsername(),
+                        "--spring.datasource.password=" + postgres.getPassword(),
+                        "--spring.rabbitmq.listener.simple.auto-startup=false",
+                        "--weather.live.enabled=false",
+                        "--logging.level.com.weather=WARN");
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        weatherDataRepository = context.getBean(WeatherDataRepository.class);
+
+        StationDictionary stationDictionary = context.getBean(StationDictionary.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        stationKeys = new int[stations];
+        for (int s = 0; s < stations; s++) {
+            stationKeys[s] = stationDictionary.getOrCreateKey("station-" + s);
+            List<Object[]> rows = new ArrayList<>(ROWS_PER_STATION);
+            for (int hour = 0; hour < ROWS_PER_STATION; hour++) {
+                rows.add(new Object[]{stationKeys[s], Timestamp.from(BASE.plusSeconds(3600L * hour)),
+                        15.0 + hour % 10, 60.0, 1013.0, 0.0});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO weather_data (station_key, timestamp, temperature, humidity, "
+                    + "pressure, precipitation) VALUES (?, ?, ?, ?, ?, ?)", rows);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public List<?> managedEntities() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createNativeQuery(LATEST_ENTITIES, WeatherData.class)
+                    .setParameter(1, nextStationKey())
+                    .setParameter(2, historySize)
+                    .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public ObservationWindow projection() {
+        return weatherDataRepository.findLatestWindow(nextStationKey(), historySize);
+    }
+
+    private int nextStationKey() {
+        int key = stationKeys[next];
+        next = (next + 1) % stationKeys.length;
+        return key;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.weather.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.weather.shared.dto.WeatherForecastDto;
+import com.weather.shared.messaging.WeatherMessage;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson round trips of the payloads that cross service boundaries: {@link WeatherMessage}
+ * through the AMQP message converter configured like the services do, and a 24-hour
+ * {@link WeatherForecastDto} through the plain mapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Jackson2JsonMessageConverter messageConverter;
+    private WeatherMessage weatherMessage;
+    private WeatherForecastDto forecast;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        messageConverter = new Jackson2JsonMessageConverter(objectMapper);
+        Instant now = Instant.parse("2025-10-31T12:00:00Z");
+        weatherMessage = new WeatherMessage("station-42", now, 18.25, 64.5, 1012.6, 0.4);
+
+        List<WeatherForecastDto.ForecastItem> items = new ArrayList<>(24);
+        for (int i = 1; i <= 24; i++) {
+            items.add(new WeatherForecastDto.ForecastItem(now.plus(i, ChronoUnit.HOURS),
+                    18.25 + i * 0.37, 64.5 - i * 0.8, 1012.6 + i * 0.05, i % 5 == 0 ? 0.4 : 0.0));
+        }
+        forecast = new WeatherForecastDto("station-42", now, items);
+    }
+
+    @Benchmark
+    public Object weatherMessageThroughConverter() {
+        Message message = messageConverter.toMessage(weatherMessage, new MessageProperties());
+        return messageConverter.fromMessage(message);
+    }
+
+    @Benchmark
+    public WeatherMessage weatherMessageRoundTrip() throws IOException {
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(weatherMessage), WeatherMessage.class);
+    }
+
+    @Benchmark
+    public WeatherForecastDto forecastRoundTrip() throws IOException {
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(forecast), WeatherForecastDto.class);
+    }
+}
\ No newline at end of file
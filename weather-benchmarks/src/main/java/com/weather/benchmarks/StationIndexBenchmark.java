@@ -0,0 +1,71 @@
+package com.weather.benchmarks;
+
+import com.weather.processing.station.StationIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Neighbour lookups in the station k-d tree at fleet scale. {@code build} is the cost of a full
+ * reload, also paid once per {@code OVERLAY_LIMIT} registrations; {@code register} adds one
+ * station to the overlay of a freshly built tree.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StationIndexBenchmark {
+
+    @Param({"200000"})
+    private int stations;
+
+    private List<StationIndex.Entry> entries;
+    private StationIndex index;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+        entries = new ArrayList<>(stations);
+        for (int i = 0; i < stations; i++) {
+            entries.add(new StationIndex.Entry(i + 1,
+                    Math.toDegrees(Math.asin(random.nextDouble() * 2 - 1)), random.nextDouble() * 360 - 180));
+        }
+        index = StationIndex.of(entries);
+    }
+
+    @Benchmark
+    public List<StationIndex.Neighbour> nearest8() {
+        return index.nearest(randomLatitude(), randomLongitude(), 8, key -> true);
+    }
+
+    @Benchmark
+    public List<StationIndex.Neighbour> withinRadius100Km() {
+        return index.withinRadius(randomLatitude(), randomLongitude(), 100, 100);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public StationIndex build() {
+        return StationIndex.of(entries);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public StationIndex register() {
+        return index.with(new StationIndex.Entry(stations + 1, randomLatitude(), randomLongitude()));
+    }
+
+    private double randomLatitude() {
+        return random.nextDouble() * 180 - 90;
+    }
+
+    private double randomLongitude() {
+        return random.nextDouble() * 360 - 180;
+    }
+}
\ No newline at end of file
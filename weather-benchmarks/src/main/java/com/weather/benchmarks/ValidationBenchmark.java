@@ -0,0 +1,54 @@
+package com.weather.benchmarks;
+
+import com.weather.shared.dto.WeatherDataDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of an incoming observation, as done for every {@code POST /api/v1/weather/data}.
+ * The invalid case also pays for message interpolation of each violation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private WeatherDataDto valid;
+    private WeatherDataDto invalid;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        Instant now = Instant.parse("2025-10-31T12:00:00Z");
+        valid = new WeatherDataDto("station-42", now, 18.25, 64.5, 1012.6, 0.4);
+        invalid = new WeatherDataDto("", now, 180.0, 164.5, 512.6, -1.0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<WeatherDataDto>> validObservation() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<WeatherDataDto>> invalidObservation() {
+        return validator.validate(invalid);
+    }
+}
\ No newline at end of file
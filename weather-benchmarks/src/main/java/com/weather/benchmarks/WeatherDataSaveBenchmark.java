@@ -0,0 +1,84 @@
+package com.weather.benchmarks;
+
+import com.weather.processing.WeatherProcessingApplication;
+import com.weather.processing.service.WeatherDataService;
+import com.weather.shared.messaging.WeatherMessage;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link WeatherDataService#saveWeatherData} against PostgreSQL 15 in a Testcontainers
+ * container: station key lookup, duplicate check, insert, hourly rollup upsert and the
+ * after-commit listeners. Needs a Docker daemon; RabbitMQ is not required, the listener
+ * container is not started and live publishing is disabled.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeatherDataSaveBenchmark {
+
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Param({"100"})
+    private int stations;
+
+    @Param({"true", "false"})
+    private boolean rollup;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private WeatherDataService weatherDataService;
+    private String[] stationIds;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:15")
+                .withDatabaseName("benchmark_db")
+                .withUsername("benchmark")
+                .withPassword("benchmark");
+        postgres.start();
+
+        context = new SpringApplicationBuilder(WeatherProcessingApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgres.getUsername(),
+                        "--spring.datasource.password=" + postgres.getPassword(),
+                        "--spring.rabbitmq.listener.simple.auto-startup=false",
+                        "--weather.live.enabled=false",
+                        "--weather.aggregates.rollup.enabled=" + rollup,
+                        "--logging.level.com.weather=WARN");
+        weatherDataService = context.getBean(WeatherDataService.class);
+
+        stationIds = new String[stations];
+        for (int i = 0; i < stations; i++) {
+            stationIds[i] = "station-" + i;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public void saveWeatherData() {
+        // Every call stores a new row: stations are cycled and each gets a fresh minute.
+        long n = sequence.getAndIncrement();
+        String stationId = stationIds[(int) (n % stations)];
+        Instant timestamp = BASE.plusSeconds(60 * (n / stations));
+        weatherDataService.saveWeatherData(new WeatherMessage(stationId, timestamp,
+                15.0 + n % 10, 60.0, 1013.0, 0.0));
+    }
+}
\ No newline at end of file
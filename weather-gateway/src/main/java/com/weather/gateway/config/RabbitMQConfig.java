@@ -33,6 +33,22 @@ public class RabbitMQConfig {
                 .with(WEATHER_DATA_ROUTING_KEY);
     }
 
+    @Bean
+    public FanoutExchange weatherLiveExchange() {
+        return new FanoutExchange(WEATHER_LIVE_EXCHANGE, false, false);
+    }
+
+    // Every gateway instance gets its own server-named queue that disappears with its connection.
+    @Bean
+    public Queue weatherLiveQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding weatherLiveBinding() {
+        return BindingBuilder.bind(weatherLiveQueue()).to(weatherLiveExchange());
+    }
+
     @Bean
     public Jackson2JsonMessageConverter jsonMessageConverter() {
         ObjectMapper objectMapper = new ObjectMapper();
@@ -0,0 +1,29 @@
+package com.weather.gateway.controller;
+
+import com.weather.gateway.live.LiveUpdateHub;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/weather")
+@RequiredArgsConstructor
+@Tag(name = "Live API", description = "API для подписки на новые наблюдения")
+public class LiveUpdateController {
+
+    private final LiveUpdateHub liveUpdateHub;
+
+    @GetMapping(path = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Подписка на наблюдения", description = "Поток SSE с новыми наблюдениями (и прогнозами, если они включены) для указанных станций")
+    public SseEmitter subscribe(@RequestParam("stationIds") List<String> stationIds) {
+        log.info("Live subscription requested for {} stations", stationIds.size());
+        return liveUpdateHub.subscribe(stationIds);
+    }
+}
\ No newline at end of file
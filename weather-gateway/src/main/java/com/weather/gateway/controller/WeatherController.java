@@ -5,16 +5,23 @@ import com.weather.shared.dto.WeatherDataDto;
 import com.weather.shared.dto.WeatherForecastDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.Instant;
+
 @Slf4j
 @Validated
 @RestController
@@ -34,14 +41,31 @@ public class WeatherController {
     }
 
     @GetMapping("/forecast")
-    @Operation(summary = "Получение прогноза погоды", description = "Возвращает прогноз погоды для указанной станции")
-    public WeatherForecastDto getWeatherForecast(
+    @Operation(summary = "Получение прогноза погоды", description = "Возвращает прогноз погоды для указанной станции; с If-None-Match или If-Modified-Since отвечает 304, пока у станции нет новых наблюдений")
+    public ResponseEntity<WeatherForecastDto> getWeatherForecast(
             @RequestParam("stationId") @NotBlank String stationId,
             @RequestParam(value = "hours", defaultValue = "1")
             @Min(value = 1, message = "Hours must be at least 1")
-            @Max(value = 24, message = "Hours cannot exceed 24") int hours) {
+            @Max(value = 24, message = "Hours cannot exceed 24") int hours,
+            @RequestHeader HttpHeaders headers) {
 
         log.info("Getting weather forecast for station: {}, hours: {}", stationId, hours);
-        return weatherService.getWeatherForecast(stationId, hours);
+        return weatherService.getWeatherForecast(stationId, hours, headers);
+    }
+
+    @GetMapping("/history")
+    @Operation(summary = "История наблюдений", description = "Отдаёт потоком наблюдения станции за период [from, to); с параметром limit возвращает страницу и nextPageToken для следующей")
+    public void getWeatherHistory(
+            @RequestParam("stationId") @NotBlank String stationId,
+            @RequestParam("from") Instant from,
+            @RequestParam(value = "to", required = false) Instant to,
+            @RequestParam(value = "pageToken", required = false) String pageToken,
+            @RequestParam(value = "limit", defaultValue = "0")
+            @Min(value = 0, message = "Limit cannot be negative") int limit,
+            HttpServletResponse response) throws IOException {
+
+        log.info("Getting weather history for station: {}, from: {}, to: {}, limit: {}", stationId, from, to, limit);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        weatherService.streamWeatherHistory(stationId, from, to, pageToken, limit, response.getOutputStream());
     }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.weather.gateway.live;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One SSE connection with a bounded buffer. The publisher only enqueues; at most one sender task
+ * per connection writes to the socket, so a slow client never blocks the publisher or other
+ * clients. When the buffer is full the oldest event is dropped.
+ */
+class LiveSubscription {
+
+    record LiveEvent(String name, String data) {
+    }
+
+    private final SseEmitter emitter;
+    private final Set<String> stationIds;
+    private final BlockingQueue<LiveEvent> buffer;
+    private final Executor sender;
+    private final Runnable onFailure;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+
+    LiveSubscription(SseEmitter emitter, Set<String> stationIds, int bufferSize, Executor sender, Runnable onFailure) {
+        this.emitter = emitter;
+        this.stationIds = stationIds;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.sender = sender;
+        this.onFailure = onFailure;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    Set<String> getStationIds() {
+        return stationIds;
+    }
+
+    long getDropped() {
+        return dropped.get();
+    }
+
+    void offer(LiveEvent event) {
+        if (closed.get()) {
+            return;
+        }
+        while (!buffer.offer(event)) {
+            if (buffer.poll() != null) {
+                dropped.incrementAndGet();
+            }
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Marks the subscription closed; returns {@code false} if it already was.
+     */
+    boolean close() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        buffer.clear();
+        return true;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            LiveEvent event;
+            while (!closed.get() && (event = buffer.poll()) != null) {
+                emitter.send(SseEmitter.event().name(event.name()).data(event.data()));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client is gone or the emitter has completed.
+            onFailure.run();
+            return;
+        } finally {
+            draining.set(false);
+        }
+        // An event may have been enqueued after the last poll but before the flag was cleared.
+        if (!closed.get() && !buffer.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+}
\ No newline at end of file
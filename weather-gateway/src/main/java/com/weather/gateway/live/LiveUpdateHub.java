@@ -0,0 +1,138 @@
+package com.weather.gateway.live;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.shared.messaging.WeatherLiveMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes live updates to SSE subscribers through per-station subscriber sets, so an update
+ * touches only the connections that asked for its station. Each update is serialized once
+ * whatever the number of subscribers.
+ */
+@Slf4j
+@Component
+public class LiveUpdateHub {
+
+    private final ObjectMapper objectMapper;
+    private final Executor sender;
+    private final ConcurrentMap<String, Set<LiveSubscription>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    @Value("${weather.live.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${weather.live.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${weather.live.max-stations:1000}")
+    private int maxStations;
+
+    @Autowired
+    public LiveUpdateHub(ObjectMapper objectMapper) {
+        // Sending blocks on the client socket; a virtual thread per drain keeps that cheap.
+        this(objectMapper, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    LiveUpdateHub(ObjectMapper objectMapper, Executor sender) {
+        this.objectMapper = objectMapper;
+        this.sender = sender;
+    }
+
+    public SseEmitter subscribe(Collection<String> stationIds) {
+        return subscribe(stationIds, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(Collection<String> stationIds, SseEmitter emitter) {
+        Set<String> stations = Set.copyOf(stationIds);
+        if (stations.isEmpty() || stations.size() > maxStations) {
+            throw new IllegalArgumentException("Subscribe to between 1 and " + maxStations + " stations");
+        }
+
+        LiveSubscription[] holder = new LiveSubscription[1];
+        LiveSubscription subscription = new LiveSubscription(emitter, stations, bufferSize, sender,
+                () -> unsubscribe(holder[0]));
+        holder[0] = subscription;
+
+        for (String stationId : stations) {
+            subscribers.compute(stationId, (key, current) -> {
+                Set<LiveSubscription> set = current != null ? current : ConcurrentHashMap.newKeySet();
+                set.add(subscription);
+                return set;
+            });
+        }
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(e -> unsubscribe(subscription));
+
+        log.info("Live subscription opened for {} stations, {} connections", stations.size(),
+                connections.incrementAndGet());
+        return emitter;
+    }
+
+    public void publish(WeatherLiveMessage message) {
+        Set<LiveSubscription> stationSubscribers = subscribers.get(message.getStationId());
+        if (stationSubscribers == null || stationSubscribers.isEmpty()) {
+            return;
+        }
+
+        LiveSubscription.LiveEvent observation = toEvent("observation", message.getObservation());
+        LiveSubscription.LiveEvent forecast = toEvent("forecast", message.getForecast());
+        for (LiveSubscription subscription : stationSubscribers) {
+            if (observation != null) {
+                subscription.offer(observation);
+            }
+            if (forecast != null) {
+                subscription.offer(forecast);
+            }
+        }
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    int getSubscribers(String stationId) {
+        Set<LiveSubscription> stationSubscribers = subscribers.get(stationId);
+        return stationSubscribers == null ? 0 : stationSubscribers.size();
+    }
+
+    private void unsubscribe(LiveSubscription subscription) {
+        if (!subscription.close()) {
+            return;
+        }
+        for (String stationId : subscription.getStationIds()) {
+            subscribers.computeIfPresent(stationId, (key, set) -> {
+                set.remove(subscription);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        log.info("Live subscription closed, {} events dropped, {} connections", subscription.getDropped(),
+                connections.decrementAndGet());
+    }
+
+    private LiveSubscription.LiveEvent toEvent(String name, Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return new LiveSubscription.LiveEvent(name, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize live {} event", name, e);
+            return null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.weather.gateway.live;
+
+import com.weather.shared.messaging.WeatherLiveMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class LiveUpdateListener {
+
+    private final LiveUpdateHub liveUpdateHub;
+
+    @RabbitListener(queues = "#{weatherLiveQueue.name}")
+    public void receiveLiveUpdate(WeatherLiveMessage message) {
+        liveUpdateHub.publish(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,373 @@
+package com.weather.gateway.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Sends station-scoped requests to the weather-processing replica that owns the station on a
+ * consistent-hash ring, so each replica caches the forecasts of its own share of the stations
+ * instead of all of them. Replicas come from {@code weather.processing.service.replicas} or, with discovery
+ * enabled, from the addresses the host of {@code weather.processing.service.url} resolves to.
+ * <p>
+ * A replica takes at most {@code load-factor} (at least 1) times the average number of requests in
+ * flight; a station whose owner is full goes to the next replica on the ring. A replica that fails
+ * {@code failure-threshold} requests in a row with a connection error or 502/503/504 is skipped for
+ * {@code ejection-duration} and then tried again. The request itself fails over to the next replica.
+ * <p>
+ * With discovery a single request re-resolves the host once the interval is over; the others keep
+ * routing on the current ring meanwhile.
+ */
+@Slf4j
+@Component
+public class ProcessingReplicaRouter {
+
+    public static final String REQUESTS = "weather.routing.requests";
+    public static final String FAILURES = "weather.routing.failures";
+    public static final String HEALTHY_REPLICAS = "weather.routing.healthy.replicas";
+
+    private final MeterRegistry meterRegistry;
+    private volatile Ring ring;
+    private volatile long resolvedAt;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    @Value("${weather.processing.service.url:http://localhost:8081}")
+    private String processingServiceUrl;
+
+    @Value("${weather.processing.service.replicas:}")
+    private List<String> replicaUrls;
+
+    @Value("${weather.processing.service.discovery.enabled:false}")
+    private boolean discoveryEnabled;
+
+    @Value("${weather.processing.service.discovery.interval:30s}")
+    private Duration discoveryInterval;
+
+    @Value("${weather.processing.routing.virtual-nodes:128}")
+    private int virtualNodes;
+
+    @Value("${weather.processing.routing.load-factor:1.25}")
+    private double loadFactor;
+
+    @Value("${weather.processing.routing.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${weather.processing.routing.ejection-duration:30s}")
+    private Duration ejectionDuration;
+
+    @Value("${weather.processing.routing.max-attempts:2}")
+    private int maxAttempts;
+
+    public ProcessingReplicaRouter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(HEALTHY_REPLICAS, this, ProcessingReplicaRouter::healthyReplicas)
+                .description("Processing replicas currently receiving requests")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void validate() {
+        // Below 1 the bound can be under the average, and then no replica fits it.
+        if (!(loadFactor >= 1)) {
+            throw new IllegalStateException("weather.processing.routing.load-factor must be at least 1, got "
+                    + loadFactor);
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalStateException("weather.processing.routing.max-attempts must be at least 1, got "
+                    + maxAttempts);
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalStateException("weather.processing.routing.virtual-nodes must be at least 1, got "
+                    + virtualNodes);
+        }
+    }
+
+    /**
+     * Calls {@code call} with the base URL of the replica chosen for the station and returns its
+     * result. Connection errors and 502/503/504 are retried on the next replica, up to
+     * {@code max-attempts}; the last failure is rethrown.
+     */
+    public <T> T execute(String stationId, Function<String, T> call) {
+        Route route = route(stationId);
+        if (route.replicas().isEmpty() || maxAttempts < 1) {
+            throw new IllegalStateException("No processing replica to send station " + stationId + " to");
+        }
+        RuntimeException failure = null;
+        for (int attempt = 0; attempt < Math.min(maxAttempts, route.replicas().size()); attempt++) {
+            Replica replica = route.replicas().get(attempt);
+            replica.inFlight.incrementAndGet();
+            try {
+                T result = call.apply(replica.baseUrl);
+                replica.consecutiveFailures.set(0);
+                replica.ejectedUntil = 0;
+                meterRegistry.counter(REQUESTS, "replica", replica.baseUrl,
+                        "placement", placement(route, attempt)).increment();
+                return result;
+            } catch (ResourceAccessException | HttpServerErrorException e) {
+                if (e instanceof HttpServerErrorException serverError && !isUnavailable(serverError)) {
+                    throw serverError;
+                }
+                recordFailure(replica, e);
+                failure = e;
+            } finally {
+                replica.inFlight.decrementAndGet();
+            }
+        }
+        throw failure;
+    }
+
+    /**
+     * Replicas to try for the station: the first one within its load bound starting at the owner,
+     * then the other healthy replicas in ring order. When every replica is ejected they are all
+     * tried in ring order anyway.
+     */
+    Route route(String stationId) {
+        Ring current = ring();
+        long now = System.nanoTime();
+        List<Replica> walk = current.walk(hash(stationId));
+        List<Replica> healthy = new ArrayList<>(walk.size());
+        // Read each counter once: other requests change them meanwhile, and the choice below relies on
+        // the loads adding up to the total the capacity is computed from.
+        int[] loads = new int[walk.size()];
+        long inFlight = 0;
+        for (Replica replica : walk) {
+            if (replica.isHealthy(now)) {
+                loads[healthy.size()] = replica.inFlight.get();
+                inFlight += loads[healthy.size()];
+                healthy.add(replica);
+            }
+        }
+        if (healthy.isEmpty()) {
+            return new Route(walk, walk.get(0));
+        }
+
+        // Bounded loads: the average including this request, times the load factor, rounded up. With a
+        // load factor of at least 1 some replica is below it; the last one takes the request regardless.
+        long capacity = (long) Math.ceil(loadFactor * (inFlight + 1) / healthy.size());
+        int chosen = 0;
+        while (chosen < healthy.size() - 1 && loads[chosen] >= capacity) {
+            chosen++;
+        }
+        healthy.add(0, healthy.remove(chosen));
+        return new Route(healthy, walk.get(0));
+    }
+
+    private Ring ring() {
+        Ring current = ring;
+        if (current == null) {
+            // Nothing to route on yet, so the first requests wait for the first ring.
+            synchronized (this) {
+                current = ring;
+                if (current == null) {
+                    current = refresh(null);
+                }
+            }
+        } else if (discoveryEnabled && System.nanoTime() - resolvedAt > discoveryInterval.toNanos()
+                && refreshing.compareAndSet(false, true)) {
+            try {
+                current = refresh(current);
+            } finally {
+                refreshing.set(false);
+            }
+        }
+        return current;
+    }
+
+    private Ring refresh(Ring previous) {
+        List<String> urls = discoveryEnabled ? discover() : configured();
+        if (urls.isEmpty()) {
+            urls = previous != null ? previous.baseUrls() : List.of(processingServiceUrl);
+        }
+        resolvedAt = System.nanoTime();
+        if (previous != null && previous.baseUrls().equals(urls)) {
+            return previous;
+        }
+
+        // Replicas that stay keep their load and health.
+        Map<String, Replica> known = new HashMap<>();
+        if (previous != null) {
+            previous.replicas.forEach(replica -> known.put(replica.baseUrl, replica));
+        }
+        List<Replica> replicas = urls.stream()
+                .map(url -> known.getOrDefault(url, new Replica(url)))
+                .toList();
+        ring = new Ring(replicas, virtualNodes);
+        log.info("Routing forecasts across {} processing replicas: {}", replicas.size(), urls);
+        return ring;
+    }
+
+    private List<String> configured() {
+        Set<String> urls = new LinkedHashSet<>();
+        for (String url : replicaUrls) {
+            if (!url.isBlank()) {
+                urls.add(stripTrailingSlash(url.trim()));
+            }
+        }
+        return List.copyOf(urls);
+    }
+
+    List<String> discover() {
+        UriComponents url = UriComponentsBuilder.fromHttpUrl(processingServiceUrl).build();
+        try {
+            InetAddress[] addresses = InetAddress.getAllByName(url.getHost());
+            return Arrays.stream(addresses)
+                    .map(address -> UriComponentsBuilder.newInstance()
+                            .scheme(url.getScheme())
+                            .host(address.getHostAddress())
+                            .port(url.getPort())
+                            .toUriString())
+                    .distinct()
+                    .sorted()
+                    .toList();
+        } catch (UnknownHostException e) {
+            log.warn("Cannot resolve processing replicas of {}: {}", url.getHost(), e.getMessage());
+            return List.of();
+        }
+    }
+
+    private void recordFailure(Replica replica, RuntimeException e) {
+        meterRegistry.counter(FAILURES, "replica", replica.baseUrl).increment();
+        if (replica.consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            replica.ejectedUntil = System.nanoTime() + ejectionDuration.toNanos();
+            log.warn("Ejecting processing replica {} for {} after {} failures in a row: {}", replica.baseUrl,
+                    ejectionDuration, replica.consecutiveFailures.get(), e.getMessage());
+        } else {
+            log.debug("Request to processing replica {} failed: {}", replica.baseUrl, e.getMessage());
+        }
+    }
+
+    private double healthyReplicas() {
+        Ring current = ring;
+        if (current == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        return current.replicas.stream().filter(replica -> replica.isHealthy(now)).count();
+    }
+
+    private static String placement(Route route, int attempt) {
+        // An ejected owner is not among the replicas to try.
+        if (attempt > 0 || !route.replicas().contains(route.owner())) {
+            return "failover";
+        }
+        return route.replicas().get(0) == route.owner() ? "owner" : "spill";
+    }
+
+    private static boolean isUnavailable(HttpServerErrorException e) {
+        int status = e.getStatusCode().value();
+        return status == HttpStatus.BAD_GATEWAY.value() || status == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status == HttpStatus.GATEWAY_TIMEOUT.value();
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    // FNV-1a followed by the MurmurHash3 finalizer: stable across JVMs and well spread on the ring.
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    static final class Replica {
+
+        private final String baseUrl;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        // System.nanoTime() at which an ejected replica is tried again, 0 when it is not ejected.
+        private volatile long ejectedUntil;
+
+        private Replica(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        String getBaseUrl() {
+            return baseUrl;
+        }
+
+        private boolean isHealthy(long now) {
+            long until = ejectedUntil;
+            return until == 0 || until - now <= 0;
+        }
+    }
+
+    /**
+     * Replicas in the order to try them, and the owner of the station on the ring.
+     */
+    record Route(List<Replica> replicas, Replica owner) {
+    }
+
+    private static final class Ring {
+
+        private final List<Replica> replicas;
+        private final long[] points;
+        private final Replica[] owners;
+
+        private Ring(List<Replica> replicas, int virtualNodes) {
+            this.replicas = replicas;
+            long[][] nodes = new long[replicas.size() * virtualNodes][];
+            int n = 0;
+            for (int replica = 0; replica < replicas.size(); replica++) {
+                for (int node = 0; node < virtualNodes; node++) {
+                    nodes[n++] = new long[]{hash(replicas.get(replica).baseUrl + "#" + node), replica};
+                }
+            }
+            Arrays.sort(nodes, (a, b) -> Long.compare(a[0], b[0]));
+            points = new long[nodes.length];
+            owners = new Replica[nodes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                points[i] = nodes[i][0];
+                owners[i] = replicas.get((int) nodes[i][1]);
+            }
+        }
+
+        private List<String> baseUrls() {
+            return replicas.stream().map(Replica::getBaseUrl).toList();
+        }
+
+        // Distinct replicas clockwise from the point, the owner first.
+        private List<Replica> walk(long point) {
+            int start = Arrays.binarySearch(points, point);
+            if (start < 0) {
+                start = -start - 1;
+            }
+            Set<Replica> order = new LinkedHashSet<>();
+            for (int i = 0; i < points.length && order.size() < replicas.size(); i++) {
+                order.add(owners[(start + i) % points.length]);
+            }
+            return new ArrayList<>(order);
+        }
+    }
+}
\ No newline at end of file
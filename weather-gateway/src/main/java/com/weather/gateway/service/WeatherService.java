@@ -1,14 +1,29 @@
 package com.weather.gateway.service;
 
+import com.weather.gateway.routing.ProcessingReplicaRouter;
 import com.weather.shared.dto.WeatherDataDto;
 import com.weather.shared.dto.WeatherForecastDto;
 import com.weather.shared.messaging.WeatherMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 
 import static com.weather.shared.config.RabbitMQConfig.*;
 
@@ -19,11 +34,20 @@ public class WeatherService {
 
     private final RabbitTemplate rabbitTemplate;
     private final RestTemplate restTemplate;
+    private final ProcessingReplicaRouter processingReplicaRouter;
 
     @Value("${weather.processing.service.url:http://localhost:8081}")
     private String processingServiceUrl;
 
+    @Value("${weather.processing.service.forecast-media-type:application/x-jackson-smile}")
+    private MediaType forecastMediaType;
+
+    /**
+     * Publishes the observation with the receive and publish times in the headers, from which
+     * processing derives queue wait and end-to-end latency.
+     */
     public void processWeatherData(WeatherDataDto weatherData) {
+        long receivedAt = System.currentTimeMillis();
         WeatherMessage message = new WeatherMessage(
                 weatherData.getStationId(),
                 weatherData.getTimestamp(),  // Теперь это Instant
@@ -34,7 +58,12 @@ public class WeatherService {
         );
 
         try {
-            rabbitTemplate.convertAndSend(WEATHER_DATA_EXCHANGE, WEATHER_DATA_ROUTING_KEY, message);
+            rabbitTemplate.convertAndSend(WEATHER_DATA_EXCHANGE, WEATHER_DATA_ROUTING_KEY, message, amqpMessage -> {
+                MessageProperties properties = amqpMessage.getMessageProperties();
+                properties.setHeader(WEATHER_RECEIVED_AT_HEADER, receivedAt);
+                properties.setHeader(WEATHER_PUBLISHED_AT_HEADER, System.currentTimeMillis());
+                return amqpMessage;
+            });
             log.debug("Weather data sent to RabbitMQ for station: {}", weatherData.getStationId());
         } catch (Exception e) {
             log.error("Failed to send weather data to RabbitMQ for station: {}", weatherData.getStationId(), e);
@@ -42,17 +71,65 @@ public class WeatherService {
         }
     }
 
-    public WeatherForecastDto getWeatherForecast(String stationId, int hours) {
-        String url = String.format("%s/api/v1/weather/forecast?stationId=%s&hours=%d",
-                processingServiceUrl, stationId, hours);
+    /**
+     * Forwards the client's {@code If-None-Match} and {@code If-Modified-Since} to the processing
+     * service and returns its status, body and validators, so a 304 reaches the client unchanged.
+     * Requests for a station go to the same processing replica while it is healthy and not overloaded.
+     */
+    public ResponseEntity<WeatherForecastDto> getWeatherForecast(String stationId, int hours, HttpHeaders conditions) {
+        HttpHeaders requestHeaders = new HttpHeaders();
+        // Binary by default on the internal hop; the client gets whatever its own Accept asks for.
+        requestHeaders.setAccept(List.of(forecastMediaType, MediaType.APPLICATION_JSON));
+        copyHeaders(conditions, requestHeaders, HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
 
         try {
-            WeatherForecastDto forecast = restTemplate.getForObject(url, WeatherForecastDto.class);
-            log.debug("Retrieved forecast for station: {}, hours: {}", stationId, hours);
-            return forecast;
+            ResponseEntity<WeatherForecastDto> response = processingReplicaRouter.execute(stationId, baseUrl ->
+                    restTemplate.exchange(String.format("%s/api/v1/weather/forecast?stationId=%s&hours=%d",
+                                    baseUrl, stationId, hours),
+                            HttpMethod.GET, new HttpEntity<>(requestHeaders), WeatherForecastDto.class));
+            log.debug("Retrieved forecast for station: {}, hours: {}, status: {}",
+                    stationId, hours, response.getStatusCode());
+
+            // Only the validators; framing headers of the upstream response do not apply to ours.
+            HttpHeaders responseHeaders = new HttpHeaders();
+            copyHeaders(response.getHeaders(), responseHeaders,
+                    HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL);
+            return new ResponseEntity<>(response.getBody(), responseHeaders, response.getStatusCode());
         } catch (Exception e) {
             log.error("Failed to get forecast for station: {}", stationId, e);
             throw new RuntimeException("Failed to get weather forecast", e);
         }
     }
+
+    private static void copyHeaders(HttpHeaders from, HttpHeaders to, String... names) {
+        for (String name : names) {
+            List<String> values = from.get(name);
+            if (values != null && !values.isEmpty()) {
+                to.put(name, values);
+            }
+        }
+    }
+
+    /**
+     * Copies the history stream of the processing service into {@code out} chunk by chunk without
+     * parsing it. Error responses of the processing service are thrown before anything is written.
+     */
+    public void streamWeatherHistory(String stationId, Instant from, Instant to, String pageToken, int limit,
+                                     OutputStream out) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(processingServiceUrl)
+                .path("/api/v1/weather/history")
+                .queryParam("stationId", stationId)
+                .queryParam("from", from)
+                .queryParamIfPresent("to", Optional.ofNullable(to))
+                .queryParamIfPresent("pageToken", Optional.ofNullable(pageToken))
+                .queryParam("limit", limit)
+                .encode()
+                .build()
+                .toUri();
+
+        Long bytes = restTemplate.execute(uri, HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                response -> (long) StreamUtils.copy(response.getBody(), out));
+        log.debug("Streamed {} bytes of history for station: {}", bytes, stationId);
+    }
 }
\ No newline at end of file
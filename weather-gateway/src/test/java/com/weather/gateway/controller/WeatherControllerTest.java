@@ -1,6 +1,7 @@
 package com.weather.gateway.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.weather.gateway.service.WeatherService;
 import com.weather.shared.dto.WeatherDataDto;
@@ -10,12 +11,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.client.HttpClientErrorException;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -104,8 +112,8 @@ class WeatherControllerTest {
     void shouldGetWeatherForecast() throws Exception {
         // Given
         WeatherForecastDto forecast = createTestForecast();
-        when(weatherService.getWeatherForecast(eq("station-1"), eq(3)))
-                .thenReturn(forecast);
+        when(weatherService.getWeatherForecast(eq("station-1"), eq(3), any()))
+                .thenReturn(ResponseEntity.ok(forecast));
 
         // When & Then
         mockMvc.perform(get("/api/v1/weather/forecast")
@@ -118,15 +126,15 @@ class WeatherControllerTest {
                 .andExpect(jsonPath("$.forecasts[0].temperature").value(26.0))
                 .andExpect(jsonPath("$.forecasts[0].humidity").value(63.0));
 
-        verify(weatherService).getWeatherForecast("station-1", 3);
+        verify(weatherService).getWeatherForecast(eq("station-1"), eq(3), any());
     }
 
     @Test
     void shouldUseDefaultHoursWhenNotProvided() throws Exception {
         // Given
         WeatherForecastDto forecast = createTestForecast();
-        when(weatherService.getWeatherForecast(eq("station-1"), eq(1)))
-                .thenReturn(forecast);
+        when(weatherService.getWeatherForecast(eq("station-1"), eq(1), any()))
+                .thenReturn(ResponseEntity.ok(forecast));
 
         // When & Then
         mockMvc.perform(get("/api/v1/weather/forecast")
@@ -134,7 +142,46 @@ class WeatherControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.stationId").value("station-1"));
 
-        verify(weatherService).getWeatherForecast("station-1", 1);
+        verify(weatherService).getWeatherForecast(eq("station-1"), eq(1), any());
+    }
+
+    @Test
+    void shouldNegotiateSmileForecast() throws Exception {
+        // Given
+        WeatherForecastDto forecast = createTestForecast();
+        when(weatherService.getWeatherForecast(eq("station-1"), eq(3), any()))
+                .thenReturn(ResponseEntity.ok(forecast));
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/v1/weather/forecast")
+                        .param("stationId", "station-1")
+                        .param("hours", "3")
+                        .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        WeatherForecastDto decoded = new SmileMapper().registerModule(new JavaTimeModule())
+                .readValue(body, WeatherForecastDto.class);
+        assertEquals(forecast, decoded);
+    }
+
+    @Test
+    void shouldPassNotModifiedThrough() throws Exception {
+        // Given
+        when(weatherService.getWeatherForecast(eq("station-1"), eq(3),
+                argThat(headers -> "W/\"abc\"".equals(headers.getFirst(HttpHeaders.IF_NONE_MATCH)))))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("W/\"abc\"").build());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/weather/forecast")
+                        .param("stationId", "station-1")
+                        .param("hours", "3")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"abc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc\""))
+                .andExpect(content().string(""));
     }
 
     @Test
@@ -143,7 +190,7 @@ class WeatherControllerTest {
         mockMvc.perform(get("/api/v1/weather/forecast"))
                 .andExpect(status().isBadRequest());
 
-        verify(weatherService, never()).getWeatherForecast(anyString(), anyInt());
+        verify(weatherService, never()).getWeatherForecast(anyString(), anyInt(), any());
     }
 
     @Test
@@ -154,7 +201,7 @@ class WeatherControllerTest {
                         .param("hours", "3"))
                 .andExpect(status().isBadRequest());
 
-        verify(weatherService, never()).getWeatherForecast(anyString(), anyInt());
+        verify(weatherService, never()).getWeatherForecast(anyString(), anyInt(), any());
     }
 
     @Test
@@ -165,7 +212,7 @@ class WeatherControllerTest {
                         .param("hours", "0"))
                 .andExpect(status().isBadRequest());
 
-        verify(weatherService, never()).getWeatherForecast(anyString(), anyInt());
+        verify(weatherService, never()).getWeatherForecast(anyString(), anyInt(), any());
     }
 
     @Test
@@ -176,13 +223,13 @@ class WeatherControllerTest {
                         .param("hours", "25"))
                 .andExpect(status().isBadRequest());
 
-        verify(weatherService, never()).getWeatherForecast(anyString(), anyInt());
+        verify(weatherService, never()).getWeatherForecast(anyString(), anyInt(), any());
     }
 
     @Test
     void shouldHandleServiceException() throws Exception {
         // Given
-        when(weatherService.getWeatherForecast(eq("station-1"), eq(3)))
+        when(weatherService.getWeatherForecast(eq("station-1"), eq(3), any()))
                 .thenThrow(new RuntimeException("Service unavailable"));
 
         // When & Then
@@ -229,4 +276,41 @@ class WeatherControllerTest {
                 List.of(forecastItem)
         );
     }
+
+    @Test
+    void shouldStreamWeatherHistory() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(5);
+            out.write("{\"stationId\":\"station-1\",\"observations\":[],\"count\":0}".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(weatherService).streamWeatherHistory(eq("station-1"), eq(Instant.parse("2025-10-31T00:00:00Z")),
+                isNull(), isNull(), eq(100), any(OutputStream.class));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/weather/history")
+                        .param("stationId", "station-1")
+                        .param("from", "2025-10-31T00:00:00Z")
+                        .param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.stationId").value("station-1"))
+                .andExpect(jsonPath("$.count").value(0));
+    }
+
+    @Test
+    void shouldPassThroughHistoryErrorsOfProcessingService() throws Exception {
+        // Given
+        doThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null,
+                "{\"error\":\"Invalid page token\"}".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8))
+                .when(weatherService).streamWeatherHistory(any(), any(), any(), any(), anyInt(), any());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/weather/history")
+                        .param("stationId", "station-1")
+                        .param("from", "2025-10-31T00:00:00Z")
+                        .param("pageToken", "broken"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid page token"));
+    }
 }
\ No newline at end of file
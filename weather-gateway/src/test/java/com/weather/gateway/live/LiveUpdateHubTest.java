@@ -0,0 +1,123 @@
+package com.weather.gateway.live;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.weather.shared.messaging.WeatherLiveMessage;
+import com.weather.shared.messaging.WeatherMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveUpdateHubTest {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private LiveUpdateHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new LiveUpdateHub(new ObjectMapper().registerModule(new JavaTimeModule()), tasks::add);
+        ReflectionTestUtils.setField(hub, "bufferSize", 2);
+        ReflectionTestUtils.setField(hub, "timeout", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(hub, "maxStations", 10);
+    }
+
+    @Test
+    void shouldDeliverOnlySubscribedStations() {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.subscribe(List.of("station-1"), emitter);
+
+        // When
+        hub.publish(createMessage("station-1", 20.0));
+        hub.publish(createMessage("station-2", 30.0));
+        runTasks();
+
+        // Then
+        assertEquals(1, emitter.sent.size());
+        assertEquals(0, hub.getSubscribers("station-2"));
+    }
+
+    @Test
+    void shouldDropOldestEventsWhenBufferIsFull() {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.subscribe(List.of("station-1"), emitter);
+
+        // When - nothing is sent until the sender runs
+        hub.publish(createMessage("station-1", 20.0));
+        hub.publish(createMessage("station-1", 21.0));
+        hub.publish(createMessage("station-1", 22.0));
+        runTasks();
+
+        // Then
+        assertEquals(2, emitter.sent.size());
+    }
+
+    @Test
+    void shouldUnsubscribeWhenSendFails() {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failing = true;
+        hub.subscribe(List.of("station-1", "station-2"), emitter);
+
+        // When
+        hub.publish(createMessage("station-1", 20.0));
+        runTasks();
+
+        // Then
+        assertEquals(0, hub.getSubscribers("station-1"));
+        assertEquals(0, hub.getSubscribers("station-2"));
+        assertEquals(0, hub.getConnections());
+    }
+
+    @Test
+    void shouldRejectTooManyStations() {
+        // Given
+        List<String> stations = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            stations.add("station-" + i);
+        }
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> hub.subscribe(stations, new RecordingEmitter()));
+        assertThrows(IllegalArgumentException.class, () -> hub.subscribe(Set.of(), new RecordingEmitter()));
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private WeatherLiveMessage createMessage(String stationId, double temperature) {
+        WeatherMessage observation = new WeatherMessage(stationId, Instant.now(), temperature, 60.0, 1013.0, 0.0);
+        return new WeatherLiveMessage(stationId, observation, null);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<Set<DataWithMediaType>> sent = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            sent.add(builder.build());
+        }
+    }
+}
\ No newline at end of file
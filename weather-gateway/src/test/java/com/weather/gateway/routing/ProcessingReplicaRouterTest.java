@@ -0,0 +1,273 @@
+package com.weather.gateway.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcessingReplicaRouterTest {
+
+    private static final String FIRST = "http://processing-1:8081";
+    private static final String SECOND = "http://processing-2:8081";
+    private static final String THIRD = "http://processing-3:8081";
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProcessingReplicaRouter router;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        router = router(List.of(FIRST, SECOND, THIRD + "/"));
+    }
+
+    @Test
+    void shouldRouteEveryStationToOneReplicaAndSpreadStations() {
+        // Given
+        Map<String, Integer> stations = new HashMap<>();
+
+        // When
+        for (int station = 0; station < 3000; station++) {
+            String owner = owner(router, "station-" + station);
+            assertEquals(owner, owner(router, "station-" + station));
+            stations.merge(owner, 1, Integer::sum);
+        }
+
+        // Then
+        assertEquals(3, stations.size());
+        assertTrue(stations.values().stream().allMatch(count -> count > 700), stations::toString);
+    }
+
+    @Test
+    void shouldMoveOnlyStationsOfRemovedReplica() {
+        // Given
+        ProcessingReplicaRouter withoutThird = router(List.of(FIRST, SECOND));
+
+        // When
+        List<String> moved = new ArrayList<>();
+        for (int station = 0; station < 1000; station++) {
+            String before = owner(router, "station-" + station);
+            if (!before.equals(owner(withoutThird, "station-" + station))) {
+                moved.add(before);
+            }
+        }
+
+        // Then
+        assertFalse(moved.isEmpty());
+        assertTrue(moved.stream().allMatch(THIRD::equals));
+    }
+
+    @Test
+    void shouldSpillToNextReplicaWhenOwnerIsOverloaded() {
+        // Given
+        ProcessingReplicaRouter.Route route = router.route("station-1");
+        String owner = route.owner().getBaseUrl();
+
+        // When - the owner still serves a request for the station while the next one arrives
+        String spilled = router.execute("station-1", outer -> router.execute("station-1", inner -> inner));
+
+        // Then
+        assertNotEquals(owner, spilled);
+        assertEquals(route.replicas().get(1).getBaseUrl(), spilled);
+        assertEquals(1.0, meterRegistry.get(ProcessingReplicaRouter.REQUESTS)
+                .tags("replica", spilled, "placement", "spill").counter().count());
+    }
+
+    @Test
+    void shouldRouteConcurrentRequestsWithinReplicaList() throws Exception {
+        // Given - requests stay in flight while others are routed, so the loads change during route()
+        ReflectionTestUtils.setField(router, "loadFactor", 1.0);
+        int threads = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // When
+        for (int thread = 0; thread < threads; thread++) {
+            int offset = thread;
+            results.add(executor.submit(() -> {
+                start.await();
+                int served = 0;
+                for (int request = 0; request < 2000; request++) {
+                    router.execute("station-" + (offset + request) % 5, baseUrl -> {
+                        Thread.yield();
+                        return baseUrl;
+                    });
+                    served++;
+                }
+                return served;
+            }));
+        }
+        start.countDown();
+
+        // Then
+        try {
+            for (Future<Integer> result : results) {
+                assertEquals(2000, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRouteWithinReplicaListEvenBelowUnitLoadFactor() {
+        // Given - a bound under the average load fits no replica
+        ReflectionTestUtils.setField(router, "loadFactor", 0.1);
+
+        // When
+        String served = router.execute("station-1", outer -> router.execute("station-1",
+                middle -> router.execute("station-1", inner -> inner)));
+
+        // Then
+        assertNotNull(served);
+        assertThrows(IllegalStateException.class, router::validate);
+    }
+
+    @Test
+    void shouldFailOverAndEjectUnreachableReplica() {
+        // Given
+        String owner = owner(router, "station-1");
+        List<String> calls = new ArrayList<>();
+
+        // When
+        for (int request = 0; request < 3; request++) {
+            String served = router.execute("station-1", baseUrl -> {
+                calls.add(baseUrl);
+                if (baseUrl.equals(owner)) {
+                    throw new ResourceAccessException("Connection refused");
+                }
+                return baseUrl;
+            });
+            assertNotEquals(owner, served);
+        }
+        router.execute("station-1", calls::add);
+
+        // Then
+        assertEquals(7, calls.size());
+        assertNotEquals(owner, calls.get(6));
+        assertEquals(2.0, meterRegistry.get(ProcessingReplicaRouter.HEALTHY_REPLICAS).gauge().value());
+        assertEquals(3.0, meterRegistry.get(ProcessingReplicaRouter.FAILURES).tag("replica", owner)
+                .counter().count());
+    }
+
+    @Test
+    void shouldNotRetryInternalServerError() {
+        // Given
+        List<String> calls = new ArrayList<>();
+
+        // When & Then
+        assertThrows(HttpServerErrorException.class, () -> router.execute("station-1", baseUrl -> {
+            calls.add(baseUrl);
+            throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR);
+        }));
+        assertEquals(1, calls.size());
+    }
+
+    @Test
+    void shouldKeepRoutingWhenEveryReplicaIsEjected() {
+        // Given
+        ProcessingReplicaRouter single = router(List.of());
+        for (int request = 0; request < 3; request++) {
+            assertThrows(ResourceAccessException.class, () -> single.execute("station-1", baseUrl -> {
+                throw new ResourceAccessException("Connection refused");
+            }));
+        }
+
+        // When
+        String served = single.execute("station-1", baseUrl -> baseUrl);
+
+        // Then
+        assertEquals("http://localhost:8081", served);
+    }
+
+    @Test
+    void shouldRejectMaxAttemptsBelowOne() {
+        // Given
+        ReflectionTestUtils.setField(router, "maxAttempts", 0);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, router::validate);
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> router.execute("station-1", baseUrl -> baseUrl));
+        assertTrue(e.getMessage().contains("station-1"));
+    }
+
+    @Test
+    void shouldKeepRoutingOnCurrentRingWhileDiscoveryResolves() throws Exception {
+        // Given - the second lookup hangs until released
+        CountDownLatch resolving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger lookups = new AtomicInteger();
+        ProcessingReplicaRouter discovering = new ProcessingReplicaRouter(meterRegistry) {
+            @Override
+            List<String> discover() {
+                if (lookups.incrementAndGet() == 2) {
+                    resolving.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return List.of(FIRST, SECOND);
+                }
+                return List.of(FIRST);
+            }
+        };
+        ReflectionTestUtils.setField(discovering, "discoveryEnabled", true);
+        ReflectionTestUtils.setField(discovering, "discoveryInterval", Duration.ZERO);
+        ReflectionTestUtils.setField(discovering, "virtualNodes", 128);
+        ReflectionTestUtils.setField(discovering, "loadFactor", 1.25);
+        ReflectionTestUtils.setField(discovering, "maxAttempts", 2);
+        assertEquals(FIRST, owner(discovering, "station-1"));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // When
+            Future<String> refreshing = executor.submit(() -> owner(discovering, "station-1"));
+            assertTrue(resolving.await(5, TimeUnit.SECONDS));
+            String served = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> owner(discovering, "station-1"));
+
+            // Then
+            assertEquals(FIRST, served);
+            assertEquals(2, lookups.get());
+            release.countDown();
+            assertNotNull(refreshing.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private ProcessingReplicaRouter router(List<String> replicas) {
+        ProcessingReplicaRouter created = new ProcessingReplicaRouter(meterRegistry);
+        ReflectionTestUtils.setField(created, "processingServiceUrl", "http://localhost:8081");
+        ReflectionTestUtils.setField(created, "replicaUrls", replicas);
+        ReflectionTestUtils.setField(created, "virtualNodes", 128);
+        ReflectionTestUtils.setField(created, "loadFactor", 1.25);
+        ReflectionTestUtils.setField(created, "failureThreshold", 3);
+        ReflectionTestUtils.setField(created, "ejectionDuration", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(created, "maxAttempts", 2);
+        return created;
+    }
+
+    private static String owner(ProcessingReplicaRouter router, String stationId) {
+        return router.route(stationId).owner().getBaseUrl();
+    }
+}
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.weather.gateway.service;
 
+import com.weather.gateway.routing.ProcessingReplicaRouter;
 import com.weather.shared.dto.WeatherDataDto;
 import com.weather.shared.dto.WeatherForecastDto;
 import com.weather.shared.messaging.WeatherMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,10 +12,25 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
 
@@ -25,6 +42,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class WeatherServiceTest {
 
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     @Mock
     private RabbitTemplate rabbitTemplate;
 
@@ -38,8 +57,15 @@ class WeatherServiceTest {
 
     @BeforeEach
     void setUp() {
-        weatherService = new WeatherService(rabbitTemplate, restTemplate);
+        ProcessingReplicaRouter router = new ProcessingReplicaRouter(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(router, "processingServiceUrl", "http://localhost:8081");
+        ReflectionTestUtils.setField(router, "replicaUrls", List.of());
+        ReflectionTestUtils.setField(router, "virtualNodes", 128);
+        ReflectionTestUtils.setField(router, "loadFactor", 1.25);
+        ReflectionTestUtils.setField(router, "maxAttempts", 2);
+        weatherService = new WeatherService(rabbitTemplate, restTemplate, router);
         ReflectionTestUtils.setField(weatherService, "processingServiceUrl", "http://localhost:8081");
+        ReflectionTestUtils.setField(weatherService, "forecastMediaType", SMILE);
     }
 
     @Test
@@ -62,7 +88,8 @@ class WeatherServiceTest {
         verify(rabbitTemplate).convertAndSend(
                 eq(WEATHER_DATA_EXCHANGE),
                 eq(WEATHER_DATA_ROUTING_KEY),
-                messageCaptor.capture()
+                messageCaptor.capture(),
+                any(MessagePostProcessor.class)
         );
 
         WeatherMessage capturedMessage = messageCaptor.getValue();
@@ -75,6 +102,26 @@ class WeatherServiceTest {
         assertEquals(0.0, capturedMessage.getPrecipitation());
     }
 
+    @Test
+    void shouldStampReceiveAndPublishTimes() {
+        // Given
+        WeatherDataDto weatherData = new WeatherDataDto("station-1", Instant.now(), 25.5, 65.0, 1013.25, 0.0);
+        long before = System.currentTimeMillis();
+
+        // When
+        weatherService.processWeatherData(weatherData);
+
+        // Then
+        ArgumentCaptor<MessagePostProcessor> postProcessor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        verify(rabbitTemplate).convertAndSend(eq(WEATHER_DATA_EXCHANGE), eq(WEATHER_DATA_ROUTING_KEY),
+                any(WeatherMessage.class), postProcessor.capture());
+        Message message = postProcessor.getValue().postProcessMessage(new Message(new byte[0], new MessageProperties()));
+        long receivedAt = message.getMessageProperties().getHeader(WEATHER_RECEIVED_AT_HEADER);
+        long publishedAt = message.getMessageProperties().getHeader(WEATHER_PUBLISHED_AT_HEADER);
+        assertTrue(receivedAt >= before);
+        assertTrue(publishedAt >= receivedAt);
+    }
+
     @Test
     void shouldGetWeatherForecastSuccessfully() {
         // Given
@@ -84,22 +131,50 @@ class WeatherServiceTest {
 
         String expectedUrl = String.format("http://localhost:8081/api/v1/weather/forecast?stationId=%s&hours=%d", stationId, hours);
 
-        when(restTemplate.getForObject(expectedUrl, WeatherForecastDto.class))
-                .thenReturn(expectedForecast);
+        HttpHeaders upstreamHeaders = new HttpHeaders();
+        upstreamHeaders.setETag("W/\"abc\"");
+        upstreamHeaders.setContentLength(512);
+        when(restTemplate.exchange(eq(expectedUrl), eq(HttpMethod.GET), any(HttpEntity.class), eq(WeatherForecastDto.class)))
+                .thenReturn(new ResponseEntity<>(expectedForecast, upstreamHeaders, HttpStatus.OK));
 
         // When
-        WeatherForecastDto result = weatherService.getWeatherForecast(stationId, hours);
+        ResponseEntity<WeatherForecastDto> response = weatherService.getWeatherForecast(stationId, hours, new HttpHeaders());
 
         // Then
+        WeatherForecastDto result = response.getBody();
         assertNotNull(result);
         assertEquals(stationId, result.getStationId());
         assertEquals(1, result.getForecasts().size());
+        assertEquals("W/\"abc\"", response.getHeaders().getETag());
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
 
         WeatherForecastDto.ForecastItem forecastItem = result.getForecasts().get(0);
         assertEquals(26.0, forecastItem.getTemperature());
         assertEquals(63.0, forecastItem.getHumidity());
+    }
 
-        verify(restTemplate).getForObject(expectedUrl, WeatherForecastDto.class);
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldForwardValidatorsAndPassNotModifiedThrough() {
+        // Given
+        HttpHeaders conditions = new HttpHeaders();
+        conditions.setIfNoneMatch("W/\"abc\"");
+        conditions.set(HttpHeaders.USER_AGENT, "curl");
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(WeatherForecastDto.class)))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("W/\"abc\"").build());
+
+        // When
+        ResponseEntity<WeatherForecastDto> response = weatherService.getWeatherForecast("station-1", 3, conditions);
+
+        // Then
+        ArgumentCaptor<HttpEntity<Void>> request = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).exchange(anyString(), eq(HttpMethod.GET), request.capture(), eq(WeatherForecastDto.class));
+        assertEquals(List.of("W/\"abc\""), request.getValue().getHeaders().getIfNoneMatch());
+        assertEquals(List.of(SMILE, MediaType.APPLICATION_JSON), request.getValue().getHeaders().getAccept());
+        assertFalse(request.getValue().getHeaders().containsKey(HttpHeaders.USER_AGENT));
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("W/\"abc\"", response.getHeaders().getETag());
     }
 
     @Test
@@ -115,7 +190,8 @@ class WeatherServiceTest {
         );
 
         doThrow(new RuntimeException("RabbitMQ error"))
-                .when(rabbitTemplate).convertAndSend(eq(WEATHER_DATA_EXCHANGE), eq(WEATHER_DATA_ROUTING_KEY), any(WeatherMessage.class));
+                .when(rabbitTemplate).convertAndSend(eq(WEATHER_DATA_EXCHANGE), eq(WEATHER_DATA_ROUTING_KEY),
+                        any(WeatherMessage.class), any(MessagePostProcessor.class));
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class,
@@ -133,17 +209,38 @@ class WeatherServiceTest {
 
         String expectedUrl = String.format("http://localhost:8081/api/v1/weather/forecast?stationId=%s&hours=%d", stationId, hours);
 
-        when(restTemplate.getForObject(expectedUrl, WeatherForecastDto.class))
+        when(restTemplate.exchange(eq(expectedUrl), eq(HttpMethod.GET), any(HttpEntity.class), eq(WeatherForecastDto.class)))
                 .thenThrow(new RuntimeException("Service unavailable"));
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class,
-                () -> weatherService.getWeatherForecast(stationId, hours));
+                () -> weatherService.getWeatherForecast(stationId, hours, new HttpHeaders()));
 
         assertEquals("Failed to get weather forecast", exception.getMessage());
         assertTrue(exception.getCause().getMessage().contains("Service unavailable"));
     }
 
+    @Test
+    void shouldCopyHistoryStreamOfProcessingService() throws Exception {
+        // Given
+        String body = "{\"stationId\":\"station-1\",\"observations\":[],\"count\":0}";
+        URI expectedUri = URI.create("http://localhost:8081/api/v1/weather/history"
+                + "?stationId=station-1&from=2025-10-31T00:00:00Z&pageToken=abc&limit=100");
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getBody()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        when(restTemplate.execute(eq(expectedUri), eq(HttpMethod.GET), any(), any())).thenAnswer(invocation -> {
+            ResponseExtractor<?> extractor = invocation.getArgument(3);
+            return extractor.extractData(response);
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        weatherService.streamWeatherHistory("station-1", Instant.parse("2025-10-31T00:00:00Z"), null, "abc", 100, out);
+
+        // Then
+        assertEquals(body, out.toString(StandardCharsets.UTF_8));
+    }
+
     private WeatherForecastDto createTestForecast() {
         WeatherForecastDto.ForecastItem forecastItem = new WeatherForecastDto.ForecastItem(
                 Instant.now().plusSeconds(3600), // +1 hour
@@ -0,0 +1,61 @@
+package com.weather.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one kind of operation. Recording is switched on once warmup is
+ * over; before that everything is discarded.
+ */
+public class LatencyStats {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final String name;
+    private final Histogram histogram = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+    private final LongAdder failures = new LongAdder();
+    private volatile boolean recording;
+
+    public LatencyStats(String name) {
+        this.name = name;
+    }
+
+    public void startRecording() {
+        recording = true;
+    }
+
+    public void recordSuccess(long nanos) {
+        if (recording) {
+            histogram.recordValue(Math.min(nanos, MAX_TRACKABLE_NANOS));
+        }
+    }
+
+    public void recordFailure() {
+        if (recording) {
+            failures.increment();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSuccesses() {
+        return histogram.getTotalCount();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    public double maxMillis() {
+        return histogram.getMaxValue() / 1_000_000.0;
+    }
+}
\ No newline at end of file
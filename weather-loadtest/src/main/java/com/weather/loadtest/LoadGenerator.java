@@ -0,0 +1,206 @@
+package com.weather.loadtest;
+
+import com.weather.shared.dto.WeatherDataDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: a single scheduler thread decides when every request is due and hands it to
+ * a virtual thread, whether or not earlier requests have completed. Latency is measured from
+ * the due time, so time spent queued behind a slow system is part of it rather than hidden by
+ * a slower send rate.
+ * <p>
+ * Each station sends readings at a steady rate, with starts staggered over one period, plus a
+ * burst of {@code burst-size} simultaneous readings every {@code burst-interval}. Forecast reads
+ * for random stations are mixed in at {@code forecast-ratio} per reading. A sample of readings is
+ * followed by a lag probe that polls the station's forecast until its {@code Last-Modified}
+ * reaches the reading's timestamp.
+ */
+public class LoadGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private final LoadTestSettings settings;
+    private final WeatherApiClient client;
+    private final Semaphore inFlight;
+    private final LatencyStats ingest = new LatencyStats("ingest");
+    private final LatencyStats forecast = new LatencyStats("forecast");
+    private final LatencyStats lag = new LatencyStats("ingest-to-visible");
+
+    // Whole seconds, strictly increasing per station, so no reading is dropped as a duplicate.
+    private final long[] lastTimestamps;
+    private double forecastCredit;
+
+    public LoadGenerator(LoadTestSettings settings, WeatherApiClient client) {
+        this.settings = settings;
+        this.client = client;
+        this.inFlight = new Semaphore(settings.maxInFlight());
+        this.lastTimestamps = new long[settings.stations()];
+    }
+
+    public LoadTestReport run() {
+        long period = (long) (TimeUnit.SECONDS.toNanos(1) / settings.readingsPerSecond());
+        long burstInterval = settings.burstInterval().toNanos();
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+
+        PriorityQueue<Arrival> arrivals = new PriorityQueue<>();
+        for (int station = 0; station < settings.stations(); station++) {
+            arrivals.add(new Arrival(start + period * station / settings.stations(), station));
+        }
+        long nextBurst = burstInterval > 0 && settings.burstSize() > 0 ? start + burstInterval : Long.MAX_VALUE;
+        boolean measuring = false;
+
+        log.info("Offering {} readings/s from {} stations for {} after {} warmup",
+                Math.round(settings.targetReadingsPerSecond()), settings.stations(), settings.duration(),
+                settings.warmup());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (true) {
+                long due = Math.min(arrivals.peek().due(), nextBurst);
+                if (due >= end) {
+                    break;
+                }
+                if (!measuring && due >= measureFrom) {
+                    ingest.startRecording();
+                    forecast.startRecording();
+                    lag.startRecording();
+                    measuring = true;
+                }
+                waitUntil(due);
+
+                if (due == nextBurst) {
+                    for (int station = 0; station < settings.stations(); station++) {
+                        for (int i = 0; i < settings.burstSize(); i++) {
+                            dispatch(executor, station, due);
+                        }
+                    }
+                    nextBurst += burstInterval;
+                } else {
+                    Arrival arrival = arrivals.poll();
+                    dispatch(executor, arrival.station(), due);
+                    arrivals.add(new Arrival(due + period, arrival.station()));
+                }
+            }
+            log.info("Schedule finished, waiting for in-flight requests and lag probes");
+        }
+        return new LoadTestReport(settings, ingest, forecast, lag);
+    }
+
+    private void dispatch(ExecutorService executor, int station, long due) {
+        String stationId = stationId(station);
+        Instant timestamp = nextTimestamp(station);
+        boolean probe = ThreadLocalRandom.current().nextDouble() < settings.lagSampleRate();
+        executor.execute(() -> sendReading(stationId, timestamp, due, probe));
+
+        forecastCredit += settings.forecastRatio();
+        while (forecastCredit >= 1) {
+            forecastCredit--;
+            String target = stationId(ThreadLocalRandom.current().nextInt(settings.stations()));
+            executor.execute(() -> readForecast(target, due));
+        }
+    }
+
+    private void sendReading(String stationId, Instant timestamp, long due, boolean probe) {
+        long sentAt;
+        try {
+            inFlight.acquire();
+            sentAt = System.nanoTime();
+            try {
+                client.sendReading(reading(stationId, timestamp));
+            } finally {
+                inFlight.release();
+            }
+            ingest.recordSuccess(System.nanoTime() - due);
+        } catch (IOException | RuntimeException e) {
+            ingest.recordFailure();
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (probe) {
+            probeLag(stationId, timestamp, sentAt);
+        }
+    }
+
+    private void readForecast(String stationId, long due) {
+        try {
+            inFlight.acquire();
+            try {
+                client.getForecast(stationId);
+            } finally {
+                inFlight.release();
+            }
+            forecast.recordSuccess(System.nanoTime() - due);
+        } catch (IOException | RuntimeException e) {
+            forecast.recordFailure();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void probeLag(String stationId, Instant timestamp, long sentAt) {
+        long deadline = sentAt + settings.lagTimeout().toNanos();
+        try {
+            while (System.nanoTime() < deadline) {
+                Optional<Instant> visible;
+                try {
+                    visible = client.getForecast(stationId);
+                } catch (IOException e) {
+                    visible = Optional.empty();
+                }
+                if (visible.isPresent() && !visible.get().isBefore(timestamp)) {
+                    lag.recordSuccess(System.nanoTime() - sentAt);
+                    return;
+                }
+                Thread.sleep(settings.lagPollInterval());
+            }
+            lag.recordFailure();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Instant nextTimestamp(int station) {
+        long second = Math.max(Instant.now().getEpochSecond(), lastTimestamps[station] + 1);
+        lastTimestamps[station] = second;
+        return Instant.ofEpochSecond(second);
+    }
+
+    private static WeatherDataDto reading(String stationId, Instant timestamp) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new WeatherDataDto(stationId, timestamp, random.nextDouble(-10, 30), random.nextDouble(30, 90),
+                random.nextDouble(990, 1030), random.nextDouble() < 0.8 ? 0.0 : random.nextDouble(0, 5));
+    }
+
+    private static String stationId(int station) {
+        return "load-station-" + station;
+    }
+
+    private static void waitUntil(long due) {
+        long remaining;
+        while ((remaining = due - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private record Arrival(long due, int station) implements Comparable<Arrival> {
+
+        @Override
+        public int compareTo(Arrival other) {
+            return Long.compare(due, other.due);
+        }
+    }
+}
\ No newline at end of file
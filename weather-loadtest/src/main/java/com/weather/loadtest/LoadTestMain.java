@@ -0,0 +1,33 @@
+package com.weather.loadtest;
+
+import java.net.URI;
+
+/**
+ * Runs a load test against {@code --gateway-url}, or against a stack started with
+ * Testcontainers when no URL is given.
+ * <pre>
+ * mvn package -DskipTests
+ * java -jar weather-loadtest/target/loadtest.jar --stations=500 --rate=0.5 --duration=PT2M
+ * </pre>
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        if (settings.gatewayUrl() != null) {
+            run(settings, settings.gatewayUrl());
+            return;
+        }
+        try (WeatherStack stack = new WeatherStack(settings.projectDir())) {
+            run(settings, stack.start());
+        }
+    }
+
+    private static void run(LoadTestSettings settings, URI gatewayUrl) {
+        LoadTestReport report = new LoadGenerator(settings, new WeatherApiClient(gatewayUrl)).run();
+        report.print(System.out);
+    }
+}
\ No newline at end of file
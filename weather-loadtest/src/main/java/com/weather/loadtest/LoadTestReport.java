@@ -0,0 +1,43 @@
+package com.weather.loadtest;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Outcome of a run. Throughput counts requests completed successfully out of those due in the
+ * measured part of the run.
+ */
+public record LoadTestReport(LoadTestSettings settings, LatencyStats ingest, LatencyStats forecast,
+                             LatencyStats lag) {
+
+    public double readingsPerSecond() {
+        return ingest.getSuccesses() / seconds();
+    }
+
+    public double forecastsPerSecond() {
+        return forecast.getSuccesses() / seconds();
+    }
+
+    public void print(PrintStream out) {
+        out.printf(Locale.ROOT, "Offered:  %.1f readings/s (%d stations, %.2f/s each, bursts of %d every %s), "
+                        + "%.1f forecasts/s%n",
+                settings.targetReadingsPerSecond(), settings.stations(), settings.readingsPerSecond(),
+                settings.burstSize(), settings.burstInterval(),
+                settings.targetReadingsPerSecond() * settings.forecastRatio());
+        out.printf(Locale.ROOT, "Achieved: %.1f readings/s, %.1f forecasts/s over %s%n",
+                readingsPerSecond(), forecastsPerSecond(), settings.duration());
+        out.printf(Locale.ROOT, "%-18s %10s %8s %10s %10s %10s %10s%n",
+                "latency, ms", "ok", "failed", "p50", "p99", "p99.9", "max");
+        for (LatencyStats stats : List.of(ingest, forecast, lag)) {
+            out.printf(Locale.ROOT, "%-18s %10d %8d %10.2f %10.2f %10.2f %10.2f%n",
+                    stats.getName(), stats.getSuccesses(), stats.getFailures(), stats.percentileMillis(50),
+                    stats.percentileMillis(99), stats.percentileMillis(99.9), stats.maxMillis());
+        }
+        out.printf(Locale.ROOT, "Lag probes timing out after %s are counted as failed.%n", settings.lagTimeout());
+    }
+
+    private double seconds() {
+        return settings.duration().toMillis() / 1000.0;
+    }
+}
\ No newline at end of file
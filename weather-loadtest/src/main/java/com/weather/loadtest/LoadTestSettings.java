@@ -0,0 +1,98 @@
+package com.weather.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Load profile, parsed from {@code --name=value} arguments.
+ *
+ * @param gatewayUrl gateway to load; when {@code null} the whole stack is started with Testcontainers
+ * @param projectDir repository root, used to build the service images
+ * @param stations number of simulated stations
+ * @param readingsPerSecond steady rate of readings per station
+ * @param duration measured part of the run
+ * @param warmup time before measurement starts, recorded nowhere
+ * @param burstInterval how often every station sends a burst; zero disables bursts
+ * @param burstSize readings per station in a burst, all due at the same instant
+ * @param forecastRatio forecast reads per reading
+ * @param lagSampleRate share of readings whose ingest-to-visible lag is probed
+ * @param lagPollInterval pause between forecast polls of a lag probe
+ * @param lagTimeout lag probes giving up after this time are counted as timed out
+ * @param maxInFlight concurrent requests; arrivals beyond it wait and the wait counts as latency
+ */
+public record LoadTestSettings(URI gatewayUrl,
+                               Path projectDir,
+                               int stations,
+                               double readingsPerSecond,
+                               Duration duration,
+                               Duration warmup,
+                               Duration burstInterval,
+                               int burstSize,
+                               double forecastRatio,
+                               double lagSampleRate,
+                               Duration lagPollInterval,
+                               Duration lagTimeout,
+                               int maxInFlight) {
+
+    private static final Set<String> NAMES = Set.of("gateway-url", "project-dir", "stations", "rate", "duration",
+            "warmup", "burst-interval", "burst-size", "forecast-ratio", "lag-sample-rate", "lag-poll-interval",
+            "lag-timeout", "max-in-flight");
+
+    public LoadTestSettings {
+        if (stations <= 0) {
+            throw new IllegalArgumentException("stations must be positive");
+        }
+        if (readingsPerSecond <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        if (duration.isZero() || duration.isNegative()) {
+            throw new IllegalArgumentException("duration must be positive");
+        }
+        if (burstSize < 0 || forecastRatio < 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("burst-size, forecast-ratio and max-in-flight must not be negative");
+        }
+        if (lagSampleRate < 0 || lagSampleRate > 1) {
+            throw new IllegalArgumentException("lag-sample-rate must be between 0 and 1");
+        }
+    }
+
+    public static LoadTestSettings parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            if (!NAMES.contains(name)) {
+                throw new IllegalArgumentException("Unknown option: " + name + ". Available: " + NAMES);
+            }
+            values.put(name, arg.substring(separator + 1));
+        }
+
+        String gatewayUrl = values.get("gateway-url");
+        return new LoadTestSettings(
+                gatewayUrl != null ? URI.create(gatewayUrl) : null,
+                Path.of(values.getOrDefault("project-dir", ".")),
+                Integer.parseInt(values.getOrDefault("stations", "100")),
+                Double.parseDouble(values.getOrDefault("rate", "1")),
+                Duration.parse(values.getOrDefault("duration", "PT1M")),
+                Duration.parse(values.getOrDefault("warmup", "PT15S")),
+                Duration.parse(values.getOrDefault("burst-interval", "PT10S")),
+                Integer.parseInt(values.getOrDefault("burst-size", "5")),
+                Double.parseDouble(values.getOrDefault("forecast-ratio", "0.5")),
+                Double.parseDouble(values.getOrDefault("lag-sample-rate", "0.01")),
+                Duration.parse(values.getOrDefault("lag-poll-interval", "PT0.02S")),
+                Duration.parse(values.getOrDefault("lag-timeout", "PT30S")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "512")));
+    }
+
+    public double targetReadingsPerSecond() {
+        double bursts = burstInterval.isZero() ? 0 : (double) burstSize / (burstInterval.toMillis() / 1000.0);
+        return stations * (readingsPerSecond + bursts);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,262 @@
+package com.weather.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
+import com.weather.shared.config.RabbitMQConfig;
+import com.weather.shared.messaging.WeatherMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.RabbitMQContainer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Measures how long weather-processing takes from process start to the first consumed message.
+ * A reading is queued before the service starts, so the time until its row appears in
+ * {@code weather_data} covers JVM start, context refresh, schema setup and the first delivery.
+ * Every run gets a fresh database.
+ * <ul>
+ *     <li>{@code baseline} — the executable jar, schema created by Hibernate {@code ddl-auto=update};</li>
+ *     <li>{@code fast} — the thin jar of the {@code fast-startup} Maven profile with Spring AOT, the CDS
+ *     archive {@code target/startup-app.jsa} (trained on the first run) and Flyway migrations.</li>
+ * </ul>
+ * <pre>
+ * mvn package -DskipTests
+ * mvn -Pfast-startup -pl weather-processing package -DskipTests
+ * java -cp weather-loadtest/target/loadtest.jar com.weather.loadtest.StartupBenchmark --runs=5
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupBenchmark.class);
+
+    private static final Set<String> NAMES = Set.of("project-dir", "runs", "modes", "timeout");
+    private static final String STATION_ID = "startup-probe";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+
+    private final Path moduleDir;
+    private final Duration timeout;
+    private final PostgreSQLContainer<?> postgres;
+    private final RabbitMQContainer rabbitmq;
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private int databases;
+
+    private StartupBenchmark(Path projectDir, Duration timeout, PostgreSQLContainer<?> postgres,
+                             RabbitMQContainer rabbitmq) {
+        this.moduleDir = projectDir.resolve("weather-processing").toAbsolutePath().normalize();
+        this.timeout = timeout;
+        this.postgres = postgres;
+        this.rabbitmq = rabbitmq;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0 || !NAMES.contains(arg.substring(2, separator))) {
+                throw new IllegalArgumentException("Expected --name=value with name in " + NAMES + ", got: " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        int runs = Integer.parseInt(values.getOrDefault("runs", "3"));
+        List<String> modes = List.of(values.getOrDefault("modes", "baseline,fast").split(","));
+        Duration timeout = Duration.parse(values.getOrDefault("timeout", "PT3M"));
+        Path projectDir = Path.of(values.getOrDefault("project-dir", "."));
+
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+             RabbitMQContainer rabbitmq = new RabbitMQContainer("rabbitmq:3.12-management")) {
+            log.info("Starting PostgreSQL and RabbitMQ");
+            postgres.start();
+            rabbitmq.start();
+            StartupBenchmark benchmark = new StartupBenchmark(projectDir, timeout, postgres, rabbitmq);
+
+            Map<String, List<Duration>> results = new LinkedHashMap<>();
+            for (String mode : modes) {
+                List<Duration> durations = new ArrayList<>();
+                for (int run = 1; run <= runs; run++) {
+                    Duration elapsed = benchmark.run(mode, run);
+                    log.info("{} run {}: first message consumed after {} ms", mode, run, elapsed.toMillis());
+                    durations.add(elapsed);
+                }
+                results.put(mode, durations);
+            }
+            print(results);
+        }
+    }
+
+    private Duration run(String mode, int run) throws Exception {
+        String database = createDatabase();
+        String jdbcUrl = "jdbc:postgresql://" + postgres.getHost() + ":" + postgres.getFirstMappedPort() + "/" + database;
+        List<String> command = command(mode, jdbcUrl);
+        publishReading();
+
+        Path logFile = moduleDir.resolve("target").resolve("startup-" + mode + "-" + run + ".log");
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(moduleDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        try {
+            awaitReading(jdbcUrl, process, started);
+            return Duration.ofNanos(System.nanoTime() - started);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private List<String> command(String mode, String jdbcUrl) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(javaExecutable()));
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--spring.rabbitmq.host=" + rabbitmq.getHost(),
+                "--spring.rabbitmq.port=" + rabbitmq.getAmqpPort(),
+                "--weather.fleet-forecast.cron=-"));
+
+        switch (mode) {
+            case "baseline" -> {
+                command.addAll(List.of("-jar", requireFile("weather-processing-1.0.0-exec.jar").toString()));
+                arguments.addAll(List.of("--spring.jpa.hibernate.ddl-auto=update", "--spring.flyway.enabled=false"));
+            }
+            case "fast" -> {
+                Path jar = requireFile("weather-processing-1.0.0.jar");
+                Path archive = moduleDir.resolve("target").resolve("startup-app.jsa");
+                if (!Files.exists(archive)) {
+                    train(jar, archive, jdbcUrl);
+                }
+                command.addAll(List.of("-XX:SharedArchiveFile=" + archive, "-Xlog:cds=off",
+                        "-Dspring.aot.enabled=true", "-Dspring.profiles.include=fast-startup", "-jar", jar.toString()));
+            }
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode + ", expected baseline or fast");
+        }
+        command.addAll(arguments);
+        return command;
+    }
+
+    private void train(Path jar, Path archive, String jdbcUrl) throws IOException, InterruptedException {
+        log.info("Training CDS archive {}", archive);
+        Process training = new ProcessBuilder(javaExecutable(), "-XX:ArchiveClassesAtExit=" + archive, "-Dspring.aot.enabled=true",
+                "-Dspring.profiles.include=fast-startup", "-Dspring.context.exit=onRefresh",
+                "-jar", jar.toString(),
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword())
+                .directory(moduleDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(moduleDir.resolve("target").resolve("startup-training.log").toFile())
+                .start();
+        if (training.waitFor() != 0 || !Files.exists(archive)) {
+            throw new IllegalStateException("CDS training run failed, see target/startup-training.log");
+        }
+    }
+
+    private String createDatabase() throws SQLException {
+        String database = "startup_" + (++databases);
+        try (java.sql.Connection connection = DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + database);
+        }
+        return database;
+    }
+
+    /**
+     * Declares the queue exactly as weather-processing does, so the reading waits there until the
+     * service subscribes.
+     */
+    private void publishReading() throws IOException, TimeoutException {
+        ConnectionFactory factory = new ConnectionFactory();
+        factory.setHost(rabbitmq.getHost());
+        factory.setPort(rabbitmq.getAmqpPort());
+        factory.setUsername(rabbitmq.getAdminUsername());
+        factory.setPassword(rabbitmq.getAdminPassword());
+
+        WeatherMessage message = new WeatherMessage(STATION_ID, Instant.now().truncatedTo(ChronoUnit.SECONDS),
+                20.0, 60.0, 1013.0, 0.0);
+        try (Connection connection = factory.newConnection(); Channel channel = connection.createChannel()) {
+            channel.exchangeDeclare(RabbitMQConfig.WEATHER_DATA_EXCHANGE, "direct", true);
+            channel.queueDeclare(RabbitMQConfig.WEATHER_DATA_QUEUE, true, false, false,
+                    Map.of("x-dead-letter-exchange", RabbitMQConfig.WEATHER_DATA_EXCHANGE + ".dlx"));
+            channel.queueBind(RabbitMQConfig.WEATHER_DATA_QUEUE, RabbitMQConfig.WEATHER_DATA_EXCHANGE,
+                    RabbitMQConfig.WEATHER_DATA_ROUTING_KEY);
+            channel.basicPublish(RabbitMQConfig.WEATHER_DATA_EXCHANGE, RabbitMQConfig.WEATHER_DATA_ROUTING_KEY,
+                    new AMQP.BasicProperties.Builder()
+                            .contentType("application/json")
+                            .deliveryMode(2)
+                            .headers(Map.of("__TypeId__", WeatherMessage.class.getName()))
+                            .build(),
+                    objectMapper.writeValueAsBytes(message));
+        }
+    }
+
+    private void awaitReading(String jdbcUrl, Process process, long started) throws InterruptedException {
+        long deadline = started + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("weather-processing exited with code " + process.exitValue());
+            }
+            try (java.sql.Connection connection = DriverManager.getConnection(
+                    jdbcUrl, postgres.getUsername(), postgres.getPassword());
+                 Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("SELECT count(*) FROM weather_data")) {
+                if (rows.next() && rows.getLong(1) > 0) {
+                    return;
+                }
+            } catch (SQLException e) {
+                // The schema does not exist until the service has created it.
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        throw new IllegalStateException("No message consumed within " + timeout);
+    }
+
+    private Path requireFile(String name) {
+        Path path = moduleDir.resolve("target").resolve(name);
+        if (!Files.exists(path)) {
+            throw new IllegalStateException(path + " not found, package weather-processing first");
+        }
+        return path;
+    }
+
+    private static String javaExecutable() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static void print(Map<String, List<Duration>> results) {
+        System.out.printf(Locale.ROOT, "%-10s %10s %10s %10s   %s%n", "mode", "min, ms", "median, ms", "max, ms", "runs");
+        results.forEach((mode, durations) -> {
+            List<Long> millis = durations.stream().map(Duration::toMillis).sorted().toList();
+            System.out.printf(Locale.ROOT, "%-10s %10d %10d %10d   %s%n", mode, millis.get(0),
+                    millis.get(millis.size() / 2), millis.get(millis.size() - 1), millis);
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.weather.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.weather.shared.dto.WeatherDataDto;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+
+/**
+ * The two gateway calls the load test makes. Any status other than the expected one is an
+ * {@link IOException}, so callers count it as a failure.
+ */
+public class WeatherApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI gatewayUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    public WeatherApiClient(URI gatewayUrl) {
+        this.gatewayUrl = gatewayUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public void sendReading(WeatherDataDto reading) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(gatewayUrl.resolve("/api/v1/weather/data"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(toJson(reading)))
+                .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 202) {
+            throw new IOException("POST /data returned " + response.statusCode());
+        }
+    }
+
+    /**
+     * Fetches a one-hour forecast and returns its {@code Last-Modified}, the timestamp of the
+     * newest observation the forecast is based on.
+     */
+    public Optional<Instant> getForecast(String stationId) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(gatewayUrl.resolve("/api/v1/weather/forecast?hours=1&stationId="
+                        + URLEncoder.encode(stationId, StandardCharsets.UTF_8)))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET /forecast returned " + response.statusCode());
+        }
+        return response.headers().firstValue("Last-Modified")
+                .map(value -> ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+    }
+
+    private byte[] toJson(WeatherDataDto reading) {
+        try {
+            return objectMapper.writeValueAsBytes(reading);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize reading", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.weather.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.RabbitMQContainer;
+import org.testcontainers.containers.output.Slf4jLogConsumer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.ImageFromDockerfile;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * The services of {@code docker-compose.yml} started with Testcontainers on a private network:
+ * PostgreSQL, RabbitMQ and the gateway and processing images built from their Dockerfiles. The
+ * module jars must have been packaged beforehand. Only the gateway port is published.
+ */
+public class WeatherStack implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(WeatherStack.class);
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final Network network = Network.newNetwork();
+    private final PostgreSQLContainer<?> postgres;
+    private final RabbitMQContainer rabbitmq;
+    private final GenericContainer<?> processing;
+    private final GenericContainer<?> gateway;
+
+    public WeatherStack(Path projectDir) {
+        postgres = new PostgreSQLContainer<>("postgres:15")
+                .withDatabaseName("weather_db")
+                .withUsername("postgres")
+                .withPassword("password")
+                .withNetwork(network)
+                .withNetworkAliases("postgres");
+        rabbitmq = new RabbitMQContainer("rabbitmq:3.12-management")
+                .withNetwork(network)
+                .withNetworkAliases("rabbitmq");
+        processing = service(projectDir, "weather-processing", 8081)
+                .withNetworkAliases("weather-processing");
+        gateway = service(projectDir, "weather-gateway", 8080)
+                .withEnv("WEATHER_PROCESSING_SERVICE_URL", "http://weather-processing:8081");
+    }
+
+    public URI start() {
+        log.info("Starting PostgreSQL and RabbitMQ");
+        postgres.start();
+        rabbitmq.start();
+        log.info("Building and starting weather-processing");
+        processing.start();
+        log.info("Building and starting weather-gateway");
+        gateway.start();
+        return URI.create("http://" + gateway.getHost() + ":" + gateway.getMappedPort(8080));
+    }
+
+    @Override
+    public void close() {
+        gateway.stop();
+        processing.stop();
+        rabbitmq.stop();
+        postgres.stop();
+        network.close();
+    }
+
+    private GenericContainer<?> service(Path projectDir, String module, int port) {
+        Path moduleDir = projectDir.resolve(module).toAbsolutePath().normalize();
+        if (!Files.isDirectory(moduleDir.resolve("target"))) {
+            throw new IllegalStateException(moduleDir.resolve("target") + " not found, run mvn package first");
+        }
+        return new GenericContainer<>(new ImageFromDockerfile("weather-loadtest/" + module, false)
+                .withFileFromPath(".", moduleDir))
+                .withNetwork(network)
+                .withEnv("SPRING_PROFILES_ACTIVE", "docker")
+                .withExposedPorts(port)
+                .withLogConsumer(new Slf4jLogConsumer(LoggerFactory.getLogger(module)))
+                .waitingFor(Wait.forHttp("/actuator/health").forPort(port).withStartupTimeout(STARTUP_TIMEOUT));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.weather.loadtest;
+
+import com.weather.shared.dto.WeatherDataDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadGeneratorTest {
+
+    @Test
+    void shouldFollowScheduleAndProbeLag() {
+        // Given - 4 stations at 20 readings/s for half a second, every reading probed
+        LoadTestSettings settings = LoadTestSettings.parse("--gateway-url=http://localhost:8080",
+                "--stations=4", "--rate=20", "--duration=PT0.5S", "--warmup=PT0S", "--burst-interval=PT0S",
+                "--forecast-ratio=0.5", "--lag-sample-rate=1");
+        RecordingClient client = new RecordingClient();
+
+        // When
+        LoadTestReport report = new LoadGenerator(settings, client).run();
+
+        // Then
+        assertEquals(40, report.ingest().getSuccesses());
+        assertEquals(0, report.ingest().getFailures());
+        assertEquals(20, client.forecastReads.get() - report.lag().getSuccesses());
+        assertEquals(40, report.lag().getSuccesses());
+        assertEquals(40, client.readings.size());
+    }
+
+    @Test
+    void shouldSendBurstsAndCountFailures() {
+        // Given
+        LoadTestSettings settings = LoadTestSettings.parse("--gateway-url=http://localhost:8080",
+                "--stations=2", "--rate=2", "--duration=PT1S", "--warmup=PT0S", "--burst-interval=PT0.4S",
+                "--burst-size=3", "--forecast-ratio=0", "--lag-sample-rate=0");
+        RecordingClient client = new RecordingClient();
+        client.failing = true;
+
+        // When
+        LoadTestReport report = new LoadGenerator(settings, client).run();
+
+        // Then - 2 steady readings and 2 bursts of 3 per station
+        assertEquals(0, report.ingest().getSuccesses());
+        assertEquals(16, report.ingest().getFailures());
+    }
+
+    private static class RecordingClient extends WeatherApiClient {
+
+        private final Set<String> readings = ConcurrentHashMap.newKeySet();
+        private final Map<String, Instant> latest = new ConcurrentHashMap<>();
+        private final AtomicInteger forecastReads = new AtomicInteger();
+        private volatile boolean failing;
+
+        RecordingClient() {
+            super(URI.create("http://localhost:8080"));
+        }
+
+        @Override
+        public void sendReading(WeatherDataDto reading) throws IOException {
+            if (failing) {
+                throw new IOException("POST /data returned 503");
+            }
+            readings.add(reading.getStationId() + "@" + reading.getTimestamp());
+            latest.merge(reading.getStationId(), reading.getTimestamp(),
+                    (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+        }
+
+        @Override
+        public Optional<Instant> getForecast(String stationId) {
+            forecastReads.incrementAndGet();
+            return Optional.ofNullable(latest.get(stationId));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.weather.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadTestSettingsTest {
+
+    @Test
+    void shouldParseOptionsAndApplyDefaults() {
+        // When
+        LoadTestSettings settings = LoadTestSettings.parse("--gateway-url=http://localhost:8080",
+                "--stations=200", "--rate=0.5", "--duration=PT2M", "--burst-interval=PT0S");
+
+        // Then
+        assertEquals(URI.create("http://localhost:8080"), settings.gatewayUrl());
+        assertEquals(200, settings.stations());
+        assertEquals(Duration.ofMinutes(2), settings.duration());
+        assertEquals(Duration.ofSeconds(15), settings.warmup());
+        assertEquals(100.0, settings.targetReadingsPerSecond(), 1e-9);
+    }
+
+    @Test
+    void shouldIncludeBurstsInTargetRate() {
+        // When
+        LoadTestSettings settings = LoadTestSettings.parse("--stations=10", "--rate=1",
+                "--burst-interval=PT10S", "--burst-size=5");
+
+        // Then
+        assertNull(settings.gatewayUrl());
+        assertEquals(15.0, settings.targetReadingsPerSecond(), 1e-9);
+    }
+
+    @Test
+    void shouldRejectUnknownOrMalformedOptions() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestSettings.parse("--threads=4"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestSettings.parse("stations=4"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestSettings.parse("--stations=0"));
+    }
+}
\ No newline at end of file
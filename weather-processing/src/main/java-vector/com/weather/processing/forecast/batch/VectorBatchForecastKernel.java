@@ -0,0 +1,84 @@
+package com.weather.processing.forecast.batch;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static com.weather.processing.forecast.ForecastBounds.*;
+
+/**
+ * SIMD implementation on {@code jdk.incubator.vector}. Compiled only with the Maven profile
+ * {@code vector} and loaded through {@link BatchForecastEngine#vectorKernel()}; the JVM needs
+ * {@code --add-modules jdk.incubator.vector}.
+ */
+public class VectorBatchForecastKernel implements BatchForecastKernel {
+
+    public static final String NAME = "vector";
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public String getName() {
+        return NAME + "(" + SPECIES.length() + "x64)";
+    }
+
+    @Override
+    public void forecast(StationBatch batch, BatchForecast out) {
+        out.prepare(batch);
+        int bound = SPECIES.loopBound(batch.size);
+
+        for (int s = 0; s < bound; s += SPECIES.length()) {
+            DoubleVector dt = DoubleVector.fromArray(SPECIES, batch.timeDiffHours, s);
+            DoubleVector latestTemperature = DoubleVector.fromArray(SPECIES, batch.latestTemperature, s);
+            DoubleVector latestHumidity = DoubleVector.fromArray(SPECIES, batch.latestHumidity, s);
+            DoubleVector latestPressure = DoubleVector.fromArray(SPECIES, batch.latestPressure, s);
+            DoubleVector latestPrecipitation = DoubleVector.fromArray(SPECIES, batch.latestPrecipitation, s);
+
+            DoubleVector tempTrend = latestTemperature
+                    .sub(DoubleVector.fromArray(SPECIES, batch.previousTemperature, s)).div(dt);
+            DoubleVector humidityTrend = latestHumidity
+                    .sub(DoubleVector.fromArray(SPECIES, batch.previousHumidity, s)).div(dt);
+            DoubleVector pressureTrend = latestPressure
+                    .sub(DoubleVector.fromArray(SPECIES, batch.previousPressure, s)).div(dt);
+            DoubleVector precipitationTrend = latestPrecipitation
+                    .sub(DoubleVector.fromArray(SPECIES, batch.previousPrecipitation, s)).div(dt);
+
+            for (int hour = 1; hour <= out.hours; hour++) {
+                int index = (hour - 1) * out.stride + s;
+                double hoursAhead = hour;
+                round(clamp(latestTemperature.add(tempTrend.mul(hoursAhead)), MIN_TEMPERATURE, MAX_TEMPERATURE))
+                        .intoArray(out.temperature, index);
+                round(clamp(latestHumidity.add(humidityTrend.mul(hoursAhead)), MIN_HUMIDITY, MAX_HUMIDITY))
+                        .intoArray(out.humidity, index);
+                round(clamp(latestPressure.add(pressureTrend.mul(hoursAhead)), MIN_PRESSURE, MAX_PRESSURE))
+                        .intoArray(out.pressure, index);
+                round(clamp(latestPrecipitation.add(precipitationTrend.mul(hoursAhead)),
+                        MIN_PRECIPITATION, MAX_PRECIPITATION))
+                        .intoArray(out.precipitation, index);
+            }
+        }
+
+        ScalarBatchForecastKernel.forecastRange(batch, out, bound, batch.size);
+    }
+
+    private static DoubleVector clamp(DoubleVector value, double min, double max) {
+        return value.min(max).max(min);
+    }
+
+    /**
+     * Lane-wise {@code Math.round(value * 10.0) / 10.0}. There is no vector floor in this API
+     * version, so it truncates through {@code long} and corrects negative lanes.
+     */
+    private static DoubleVector round(DoubleVector value) {
+        DoubleVector scaled = value.mul(10.0);
+        DoubleVector shifted = scaled.add(0.5);
+        DoubleVector floor = (DoubleVector) shifted
+                .convert(VectorOperators.D2L, 0)
+                .convert(VectorOperators.L2D, 0);
+        floor = floor.sub(1.0, floor.compare(VectorOperators.GT, shifted));
+        // scaled + 0.5 itself may round up to the next integer (scaled = 0.49999999999999994);
+        // Math.round compares exactly, so do the same: floor - 0.5 is exact for these magnitudes.
+        floor = floor.sub(1.0, floor.sub(0.5).compare(VectorOperators.GT, scaled));
+        return floor.div(10.0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.weather.processing.aggregate;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Locale;
+
+/**
+ * Metrics that can be aggregated. The column name is taken from here and never from the request,
+ * so it is safe to put into SQL text.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum AggregateMetric {
+
+    TEMPERATURE("temperature"),
+    HUMIDITY("humidity"),
+    PRESSURE("pressure"),
+    PRECIPITATION("precipitation");
+
+    private final String column;
+
+    public static AggregateMetric of(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported metric: " + value);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.weather.processing.aggregate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Validated parameters of an aggregation request. Windows are aligned to the Unix epoch, so the
+ * buckets of the same window never shift between requests.
+ */
+public record AggregateQuery(String stationId, AggregateMetric metric, Duration window, Instant from, Instant to,
+                             List<Double> percentiles) {
+
+    public static final int MAX_PERCENTILES = 5;
+
+    private static final Pattern WINDOW = Pattern.compile("(\\d+)([smhd])");
+    private static final Duration MIN_WINDOW = Duration.ofMinutes(1);
+
+    public static AggregateQuery of(String stationId, String metric, String window, Instant from, Instant to,
+                                    List<Double> percentiles, int maxBuckets) {
+        if (stationId == null || stationId.isBlank()) {
+            throw new IllegalArgumentException("stationId is required");
+        }
+        Duration windowDuration = parseWindow(window);
+        // An open range ends at the next full hour, which keeps it answerable from the rollup.
+        Instant end = to != null ? to : Instant.now().truncatedTo(ChronoUnit.HOURS).plus(1, ChronoUnit.HOURS);
+        if (!from.isBefore(end)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (Duration.between(from, end).dividedBy(windowDuration) >= maxBuckets) {
+            throw new IllegalArgumentException("Range spans more than " + maxBuckets + " windows of " + window);
+        }
+
+        List<Double> requested = percentiles == null ? List.of() : List.copyOf(percentiles);
+        if (requested.size() > MAX_PERCENTILES) {
+            throw new IllegalArgumentException("At most " + MAX_PERCENTILES + " percentiles can be requested");
+        }
+        for (double percentile : requested) {
+            if (percentile < 0 || percentile > 1) {
+                throw new IllegalArgumentException("Percentiles must be between 0 and 1");
+            }
+        }
+        return new AggregateQuery(stationId, AggregateMetric.of(metric), windowDuration, from, end, requested);
+    }
+
+    static Duration parseWindow(String window) {
+        Matcher matcher = WINDOW.matcher(window == null ? "" : window.trim().toLowerCase(Locale.ROOT));
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Unsupported window: " + window + " (expected e.g. 15m, 1h, 1d)");
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        Duration duration = switch (matcher.group(2)) {
+            case "s" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            default -> Duration.ofDays(amount);
+        };
+        if (duration.compareTo(MIN_WINDOW) < 0) {
+            throw new IllegalArgumentException("Window must be at least " + MIN_WINDOW.toMinutes() + " minute");
+        }
+        return duration;
+    }
+
+    /**
+     * Whole-hour windows over an hour-aligned range without percentiles are composable from the
+     * hourly rollup; percentiles are not.
+     */
+    public boolean isRollupCompatible() {
+        return percentiles.isEmpty()
+                && window.toSeconds() % 3600 == 0
+                && from.getEpochSecond() % 3600 == 0 && from.getNano() == 0
+                && to.getEpochSecond() % 3600 == 0 && to.getNano() == 0;
+    }
+
+    public String getWindowLabel() {
+        long seconds = window.toSeconds();
+        if (seconds % 86400 == 0) {
+            return seconds / 86400 + "d";
+        }
+        if (seconds % 3600 == 0) {
+            return seconds / 3600 + "h";
+        }
+        if (seconds % 60 == 0) {
+            return seconds / 60 + "m";
+        }
+        return seconds + "s";
+    }
+
+    public static String percentileLabel(double percentile) {
+        return "p" + BigDecimal.valueOf(percentile).movePointRight(2).stripTrailingZeros().toPlainString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.weather.processing.aggregate;
+
+import com.weather.processing.event.StationUpdatedEvent;
+import com.weather.processing.event.WeatherDataSavedEvent;
+import com.weather.processing.repository.WeatherDataRepository;
+import com.weather.processing.station.StationDictionary;
+import com.weather.processing.station.StationTable;
+import com.weather.shared.dto.WeatherAggregateDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Windowed min/max/avg/percentiles computed by the database, from the hourly rollup when the
+ * query allows it, and cached until the station receives a new observation.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WeatherAggregateService {
+
+    public static final String AGGREGATE_CACHE = "weatherAggregates";
+
+    static final String SOURCE_RAW = "raw";
+    static final String SOURCE_ROLLUP = "rollup";
+
+    private final WeatherDataRepository weatherDataRepository;
+    private final StationDictionary stationDictionary;
+    private final CacheManager cacheManager;
+
+    // Part of every cache key and bumped on each observation, so the stale entries of a station
+    // become unreachable without scanning the cache; they age out by size and TTL.
+    private final StationTable<AtomicInteger> generations = new StationTable<>(1024);
+
+    @Value("${weather.aggregates.rollup.enabled:true}")
+    private boolean rollupEnabled;
+
+    @Value("${weather.aggregates.max-buckets:10000}")
+    private int maxBuckets;
+
+    public WeatherAggregateDto aggregate(String stationId, String metric, String window, Instant from, Instant to,
+                                         List<Double> percentiles) {
+        AggregateQuery query = AggregateQuery.of(stationId, metric, window, from, to, percentiles, maxBuckets);
+
+        OptionalInt stationKey = stationDictionary.findKey(stationId);
+        if (stationKey.isEmpty()) {
+            log.warn("Unknown station: {}. Returning empty aggregates.", stationId);
+            return toDto(query, SOURCE_RAW, List.of());
+        }
+        int key = stationKey.getAsInt();
+
+        Cache cache = cacheManager.getCache(AGGREGATE_CACHE);
+        if (cache == null) {
+            return compute(key, query);
+        }
+        return cache.get(new CacheKey(key, generation(key), query), () -> compute(key, query));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWeatherDataSaved(WeatherDataSavedEvent event) {
+        nextGeneration(event.getWeatherData().getStationKey());
+    }
+
+    @EventListener
+    public void onStationUpdated(StationUpdatedEvent event) {
+        nextGeneration(event.getStationKey());
+    }
+
+    public int rebuildRollup() {
+        long started = System.nanoTime();
+        int hours = weatherDataRepository.rebuildHourlyRollup();
+        Cache cache = cacheManager.getCache(AGGREGATE_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+        log.info("Rebuilt hourly rollup: {} station hours in {} ms", hours, (System.nanoTime() - started) / 1_000_000);
+        return hours;
+    }
+
+    private void nextGeneration(int stationKey) {
+        AtomicInteger generation = generations.get(stationKey);
+        if (generation == null) {
+            generation = generations.merge(stationKey, new AtomicInteger(), (current, created) -> current);
+        }
+        generation.incrementAndGet();
+    }
+
+    private int generation(int stationKey) {
+        AtomicInteger generation = generations.get(stationKey);
+        return generation == null ? 0 : generation.get();
+    }
+
+    private WeatherAggregateDto compute(int stationKey, AggregateQuery query) {
+        long started = System.nanoTime();
+        boolean fromRollup = rollupEnabled && query.isRollupCompatible();
+        List<WeatherAggregateDto.Bucket> buckets = fromRollup
+                ? weatherDataRepository.aggregateRollup(stationKey, query.metric(), query.window(), query.from(),
+                query.to())
+                : weatherDataRepository.aggregate(stationKey, query.metric(), query.window(), query.from(),
+                query.to(), query.percentiles());
+        log.debug("Aggregated {} of station: {} into {} buckets from {} in {} µs", query.metric(), query.stationId(),
+                buckets.size(), fromRollup ? SOURCE_ROLLUP : SOURCE_RAW, (System.nanoTime() - started) / 1000);
+        return toDto(query, fromRollup ? SOURCE_ROLLUP : SOURCE_RAW, buckets);
+    }
+
+    private WeatherAggregateDto toDto(AggregateQuery query, String source, List<WeatherAggregateDto.Bucket> buckets) {
+        return new WeatherAggregateDto(query.stationId(), query.metric().name().toLowerCase(Locale.ROOT),
+                query.getWindowLabel(), query.from(), query.to(), source, buckets);
+    }
+
+    private record CacheKey(int stationKey, int generation, AggregateQuery query) {
+    }
+}
\ No newline at end of file
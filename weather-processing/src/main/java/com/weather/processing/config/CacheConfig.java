@@ -0,0 +1,114 @@
+package com.weather.processing.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.weather.processing.aggregate.WeatherAggregateService;
+import com.weather.processing.service.ForecastResponseCache;
+import com.weather.processing.service.ForecastService;
+import com.weather.shared.dto.WeatherForecastDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Bounds the Caffeine caches created by Spring Boot when {@code spring.cache.type=caffeine}.
+ * Forecast entries are weighed by their approximate heap footprint, encoded forecast responses by
+ * their length; aggregate results are bounded by count.
+ */
+@Slf4j
+@Configuration
+public class CacheConfig {
+
+    // Rough heap cost of a WeatherForecastDto and of each ForecastItem with its boxed fields.
+    static final int FORECAST_BASE_BYTES = 96;
+    static final int FORECAST_ITEM_BYTES = 136;
+    // A key record of a few ints.
+    static final int RECORD_KEY_BYTES = 32;
+    // Entry object, byte array header and the ETag string.
+    static final int RESPONSE_BASE_BYTES = 128;
+
+    @Value("${weather.cache.forecasts.max-size:64MB}")
+    private DataSize forecastsMaxSize;
+
+    @Value("${weather.cache.forecasts.ttl:30m}")
+    private Duration forecastsTtl;
+
+    @Value("${weather.cache.forecast-responses.max-size:32MB}")
+    private DataSize responsesMaxSize;
+
+    @Value("${weather.cache.aggregates.max-entries:10000}")
+    private long aggregatesMaxEntries;
+
+    @Value("${weather.cache.aggregates.ttl:10m}")
+    private Duration aggregatesTtl;
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> forecastCacheCustomizer() {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(ForecastService.FORECAST_CACHE,
+                    forecastCacheBuilder(forecastsMaxSize, forecastsTtl).build());
+            log.info("Forecast cache bounded to {} with TTL {}", forecastsMaxSize, forecastsTtl);
+
+            cacheManager.registerCustomCache(ForecastResponseCache.RESPONSE_CACHE, Caffeine.newBuilder()
+                    .maximumWeight(responsesMaxSize.toBytes())
+                    .weigher((key, value) -> RECORD_KEY_BYTES + RESPONSE_BASE_BYTES
+                            + ((ForecastResponseCache.EncodedForecast) value).body().length)
+                    .expireAfterWrite(forecastsTtl)
+                    .recordStats()
+                    .build());
+            log.info("Forecast response cache bounded to {} with TTL {}", responsesMaxSize, forecastsTtl);
+
+            cacheManager.registerCustomCache(WeatherAggregateService.AGGREGATE_CACHE, Caffeine.newBuilder()
+                    .maximumSize(aggregatesMaxEntries)
+                    .expireAfterWrite(aggregatesTtl)
+                    .recordStats()
+                    .build());
+            log.info("Aggregate cache bounded to {} entries with TTL {}", aggregatesMaxEntries, aggregatesTtl);
+        };
+    }
+
+    public static Caffeine<Object, Object> forecastCacheBuilder(DataSize maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((key, value) -> estimateSize(value))
+                .expireAfter(new ExpireAfterWrite(ttl.toNanos()))
+                .recordStats();
+    }
+
+    static int estimateSize(Object value) {
+        int size = FORECAST_BASE_BYTES + RECORD_KEY_BYTES;
+        if (value instanceof WeatherForecastDto forecast) {
+            size += forecast.getStationId().length() * 2;
+            size += forecast.getForecasts().size() * FORECAST_ITEM_BYTES;
+        }
+        return size;
+    }
+
+    /**
+     * Same as {@code expireAfterWrite}, but lets a single entry be put with a shorter lifetime, as
+     * forecasts restored from a snapshot are.
+     */
+    private record ExpireAfterWrite(long ttlNanos) implements Expiry<Object, Object> {
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
\ No newline at end of file
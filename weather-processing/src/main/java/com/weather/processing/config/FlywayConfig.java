@@ -0,0 +1,28 @@
+package com.weather.processing.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Slf4j
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * A class-data-sharing training run ({@code -Dspring.context.exit=onRefresh}) only refreshes the
+     * context to load classes and runs without a database, so migrations are skipped there.
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(Environment environment) {
+        boolean trainingRun = "onRefresh".equals(environment.getProperty("spring.context.exit"));
+        return flyway -> {
+            if (trainingRun) {
+                log.info("Skipping schema migrations in a training run");
+                return;
+            }
+            flyway.migrate();
+        };
+    }
+}
\ No newline at end of file
@@ -10,6 +10,9 @@ import org.springframework.context.annotation.Configuration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import static com.weather.shared.config.RabbitMQConfig.WEATHER_INVALIDATION_EXCHANGE;
+import static com.weather.shared.config.RabbitMQConfig.WEATHER_LIVE_EXCHANGE;
+
 @Configuration
 public class RabbitMQConfig {
 
@@ -41,6 +44,27 @@ public class RabbitMQConfig {
                 .with(routingKey);
     }
 
+    @Bean
+    public FanoutExchange weatherLiveExchange() {
+        return new FanoutExchange(WEATHER_LIVE_EXCHANGE, false, false);
+    }
+
+    @Bean
+    public FanoutExchange weatherInvalidationExchange() {
+        return new FanoutExchange(WEATHER_INVALIDATION_EXCHANGE, false, false);
+    }
+
+    // Every processing instance gets its own server-named queue that disappears with its connection.
+    @Bean
+    public Queue stationInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding stationInvalidationBinding() {
+        return BindingBuilder.bind(stationInvalidationQueue()).to(weatherInvalidationExchange());
+    }
+
     @Bean
     public Jackson2JsonMessageConverter jsonMessageConverter() {
         ObjectMapper objectMapper = new ObjectMapper();
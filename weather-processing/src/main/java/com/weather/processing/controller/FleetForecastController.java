@@ -0,0 +1,71 @@
+package com.weather.processing.controller;
+
+import com.weather.processing.fleet.FleetForecastFormat;
+import com.weather.processing.fleet.FleetForecastJob;
+import com.weather.processing.fleet.FleetForecastReport;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/weather/forecast/fleet")
+@RequiredArgsConstructor
+@Tag(name = "Fleet Forecast API", description = "API для расчёта прогнозов по всем станциям")
+public class FleetForecastController {
+
+    private final FleetForecastJob fleetForecastJob;
+
+    @GetMapping
+    @Operation(summary = "Прогноз по всем станциям", description = "Рассчитывает прогноз для всех станций и отдаёт его потоком в формате ndjson или csv")
+    public ResponseEntity<StreamingResponseBody> streamFleetForecast(
+            @RequestParam(value = "hours", defaultValue = "1") int hours,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format) {
+
+        FleetForecastFormat fleetFormat = FleetForecastFormat.of(format);
+        fleetForecastJob.validateHours(hours);
+        // Claimed before the 200 goes out; the run releases the job when the stream ends.
+        if (!fleetForecastJob.tryStart()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Fleet forecast job is already running");
+        }
+        log.info("Streaming fleet forecast, hours: {}, format: {}", hours, fleetFormat);
+
+        StreamingResponseBody body = out -> fleetForecastJob.runStarted(hours, fleetFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(fleetFormat.getContentType()))
+                .body(body);
+    }
+
+    @PostMapping("/export")
+    @Operation(summary = "Выгрузка прогноза в файл", description = "Запускает фоновый расчёт прогноза по всем станциям с записью в файл")
+    public ResponseEntity<Map<String, String>> exportFleetForecast(
+            @RequestParam(value = "hours", defaultValue = "24") int hours,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format) {
+
+        FleetForecastFormat fleetFormat = FleetForecastFormat.of(format);
+        if (!fleetForecastJob.startExport(hours, fleetFormat)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("status", "Fleet forecast job is already running"));
+        }
+
+        log.info("Started fleet forecast export, hours: {}, format: {}", hours, fleetFormat);
+        return ResponseEntity.accepted().body(Map.of("status", "Fleet forecast export started"));
+    }
+
+    @GetMapping("/status")
+    @Operation(summary = "Статус расчёта", description = "Возвращает прогресс и длительность этапов последнего расчёта по всем станциям")
+    public ResponseEntity<FleetForecastReport> getFleetForecastStatus() {
+        return fleetForecastJob.getLastReport()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.weather.processing.controller;
+
+import com.weather.processing.export.ExportQuery;
+import com.weather.processing.export.ObservationExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/weather")
+@RequiredArgsConstructor
+@Tag(name = "Weather Export API", description = "API для выгрузки наблюдений")
+public class ObservationExportController {
+
+    private final ObservationExportService observationExportService;
+
+    @GetMapping("/export")
+    @Operation(summary = "Выгрузка наблюдений", description = "Отдаёт потоком наблюдения станций за период [from, to) в сжатом колоночном формате (.wcol)")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam("stationIds") List<String> stationIds,
+            @RequestParam("from") Instant from,
+            @RequestParam(value = "to", required = false) Instant to) {
+
+        ExportQuery query = ExportQuery.of(stationIds, from, to, observationExportService.getMaxStations());
+        log.info("Exporting {} stations, from: {}, to: {}", query.stationIds().size(), query.from(), query.to());
+
+        StreamingResponseBody body = out -> observationExportService.export(query, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("observations.wcol").build().toString())
+                .body(body);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(IllegalArgumentException e) {
+        log.warn("Invalid export request: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
\ No newline at end of file
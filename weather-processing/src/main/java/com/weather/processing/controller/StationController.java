@@ -0,0 +1,80 @@
+package com.weather.processing.controller;
+
+import com.weather.processing.entity.Station;
+import com.weather.processing.station.StationDictionary;
+import com.weather.processing.station.StationIndex;
+import com.weather.processing.station.StationService;
+import com.weather.shared.dto.StationDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/stations")
+@RequiredArgsConstructor
+@Tag(name = "Station API", description = "API для регистрации станций и поиска соседних станций")
+public class StationController {
+
+    private final StationService stationService;
+    private final StationDictionary stationDictionary;
+
+    @PutMapping("/{stationId}")
+    @Operation(summary = "Регистрация станции", description = "Создаёт станцию или обновляет её координаты")
+    public StationDto registerStation(@PathVariable("stationId") String stationId,
+                                      @Valid @RequestBody StationDto station) {
+        log.info("Registering station: {}", stationId);
+        return toDto(stationService.registerStation(stationId, station.getName(), station.getLatitude(),
+                station.getLongitude()));
+    }
+
+    @GetMapping("/{stationId}")
+    @Operation(summary = "Получение станции", description = "Возвращает координаты станции")
+    public ResponseEntity<StationDto> getStation(@PathVariable("stationId") String stationId) {
+        return stationService.findStation(stationId)
+                .map(station -> ResponseEntity.ok(toDto(station)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{stationId}/neighbours")
+    @Operation(summary = "Ближайшие станции", description = "Возвращает k ближайших к станции станций, k не больше weather.stations.max-neighbours")
+    public List<StationDto> getNeighbours(@PathVariable("stationId") String stationId,
+                                          @RequestParam(value = "k", defaultValue = "5") int k) {
+        return toDto(stationService.findNeighbours(stationId, k));
+    }
+
+    @GetMapping("/nearby")
+    @Operation(summary = "Станции в радиусе", description = "Возвращает станции в заданном радиусе от точки, ближайшие первыми")
+    public List<StationDto> getStationsWithinRadius(
+            @RequestParam("latitude") double latitude,
+            @RequestParam("longitude") double longitude,
+            @RequestParam(value = "radiusKm", defaultValue = "50") double radiusKm,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return toDto(stationService.findWithinRadius(latitude, longitude, radiusKm, limit));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(IllegalArgumentException e) {
+        log.warn("Invalid station request: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    private StationDto toDto(Station station) {
+        return new StationDto(station.getStationId(), station.getName(), station.getLatitude(),
+                station.getLongitude(), null);
+    }
+
+    private List<StationDto> toDto(List<StationIndex.Neighbour> neighbours) {
+        return neighbours.stream()
+                .map(neighbour -> new StationDto(stationDictionary.getStationId(neighbour.stationKey()), null, neighbour.latitude(),
+                        neighbour.longitude(), Math.round(neighbour.distanceKm() * 1000.0) / 1000.0))
+                .toList();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.weather.processing.controller;
+
+import com.weather.processing.aggregate.WeatherAggregateService;
+import com.weather.shared.dto.WeatherAggregateDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/weather/aggregates")
+@RequiredArgsConstructor
+@Tag(name = "Weather Aggregates API", description = "API для агрегации наблюдений по временным окнам")
+public class WeatherAggregateController {
+
+    private final WeatherAggregateService weatherAggregateService;
+
+    @GetMapping
+    @Operation(summary = "Агрегаты по окнам", description = "Возвращает min, max, avg и перцентили метрики станции за период [from, to), сгруппированные по окнам (15m, 1h, 1d)")
+    public WeatherAggregateDto getAggregates(
+            @RequestParam("stationId") String stationId,
+            @RequestParam(value = "metric", defaultValue = "temperature") String metric,
+            @RequestParam(value = "window", defaultValue = "1h") String window,
+            @RequestParam("from") Instant from,
+            @RequestParam(value = "to", required = false) Instant to,
+            @RequestParam(value = "percentiles", required = false) List<Double> percentiles) {
+
+        log.info("Aggregating {} for station: {}, window: {}, from: {}, to: {}", metric, stationId, window, from, to);
+        return weatherAggregateService.aggregate(stationId, metric, window, from, to, percentiles);
+    }
+
+    @PostMapping("/rollup/rebuild")
+    @Operation(summary = "Пересчёт часовых агрегатов", description = "Пересчитывает таблицу часовых агрегатов по всем наблюдениям")
+    public Map<String, Integer> rebuildRollup() {
+        return Map.of("hours", weatherAggregateService.rebuildRollup());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(IllegalArgumentException e) {
+        log.warn("Invalid aggregate request: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
\ No newline at end of file
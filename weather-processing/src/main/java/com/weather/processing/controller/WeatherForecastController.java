@@ -1,12 +1,27 @@
 package com.weather.processing.controller;
 
+import com.weather.processing.forecast.ForecastVersion;
+import com.weather.processing.service.ForecastResponseCache;
 import com.weather.processing.service.ForecastService;
 import com.weather.shared.dto.WeatherForecastDto;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -16,14 +31,48 @@ import org.springframework.web.bind.annotation.*;
 public class WeatherForecastController {
 
     private final ForecastService forecastService;
+    private final ForecastResponseCache forecastResponseCache;
+    private final ContentNegotiationManager contentNegotiationManager;
 
-    @GetMapping("/forecast")
-    @Operation(summary = "Получение прогноза погоды", description = "Генерирует прогноз погоды для указанной станции")
-    public WeatherForecastDto getWeatherForecast(
+    @GetMapping(path = "/forecast", produces = {MediaType.APPLICATION_JSON_VALUE, ForecastResponseCache.SMILE_VALUE})
+    @Operation(summary = "Получение прогноза погоды", description = "Генерирует прогноз погоды для указанной станции; модель прогноза можно выбрать параметром model")
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = WeatherForecastDto.class)),
+            @Content(mediaType = ForecastResponseCache.SMILE_VALUE, schema = @Schema(implementation = WeatherForecastDto.class))
+    })
+    public ResponseEntity<byte[]> getWeatherForecast(
             @RequestParam("stationId") String stationId,
-            @RequestParam(value = "hours", defaultValue = "1") int hours) {
+            @RequestParam(value = "hours", defaultValue = "1") int hours,
+            @RequestParam(value = "model", required = false) String model,
+            NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+
+        List<MediaType> accepted = contentNegotiationManager.resolveMediaTypes(request);
+        ForecastResponseCache.Encoding encoding = ForecastResponseCache.Encoding.negotiate(accepted)
+                .orElseThrow(() -> new HttpMediaTypeNotAcceptableException(List.of(
+                        ForecastResponseCache.Encoding.JSON.getMediaType(),
+                        ForecastResponseCache.Encoding.SMILE.getMediaType())));
+
+        Optional<ForecastVersion> version = forecastService.getForecastVersion(stationId, hours, model);
+        byte[] body;
+        if (version.isPresent()) {
+            // Sets ETag and Last-Modified; for a matching If-None-Match or If-Modified-Since also 304.
+            if (request.checkNotModified(version.get().eTag(), version.get().lastModified().toEpochMilli())) {
+                log.debug("Forecast not modified for station: {}", stationId);
+                return null;
+            }
+            log.info("Requesting forecast for station: {}, hours: {}, model: {}", stationId, hours, model);
+            body = forecastResponseCache.get(stationId, hours, version.get(), encoding).body();
+        } else {
+            // Without observations there is no version to validate cached bytes against.
+            log.info("Requesting forecast for station: {}, hours: {}, model: {}", stationId, hours, model);
+            body = forecastResponseCache.encode(forecastService.generateForecast(stationId, hours, model), encoding);
+        }
 
-        log.info("Requesting forecast for station: {}, hours: {}", stationId, hours);
-        return forecastService.generateForecast(stationId, hours);
+        return ResponseEntity.ok()
+                .contentType(encoding.getMediaType())
+                .contentLength(body.length)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
     }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.weather.processing.controller;
+
+import com.weather.processing.history.HistoryQuery;
+import com.weather.processing.history.WeatherHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/weather")
+@RequiredArgsConstructor
+@Tag(name = "Weather History API", description = "API для получения истории наблюдений")
+public class WeatherHistoryController {
+
+    private final WeatherHistoryService weatherHistoryService;
+
+    @GetMapping("/history")
+    @Operation(summary = "История наблюдений", description = "Отдаёт потоком наблюдения станции за период [from, to); с параметром limit возвращает страницу и nextPageToken для следующей")
+    public ResponseEntity<StreamingResponseBody> getWeatherHistory(
+            @RequestParam("stationId") String stationId,
+            @RequestParam("from") Instant from,
+            @RequestParam(value = "to", required = false) Instant to,
+            @RequestParam(value = "pageToken", required = false) String pageToken,
+            @RequestParam(value = "limit", defaultValue = "0") int limit) {
+
+        HistoryQuery query = HistoryQuery.of(stationId, from, to, pageToken, limit);
+        log.info("Streaming history for station: {}, from: {}, to: {}, limit: {}",
+                stationId, query.from(), query.to(), limit);
+
+        StreamingResponseBody body = out -> weatherHistoryService.stream(query, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(IllegalArgumentException e) {
+        log.warn("Invalid history request: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
\ No newline at end of file
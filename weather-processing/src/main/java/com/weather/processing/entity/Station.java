@@ -0,0 +1,23 @@
+package com.weather.processing.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(name = "stations")
+public class Station {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false, unique = true)
+    private String stationId;
+
+    private String name;
+
+    private Double latitude;
+
+    private Double longitude;
+}
\ No newline at end of file
@@ -2,20 +2,30 @@ package com.weather.processing.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
 import java.time.Instant;
 
 @Data
 @Entity
 @Table(name = "weather_data",
-        indexes = @Index(columnList = "stationId, timestamp", unique = true))
+        indexes = @Index(columnList = "station_key, timestamp", unique = true))
 public class WeatherData {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
-    private String stationId;
+    @Column(name = "station_key", nullable = false)
+    private Integer stationKey;
+
+    // Declares the foreign key only; the key itself is written through stationKey.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "station_key", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Station station;
 
     @Column(nullable = false)
     private Instant timestamp;
@@ -0,0 +1,66 @@
+package com.weather.processing.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Count, min, max and sum of every metric per station and hour. Rows are upserted with plain SQL
+ * on ingest; the entity only declares the table.
+ */
+@Data
+@Entity
+@Table(name = "weather_hourly_rollup",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"station_key", "bucket"}))
+public class WeatherHourlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "station_key", nullable = false)
+    private Integer stationKey;
+
+    @Column(nullable = false)
+    private Instant bucket;
+
+    @Column(nullable = false)
+    private Long observations;
+
+    @Column(name = "temperature_min", nullable = false)
+    private Double temperatureMin;
+
+    @Column(name = "temperature_max", nullable = false)
+    private Double temperatureMax;
+
+    @Column(name = "temperature_sum", nullable = false)
+    private Double temperatureSum;
+
+    @Column(name = "humidity_min", nullable = false)
+    private Double humidityMin;
+
+    @Column(name = "humidity_max", nullable = false)
+    private Double humidityMax;
+
+    @Column(name = "humidity_sum", nullable = false)
+    private Double humiditySum;
+
+    @Column(name = "pressure_min", nullable = false)
+    private Double pressureMin;
+
+    @Column(name = "pressure_max", nullable = false)
+    private Double pressureMax;
+
+    @Column(name = "pressure_sum", nullable = false)
+    private Double pressureSum;
+
+    @Column(name = "precipitation_min", nullable = false)
+    private Double precipitationMin;
+
+    @Column(name = "precipitation_max", nullable = false)
+    private Double precipitationMax;
+
+    @Column(name = "precipitation_sum", nullable = false)
+    private Double precipitationSum;
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.weather.processing.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Published when another weather-processing instance has stored observations of the station, the
+ * newest of them taken at {@code latestTimestamp}. Everything cached or derived from the history
+ * of the station in this instance is out of date.
+ */
+@Getter
+@RequiredArgsConstructor
+public class StationUpdatedEvent {
+
+    private final int stationKey;
+    private final Instant latestTimestamp;
+}
\ No newline at end of file
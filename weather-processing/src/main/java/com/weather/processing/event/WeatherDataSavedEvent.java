@@ -0,0 +1,16 @@
+package com.weather.processing.event;
+
+import com.weather.processing.entity.WeatherData;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by {@code WeatherDataService} for every newly persisted observation. Listeners that
+ * must not see rolled-back rows use {@code @TransactionalEventListener}.
+ */
+@Getter
+@RequiredArgsConstructor
+public class WeatherDataSavedEvent {
+
+    private final WeatherData weatherData;
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.weather.processing.export;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Validated parameters of an export; station ids are de-duplicated and sorted so files are
+ * ordered by station and then by time.
+ */
+public record ExportQuery(List<String> stationIds, Instant from, Instant to) {
+
+    public static ExportQuery of(Collection<String> stationIds, Instant from, Instant to, int maxStations) {
+        List<String> stations = stationIds.stream()
+                .filter(id -> !id.isBlank())
+                .distinct()
+                .sorted()
+                .toList();
+        if (stations.isEmpty() || stations.size() > maxStations) {
+            throw new IllegalArgumentException("Export between 1 and " + maxStations + " stations");
+        }
+        Instant end = to != null ? to : Instant.now();
+        if (!from.isBefore(end)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        return new ExportQuery(stations, from, end);
+    }
+}
\ No newline at end of file
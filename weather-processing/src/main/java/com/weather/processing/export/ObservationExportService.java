@@ -0,0 +1,72 @@
+package com.weather.processing.export;
+
+import com.weather.processing.repository.WeatherDataRepository;
+import com.weather.processing.station.StationDictionary;
+import com.weather.shared.columnar.ColumnarObservationWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.OptionalInt;
+
+/**
+ * Streams observations of a station set into the columnar file format. Rows are read from a
+ * database cursor per station and only the current row group is buffered.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ObservationExportService {
+
+    private final WeatherDataRepository weatherDataRepository;
+    private final StationDictionary stationDictionary;
+
+    @Value("${weather.export.row-group-size:65536}")
+    private int rowGroupSize;
+
+    @Value("${weather.export.fetch-size:5000}")
+    private int fetchSize;
+
+    @Value("${weather.export.max-stations:1000}")
+    private int maxStations;
+
+    public int getMaxStations() {
+        return maxStations;
+    }
+
+    @Transactional(readOnly = true)
+    public long export(ExportQuery query, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        ColumnarObservationWriter writer = new ColumnarObservationWriter(out, rowGroupSize);
+
+        for (String stationId : query.stationIds()) {
+            OptionalInt stationKey = stationDictionary.findKey(stationId);
+            if (stationKey.isEmpty()) {
+                continue;
+            }
+            try {
+                weatherDataRepository.streamHistory(stationKey.getAsInt(), query.from(), query.to(), null, 0,
+                        fetchSize, data -> {
+                            try {
+                                writer.write(stationId, data.getTimestamp(), data.getTemperature(),
+                                        data.getHumidity(), data.getPressure(), data.getPrecipitation());
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        writer.finish();
+        log.info("Exported {} observations of {} stations in {} ms", writer.getTotalRows(),
+                query.stationIds().size(), (System.nanoTime() - started) / 1_000_000);
+        return writer.getTotalRows();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.weather.processing.fleet;
+
+import com.weather.processing.forecast.batch.BatchForecast;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * One row per station and forecast hour.
+ */
+class CsvFleetForecastWriter implements FleetForecastWriter {
+
+    static final String HEADER = "stationId,generatedAt,timestamp,temperature,humidity,pressure,precipitation";
+
+    private final Writer writer;
+
+    CsvFleetForecastWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.writer.write(HEADER);
+        this.writer.write('\n');
+    }
+
+    @Override
+    public void write(BatchForecast forecast, int station, Instant generatedAt) throws IOException {
+        String stationId = escape(forecast.getStationId(station));
+        String generated = TIMESTAMP_FORMAT.format(generatedAt);
+        for (int hour = 1; hour <= forecast.getHours(); hour++) {
+            writer.write(stationId);
+            writer.write(',');
+            writer.write(generated);
+            writer.write(',');
+            writer.write(TIMESTAMP_FORMAT.format(generatedAt.plus(hour, ChronoUnit.HOURS)));
+            writer.write(',');
+            writer.write(Double.toString(forecast.getTemperature(station, hour)));
+            writer.write(',');
+            writer.write(Double.toString(forecast.getHumidity(station, hour)));
+            writer.write(',');
+            writer.write(Double.toString(forecast.getPressure(station, hour)));
+            writer.write(',');
+            writer.write(Double.toString(forecast.getPrecipitation(station, hour)));
+            writer.write('\n');
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
\ No newline at end of file
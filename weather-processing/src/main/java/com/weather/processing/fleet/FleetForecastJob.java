@@ -0,0 +1,310 @@
+package com.weather.processing.fleet;
+
+import com.weather.processing.forecast.LinearTrendForecastModel;
+import com.weather.processing.forecast.batch.BatchForecast;
+import com.weather.processing.forecast.batch.BatchForecastEngine;
+import com.weather.processing.forecast.batch.StationBatch;
+import com.weather.processing.repository.StationHistories;
+import com.weather.processing.repository.WeatherDataRepository;
+import com.weather.processing.station.StationDictionary;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Forecasts every station in the database. Stations are enumerated by keyset pages, the newest
+ * observations of a chunk are loaded set-based into primitive arrays, forecasts are computed by
+ * {@link BatchForecastEngine} on a dedicated fork-join pool and written out before the next
+ * chunk is read, so memory use depends on the chunk size only.
+ * <p>
+ * Stations with fewer than two observations have no trend and are skipped. The batch engine
+ * implements the linear trend only; the model is named in the report, and a different
+ * {@code weather.forecast.model} is logged as a warning rather than applied.
+ * <p>
+ * One run at a time: a caller claims the job with {@link #tryStart()} and the run releases it
+ * when it ends. File exports, scheduled ones included, run on a thread of their own.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FleetForecastJob {
+
+    // The linear trend uses only the two newest observations.
+    private static final int HISTORY_ROWS = 2;
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+            .withZone(ZoneOffset.UTC);
+
+    private final WeatherDataRepository weatherDataRepository;
+    private final BatchForecastEngine batchForecastEngine;
+    private final StationDictionary stationDictionary;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<FleetForecastReport> lastReport = new AtomicReference<>();
+    private final ExecutorService exportExecutor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "fleet-forecast-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${weather.fleet-forecast.chunk-size:2000}")
+    private int chunkSize;
+
+    @Value("${weather.fleet-forecast.compute-batch-size:256}")
+    private int computeBatchSize;
+
+    @Value("${weather.fleet-forecast.parallelism:0}")
+    private int parallelism;
+
+    @Value("${weather.fleet-forecast.output-dir:fleet-forecasts}")
+    private String outputDir;
+
+    @Value("${weather.fleet-forecast.format:ndjson}")
+    private String scheduledFormat;
+
+    @Value("${weather.forecast.max-forecast-hours:24}")
+    private int maxForecastHours;
+
+    @Value("${weather.forecast.model:" + LinearTrendForecastModel.NAME + "}")
+    private String configuredModel;
+
+    public Optional<FleetForecastReport> getLastReport() {
+        return Optional.ofNullable(lastReport.get());
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Claims the job for one run, which the caller then has to start with {@link #runStarted};
+     * returns false while another run is in progress.
+     */
+    public boolean tryStart() {
+        return running.compareAndSet(false, true);
+    }
+
+    public void validateHours(int hours) {
+        if (hours <= 0 || hours > maxForecastHours) {
+            throw new IllegalArgumentException("Hours must be between 1 and " + maxForecastHours);
+        }
+    }
+
+    @Scheduled(cron = "${weather.fleet-forecast.cron:-}", zone = "UTC")
+    public void runScheduled() {
+        if (!startExport(maxForecastHours, FleetForecastFormat.of(scheduledFormat))) {
+            log.warn("Skipping scheduled fleet forecast, the previous run is still in progress");
+        }
+    }
+
+    /**
+     * Starts writing the forecast to a file in the background; returns false while another run is
+     * in progress.
+     */
+    public boolean startExport(int hours, FleetForecastFormat format) {
+        validateHours(hours);
+        if (!tryStart()) {
+            return false;
+        }
+        try {
+            exportExecutor.execute(() -> {
+                try {
+                    writeFile(hours, format);
+                } catch (RuntimeException e) {
+                    log.error("Fleet forecast export failed", e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    public FleetForecastReport runToFile(int hours, FleetForecastFormat format) {
+        validateHours(hours);
+        claim();
+        try {
+            return writeFile(hours, format);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public FleetForecastReport run(int hours, FleetForecastFormat format, OutputStream out) throws IOException {
+        validateHours(hours);
+        claim();
+        return runStarted(hours, format, out);
+    }
+
+    /**
+     * Runs the job claimed with {@link #tryStart()} and releases it.
+     */
+    public FleetForecastReport runStarted(int hours, FleetForecastFormat format, OutputStream out)
+            throws IOException {
+        try {
+            return execute(hours, format, out);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        exportExecutor.shutdownNow();
+    }
+
+    private void claim() {
+        if (!tryStart()) {
+            throw new IllegalStateException("Fleet forecast job is already running");
+        }
+    }
+
+    private FleetForecastReport writeFile(int hours, FleetForecastFormat format) {
+        try {
+            Path directory = Files.createDirectories(Path.of(outputDir));
+            Path target = directory.resolve("fleet-forecast-" + FILE_TIMESTAMP.format(Instant.now())
+                    + "." + format.getFileExtension());
+            Path partial = target.resolveSibling(target.getFileName() + ".part");
+
+            try {
+                FleetForecastReport report;
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                    report = execute(hours, format, out);
+                }
+                Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+                log.info("Fleet forecast written to {}", target.toAbsolutePath());
+                return report;
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(partial);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write fleet forecast file", e);
+        }
+    }
+
+    private FleetForecastReport execute(int hours, FleetForecastFormat format, OutputStream out)
+            throws IOException {
+        validateHours(hours);
+        FleetForecastReport report = new FleetForecastReport(hours, format, LinearTrendForecastModel.NAME,
+                batchForecastEngine.getKernelName());
+        lastReport.set(report);
+        if (!LinearTrendForecastModel.NAME.equals(configuredModel)) {
+            log.warn("Fleet forecast uses the {} model, not the configured {} model",
+                    LinearTrendForecastModel.NAME, configuredModel);
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        log.info("Starting fleet forecast: hours={}, format={}, model={}, parallelism={}, kernel={}",
+                hours, format, report.getModel(), pool.getParallelism(), report.getKernel());
+
+        boolean successful = false;
+        try {
+            FleetForecastWriter writer = FleetForecastWriter.create(format, out);
+            Instant generatedAt = Instant.now();
+            int afterStationKey = 0;
+
+            while (true) {
+                long started = System.nanoTime();
+                List<Integer> stationKeys = weatherDataRepository.findStationKeysAfter(afterStationKey, chunkSize);
+                long enumerated = System.nanoTime();
+                if (stationKeys.isEmpty()) {
+                    report.addEnumerateNanos(enumerated - started);
+                    break;
+                }
+
+                StationHistories histories = weatherDataRepository.findLatestHistories(stationKeys, HISTORY_ROWS);
+                long loaded = System.nanoTime();
+
+                List<BatchForecast> forecasts = compute(pool, stationKeys, histories, hours);
+                long computed = System.nanoTime();
+
+                int written = 0;
+                for (BatchForecast forecast : forecasts) {
+                    for (int station = 0; station < forecast.size(); station++) {
+                        writer.write(forecast, station, generatedAt);
+                        written++;
+                    }
+                }
+                long finished = System.nanoTime();
+
+                report.chunkCompleted(stationKeys.size(), written, enumerated - started, loaded - enumerated,
+                        computed - loaded, finished - computed);
+                afterStationKey = stationKeys.get(stationKeys.size() - 1);
+                log.info("Fleet forecast progress: {} stations, {} written, {} stations/s",
+                        report.getStationsProcessed(), report.getStationsWritten(),
+                        Math.round(report.getStationsPerSecond()));
+            }
+
+            writer.finish();
+            successful = true;
+            return report;
+        } finally {
+            report.finish(successful);
+            pool.shutdown();
+            log.info("Fleet forecast {} in {} ms: {} stations, {} written, {} skipped; "
+                            + "enumerate {} ms, load {} ms, compute {} ms, write {} ms",
+                    successful ? "finished" : "failed", report.getElapsedMillis(),
+                    report.getStationsProcessed(), report.getStationsWritten(), report.getStationsSkipped(),
+                    report.getEnumerateMillis(), report.getLoadMillis(), report.getComputeMillis(),
+                    report.getWriteMillis());
+        }
+    }
+
+    private List<BatchForecast> compute(ForkJoinPool pool, List<Integer> stationKeys,
+                                        StationHistories histories, int hours) {
+        List<Callable<BatchForecast>> tasks = new ArrayList<>();
+        for (int from = 0; from < stationKeys.size(); from += computeBatchSize) {
+            List<Integer> slice = stationKeys.subList(from, Math.min(stationKeys.size(), from + computeBatchSize));
+            tasks.add(() -> {
+                StationBatch batch = new StationBatch(slice.size());
+                for (Integer stationKey : slice) {
+                    int station = histories.indexOf(stationKey);
+                    if (station >= 0 && histories.rowCount(station) >= 2) {
+                        batch.add(stationDictionary.getStationId(stationKey), histories, station);
+                    }
+                }
+                return batchForecastEngine.forecast(batch, hours);
+            });
+        }
+
+        List<BatchForecast> forecasts = new ArrayList<>(tasks.size());
+        try {
+            for (Future<BatchForecast> future : pool.invokeAll(tasks)) {
+                forecasts.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Fleet forecast job interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Fleet forecast computation failed", e.getCause());
+        }
+        return forecasts;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.weather.processing.fleet;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Progress and per-stage timing of a fleet forecast run. Only the job thread writes it; the
+ * status endpoint reads it concurrently.
+ */
+@Getter
+public class FleetForecastReport {
+
+    private final Instant startedAt = Instant.now();
+    private final int hours;
+    private final FleetForecastFormat format;
+    private final String model;
+    private final String kernel;
+    private volatile Instant finishedAt;
+    private volatile boolean successful;
+    private volatile long chunks;
+    private volatile long stationsProcessed;
+    private volatile long stationsWritten;
+    private volatile long enumerateNanos;
+    private volatile long loadNanos;
+    private volatile long computeNanos;
+    private volatile long writeNanos;
+
+    FleetForecastReport(int hours, FleetForecastFormat format, String model, String kernel) {
+        this.hours = hours;
+        this.format = format;
+        this.model = model;
+        this.kernel = kernel;
+    }
+
+    public boolean isRunning() {
+        return finishedAt == null;
+    }
+
+    public long getStationsSkipped() {
+        return stationsProcessed - stationsWritten;
+    }
+
+    public long getElapsedMillis() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        return Duration.between(startedAt, end).toMillis();
+    }
+
+    public double getStationsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed == 0 ? 0 : stationsWritten * 1000.0 / elapsed;
+    }
+
+    public long getEnumerateMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(enumerateNanos);
+    }
+
+    public long getLoadMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(loadNanos);
+    }
+
+    public long getComputeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(computeNanos);
+    }
+
+    public long getWriteMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(writeNanos);
+    }
+
+    void chunkCompleted(int stations, int written, long enumerate, long load, long compute, long write) {
+        chunks++;
+        stationsProcessed += stations;
+        stationsWritten += written;
+        enumerateNanos += enumerate;
+        loadNanos += load;
+        computeNanos += compute;
+        writeNanos += write;
+    }
+
+    void addEnumerateNanos(long nanos) {
+        enumerateNanos += nanos;
+    }
+
+    void finish(boolean successful) {
+        this.successful = successful;
+        this.finishedAt = Instant.now();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.weather.processing.fleet;
+
+import com.weather.processing.forecast.batch.BatchForecast;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Streams forecasts straight from {@link BatchForecast} columns without building DTOs.
+ */
+public interface FleetForecastWriter {
+
+    // Same wire format as the @JsonFormat pattern of WeatherForecastDto.
+    DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    void write(BatchForecast forecast, int station, Instant generatedAt) throws IOException;
+
+    void finish() throws IOException;
+
+    static FleetForecastWriter create(FleetForecastFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonFleetForecastWriter(out);
+            case CSV -> new CsvFleetForecastWriter(out);
+        };
+    }
+}
\ No newline at end of file
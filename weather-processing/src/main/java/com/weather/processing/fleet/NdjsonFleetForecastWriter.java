@@ -0,0 +1,48 @@
+package com.weather.processing.fleet;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.weather.processing.forecast.batch.BatchForecast;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * One {@code WeatherForecastDto}-shaped JSON object per line.
+ */
+class NdjsonFleetForecastWriter implements FleetForecastWriter {
+
+    private final JsonGenerator generator;
+
+    NdjsonFleetForecastWriter(OutputStream out) throws IOException {
+        this.generator = new JsonFactory().createGenerator(out);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(BatchForecast forecast, int station, Instant generatedAt) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("stationId", forecast.getStationId(station));
+        generator.writeStringField("generatedAt", TIMESTAMP_FORMAT.format(generatedAt));
+        generator.writeArrayFieldStart("forecasts");
+        for (int hour = 1; hour <= forecast.getHours(); hour++) {
+            generator.writeStartObject();
+            generator.writeStringField("timestamp", TIMESTAMP_FORMAT.format(generatedAt.plus(hour, ChronoUnit.HOURS)));
+            generator.writeNumberField("temperature", forecast.getTemperature(station, hour));
+            generator.writeNumberField("humidity", forecast.getHumidity(station, hour));
+            generator.writeNumberField("pressure", forecast.getPressure(station, hour));
+            generator.writeNumberField("precipitation", forecast.getPrecipitation(station, hour));
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.flush();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.weather.processing.forecast;
+
+import com.weather.shared.dto.WeatherForecastDto;
+
+import java.time.Instant;
+
+public final class ForecastBounds {
+
+    public static final double MIN_TEMPERATURE = -50;
+    public static final double MAX_TEMPERATURE = 50;
+    public static final double MIN_HUMIDITY = 0;
+    public static final double MAX_HUMIDITY = 100;
+    public static final double MIN_PRESSURE = 900;
+    public static final double MAX_PRESSURE = 1100;
+    public static final double MIN_PRECIPITATION = 0;
+    public static final double MAX_PRECIPITATION = 100;
+
+    private ForecastBounds() {
+    }
+
+    public static WeatherForecastDto.ForecastItem toItem(Instant timestamp, double temperature, double humidity,
+                                                         double pressure, double precipitation) {
+        return new WeatherForecastDto.ForecastItem(
+                timestamp,
+                round(clamp(temperature, MIN_TEMPERATURE, MAX_TEMPERATURE)),
+                round(clamp(humidity, MIN_HUMIDITY, MAX_HUMIDITY)),
+                round(clamp(pressure, MIN_PRESSURE, MAX_PRESSURE)),
+                round(clamp(precipitation, MIN_PRECIPITATION, MAX_PRECIPITATION))
+        );
+    }
+
+    public static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    public static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.weather.processing.forecast;
+
+import com.weather.processing.entity.WeatherData;
+import com.weather.shared.dto.WeatherForecastDto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Forecasting strategy selectable per request or through {@code weather.forecast.model}.
+ */
+public interface ForecastModel {
+
+    String getName();
+
+    /**
+     * Returns hourly items for {@code now + 1h .. now + hours}, or an empty list when the model
+     * does not have enough observations for the station. {@code history} is loaded lazily and
+     * ordered newest first.
+     */
+    List<WeatherForecastDto.ForecastItem> forecast(int stationKey, Supplier<ObservationWindow> history,
+                                                   Instant now, int hours);
+
+    /**
+     * Part of the forecast ETag; bump it when the model produces different output for the same
+     * observations, so clients do not keep forecasts of the previous version.
+     */
+    default int getVersion() {
+        return 1;
+    }
+
+    /**
+     * Called once for every persisted observation. Stateless models ignore it.
+     */
+    default void onObservation(WeatherData observation) {
+    }
+
+    /**
+     * Called when observations of the station were stored elsewhere, so state built from this
+     * instance's observations misses some of them. Stateless models ignore it.
+     */
+    default void invalidate(int stationKey) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.weather.processing.forecast;
+
+import com.weather.processing.event.StationUpdatedEvent;
+import com.weather.processing.event.WeatherDataSavedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Component
+public class ForecastModelRegistry {
+
+    private final Map<String, ForecastModel> models = new LinkedHashMap<>();
+    private final Map<String, Integer> modelIndexes = new LinkedHashMap<>();
+    private final ForecastModel defaultModel;
+
+    public ForecastModelRegistry(List<ForecastModel> models,
+                                 @Value("${weather.forecast.model:" + LinearTrendForecastModel.NAME + "}") String defaultModelName) {
+        models.forEach(model -> this.models.put(model.getName(), model));
+        this.models.keySet().forEach(name -> modelIndexes.put(name, modelIndexes.size()));
+        this.defaultModel = this.models.get(defaultModelName);
+        if (defaultModel == null) {
+            throw new IllegalStateException("Unknown default forecast model: " + defaultModelName
+                    + ". Available: " + this.models.keySet());
+        }
+        log.info("Forecast models: {}, default: {}", this.models.keySet(), defaultModelName);
+    }
+
+    public ForecastModel resolve(String name) {
+        if (name == null || name.isBlank()) {
+            return defaultModel;
+        }
+        ForecastModel model = models.get(name);
+        if (model == null) {
+            throw new IllegalArgumentException("Unknown forecast model: " + name + ". Available: " + models.keySet());
+        }
+        return model;
+    }
+
+    public ForecastModel getDefaultModel() {
+        return defaultModel;
+    }
+
+    public Set<String> getModelNames() {
+        return models.keySet();
+    }
+
+    /**
+     * Small stable number of the model within this process, for compact cache keys.
+     */
+    public int indexOf(String name) {
+        Integer index = modelIndexes.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown forecast model: " + name);
+        }
+        return index;
+    }
+
+    /**
+     * Inverse of {@link #indexOf(String)}.
+     */
+    public String nameOf(int index) {
+        for (Map.Entry<String, Integer> entry : modelIndexes.entrySet()) {
+            if (entry.getValue() == index) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalArgumentException("Unknown forecast model index: " + index);
+    }
+
+    // Runs before listeners that read model state, such as eager forecast precomputation.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWeatherDataSaved(WeatherDataSavedEvent event) {
+        for (ForecastModel model : models.values()) {
+            model.onObservation(event.getWeatherData());
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener
+    public void onStationUpdated(StationUpdatedEvent event) {
+        for (ForecastModel model : models.values()) {
+            model.invalidate(event.getStationKey());
+        }
+    }
+}
\ No newline at end of file
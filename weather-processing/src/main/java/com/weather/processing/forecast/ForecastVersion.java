@@ -0,0 +1,17 @@
+package com.weather.processing.forecast;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * HTTP validators of a forecast. The ETag is weak: two responses with the same tag may differ in
+ * {@code generatedAt}, but are computed from the same observations by the same model.
+ */
+public record ForecastVersion(int stationKey, String model, Instant lastModified, String eTag) {
+
+    public static ForecastVersion of(int stationKey, Instant latestObservation, ForecastModel model, int hours) {
+        String eTag = "W/\"" + Long.toHexString(ChronoUnit.MICROS.between(Instant.EPOCH, latestObservation))
+                + "-" + model.getName() + "." + model.getVersion() + "-" + hours + "\"";
+        return new ForecastVersion(stationKey, model.getName(), latestObservation, eTag);
+    }
+}
\ No newline at end of file
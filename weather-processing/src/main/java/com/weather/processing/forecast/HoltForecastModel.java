@@ -0,0 +1,210 @@
+package com.weather.processing.forecast;
+
+import com.weather.processing.entity.WeatherData;
+import com.weather.processing.station.StationTable;
+import com.weather.shared.dto.WeatherForecastDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Holt double exponential smoothing. Level and trend of every metric are kept per station and
+ * updated in O(1) for each ingested observation, so a forecast never scans history once the
+ * state has been seeded.
+ * <p>
+ * While a station is seeded its slot holds a state that only collects observations; they are
+ * replayed onto the seeded state, so an observation committed after the history was read is not
+ * lost.
+ */
+@Slf4j
+@Component
+public class HoltForecastModel implements ForecastModel {
+
+    public static final String NAME = "holt";
+
+    private static final int METRICS = 4;
+    // The trend is per hour: shorter steps would scale sensor noise between close readings into it.
+    private static final double MIN_STEP_HOURS = 1.0;
+
+    private final double alpha;
+    private final double beta;
+    private final StationTable<State> states = new StationTable<>(1024);
+
+    public HoltForecastModel(@Value("${weather.forecast.holt.alpha:0.5}") double alpha,
+                             @Value("${weather.forecast.holt.beta:0.3}") double beta) {
+        if (alpha <= 0 || alpha > 1 || beta <= 0 || beta > 1) {
+            throw new IllegalArgumentException("Holt smoothing factors must be in (0, 1]");
+        }
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    // 2: steps between observations shorter than an hour count as an hour.
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    @Override
+    public void onObservation(WeatherData observation) {
+        // Stations are seeded from history on their first forecast; until then there is nothing to update.
+        State state = states.get(observation.getStationKey());
+        while (state != null) {
+            state = state.apply(observation, alpha, beta);
+        }
+    }
+
+    @Override
+    public void invalidate(int stationKey) {
+        // Reseeded from the stored history on the next forecast.
+        states.remove(stationKey);
+    }
+
+    @Override
+    public List<WeatherForecastDto.ForecastItem> forecast(int stationKey, Supplier<ObservationWindow> history,
+                                                          Instant now, int hours) {
+        State state = states.get(stationKey);
+        if (state == null || !state.isReady()) {
+            state = seed(stationKey, history);
+            if (!state.isReady()) {
+                return List.of();
+            }
+        }
+        return state.forecast(now, hours);
+    }
+
+    int getTrackedStations() {
+        return states.size();
+    }
+
+    private State seed(int stationKey, Supplier<ObservationWindow> history) {
+        State collector = State.collector();
+        State current = states.merge(stationKey, collector,
+                (existing, created) -> existing.isReady() ? existing : created);
+        if (current != collector) {
+            return current;
+        }
+
+        ObservationWindow newestFirst;
+        try {
+            newestFirst = history.get();
+        } catch (RuntimeException e) {
+            states.replace(stationKey, collector, null);
+            throw e;
+        }
+        State seeded = new State(null);
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            seeded.update(newestFirst.getEpochSecond(i), newestFirst.getTemperature(i), newestFirst.getHumidity(i),
+                    newestFirst.getPressure(i), newestFirst.getPrecipitation(i), alpha, beta);
+        }
+        collector.handOver(seeded, alpha, beta);
+        // Not stored when the station was invalidated or reseeded meanwhile; it still answers this forecast.
+        if (states.replace(stationKey, collector, seeded)) {
+            log.debug("Seeded Holt state for station key: {} from {} observations", stationKey, newestFirst.size());
+        }
+        return seeded;
+    }
+
+    private static final class State {
+
+        private final double[] level = new double[METRICS];
+        private final double[] trend = new double[METRICS];
+        private long lastEpochSecond;
+        private int observations;
+        // Observations seen while the station is seeded; null for a seeded state.
+        private final List<WeatherData> pending;
+        // The seeded state a collector handed its observations over to.
+        private State successor;
+
+        private State(List<WeatherData> pending) {
+            this.pending = pending;
+        }
+
+        static State collector() {
+            return new State(new ArrayList<>());
+        }
+
+        /**
+         * Applies or collects the observation, or returns the state it has to go to instead.
+         */
+        synchronized State apply(WeatherData observation, double alpha, double beta) {
+            if (successor != null) {
+                return successor;
+            }
+            if (pending != null) {
+                pending.add(observation);
+            } else {
+                update(observation.getTimestamp().getEpochSecond(), observation.getTemperature(),
+                        observation.getHumidity(), observation.getPressure(), observation.getPrecipitation(), alpha,
+                        beta);
+            }
+            return null;
+        }
+
+        synchronized void handOver(State seeded, double alpha, double beta) {
+            for (WeatherData observation : pending) {
+                seeded.apply(observation, alpha, beta);
+            }
+            successor = seeded;
+        }
+
+        synchronized boolean isReady() {
+            return observations >= 2;
+        }
+
+        synchronized void update(long epochSecond, double temperature, double humidity, double pressure,
+                                 double precipitation, double alpha, double beta) {
+            if (observations > 0 && epochSecond <= lastEpochSecond) {
+                return;
+            }
+
+            double stepHours = Math.max(MIN_STEP_HOURS, (epochSecond - lastEpochSecond) / 3600.0);
+            update(0, temperature, stepHours, alpha, beta);
+            update(1, humidity, stepHours, alpha, beta);
+            update(2, pressure, stepHours, alpha, beta);
+            update(3, precipitation, stepHours, alpha, beta);
+
+            lastEpochSecond = epochSecond;
+            observations++;
+        }
+
+        private void update(int metric, double value, double stepHours, double alpha, double beta) {
+            if (observations == 0) {
+                level[metric] = value;
+                trend[metric] = 0;
+            } else if (observations == 1) {
+                trend[metric] = (value - level[metric]) / stepHours;
+                level[metric] = value;
+            } else {
+                double previousLevel = level[metric];
+                level[metric] = alpha * value + (1 - alpha) * (previousLevel + trend[metric] * stepHours);
+                trend[metric] = beta * (level[metric] - previousLevel) / stepHours + (1 - beta) * trend[metric];
+            }
+        }
+
+        synchronized List<WeatherForecastDto.ForecastItem> forecast(Instant now, int hours) {
+            List<WeatherForecastDto.ForecastItem> forecasts = new ArrayList<>(hours);
+            for (int i = 1; i <= hours; i++) {
+                forecasts.add(ForecastBounds.toItem(
+                        now.plus(i, ChronoUnit.HOURS),
+                        level[0] + trend[0] * i,
+                        level[1] + trend[1] * i,
+                        level[2] + trend[2] * i,
+                        level[3] + trend[3] * i
+                ));
+            }
+            return forecasts;
+        }
+    }
+}
\ No newline at end of file
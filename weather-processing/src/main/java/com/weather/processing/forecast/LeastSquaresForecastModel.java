@@ -0,0 +1,102 @@
+package com.weather.processing.forecast;
+
+import com.weather.shared.dto.WeatherForecastDto;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Ordinary least-squares trend of every metric over the whole history window. The regressor is
+ * the real observation time, so irregular gaps are weighted by their actual length instead of
+ * being treated as evenly spaced samples.
+ * <p>
+ * All four fits are accumulated in a single pass with running means and co-moments, which stays
+ * accurate for epoch-scale timestamps and needs no scratch arrays.
+ */
+@Component
+public class LeastSquaresForecastModel implements ForecastModel {
+
+    public static final String NAME = "regression";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<WeatherForecastDto.ForecastItem> forecast(int stationKey, Supplier<ObservationWindow> history,
+                                                          Instant now, int hours) {
+        return forecast(history.get(), now, hours);
+    }
+
+    /**
+     * Forecasts {@code hours} items ahead of the newest observation in {@code window}, or returns
+     * an empty list when the window has fewer than two observations.
+     */
+    public static List<WeatherForecastDto.ForecastItem> forecast(ObservationWindow window, Instant now, int hours) {
+        int n = window.size();
+        if (n < 2) {
+            return List.of();
+        }
+
+        // x is measured in hours relative to the newest observation, so it is <= 0 for the window.
+        long origin = window.getEpochSecond(0);
+        double meanX = 0;
+        double sxx = 0;
+        double meanTemperature = 0;
+        double meanHumidity = 0;
+        double meanPressure = 0;
+        double meanPrecipitation = 0;
+        double sxTemperature = 0;
+        double sxHumidity = 0;
+        double sxPressure = 0;
+        double sxPrecipitation = 0;
+
+        for (int i = 0; i < n; i++) {
+            double x = (window.getEpochSecond(i) - origin) / 3600.0;
+            double count = i + 1;
+            double dx = x - meanX;
+            meanX += dx / count;
+            sxx += dx * (x - meanX);
+
+            double temperature = window.getTemperature(i);
+            meanTemperature += (temperature - meanTemperature) / count;
+            sxTemperature += dx * (temperature - meanTemperature);
+
+            double humidity = window.getHumidity(i);
+            meanHumidity += (humidity - meanHumidity) / count;
+            sxHumidity += dx * (humidity - meanHumidity);
+
+            double pressure = window.getPressure(i);
+            meanPressure += (pressure - meanPressure) / count;
+            sxPressure += dx * (pressure - meanPressure);
+
+            double precipitation = window.getPrecipitation(i);
+            meanPrecipitation += (precipitation - meanPrecipitation) / count;
+            sxPrecipitation += dx * (precipitation - meanPrecipitation);
+        }
+
+        // All observations share one timestamp: there is no trend, forecast the mean.
+        double temperatureSlope = sxx > 0 ? sxTemperature / sxx : 0;
+        double humiditySlope = sxx > 0 ? sxHumidity / sxx : 0;
+        double pressureSlope = sxx > 0 ? sxPressure / sxx : 0;
+        double precipitationSlope = sxx > 0 ? sxPrecipitation / sxx : 0;
+
+        List<WeatherForecastDto.ForecastItem> forecasts = new ArrayList<>(hours);
+        for (int i = 1; i <= hours; i++) {
+            double offset = i - meanX;
+            forecasts.add(ForecastBounds.toItem(
+                    now.plus(i, ChronoUnit.HOURS),
+                    meanTemperature + temperatureSlope * offset,
+                    meanHumidity + humiditySlope * offset,
+                    meanPressure + pressureSlope * offset,
+                    Math.max(0, meanPrecipitation + precipitationSlope * offset)
+            ));
+        }
+        return forecasts;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.weather.processing.forecast;
+
+import com.weather.shared.dto.WeatherForecastDto;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Extrapolates the trend between the two newest observations.
+ */
+@Component
+public class LinearTrendForecastModel implements ForecastModel {
+
+    public static final String NAME = "linear";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<WeatherForecastDto.ForecastItem> forecast(int stationKey, Supplier<ObservationWindow> history,
+                                                          Instant now, int hours) {
+        ObservationWindow window = history.get();
+        if (window.size() < 2) {
+            return List.of();
+        }
+
+        List<WeatherForecastDto.ForecastItem> forecasts = new ArrayList<>(hours);
+        for (int i = 1; i <= hours; i++) {
+            Instant forecastTime = now.plus(i, ChronoUnit.HOURS);
+            forecasts.add(calculateForecast(window, forecastTime, i));
+        }
+        return forecasts;
+    }
+
+    static WeatherForecastDto.ForecastItem calculateForecast(ObservationWindow window,
+                                                             Instant forecastTime, int hoursAhead) {
+        int latest = 0;
+        int previous = 1;
+
+        // Whole hours, as Duration.toHours() truncates.
+        double timeDiffHours = Math.max(1.0, (window.getEpochSecond(latest) - window.getEpochSecond(previous)) / 3600);
+
+        double tempTrend = (window.getTemperature(latest) - window.getTemperature(previous)) / timeDiffHours;
+        double humidityTrend = (window.getHumidity(latest) - window.getHumidity(previous)) / timeDiffHours;
+        double pressureTrend = (window.getPressure(latest) - window.getPressure(previous)) / timeDiffHours;
+        double precipitationTrend =
+                (window.getPrecipitation(latest) - window.getPrecipitation(previous)) / timeDiffHours;
+
+        double forecastTemp = window.getTemperature(latest) + (tempTrend * hoursAhead);
+        double forecastHumidity = window.getHumidity(latest) + (humidityTrend * hoursAhead);
+        double forecastPressure = window.getPressure(latest) + (pressureTrend * hoursAhead);
+        double forecastPrecipitation =
+                Math.max(0, window.getPrecipitation(latest) + (precipitationTrend * hoursAhead));
+
+        return ForecastBounds.toItem(forecastTime, forecastTemp, forecastHumidity, forecastPressure,
+                forecastPrecipitation);
+    }
+}
\ No newline at end of file
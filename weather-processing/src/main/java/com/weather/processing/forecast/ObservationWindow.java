@@ -0,0 +1,94 @@
+package com.weather.processing.forecast;
+
+import com.weather.processing.entity.WeatherData;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Column-per-metric station history, ordered newest first. The forecast read path maps query rows
+ * straight into it, so models read primitives without managed {@link WeatherData} entities or
+ * boxed getters.
+ */
+public final class ObservationWindow {
+
+    private long[] epochSeconds;
+    private double[] temperature;
+    private double[] humidity;
+    private double[] pressure;
+    private double[] precipitation;
+    private int size;
+
+    public ObservationWindow(int capacity) {
+        epochSeconds = new long[capacity];
+        temperature = new double[capacity];
+        humidity = new double[capacity];
+        pressure = new double[capacity];
+        precipitation = new double[capacity];
+    }
+
+    public static ObservationWindow of(List<WeatherData> newestFirst) {
+        return new ObservationWindow(newestFirst.size()).load(newestFirst);
+    }
+
+    /**
+     * Replaces the window contents with {@code newestFirst}, growing the columns if needed.
+     */
+    public ObservationWindow load(List<WeatherData> newestFirst) {
+        clear();
+        for (WeatherData data : newestFirst) {
+            add(data.getTimestamp().getEpochSecond(), data.getTemperature(), data.getHumidity(),
+                    data.getPressure(), data.getPrecipitation());
+        }
+        return this;
+    }
+
+    public void add(long epochSecond, double temperature, double humidity, double pressure, double precipitation) {
+        if (size == epochSeconds.length) {
+            grow();
+        }
+        int i = size++;
+        this.epochSeconds[i] = epochSecond;
+        this.temperature[i] = temperature;
+        this.humidity[i] = humidity;
+        this.pressure[i] = pressure;
+        this.precipitation[i] = precipitation;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getEpochSecond(int index) {
+        return epochSeconds[index];
+    }
+
+    public double getTemperature(int index) {
+        return temperature[index];
+    }
+
+    public double getHumidity(int index) {
+        return humidity[index];
+    }
+
+    public double getPressure(int index) {
+        return pressure[index];
+    }
+
+    public double getPrecipitation(int index) {
+        return precipitation[index];
+    }
+
+    private void grow() {
+        int capacity = Math.max(4, epochSeconds.length * 2);
+        epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+        temperature = Arrays.copyOf(temperature, capacity);
+        humidity = Arrays.copyOf(humidity, capacity);
+        pressure = Arrays.copyOf(pressure, capacity);
+        precipitation = Arrays.copyOf(precipitation, capacity);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.weather.processing.forecast.batch;
+
+import com.weather.shared.dto.WeatherForecastDto;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Output columns of {@link BatchForecastKernel}, laid out hour-major: the value of station
+ * {@code s} at hour {@code h} (1-based) is at {@code (h - 1) * stride + s}.
+ */
+public final class BatchForecast {
+
+    final double[] temperature;
+    final double[] humidity;
+    final double[] pressure;
+    final double[] precipitation;
+    final int stride;
+    final int hours;
+    int size;
+    private String[] stationIds;
+
+    public BatchForecast(int capacity, int hours) {
+        this.stride = capacity;
+        this.hours = hours;
+        temperature = new double[capacity * hours];
+        humidity = new double[capacity * hours];
+        pressure = new double[capacity * hours];
+        precipitation = new double[capacity * hours];
+    }
+
+    void prepare(StationBatch batch) {
+        if (batch.capacity() > stride) {
+            throw new IllegalArgumentException("Batch capacity " + batch.capacity() + " exceeds " + stride);
+        }
+        size = batch.size;
+        stationIds = batch.stationIds;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getHours() {
+        return hours;
+    }
+
+    public String getStationId(int station) {
+        return stationIds[station];
+    }
+
+    public double getTemperature(int station, int hour) {
+        return temperature[(hour - 1) * stride + station];
+    }
+
+    public double getHumidity(int station, int hour) {
+        return humidity[(hour - 1) * stride + station];
+    }
+
+    public double getPressure(int station, int hour) {
+        return pressure[(hour - 1) * stride + station];
+    }
+
+    public double getPrecipitation(int station, int hour) {
+        return precipitation[(hour - 1) * stride + station];
+    }
+
+    /**
+     * Builds the same DTO {@code ForecastService} returns for the station.
+     */
+    public WeatherForecastDto toForecast(int station, Instant now) {
+        List<WeatherForecastDto.ForecastItem> items = new ArrayList<>(hours);
+        for (int hour = 1; hour <= hours; hour++) {
+            items.add(new WeatherForecastDto.ForecastItem(
+                    now.plus(hour, ChronoUnit.HOURS),
+                    getTemperature(station, hour),
+                    getHumidity(station, hour),
+                    getPressure(station, hour),
+                    getPrecipitation(station, hour)
+            ));
+        }
+        return new WeatherForecastDto(getStationId(station), now, items);
+    }
+}
\ No newline at end of file
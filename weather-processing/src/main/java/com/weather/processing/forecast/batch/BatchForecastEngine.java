@@ -0,0 +1,64 @@
+package com.weather.processing.forecast.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Fleet-wide linear trend forecasts over {@link StationBatch} columns. Uses the Vector API
+ * kernel when it was compiled in (Maven profile {@code vector}) and the JVM runs with
+ * {@code --add-modules jdk.incubator.vector}, and the scalar kernel otherwise.
+ */
+@Slf4j
+@Component
+public class BatchForecastEngine {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "com.weather.processing.forecast.batch.VectorBatchForecastKernel";
+
+    private final BatchForecastKernel kernel;
+
+    public BatchForecastEngine(@Value("${weather.forecast.batch.vectorized:true}") boolean vectorized) {
+        this.kernel = vectorized
+                ? vectorKernel().orElseGet(ScalarBatchForecastKernel::new)
+                : new ScalarBatchForecastKernel();
+        log.info("Batch forecast kernel: {}", kernel.getName());
+    }
+
+    public static boolean isVectorApiAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+
+    /**
+     * The Vector API kernel, loaded reflectively so that nothing else links against the incubator
+     * module. Empty when the kernel is not on the classpath or the module is not resolved.
+     */
+    public static Optional<BatchForecastKernel> vectorKernel() {
+        if (!isVectorApiAvailable()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of((BatchForecastKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor()
+                    .newInstance());
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.debug("Vector API kernel is not available: {}", e.toString());
+            return Optional.empty();
+        }
+    }
+
+    public BatchForecast forecast(StationBatch batch, int hours) {
+        BatchForecast out = new BatchForecast(batch.capacity(), hours);
+        kernel.forecast(batch, out);
+        return out;
+    }
+
+    public void forecast(StationBatch batch, BatchForecast out) {
+        kernel.forecast(batch, out);
+    }
+
+    public String getKernelName() {
+        return kernel.getName();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.weather.processing.forecast.batch;
+
+/**
+ * Computes two-point linear trend forecasts for a whole {@link StationBatch}. Implementations
+ * must produce bit-identical results to {@code LinearTrendForecastModel}.
+ */
+public interface BatchForecastKernel {
+
+    String getName();
+
+    void forecast(StationBatch batch, BatchForecast out);
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.weather.processing.forecast.batch;
+
+import static com.weather.processing.forecast.ForecastBounds.*;
+
+public class ScalarBatchForecastKernel implements BatchForecastKernel {
+
+    public static final String NAME = "scalar";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void forecast(StationBatch batch, BatchForecast out) {
+        out.prepare(batch);
+        forecastRange(batch, out, 0, batch.size);
+    }
+
+    static void forecastRange(StationBatch batch, BatchForecast out, int from, int to) {
+        for (int s = from; s < to; s++) {
+            double dt = batch.timeDiffHours[s];
+            double tempTrend = (batch.latestTemperature[s] - batch.previousTemperature[s]) / dt;
+            double humidityTrend = (batch.latestHumidity[s] - batch.previousHumidity[s]) / dt;
+            double pressureTrend = (batch.latestPressure[s] - batch.previousPressure[s]) / dt;
+            double precipitationTrend = (batch.latestPrecipitation[s] - batch.previousPrecipitation[s]) / dt;
+
+            for (int hour = 1; hour <= out.hours; hour++) {
+                int index = (hour - 1) * out.stride + s;
+                out.temperature[index] = round(clamp(batch.latestTemperature[s] + (tempTrend * hour),
+                        MIN_TEMPERATURE, MAX_TEMPERATURE));
+                out.humidity[index] = round(clamp(batch.latestHumidity[s] + (humidityTrend * hour),
+                        MIN_HUMIDITY, MAX_HUMIDITY));
+                out.pressure[index] = round(clamp(batch.latestPressure[s] + (pressureTrend * hour),
+                        MIN_PRESSURE, MAX_PRESSURE));
+                out.precipitation[index] = round(clamp(batch.latestPrecipitation[s] + (precipitationTrend * hour),
+                        MIN_PRECIPITATION, MAX_PRECIPITATION));
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.weather.processing.forecast.batch;
+
+import com.weather.processing.entity.WeatherData;
+import com.weather.processing.repository.StationHistories;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Structure-of-arrays layout of the two newest observations of many stations, the input of
+ * {@link BatchForecastKernel}. Only stations with at least two observations are accepted.
+ */
+public final class StationBatch {
+
+    final String[] stationIds;
+    final double[] latestTemperature;
+    final double[] latestHumidity;
+    final double[] latestPressure;
+    final double[] latestPrecipitation;
+    final double[] previousTemperature;
+    final double[] previousHumidity;
+    final double[] previousPressure;
+    final double[] previousPrecipitation;
+    final double[] timeDiffHours;
+    int size;
+
+    public StationBatch(int capacity) {
+        stationIds = new String[capacity];
+        latestTemperature = new double[capacity];
+        latestHumidity = new double[capacity];
+        latestPressure = new double[capacity];
+        latestPrecipitation = new double[capacity];
+        previousTemperature = new double[capacity];
+        previousHumidity = new double[capacity];
+        previousPressure = new double[capacity];
+        previousPrecipitation = new double[capacity];
+        timeDiffHours = new double[capacity];
+    }
+
+    /**
+     * Adds a station from its history ordered newest first.
+     *
+     * @return {@code false} if the history has fewer than two observations
+     */
+    public boolean add(String stationId, List<WeatherData> history) {
+        if (history.size() < 2) {
+            return false;
+        }
+        if (size == stationIds.length) {
+            throw new IllegalStateException("Station batch is full: " + size);
+        }
+
+        WeatherData latest = history.get(0);
+        WeatherData previous = history.get(1);
+
+        int i = size++;
+        stationIds[i] = stationId;
+        latestTemperature[i] = latest.getTemperature();
+        latestHumidity[i] = latest.getHumidity();
+        latestPressure[i] = latest.getPressure();
+        latestPrecipitation[i] = latest.getPrecipitation();
+        previousTemperature[i] = previous.getTemperature();
+        previousHumidity[i] = previous.getHumidity();
+        previousPressure[i] = previous.getPressure();
+        previousPrecipitation[i] = previous.getPrecipitation();
+        timeDiffHours[i] = Math.max(1.0, Duration.between(previous.getTimestamp(), latest.getTimestamp()).toHours());
+        return true;
+    }
+
+    /**
+     * Adds station {@code station} of {@code histories}, whose rows are ordered newest first.
+     *
+     * @return {@code false} if the station has fewer than two observations
+     */
+    public boolean add(String stationId, StationHistories histories, int station) {
+        if (histories.rowCount(station) < 2) {
+            return false;
+        }
+        if (size == stationIds.length) {
+            throw new IllegalStateException("Station batch is full: " + size);
+        }
+
+        int latest = histories.rowStart(station);
+        int previous = latest + 1;
+
+        int i = size++;
+        stationIds[i] = stationId;
+        latestTemperature[i] = histories.temperature(latest);
+        latestHumidity[i] = histories.humidity(latest);
+        latestPressure[i] = histories.pressure(latest);
+        latestPrecipitation[i] = histories.precipitation(latest);
+        previousTemperature[i] = histories.temperature(previous);
+        previousHumidity[i] = histories.humidity(previous);
+        previousPressure[i] = histories.pressure(previous);
+        previousPrecipitation[i] = histories.precipitation(previous);
+        // Whole hours, as Duration.toHours() in the entity variant.
+        timeDiffHours[i] = Math.max(1.0, (histories.epochSecond(latest) - histories.epochSecond(previous)) / 3600);
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(stationIds, 0, size, null);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return stationIds.length;
+    }
+
+    public String getStationId(int index) {
+        return stationIds[index];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.weather.processing.history;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor: the exact timestamp of the last row of a page. Observations of a station
+ * are unique per timestamp, so the next page starts strictly after it.
+ */
+public final class HistoryPageToken {
+
+    private static final int BYTES = Long.BYTES + Integer.BYTES;
+
+    private HistoryPageToken() {
+    }
+
+    public static String encode(Instant lastTimestamp) {
+        ByteBuffer buffer = ByteBuffer.allocate(BYTES)
+                .putLong(lastTimestamp.getEpochSecond())
+                .putInt(lastTimestamp.getNano());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static Instant decode(String token) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(token);
+            if (bytes.length != BYTES) {
+                throw new IllegalArgumentException("Invalid page token");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid page token", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.weather.processing.history;
+
+import java.time.Instant;
+
+/**
+ * Validated parameters of a history request; {@code after} is the decoded page token and a
+ * {@code limit} of zero streams the whole range.
+ */
+public record HistoryQuery(String stationId, Instant from, Instant to, Instant after, int limit) {
+
+    public static HistoryQuery of(String stationId, Instant from, Instant to, String pageToken, int limit) {
+        if (stationId == null || stationId.isBlank()) {
+            throw new IllegalArgumentException("stationId is required");
+        }
+        Instant end = to != null ? to : Instant.now();
+        if (!from.isBefore(end)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        Instant after = pageToken == null || pageToken.isBlank() ? null : HistoryPageToken.decode(pageToken);
+        return new HistoryQuery(stationId, from, end, after, limit);
+    }
+}
\ No newline at end of file
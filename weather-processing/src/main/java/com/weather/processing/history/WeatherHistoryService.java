@@ -0,0 +1,58 @@
+package com.weather.processing.history;
+
+import com.weather.processing.repository.WeatherDataRepository;
+import com.weather.processing.station.StationDictionary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.OptionalInt;
+
+/**
+ * Streams the observations of a station from a database cursor straight into the response, so
+ * memory use does not depend on the length of the requested range.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WeatherHistoryService {
+
+    private final WeatherDataRepository weatherDataRepository;
+    private final StationDictionary stationDictionary;
+
+    @Value("${weather.history.fetch-size:1000}")
+    private int fetchSize;
+
+    @Transactional(readOnly = true)
+    public int stream(HistoryQuery query, OutputStream out) throws IOException {
+        WeatherHistoryWriter writer = new WeatherHistoryWriter(out, query.limit());
+        writer.start(query.stationId());
+
+        OptionalInt stationKey = stationDictionary.findKey(query.stationId());
+        if (stationKey.isPresent()) {
+            // One extra row tells whether another page follows.
+            int rows = query.limit() > 0 ? query.limit() + 1 : 0;
+            try {
+                weatherDataRepository.streamHistory(stationKey.getAsInt(), query.from(), query.to(), query.after(),
+                        rows, fetchSize, data -> {
+                            try {
+                                writer.write(data);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        writer.finish();
+        log.info("Streamed {} observations for station: {}", writer.getCount(), query.stationId());
+        return writer.getCount();
+    }
+}
\ No newline at end of file
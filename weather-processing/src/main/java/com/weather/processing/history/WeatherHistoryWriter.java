@@ -0,0 +1,70 @@
+package com.weather.processing.history;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.weather.processing.entity.WeatherData;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes a history page as one JSON object whose {@code observations} array is emitted row by
+ * row. Rows beyond the page limit are not written; one extra row only tells that a next page
+ * exists.
+ */
+class WeatherHistoryWriter {
+
+    // Same wire format as the @JsonFormat pattern of WeatherDataDto.
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    private final JsonGenerator generator;
+    private final int limit;
+    private int count;
+    private Instant lastTimestamp;
+    private boolean hasMore;
+
+    WeatherHistoryWriter(OutputStream out, int limit) throws IOException {
+        this.generator = new JsonFactory().createGenerator(out);
+        this.limit = limit;
+    }
+
+    void start(String stationId) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("stationId", stationId);
+        generator.writeArrayFieldStart("observations");
+    }
+
+    void write(WeatherData data) throws IOException {
+        if (limit > 0 && count == limit) {
+            hasMore = true;
+            return;
+        }
+        generator.writeStartObject();
+        generator.writeStringField("timestamp", TIMESTAMP_FORMAT.format(data.getTimestamp()));
+        generator.writeNumberField("temperature", data.getTemperature());
+        generator.writeNumberField("humidity", data.getHumidity());
+        generator.writeNumberField("pressure", data.getPressure());
+        generator.writeNumberField("precipitation", data.getPrecipitation());
+        generator.writeEndObject();
+        count++;
+        lastTimestamp = data.getTimestamp();
+    }
+
+    void finish() throws IOException {
+        generator.writeEndArray();
+        generator.writeNumberField("count", count);
+        if (hasMore) {
+            generator.writeStringField("nextPageToken", HistoryPageToken.encode(lastTimestamp));
+        }
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    int getCount() {
+        return count;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.weather.processing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.weather.DedupCheck")
+@Label("Dedup Check")
+@Category({"Weather", "Ingestion"})
+@Description("Lookup of an existing observation with the same station and timestamp")
+@StackTrace(false)
+public final class DedupCheckEvent extends Event {
+
+    @Label("Station Id")
+    String stationId;
+
+    @Label("Duplicate")
+    boolean duplicate;
+
+    public void complete(String stationId, boolean duplicate) {
+        if (shouldCommit()) {
+            this.stationId = stationId;
+            this.duplicate = duplicate;
+            commit();
+        }
+    }
+}
\ No newline at end of file
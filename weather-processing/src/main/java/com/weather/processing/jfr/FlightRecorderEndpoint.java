@@ -0,0 +1,197 @@
+package com.weather.processing.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Flight recordings on demand, bounded in duration and size:
+ * <ul>
+ *     <li>{@code GET /actuator/jfr} lists recordings;</li>
+ *     <li>{@code POST /actuator/jfr} starts one, body {@code {"durationSeconds": 60, "settings": "profile"}};</li>
+ *     <li>{@code GET /actuator/jfr/{id}} downloads what has been recorded so far;</li>
+ *     <li>{@code POST /actuator/jfr/{id}} stops it, keeping the data for download;</li>
+ *     <li>{@code DELETE /actuator/jfr/{id}} discards it.</li>
+ * </ul>
+ * POST requests need {@code Content-Type: application/json}, even without a body. Recordings stop
+ * on their own after the duration; stopped ones count towards
+ * {@code weather.jfr.max-recordings} until deleted.
+ * <p>
+ * Off unless {@code weather.jfr.enabled=true}; like any actuator endpoint it is reachable over
+ * HTTP only when {@code jfr} is also listed in {@code management.endpoints.web.exposure.include}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "weather.jfr.enabled", havingValue = "true")
+@WebEndpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+    private static final List<String> SETTINGS = List.of("default", "profile");
+
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+
+    @Value("${weather.jfr.default-duration:60s}")
+    private Duration defaultDuration;
+
+    @Value("${weather.jfr.max-duration:10m}")
+    private Duration maxDuration;
+
+    @Value("${weather.jfr.max-size:100MB}")
+    private DataSize maxSize;
+
+    @Value("${weather.jfr.max-recordings:2}")
+    private int maxRecordings;
+
+    @ReadOperation
+    public List<RecordingInfo> recordings() {
+        return recordings.values().stream()
+                .map(RecordingInfo::of)
+                .sorted(Comparator.comparingLong(RecordingInfo::id))
+                .toList();
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Object> start(@Nullable Long durationSeconds, @Nullable String settings) {
+        String settingsName = settings != null ? settings : "default";
+        if (!SETTINGS.contains(settingsName)) {
+            return error(WebEndpointResponse.STATUS_BAD_REQUEST, "settings must be one of " + SETTINGS);
+        }
+        Duration duration = durationSeconds != null ? Duration.ofSeconds(durationSeconds) : defaultDuration;
+        if (duration.isZero() || duration.isNegative() || duration.compareTo(maxDuration) > 0) {
+            return error(WebEndpointResponse.STATUS_BAD_REQUEST,
+                    "durationSeconds must be between 1 and " + maxDuration.toSeconds());
+        }
+        if (recordings.size() >= maxRecordings) {
+            return error(409, "At most " + maxRecordings + " recordings are kept, delete one first");
+        }
+
+        Recording recording;
+        try {
+            recording = new Recording(Configuration.getConfiguration(settingsName));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot load JFR settings: " + settingsName, e);
+        }
+        recording.setName("weather-" + settingsName + "-" + Instant.now().getEpochSecond());
+        recording.setToDisk(true);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.setDuration(duration);
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        log.info("Started flight recording {} ({}, {} settings)", recording.getId(), duration, settingsName);
+        return new WebEndpointResponse<>(RecordingInfo.of(recording));
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> stop(@Selector long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return notFound(id);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Stopped flight recording {}", id);
+        }
+        return new WebEndpointResponse<>(RecordingInfo.of(recording));
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Object> download(@Selector long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            // No JSON error body here, the operation produces only octet-stream.
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            Path file = Files.createTempFile("weather-recording-" + id + "-", ".jfr");
+            recording.dump(file);
+            return new WebEndpointResponse<>(deleteOnClose(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to dump flight recording " + id, e);
+        }
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Object> delete(@Selector long id) {
+        Recording recording = recordings.remove(id);
+        if (recording == null) {
+            return notFound(id);
+        }
+        recording.close();
+        log.info("Deleted flight recording {}", id);
+        return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NO_CONTENT);
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+    }
+
+    public record RecordingInfo(long id, String name, String state, Instant startTime, long durationSeconds,
+                                long sizeBytes) {
+
+        static RecordingInfo of(Recording recording) {
+            Duration duration = recording.getDuration();
+            return new RecordingInfo(recording.getId(), recording.getName(), recording.getState().name(),
+                    recording.getStartTime(), duration != null ? duration.toSeconds() : 0, recording.getSize());
+        }
+    }
+
+    private static WebEndpointResponse<Object> notFound(long id) {
+        return error(WebEndpointResponse.STATUS_NOT_FOUND, "Unknown recording: " + id);
+    }
+
+    private static WebEndpointResponse<Object> error(int status, String message) {
+        return new WebEndpointResponse<>(Map.of("error", message), status);
+    }
+
+    /**
+     * The dump is a temporary file that is gone once the response has been written.
+     */
+    private static Resource deleteOnClose(Path file) {
+        return new FileSystemResource(file) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return new FilterInputStream(super.getInputStream()) {
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            Files.deleteIfExists(file);
+                        }
+                    }
+                };
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.weather.processing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.weather.ForecastCache")
+@Label("Forecast Cache Lookup")
+@Category({"Weather", "Forecast"})
+@Description("Forecast cache lookup, including the computation on a miss")
+@StackTrace(false)
+public final class ForecastCacheEvent extends Event {
+
+    @Label("Station Id")
+    String stationId;
+
+    @Label("Model")
+    String model;
+
+    @Label("Hours")
+    @Description("0 for a full-horizon entry")
+    int hours;
+
+    @Label("Hit")
+    boolean hit;
+
+    public void complete(String stationId, String model, int hours, boolean hit) {
+        if (shouldCommit()) {
+            this.stationId = stationId;
+            this.model = model;
+            this.hours = hours;
+            this.hit = hit;
+            commit();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.weather.processing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.weather.ForecastCompute")
+@Label("Forecast Compute")
+@Category({"Weather", "Forecast"})
+@Description("Forecast computed on a cache miss")
+@StackTrace(false)
+public final class ForecastComputeEvent extends Event {
+
+    @Label("Station Id")
+    String stationId;
+
+    @Label("Model")
+    String model;
+
+    @Label("Hours")
+    int hours;
+
+    @Label("Source")
+    @Description("model, neighbours or fallback")
+    String source;
+
+    @Label("History Loaded")
+    boolean historyLoaded;
+
+    public void complete(String stationId, String model, int hours, String source, boolean historyLoaded) {
+        if (shouldCommit()) {
+            this.stationId = stationId;
+            this.model = model;
+            this.hours = hours;
+            this.source = source;
+            this.historyLoaded = historyLoaded;
+            commit();
+        }
+    }
+}
\ No newline at end of file
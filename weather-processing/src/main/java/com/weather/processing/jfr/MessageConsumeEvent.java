@@ -0,0 +1,39 @@
+package com.weather.processing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One observation message taken off the queue and handled, from delivery to commit.
+ */
+@Name("com.weather.MessageConsume")
+@Label("Message Consume")
+@Category({"Weather", "Ingestion"})
+@Description("Observation message consumed from RabbitMQ and stored")
+@StackTrace(false)
+public final class MessageConsumeEvent extends Event {
+
+    @Label("Station Id")
+    String stationId;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Queue Wait")
+    @Timespan(Timespan.MILLISECONDS)
+    long queueWait;
+
+    public void complete(String stationId, String outcome, long queueWaitMillis) {
+        if (shouldCommit()) {
+            this.stationId = stationId;
+            this.outcome = outcome;
+            this.queueWait = queueWaitMillis;
+            commit();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.weather.processing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.weather.Persist")
+@Label("Persist Observation")
+@Category({"Weather", "Ingestion"})
+@Description("Insert of an observation and, if enabled, the hourly rollup upsert")
+@StackTrace(false)
+public final class PersistEvent extends Event {
+
+    @Label("Station Id")
+    String stationId;
+
+    @Label("Rollup")
+    boolean rollup;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    public void complete(String stationId, boolean rollup, boolean succeeded) {
+        if (shouldCommit()) {
+            this.stationId = stationId;
+            this.rollup = rollup;
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
\ No newline at end of file
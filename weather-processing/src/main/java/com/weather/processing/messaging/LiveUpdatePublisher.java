@@ -0,0 +1,65 @@
+package com.weather.processing.messaging;
+
+import com.weather.processing.entity.WeatherData;
+import com.weather.processing.event.WeatherDataSavedEvent;
+import com.weather.processing.service.ForecastService;
+import com.weather.processing.station.StationDictionary;
+import com.weather.shared.dto.WeatherForecastDto;
+import com.weather.shared.messaging.WeatherLiveMessage;
+import com.weather.shared.messaging.WeatherMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import static com.weather.shared.config.RabbitMQConfig.WEATHER_LIVE_EXCHANGE;
+
+/**
+ * Publishes every committed observation to the live fanout exchange. Delivery is best effort:
+ * a failed publish is logged and does not affect ingestion.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LiveUpdatePublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final StationDictionary stationDictionary;
+    private final ForecastService forecastService;
+
+    @Value("${weather.live.enabled:true}")
+    private boolean enabled;
+
+    @Value("${weather.live.include-forecast:false}")
+    private boolean includeForecast;
+
+    @Value("${weather.forecast.max-forecast-hours:24}")
+    private int maxForecastHours;
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWeatherDataSaved(WeatherDataSavedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        WeatherData data = event.getWeatherData();
+        String stationId = stationDictionary.getStationId(data.getStationKey());
+        WeatherMessage observation = new WeatherMessage(stationId, data.getTimestamp(), data.getTemperature(),
+                data.getHumidity(), data.getPressure(), data.getPrecipitation());
+        WeatherForecastDto forecast = includeForecast
+                ? forecastService.generateForecast(stationId, maxForecastHours)
+                : null;
+
+        try {
+            rabbitTemplate.convertAndSend(WEATHER_LIVE_EXCHANGE, "", new WeatherLiveMessage(stationId, observation, forecast));
+        } catch (AmqpException e) {
+            log.warn("Failed to publish live update for station: {}", stationId, e);
+        }
+    }
+}
\ No newline at end of file
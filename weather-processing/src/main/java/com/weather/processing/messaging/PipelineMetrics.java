@@ -0,0 +1,78 @@
+package com.weather.processing.messaging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers for the stages an observation passes between the gateway and the database. Queue wait
+ * and total time are computed from the gateway's wall-clock stamps in the AMQP headers, so they
+ * include any clock skew between the hosts; negative values are recorded as zero.
+ */
+@Component
+public class PipelineMetrics {
+
+    public static final String QUEUE_WAIT = "weather.pipeline.queue.wait";
+    public static final String DEDUP_CHECK = "weather.pipeline.dedup.check";
+    public static final String DB_WRITE = "weather.pipeline.db.write";
+    public static final String TOTAL = "weather.pipeline.total";
+
+    public enum Outcome {
+        SAVED, DUPLICATE, FAILED;
+
+        public String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final Map<Outcome, Timer> queueWait;
+    private final Map<Outcome, Timer> dedupCheck;
+    private final Map<Outcome, Timer> dbWrite;
+    private final Map<Outcome, Timer> total;
+
+    public PipelineMetrics(MeterRegistry meterRegistry) {
+        queueWait = timers(meterRegistry, QUEUE_WAIT, "Time from gateway publish to consumption");
+        dedupCheck = timers(meterRegistry, DEDUP_CHECK, "Duplicate observation lookup");
+        dbWrite = timers(meterRegistry, DB_WRITE, "Observation insert and hourly rollup upsert");
+        total = timers(meterRegistry, TOTAL, "Time from gateway receive to committed observation");
+    }
+
+    public void recordQueueWait(Long publishedAtMillis, long consumedAtMillis, Outcome outcome) {
+        if (publishedAtMillis != null) {
+            record(queueWait, outcome, consumedAtMillis - publishedAtMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void recordTotal(Long receivedAtMillis, long persistedAtMillis, Outcome outcome) {
+        if (receivedAtMillis != null) {
+            record(total, outcome, persistedAtMillis - receivedAtMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void recordDedupCheck(long nanos, Outcome outcome) {
+        record(dedupCheck, outcome, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDbWrite(long nanos, Outcome outcome) {
+        record(dbWrite, outcome, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static void record(Map<Outcome, Timer> timers, Outcome outcome, long amount, TimeUnit unit) {
+        timers.get(outcome).record(Math.max(0, amount), unit);
+    }
+
+    private static Map<Outcome, Timer> timers(MeterRegistry meterRegistry, String name, String description) {
+        Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+        for (Outcome outcome : Outcome.values()) {
+            timers.put(outcome, Timer.builder(name)
+                    .description(description)
+                    .tag("outcome", outcome.tag())
+                    .register(meterRegistry));
+        }
+        return timers;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.weather.processing.messaging;
+
+import com.weather.processing.event.StationUpdatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Applies the invalidations published by the other weather-processing instances to the local caches
+ * by raising a {@link StationUpdatedEvent} per station. The instance's own messages are skipped.
+ */
+@Slf4j
+@Component
+public class StationInvalidationListener {
+
+    public static final String APPLIED = "weather.invalidation.applied";
+
+    private final StationInvalidationPublisher publisher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter applied;
+
+    public StationInvalidationListener(StationInvalidationPublisher publisher,
+                                       ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.publisher = publisher;
+        this.eventPublisher = eventPublisher;
+        this.applied = Counter.builder(APPLIED)
+                .description("Station invalidations received from other instances and applied")
+                .register(meterRegistry);
+    }
+
+    @RabbitListener(queues = "#{stationInvalidationQueue.name}", concurrency = "1")
+    public void receiveInvalidation(StationInvalidationMessage message) {
+        if (publisher.getOrigin().equals(message.getOrigin())) {
+            return;
+        }
+        int[] stationKeys = message.getStationKeys();
+        for (int i = 0; i < stationKeys.length; i++) {
+            Instant timestamp = Instant.ofEpochSecond(message.getEpochSeconds()[i], message.getNanos()[i]);
+            eventPublisher.publishEvent(new StationUpdatedEvent(stationKeys[i], timestamp));
+        }
+        applied.increment(stationKeys.length);
+        log.debug("Applied invalidation of {} stations from {}", stationKeys.length, message.getOrigin());
+    }
+}
\ No newline at end of file
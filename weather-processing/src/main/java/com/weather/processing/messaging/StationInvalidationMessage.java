@@ -0,0 +1,19 @@
+package com.weather.processing.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stations updated by the instance {@code origin} during one window, each once with the time of
+ * its newest observation, as parallel arrays.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationInvalidationMessage {
+    private String origin;
+    private int[] stationKeys;
+    private long[] epochSeconds;
+    private int[] nanos;
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.weather.processing.messaging;
+
+import com.weather.processing.event.WeatherDataSavedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+
+import static com.weather.shared.config.RabbitMQConfig.WEATHER_INVALIDATION_EXCHANGE;
+
+/**
+ * Tells the other weather-processing instances which stations this one has updated. Committed
+ * observations are coalesced per station, keeping the newest timestamp, and everything collected
+ * during {@code weather.invalidation.window} goes out as one message of at most
+ * {@code weather.invalidation.max-batch-size} stations, so the traffic grows with the number of
+ * active stations per window rather than with the ingest rate. A batch the broker refused goes
+ * back into the next window unless a newer observation of the station is already waiting there.
+ * The flush runs on its own thread so that snapshot writes and scheduled fleet runs cannot
+ * delay it.
+ */
+@Slf4j
+@Component
+public class StationInvalidationPublisher implements SmartLifecycle {
+
+    public static final String OBSERVATIONS = "weather.invalidation.observations";
+    public static final String STATIONS = "weather.invalidation.stations";
+    public static final String MESSAGES = "weather.invalidation.messages";
+
+    // Flushes the last window after the message listeners have stopped.
+    private static final int PHASE = 0;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final String origin = UUID.randomUUID().toString();
+    private final Counter observations;
+    private final Counter stations;
+    private final Counter messages;
+    private Map<Integer, Instant> pending = new HashMap<>();
+    private ThreadPoolTaskScheduler flushScheduler;
+    private volatile ScheduledFuture<?> scheduledFlush;
+    private volatile boolean running;
+
+    @Value("${weather.invalidation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${weather.invalidation.window:250ms}")
+    private Duration window;
+
+    @Value("${weather.invalidation.max-batch-size:5000}")
+    private int maxBatchSize;
+
+    public StationInvalidationPublisher(RabbitTemplate rabbitTemplate, MeterRegistry meterRegistry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.observations = Counter.builder(OBSERVATIONS)
+                .description("Committed observations recorded for cross-instance invalidation")
+                .register(meterRegistry);
+        this.stations = Counter.builder(STATIONS)
+                .description("Station invalidations published after coalescing")
+                .register(meterRegistry);
+        this.messages = Counter.builder(MESSAGES)
+                .description("Invalidation messages published")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Identifies this instance in its own messages, which come back through the fanout exchange.
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWeatherDataSaved(WeatherDataSavedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            keepNewest(event.getWeatherData().getStationKey(), event.getWeatherData().getTimestamp());
+        }
+        observations.increment();
+    }
+
+    @Override
+    public void start() {
+        if (enabled) {
+            flushScheduler = new ThreadPoolTaskScheduler();
+            flushScheduler.setThreadNamePrefix("invalidation-flush-");
+            flushScheduler.setWaitForTasksToCompleteOnShutdown(true);
+            flushScheduler.setAwaitTerminationSeconds(5);
+            flushScheduler.initialize();
+            scheduledFlush = flushScheduler.scheduleWithFixedDelay(this::flush, window);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            flushScheduler.shutdown();
+            flush();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    void flush() {
+        Map<Integer, Instant> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+
+        int[] stationKeys = new int[batch.size()];
+        long[] epochSeconds = new long[batch.size()];
+        int[] nanos = new int[batch.size()];
+        int count = 0;
+        for (Map.Entry<Integer, Instant> entry : batch.entrySet()) {
+            stationKeys[count] = entry.getKey();
+            epochSeconds[count] = entry.getValue().getEpochSecond();
+            nanos[count] = entry.getValue().getNano();
+            count++;
+        }
+        for (int from = 0; from < count; from += maxBatchSize) {
+            int to = Math.min(count, from + maxBatchSize);
+            publish(Arrays.copyOfRange(stationKeys, from, to), Arrays.copyOfRange(epochSeconds, from, to),
+                    Arrays.copyOfRange(nanos, from, to));
+        }
+    }
+
+    private void publish(int[] stationKeys, long[] epochSeconds, int[] nanos) {
+        try {
+            rabbitTemplate.convertAndSend(WEATHER_INVALIDATION_EXCHANGE, "",
+                    new StationInvalidationMessage(origin, stationKeys, epochSeconds, nanos));
+            stations.increment(stationKeys.length);
+            messages.increment();
+            log.debug("Published invalidation of {} stations", stationKeys.length);
+        } catch (AmqpException e) {
+            log.warn("Failed to publish invalidation of {} stations, retrying with the next window",
+                    stationKeys.length, e);
+            synchronized (this) {
+                for (int i = 0; i < stationKeys.length; i++) {
+                    keepNewest(stationKeys[i], Instant.ofEpochSecond(epochSeconds[i], nanos[i]));
+                }
+            }
+        }
+    }
+
+    private void keepNewest(int stationKey, Instant timestamp) {
+        pending.merge(stationKey, timestamp, (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+    }
+}
\ No newline at end of file
@@ -1,27 +1,46 @@
 package com.weather.processing.messaging;
 
+import com.weather.processing.jfr.MessageConsumeEvent;
 import com.weather.processing.service.WeatherDataService;
 import com.weather.shared.messaging.WeatherMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import static com.weather.shared.config.RabbitMQConfig.WEATHER_PUBLISHED_AT_HEADER;
+import static com.weather.shared.config.RabbitMQConfig.WEATHER_RECEIVED_AT_HEADER;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class WeatherDataConsumer {
 
     private final WeatherDataService weatherDataService;
+    private final PipelineMetrics pipelineMetrics;
 
     @RabbitListener(queues = "${weather.rabbitmq.queue:weather.data.queue}")
-    public void receiveWeatherData(WeatherMessage message) {
+    public void receiveWeatherData(WeatherMessage message,
+                                   @Header(name = WEATHER_RECEIVED_AT_HEADER, required = false) Long receivedAt,
+                                   @Header(name = WEATHER_PUBLISHED_AT_HEADER, required = false) Long publishedAt) {
+        long consumedAt = System.currentTimeMillis();
+        MessageConsumeEvent event = new MessageConsumeEvent();
+        event.begin();
+        PipelineMetrics.Outcome outcome = PipelineMetrics.Outcome.FAILED;
         try {
             log.debug("Received weather data message for station: {}", message.getStationId());
-            weatherDataService.saveWeatherData(message);
+            outcome = weatherDataService.saveWeatherData(message)
+                    ? PipelineMetrics.Outcome.SAVED
+                    : PipelineMetrics.Outcome.DUPLICATE;
         } catch (Exception e) {
             log.error("Failed to process weather data message for station: {}", message.getStationId(), e);
             throw new RuntimeException("Failed to process weather data", e);
+        } finally {
+            // saveWeatherData has committed by now, so total covers the whole path to the database.
+            pipelineMetrics.recordQueueWait(publishedAt, consumedAt, outcome);
+            pipelineMetrics.recordTotal(receivedAt, System.currentTimeMillis(), outcome);
+            event.complete(message.getStationId(), outcome.tag(), publishedAt != null ? consumedAt - publishedAt : 0);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.weather.processing.repository;
+
+import com.weather.processing.forecast.ObservationWindow;
+
+import java.util.Arrays;
+
+/**
+ * Latest observations of many stations in flat primitive arrays, without an entity or a boxed key
+ * per row. Stations are kept in ascending key order and the rows of each station are contiguous,
+ * newest first; rows of station {@code s} are {@code rowStart(s)} inclusive to {@code rowEnd(s)}
+ * exclusive.
+ */
+public final class StationHistories {
+
+    private int[] stationKeys;
+    private int[] rowStarts;
+    private int stations;
+
+    private long[] epochSeconds;
+    private double[] temperature;
+    private double[] humidity;
+    private double[] pressure;
+    private double[] precipitation;
+    private int rows;
+
+    public StationHistories(int expectedStations, int expectedRows) {
+        stationKeys = new int[Math.max(1, expectedStations)];
+        rowStarts = new int[Math.max(1, expectedStations) + 1];
+        int capacity = Math.max(1, expectedRows);
+        epochSeconds = new long[capacity];
+        temperature = new double[capacity];
+        humidity = new double[capacity];
+        pressure = new double[capacity];
+        precipitation = new double[capacity];
+    }
+
+    /**
+     * Appends a row. Rows must arrive grouped by station in ascending key order.
+     */
+    public void add(int stationKey, long epochSecond, double temperature, double humidity, double pressure,
+                    double precipitation) {
+        if (stations == 0 || stationKeys[stations - 1] != stationKey) {
+            if (stations > 0 && stationKeys[stations - 1] > stationKey) {
+                throw new IllegalArgumentException("Station keys must be ascending, got " + stationKey
+                        + " after " + stationKeys[stations - 1]);
+            }
+            if (stations == stationKeys.length) {
+                stationKeys = Arrays.copyOf(stationKeys, stations * 2);
+                rowStarts = Arrays.copyOf(rowStarts, stations * 2 + 1);
+            }
+            stationKeys[stations] = stationKey;
+            rowStarts[stations] = rows;
+            stations++;
+        }
+        if (rows == epochSeconds.length) {
+            int capacity = rows * 2;
+            epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+            this.temperature = Arrays.copyOf(this.temperature, capacity);
+            this.humidity = Arrays.copyOf(this.humidity, capacity);
+            this.pressure = Arrays.copyOf(this.pressure, capacity);
+            this.precipitation = Arrays.copyOf(this.precipitation, capacity);
+        }
+        epochSeconds[rows] = epochSecond;
+        this.temperature[rows] = temperature;
+        this.humidity[rows] = humidity;
+        this.pressure[rows] = pressure;
+        this.precipitation[rows] = precipitation;
+        rows++;
+        rowStarts[stations] = rows;
+    }
+
+    public int stationCount() {
+        return stations;
+    }
+
+    public int rowCount() {
+        return rows;
+    }
+
+    public int stationKey(int station) {
+        return stationKeys[station];
+    }
+
+    /**
+     * Position of the station among {@link #stationCount()}, or {@code -1} if it has no rows.
+     */
+    public int indexOf(int stationKey) {
+        int station = Arrays.binarySearch(stationKeys, 0, stations, stationKey);
+        return station >= 0 ? station : -1;
+    }
+
+    public int rowStart(int station) {
+        return rowStarts[station];
+    }
+
+    public int rowEnd(int station) {
+        return rowStarts[station + 1];
+    }
+
+    public int rowCount(int station) {
+        return rowStarts[station + 1] - rowStarts[station];
+    }
+
+    /**
+     * Copy of the rows of station {@code station} for the forecast models.
+     */
+    public ObservationWindow window(int station) {
+        ObservationWindow window = new ObservationWindow(rowCount(station));
+        for (int row = rowStart(station); row < rowEnd(station); row++) {
+            window.add(epochSeconds[row], temperature[row], humidity[row], pressure[row], precipitation[row]);
+        }
+        return window;
+    }
+
+    public long epochSecond(int row) {
+        return epochSeconds[row];
+    }
+
+    public double temperature(int row) {
+        return temperature[row];
+    }
+
+    public double humidity(int row) {
+        return humidity[row];
+    }
+
+    public double pressure(int row) {
+        return pressure[row];
+    }
+
+    public double precipitation(int row) {
+        return precipitation[row];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.weather.processing.repository;
+
+import com.weather.processing.entity.Station;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StationRepository extends JpaRepository<Station, Integer> {
+
+    Optional<Station> findByStationId(String stationId);
+
+    List<Station> findByLatitudeIsNotNullAndLongitudeIsNotNull();
+}
\ No newline at end of file
@@ -8,20 +8,20 @@ import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface WeatherDataRepository extends JpaRepository<WeatherData, Long> {
+public interface WeatherDataRepository extends JpaRepository<WeatherData, Long>, WeatherDataRepositoryCustom {
 
-    List<WeatherData> findByStationIdOrderByTimestampDesc(String stationId);
+    List<WeatherData> findByStationKeyOrderByTimestampDesc(Integer stationKey);
 
-    @Query("SELECT w FROM WeatherData w WHERE w.stationId = :stationId AND w.timestamp >= :since ORDER BY w.timestamp DESC")
-    List<WeatherData> findByStationIdAndTimestampAfterOrderByTimestampDesc(
-            @Param("stationId") String stationId,
+    @Query("SELECT w FROM WeatherData w WHERE w.stationKey = :stationKey AND w.timestamp >= :since ORDER BY w.timestamp DESC")
+    List<WeatherData> findByStationKeyAndTimestampAfterOrderByTimestampDesc(
+            @Param("stationKey") Integer stationKey,
             @Param("since") Instant since);
 
-    @Query(value = "SELECT * FROM weather_data WHERE station_id = :stationId ORDER BY timestamp DESC LIMIT :limit",
-            nativeQuery = true)
-    List<WeatherData> findLatestByStationId(@Param("stationId") String stationId, @Param("limit") int limit);
+    @Query("SELECT max(w.timestamp) FROM WeatherData w WHERE w.stationKey = :stationKey")
+    Optional<Instant> findLatestTimestamp(@Param("stationKey") int stationKey);
 
-    boolean existsByStationIdAndTimestamp(String stationId, Instant timestamp);
+    boolean existsByStationKeyAndTimestamp(Integer stationKey, Instant timestamp);
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.weather.processing.repository;
+
+import com.weather.processing.aggregate.AggregateMetric;
+import com.weather.processing.entity.WeatherData;
+import com.weather.processing.forecast.ObservationWindow;
+import com.weather.shared.dto.WeatherAggregateDto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Set-based reads that bypass the persistence context, so that walking the whole fleet does not
+ * accumulate managed entities.
+ */
+public interface WeatherDataRepositoryCustom {
+
+    /**
+     * Keyset page of keys of stations with observations, strictly greater than {@code afterStationKey}.
+     */
+    List<Integer> findStationKeysAfter(int afterStationKey, int limit);
+
+    /**
+     * Latest {@code limit} rows of one station, newest first, mapped straight from the result set
+     * without entities or the persistence context.
+     */
+    ObservationWindow findLatestWindow(int stationKey, int limit);
+
+    /**
+     * Latest {@code limit} rows of every given station, newest first, in primitive arrays. Stations
+     * without rows are absent. One statement is issued per {@code weather.history.latest-batch-size}
+     * stations.
+     */
+    StationHistories findLatestHistories(Collection<Integer> stationKeys, int limit);
+
+    /**
+     * Rows of one station with {@code from <= timestamp < to} and, if {@code after} is set,
+     * {@code timestamp > after}, oldest first, handed to {@code action} one by one while the result
+     * set is read {@code fetchSize} rows at a time. A {@code limit} of zero means no limit. Must run
+     * inside a transaction for the driver to use a cursor instead of reading the whole result.
+     */
+    void streamHistory(int stationKey, Instant from, Instant to, Instant after, int limit, int fetchSize,
+                       Consumer<WeatherData> action);
+
+    /**
+     * Count, min, max, avg and the given percentiles of {@code metric} per epoch-aligned window,
+     * computed by the database over the raw rows in {@code [from, to)}. Empty windows are absent.
+     */
+    List<WeatherAggregateDto.Bucket> aggregate(int stationKey, AggregateMetric metric, Duration window,
+                                               Instant from, Instant to, List<Double> percentiles);
+
+    /**
+     * Same as {@link #aggregate} without percentiles, merged from the hourly rollup. The window
+     * and the range must be whole hours.
+     */
+    List<WeatherAggregateDto.Bucket> aggregateRollup(int stationKey, AggregateMetric metric, Duration window,
+                                                     Instant from, Instant to);
+
+    /**
+     * Adds the observation to its hour in the rollup.
+     */
+    void upsertHourlyRollup(WeatherData data);
+
+    /**
+     * Recomputes the whole rollup from the raw rows and returns the number of hours written. The
+     * rollup is locked against upserts meanwhile, so ingestion waits for the rebuild to commit.
+     */
+    int rebuildHourlyRollup();
+}
\ No newline at end of file
@@ -0,0 +1,286 @@
+package com.weather.processing.repository;
+
+import com.weather.processing.aggregate.AggregateMetric;
+import com.weather.processing.aggregate.AggregateQuery;
+import com.weather.processing.entity.WeatherData;
+import com.weather.processing.forecast.ObservationWindow;
+import com.weather.shared.dto.WeatherAggregateDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class WeatherDataRepositoryImpl implements WeatherDataRepositoryCustom {
+
+    // Walks the stations primary key; the probe skips registered stations that have no observations yet.
+    private static final String STATION_KEYS_AFTER = """
+            SELECT s.id FROM stations s
+            WHERE s.id > :after
+              AND EXISTS (SELECT 1 FROM weather_data w WHERE w.station_key = s.id)
+            ORDER BY s.id
+            LIMIT :limit
+            """;
+
+    private static final String LATEST_WINDOW = """
+            SELECT timestamp, temperature, humidity, pressure, precipitation
+            FROM weather_data
+            WHERE station_key = ?
+            ORDER BY timestamp DESC
+            LIMIT ?
+            """;
+
+    // A LIMIT per station walks the (station_key, timestamp) index backwards and stops after the
+    // newest rows, instead of ranking the whole history of every station.
+    private static final String LATEST_BY_STATION_KEYS = """
+            SELECT s.station_key, w.timestamp, w.temperature, w.humidity, w.pressure, w.precipitation
+            FROM unnest(?) AS s(station_key)
+            CROSS JOIN LATERAL (SELECT timestamp, temperature, humidity, pressure, precipitation
+                                FROM weather_data
+                                WHERE station_key = s.station_key
+                                ORDER BY timestamp DESC
+                                LIMIT ?) w
+            ORDER BY s.station_key, w.timestamp DESC
+            """;
+
+    private static final String HISTORY = """
+            SELECT id, station_key, timestamp, temperature, humidity, pressure, precipitation
+            FROM weather_data
+            WHERE station_key = ? AND timestamp >= ? AND timestamp < ?
+            """;
+
+    // Windows are aligned to the Unix epoch.
+    private static final String WINDOW_START = "date_bin(CAST(:window AS interval), %s, TIMESTAMPTZ '1970-01-01 00:00:00+00')";
+
+    private static final String AGGREGATE = """
+            SELECT %1$s AS window_start, COUNT(*) AS observations,
+                   MIN(%2$s) AS min_value, MAX(%2$s) AS max_value, AVG(%2$s) AS avg_value%3$s
+            FROM weather_data
+            WHERE station_key = :stationKey AND timestamp >= :from AND timestamp < :to
+            GROUP BY window_start
+            ORDER BY window_start
+            """;
+
+    private static final String AGGREGATE_ROLLUP = """
+            SELECT %1$s AS window_start, SUM(observations) AS observations,
+                   MIN(%2$s_min) AS min_value, MAX(%2$s_max) AS max_value,
+                   SUM(%2$s_sum) / SUM(observations) AS avg_value
+            FROM weather_hourly_rollup
+            WHERE station_key = :stationKey AND bucket >= :from AND bucket < :to
+            GROUP BY window_start
+            ORDER BY window_start
+            """;
+
+    private static final String ROLLUP_COLUMNS = Arrays.stream(AggregateMetric.values())
+            .map(metric -> metric.getColumn() + "_min, " + metric.getColumn() + "_max, " + metric.getColumn() + "_sum")
+            .collect(Collectors.joining(", "));
+
+    private static final String UPSERT_ROLLUP = "INSERT INTO weather_hourly_rollup (station_key, bucket, observations, "
+            + ROLLUP_COLUMNS + ")\nVALUES (:stationKey, :bucket, 1, "
+            + Arrays.stream(AggregateMetric.values())
+            .map(metric -> ":" + metric.getColumn() + ", :" + metric.getColumn() + ", :" + metric.getColumn())
+            .collect(Collectors.joining(", "))
+            + ")\nON CONFLICT (station_key, bucket) DO UPDATE SET observations = weather_hourly_rollup.observations + 1, "
+            + Arrays.stream(AggregateMetric.values())
+            .map(metric -> {
+                String column = metric.getColumn();
+                return column + "_min = LEAST(weather_hourly_rollup." + column + "_min, EXCLUDED." + column + "_min), "
+                        + column + "_max = GREATEST(weather_hourly_rollup." + column + "_max, EXCLUDED." + column + "_max), "
+                        + column + "_sum = weather_hourly_rollup." + column + "_sum + EXCLUDED." + column + "_sum";
+            })
+            .collect(Collectors.joining(", "));
+
+    // Conflicts with the row-exclusive lock of every upsert and with itself, but not with readers.
+    private static final String LOCK_ROLLUP = "LOCK TABLE weather_hourly_rollup IN SHARE ROW EXCLUSIVE MODE";
+
+    private static final String REBUILD_ROLLUP = "INSERT INTO weather_hourly_rollup (station_key, bucket, observations, "
+            + ROLLUP_COLUMNS + ")\nSELECT station_key, date_trunc('hour', timestamp, 'UTC'), COUNT(*), "
+            + Arrays.stream(AggregateMetric.values())
+            .map(metric -> "MIN(" + metric.getColumn() + "), MAX(" + metric.getColumn() + "), SUM(" + metric.getColumn() + ")")
+            .collect(Collectors.joining(", "))
+            + "\nFROM weather_data GROUP BY 1, 2\nON CONFLICT (station_key, bucket) DO UPDATE SET observations = EXCLUDED.observations, "
+            + Arrays.stream(AggregateMetric.values())
+            .map(metric -> {
+                String column = metric.getColumn();
+                return column + "_min = EXCLUDED." + column + "_min, " + column + "_max = EXCLUDED." + column + "_max, "
+                        + column + "_sum = EXCLUDED." + column + "_sum";
+            })
+            .collect(Collectors.joining(", "));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${weather.history.latest-batch-size:500}")
+    private int latestBatchSize;
+
+    @Override
+    public List<Integer> findStationKeysAfter(int afterStationKey, int limit) {
+        return jdbcTemplate.queryForList(STATION_KEYS_AFTER,
+                new MapSqlParameterSource("after", afterStationKey).addValue("limit", limit),
+                Integer.class);
+    }
+
+    @Override
+    public ObservationWindow findLatestWindow(int stationKey, int limit) {
+        ObservationWindow window = new ObservationWindow(limit);
+        jdbcTemplate.getJdbcOperations().query(LATEST_WINDOW, (ResultSet rs) -> window.add(epochSecond(rs),
+                        rs.getDouble("temperature"), rs.getDouble("humidity"), rs.getDouble("pressure"),
+                        rs.getDouble("precipitation")),
+                stationKey, limit);
+        return window;
+    }
+
+    /**
+     * Runs {@link #LATEST_BY_STATION_KEYS} over the distinct keys in ascending order, a batch at a
+     * time, so rows arrive grouped by station in key order.
+     */
+    @Override
+    public StationHistories findLatestHistories(Collection<Integer> stationKeys, int limit) {
+        Integer[] keys = stationKeys.stream().distinct().sorted().toArray(Integer[]::new);
+        StationHistories histories = new StationHistories(keys.length, keys.length * limit);
+        for (int from = 0; from < keys.length; from += latestBatchSize) {
+            Integer[] batch = Arrays.copyOfRange(keys, from, Math.min(keys.length, from + latestBatchSize));
+            jdbcTemplate.getJdbcOperations().query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(LATEST_BY_STATION_KEYS);
+                statement.setArray(1, connection.createArrayOf("integer", batch));
+                statement.setInt(2, limit);
+                return statement;
+            }, (ResultSet rs) -> histories.add(rs.getInt("station_key"), epochSecond(rs),
+                    rs.getDouble("temperature"), rs.getDouble("humidity"), rs.getDouble("pressure"),
+                    rs.getDouble("precipitation")));
+        }
+        return histories;
+    }
+
+    @Override
+    public void streamHistory(int stationKey, Instant from, Instant to, Instant after, int limit, int fetchSize,
+                              Consumer<WeatherData> action) {
+        StringBuilder sql = new StringBuilder(HISTORY);
+        if (after != null) {
+            sql.append("AND timestamp > ?\n");
+        }
+        sql.append("ORDER BY timestamp");
+        if (limit > 0) {
+            sql.append("\nLIMIT ?");
+        }
+
+        jdbcTemplate.getJdbcOperations().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Inside a transaction the PostgreSQL driver then reads through a server-side cursor.
+            statement.setFetchSize(fetchSize);
+            int parameter = 1;
+            statement.setInt(parameter++, stationKey);
+            statement.setObject(parameter++, utc(from));
+            statement.setObject(parameter++, utc(to));
+            if (after != null) {
+                statement.setObject(parameter++, utc(after));
+            }
+            if (limit > 0) {
+                statement.setInt(parameter, limit);
+            }
+            return statement;
+        }, (ResultSet rs) -> action.accept(mapRow(rs)));
+    }
+
+    @Override
+    public List<WeatherAggregateDto.Bucket> aggregate(int stationKey, AggregateMetric metric, Duration window,
+                                                      Instant from, Instant to, List<Double> percentiles) {
+        MapSqlParameterSource parameters = rangeParameters(stationKey, window, from, to);
+        StringBuilder percentileColumns = new StringBuilder();
+        for (int i = 0; i < percentiles.size(); i++) {
+            percentileColumns.append(",\n       percentile_cont(CAST(:p").append(i)
+                    .append(" AS double precision)) WITHIN GROUP (ORDER BY ").append(metric.getColumn())
+                    .append(") AS p").append(i);
+            parameters.addValue("p" + i, percentiles.get(i));
+        }
+
+        String sql = AGGREGATE.formatted(WINDOW_START.formatted("timestamp"), metric.getColumn(), percentileColumns);
+        return jdbcTemplate.query(sql, parameters, (rs, rowNum) -> {
+            WeatherAggregateDto.Bucket bucket = mapBucket(rs);
+            if (!percentiles.isEmpty()) {
+                Map<String, Double> values = new LinkedHashMap<>();
+                for (int i = 0; i < percentiles.size(); i++) {
+                    values.put(AggregateQuery.percentileLabel(percentiles.get(i)), rs.getDouble("p" + i));
+                }
+                bucket.setPercentiles(values);
+            }
+            return bucket;
+        });
+    }
+
+    @Override
+    public List<WeatherAggregateDto.Bucket> aggregateRollup(int stationKey, AggregateMetric metric, Duration window,
+                                                            Instant from, Instant to) {
+        String sql = AGGREGATE_ROLLUP.formatted(WINDOW_START.formatted("bucket"), metric.getColumn());
+        return jdbcTemplate.query(sql, rangeParameters(stationKey, window, from, to), (rs, rowNum) -> mapBucket(rs));
+    }
+
+    @Override
+    public void upsertHourlyRollup(WeatherData data) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("stationKey", data.getStationKey())
+                .addValue("bucket", utc(data.getTimestamp().truncatedTo(ChronoUnit.HOURS)))
+                .addValue(AggregateMetric.TEMPERATURE.getColumn(), data.getTemperature())
+                .addValue(AggregateMetric.HUMIDITY.getColumn(), data.getHumidity())
+                .addValue(AggregateMetric.PRESSURE.getColumn(), data.getPressure())
+                .addValue(AggregateMetric.PRECIPITATION.getColumn(), data.getPrecipitation());
+        jdbcTemplate.update(UPSERT_ROLLUP, parameters);
+    }
+
+    @Override
+    @Transactional
+    public int rebuildHourlyRollup() {
+        // Taken before the rebuild reads weather_data: ingest transactions that already counted an
+        // observation commit first and are read, later ones wait and add theirs on top.
+        jdbcTemplate.getJdbcOperations().execute(LOCK_ROLLUP);
+        return jdbcTemplate.update(REBUILD_ROLLUP, new MapSqlParameterSource());
+    }
+
+    private static MapSqlParameterSource rangeParameters(int stationKey, Duration window, Instant from, Instant to) {
+        return new MapSqlParameterSource("stationKey", stationKey)
+                .addValue("window", window.toSeconds() + " seconds")
+                .addValue("from", utc(from))
+                .addValue("to", utc(to));
+    }
+
+    private static WeatherAggregateDto.Bucket mapBucket(ResultSet rs) throws SQLException {
+        return new WeatherAggregateDto.Bucket(rs.getTimestamp("window_start").toInstant(), rs.getLong("observations"),
+                rs.getDouble("min_value"), rs.getDouble("max_value"), rs.getDouble("avg_value"), null);
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static long epochSecond(ResultSet rs) throws SQLException {
+        return Math.floorDiv(rs.getTimestamp("timestamp").getTime(), 1000L);
+    }
+
+    private static WeatherData mapRow(ResultSet rs) throws SQLException {
+        WeatherData data = new WeatherData();
+        data.setId(rs.getLong("id"));
+        data.setStationKey(rs.getInt("station_key"));
+        data.setTimestamp(rs.getTimestamp("timestamp").toInstant());
+        data.setTemperature(rs.getDouble("temperature"));
+        data.setHumidity(rs.getDouble("humidity"));
+        data.setPressure(rs.getDouble("pressure"));
+        data.setPrecipitation(rs.getDouble("precipitation"));
+        return data;
+    }
+}
\ No newline at end of file
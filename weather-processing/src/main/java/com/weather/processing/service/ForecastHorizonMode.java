@@ -0,0 +1,24 @@
+package com.weather.processing.service;
+
+/**
+ * How {@link ForecastService} fills the {@code weatherForecasts} cache.
+ */
+public enum ForecastHorizonMode {
+
+    /**
+     * One entry per station, hours and model, each computed independently.
+     */
+    PER_REQUEST,
+
+    /**
+     * One full {@code max-forecast-hours} entry per station and model, computed on the first
+     * request after a new observation and sliced for any {@code hours}.
+     */
+    LAZY,
+
+    /**
+     * Like {@link #LAZY}, but the default model's horizon is recomputed as soon as a new
+     * observation is stored.
+     */
+    EAGER
+}
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.weather.processing.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.weather.processing.event.StationUpdatedEvent;
+import com.weather.processing.event.WeatherDataSavedEvent;
+import com.weather.processing.forecast.ForecastModelRegistry;
+import com.weather.processing.forecast.ForecastVersion;
+import com.weather.processing.station.StationTable;
+import com.weather.shared.dto.WeatherForecastDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Encoded forecast responses per station, model, horizon and media type. A hit hands the stored
+ * bytes to the response as they are; entries are checked against the current ETag and become
+ * unreachable when the station receives a new observation or is updated.
+ */
+@Slf4j
+@Service
+public class ForecastResponseCache {
+
+    public static final String RESPONSE_CACHE = "forecastResponses";
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    public enum Encoding {
+        JSON(MediaType.APPLICATION_JSON),
+        SMILE(MediaType.parseMediaType(SMILE_VALUE));
+
+        private final MediaType mediaType;
+
+        Encoding(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        /**
+         * First encoding compatible with the accepted media types, which are in preference order.
+         */
+        public static Optional<Encoding> negotiate(List<MediaType> accepted) {
+            for (MediaType mediaType : accepted) {
+                for (Encoding encoding : values()) {
+                    if (mediaType.isCompatibleWith(encoding.mediaType)) {
+                        return Optional.of(encoding);
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    public record EncodedForecast(byte[] body, String eTag) {
+    }
+
+    private final ForecastService forecastService;
+    private final ForecastModelRegistry forecastModelRegistry;
+    private final CacheManager cacheManager;
+    private final ObjectWriter[] writers;
+
+    // Part of every cache key and bumped on each change of the station, like in ForecastService.
+    private final StationTable<AtomicInteger> generations = new StationTable<>(1024);
+
+    public ForecastResponseCache(ForecastService forecastService, ForecastModelRegistry forecastModelRegistry,
+                                 CacheManager cacheManager, ObjectMapper objectMapper) {
+        this.forecastService = forecastService;
+        this.forecastModelRegistry = forecastModelRegistry;
+        this.cacheManager = cacheManager;
+        // The same mappers Spring MVC would use for these media types.
+        this.writers = new ObjectWriter[]{
+                objectMapper.writerFor(WeatherForecastDto.class),
+                Jackson2ObjectMapperBuilder.smile().build().writerFor(WeatherForecastDto.class)
+        };
+    }
+
+    public EncodedForecast get(String stationId, int hours, ForecastVersion version, Encoding encoding) {
+        Cache cache = cacheManager.getCache(RESPONSE_CACHE);
+        CacheKey key = new CacheKey(version.stationKey(), generation(version.stationKey()),
+                forecastModelRegistry.indexOf(version.model()), hours, encoding);
+        EncodedForecast cached = cache != null ? cache.get(key, EncodedForecast.class) : null;
+        if (cached != null && cached.eTag().equals(version.eTag())) {
+            return cached;
+        }
+
+        EncodedForecast encoded = new EncodedForecast(
+                encode(forecastService.generateForecast(stationId, hours, version.model()), encoding), version.eTag());
+        if (cache != null) {
+            cache.put(key, encoded);
+        }
+        return encoded;
+    }
+
+    public byte[] encode(WeatherForecastDto forecast, Encoding encoding) {
+        try {
+            return writers[encoding.ordinal()].writeValueAsBytes(forecast);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWeatherDataSaved(WeatherDataSavedEvent event) {
+        nextGeneration(event.getWeatherData().getStationKey());
+    }
+
+    @EventListener
+    public void onStationUpdated(StationUpdatedEvent event) {
+        nextGeneration(event.getStationKey());
+    }
+
+    private void nextGeneration(int stationKey) {
+        AtomicInteger generation = generations.get(stationKey);
+        if (generation == null) {
+            generation = generations.merge(stationKey, new AtomicInteger(), (current, created) -> current);
+        }
+        generation.incrementAndGet();
+        log.debug("Invalidated cached forecast responses for station key: {}", stationKey);
+    }
+
+    private int generation(int stationKey) {
+        AtomicInteger generation = generations.get(stationKey);
+        return generation == null ? 0 : generation.get();
+    }
+
+    private record CacheKey(int stationKey, int generation, int model, int hours, Encoding encoding) {
+    }
+}
\ No newline at end of file
@@ -1,24 +1,62 @@
 package com.weather.processing.service;
 
-import com.weather.processing.entity.WeatherData;
+import com.weather.processing.event.StationUpdatedEvent;
+import com.weather.processing.event.WeatherDataSavedEvent;
+import com.weather.processing.forecast.ForecastBounds;
+import com.weather.processing.forecast.ForecastModel;
+import com.weather.processing.forecast.ForecastModelRegistry;
+import com.weather.processing.forecast.ForecastVersion;
+import com.weather.processing.forecast.ObservationWindow;
+import com.weather.processing.jfr.ForecastCacheEvent;
+import com.weather.processing.jfr.ForecastComputeEvent;
+import com.weather.processing.repository.StationHistories;
+import com.weather.processing.snapshot.StationStateSnapshot;
+import com.weather.processing.station.StationDictionary;
+import com.weather.processing.station.StationIndex;
+import com.weather.processing.station.StationService;
+import com.weather.processing.station.StationTable;
 import com.weather.shared.dto.WeatherForecastDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ForecastService {
 
+    public static final String FORECAST_CACHE = "weatherForecasts";
+
+    // Neighbours closer than this are weighted as if they were this far away.
+    private static final double MIN_NEIGHBOUR_DISTANCE_KM = 1.0;
+
     private final WeatherDataService weatherDataService;
+    private final ForecastModelRegistry forecastModelRegistry;
+    private final CacheManager cacheManager;
+    private final StationService stationService;
+    private final StationDictionary stationDictionary;
+    private final StationTable<Instant> latestObservations = new StationTable<>(1024);
+
+    // Part of every cache key and bumped on each observation of the station, so its cached forecasts
+    // become unreachable in O(1) whatever horizon mode or model produced them; they age out by size and TTL.
+    private final StationTable<AtomicInteger> generations = new StationTable<>(1024);
 
     @Value("${weather.forecast.history-size:15}")
     private int historySize;
@@ -26,41 +64,312 @@ public class ForecastService {
     @Value("${weather.forecast.max-forecast-hours:24}")
     private int maxForecastHours;
 
-    @Cacheable(value = "weatherForecasts", key = "#stationId + '_' + #hours")
+    @Value("${weather.forecast.horizon-mode:per-request}")
+    private ForecastHorizonMode horizonMode;
+
+    @Value("${weather.cache.forecasts.ttl:30m}")
+    private Duration forecastsTtl;
+
+    @Value("${weather.forecast.neighbours.count:4}")
+    private int neighbourCount;
+
+    @Value("${weather.forecast.neighbours.candidates:16}")
+    private int neighbourCandidates;
+
+    @Value("${weather.forecast.neighbours.max-distance-km:300}")
+    private double neighbourMaxDistanceKm;
+
     public WeatherForecastDto generateForecast(String stationId, int hours) {
-        log.info("Generating forecast for station: {}, hours: {}", stationId, hours);
+        return generateForecast(stationId, hours, null);
+    }
+
+    public WeatherForecastDto generateForecast(String stationId, int hours, String model) {
+        log.info("Generating forecast for station: {}, hours: {}, model: {}", stationId, hours, model);
 
         if (hours <= 0 || hours > maxForecastHours) {
             throw new IllegalArgumentException("Hours must be between 1 and " + maxForecastHours);
         }
 
-        List<WeatherData> historicalData = weatherDataService.getLatestWeatherData(stationId, historySize);
+        ForecastModel forecastModel = forecastModelRegistry.resolve(model);
 
-        if (historicalData.size() < 2) {
-            log.warn("Not enough historical data for station: {}. Available: {}. Generating test forecast.",
-                    stationId, historicalData.size());
-            return generateTestForecast(stationId, hours, historicalData);
+        OptionalInt stationKey = stationDictionary.findKey(stationId);
+        if (stationKey.isEmpty()) {
+            log.warn("Unknown station: {}. Generating test forecast.", stationId);
+            return generateTestForecast(stationId, hours, new ObservationWindow(0));
         }
+        int key = stationKey.getAsInt();
 
-        List<WeatherForecastDto.ForecastItem> forecasts = new ArrayList<>();
+        if (horizonMode == ForecastHorizonMode.PER_REQUEST) {
+            return cached(perRequestKey(key, hours, forecastModel.getName()), stationId, forecastModel, hours,
+                    () -> computeForecast(key, stationId, hours, forecastModel));
+        }
+
+        WeatherForecastDto horizon = cached(horizonKey(key, forecastModel.getName()), stationId, forecastModel, 0,
+                () -> computeForecast(key, stationId, maxForecastHours, forecastModel));
+        return slice(horizon, hours);
+    }
+
+    /**
+     * Validators of the forecast, derived from the newest observation of the station and the model
+     * version, without computing the forecast. Empty for stations without observations.
+     */
+    public Optional<ForecastVersion> getForecastVersion(String stationId, int hours, String model) {
+        if (hours <= 0 || hours > maxForecastHours) {
+            throw new IllegalArgumentException("Hours must be between 1 and " + maxForecastHours);
+        }
+        ForecastModel forecastModel = forecastModelRegistry.resolve(model);
+        OptionalInt stationKey = stationDictionary.findKey(stationId);
+        if (stationKey.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Instant latest = latestObservations.get(stationKey.getAsInt());
+        if (latest == null) {
+            Optional<Instant> stored = weatherDataService.getLatestTimestamp(stationKey.getAsInt());
+            if (stored.isEmpty()) {
+                return Optional.empty();
+            }
+            latest = latestObservations.merge(stationKey.getAsInt(), stored.get(), ForecastService::newer);
+        }
+        return Optional.of(ForecastVersion.of(stationKey.getAsInt(), latest, forecastModel, hours));
+    }
+
+    // Before the live update publisher, which may read the refreshed forecast.
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWeatherDataSaved(WeatherDataSavedEvent event) {
+        int stationKey = event.getWeatherData().getStationKey();
+        latestObservations.merge(stationKey, event.getWeatherData().getTimestamp(), ForecastService::newer);
+        nextGeneration(stationKey);
+
+        if (horizonMode == ForecastHorizonMode.EAGER) {
+            Cache cache = cacheManager.getCache(FORECAST_CACHE);
+            if (cache != null) {
+                ForecastModel defaultModel = forecastModelRegistry.getDefaultModel();
+                String stationId = stationDictionary.getStationId(stationKey);
+                cache.put(horizonKey(stationKey, defaultModel.getName()),
+                        computeForecast(stationKey, stationId, maxForecastHours, defaultModel));
+                log.debug("Precomputed {}-hour forecast for station: {}", maxForecastHours, stationId);
+            }
+        }
+    }
+
+    /**
+     * Another instance stored observations of the station: the next request recomputes the forecast
+     * and gets an ETag of the new latest observation.
+     */
+    @EventListener
+    public void onStationUpdated(StationUpdatedEvent event) {
+        latestObservations.merge(event.getStationKey(), event.getLatestTimestamp(), ForecastService::newer);
+        nextGeneration(event.getStationKey());
+    }
+
+    /**
+     * Newest observation times and cached forecasts for the warm-start snapshot. Forecasts are
+     * listed only when the forecast cache is a Caffeine cache.
+     */
+    public StationStateSnapshot captureState() {
+        StationStateSnapshot snapshot = new StationStateSnapshot(Instant.now());
+        latestObservations.forEach((latest, stationKey) -> snapshot.addLatestObservation(stationKey, latest));
+
+        Cache cache = cacheManager.getCache(FORECAST_CACHE);
+        Object nativeCache = cache != null ? cache.getNativeCache() : null;
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            caffeine.asMap().forEach((key, value) -> {
+                if (key instanceof CacheKey current && value instanceof WeatherForecastDto forecast
+                        && current.generation() == generation(current.stationKey())) {
+                    snapshot.addForecast(current.stationKey(), forecastModelRegistry.nameOf(current.model()),
+                            current.hours(), forecast);
+                }
+            });
+        }
+        return snapshot;
+    }
+
+    /**
+     * Restores the newest observation time of a station from a snapshot the caller has checked
+     * against the database.
+     */
+    public void restoreLatestObservation(int stationKey, Instant latest) {
+        latestObservations.merge(stationKey, latest, ForecastService::newer);
+    }
+
+    /**
+     * Puts a forecast from a snapshot back into the cache unless the model no longer exists, the
+     * entry does not fit the current horizon mode and limit or it has outlived the cache TTL since
+     * it was generated. It expires when it would have without the restart. Returns whether it was
+     * restored.
+     */
+    public boolean restoreForecast(StationStateSnapshot.CachedForecast cached) {
+        Cache cache = cacheManager.getCache(FORECAST_CACHE);
+        if (cache == null || !forecastModelRegistry.getModelNames().contains(cached.model())) {
+            return false;
+        }
+        boolean horizon = cached.hours() == 0;
+        boolean fits = horizonMode == ForecastHorizonMode.PER_REQUEST
+                ? !horizon && cached.hours() <= maxForecastHours
+                : horizon && cached.forecast().getForecasts().size() >= maxForecastHours;
+        Duration remaining = forecastsTtl.minus(Duration.between(cached.forecast().getGeneratedAt(), Instant.now()));
+        if (!fits || remaining.isNegative() || remaining.isZero()) {
+            return false;
+        }
+
+        CacheKey key = perRequestKey(cached.stationKey(), cached.hours(), cached.model());
+        if (cache instanceof CaffeineCache caffeineCache
+                && caffeineCache.getNativeCache().policy().expireVariably().isPresent()) {
+            caffeineCache.getNativeCache().policy().expireVariably().get()
+                    .putIfAbsent(key, cached.forecast(), remaining);
+        } else {
+            cache.putIfAbsent(key, cached.forecast());
+        }
+        return true;
+    }
+
+    private static Instant newer(Instant current, Instant candidate) {
+        return candidate.isAfter(current) ? candidate : current;
+    }
+
+    private WeatherForecastDto cached(CacheKey key, String stationId, ForecastModel forecastModel, int hours,
+                                      Supplier<WeatherForecastDto> loader) {
+        Cache cache = cacheManager.getCache(FORECAST_CACHE);
+        if (cache == null) {
+            return loader.get();
+        }
+        ForecastCacheEvent event = new ForecastCacheEvent();
+        event.begin();
+        boolean[] loaded = new boolean[1];
+        WeatherForecastDto forecast = cache.get(key, () -> {
+            loaded[0] = true;
+            return loader.get();
+        });
+        event.complete(stationId, forecastModel.getName(), hours, !loaded[0]);
+        return forecast;
+    }
+
+    private CacheKey horizonKey(int stationKey, String modelName) {
+        return perRequestKey(stationKey, 0, modelName);
+    }
+
+    private CacheKey perRequestKey(int stationKey, int hours, String modelName) {
+        return new CacheKey(stationKey, generation(stationKey), forecastModelRegistry.indexOf(modelName), hours);
+    }
+
+    private void nextGeneration(int stationKey) {
+        AtomicInteger generation = generations.get(stationKey);
+        if (generation == null) {
+            generation = generations.merge(stationKey, new AtomicInteger(), (current, created) -> current);
+        }
+        generation.incrementAndGet();
+        log.debug("Invalidated cached forecasts for station key: {}", stationKey);
+    }
+
+    private int generation(int stationKey) {
+        AtomicInteger generation = generations.get(stationKey);
+        return generation == null ? 0 : generation.get();
+    }
+
+    private WeatherForecastDto slice(WeatherForecastDto horizon, int hours) {
+        if (horizon.getForecasts().size() <= hours) {
+            return horizon;
+        }
+        return new WeatherForecastDto(horizon.getStationId(), horizon.getGeneratedAt(),
+                horizon.getForecasts().subList(0, hours));
+    }
+
+    private WeatherForecastDto computeForecast(int stationKey, String stationId, int hours,
+                                               ForecastModel forecastModel) {
+        ForecastComputeEvent event = new ForecastComputeEvent();
+        event.begin();
+        HistoryLoader history = new HistoryLoader(stationKey);
         Instant now = Instant.now();
 
-        for (int i = 1; i <= hours; i++) {
-            Instant forecastTime = now.plus(i, ChronoUnit.HOURS);
-            WeatherForecastDto.ForecastItem forecastItem = calculateForecast(historicalData, forecastTime, i);
-            forecasts.add(forecastItem);
+        List<WeatherForecastDto.ForecastItem> forecasts = forecastModel.forecast(stationKey, history, now, hours);
+
+        if (forecasts.isEmpty()) {
+            ObservationWindow historicalData = history.get();
+            WeatherForecastDto neighbourForecast =
+                    generateNeighbourForecast(stationKey, stationId, hours, forecastModel, now);
+            if (neighbourForecast != null) {
+                event.complete(stationId, forecastModel.getName(), hours, "neighbours", true);
+                return neighbourForecast;
+            }
+            log.warn("Not enough historical data for station: {}. Available: {}. Generating test forecast.",
+                    stationId, historicalData.size());
+            event.complete(stationId, forecastModel.getName(), hours, "fallback", true);
+            return generateTestForecast(stationId, hours, historicalData);
         }
 
         WeatherForecastDto forecast = new WeatherForecastDto();
         forecast.setStationId(stationId);
         forecast.setGeneratedAt(now);
-        forecast.setForecasts(forecasts);
+        forecast.setForecasts(List.copyOf(forecasts));
 
-        log.debug("Generated forecast with {} hours for station: {}", hours, stationId);
+        log.debug("Generated {} forecast with {} hours for station: {}", forecastModel.getName(), hours, stationId);
+        event.complete(stationId, forecastModel.getName(), hours, "model", history.historicalData != null);
         return forecast;
     }
 
-    private WeatherForecastDto generateTestForecast(String stationId, int hours, List<WeatherData> availableData) {
+    /**
+     * Inverse-distance-weighted average of the forecasts of the nearest stations that have enough
+     * history of their own, or {@code null} if there are none within the configured distance.
+     * The result is cached under the sparse station and refreshed by its own observations or the
+     * cache TTL, not by observations of the neighbours.
+     */
+    private WeatherForecastDto generateNeighbourForecast(int stationKey, String stationId, int hours,
+                                                         ForecastModel forecastModel, Instant now) {
+        List<StationIndex.Neighbour> candidates = stationService.findNeighbours(stationKey, neighbourCandidates).stream()
+                .filter(neighbour -> neighbour.distanceKm() <= neighbourMaxDistanceKm)
+                .toList();
+        if (candidates.isEmpty()) {
+            return null;
+        }
+
+        StationHistories histories = weatherDataService.getLatestHistories(
+                candidates.stream().map(StationIndex.Neighbour::stationKey).toList(), historySize);
+
+        double[] sums = new double[hours * 4];
+        double totalWeight = 0;
+        int used = 0;
+        for (StationIndex.Neighbour neighbour : candidates) {
+            if (used == neighbourCount) {
+                break;
+            }
+            int station = histories.indexOf(neighbour.stationKey());
+            ObservationWindow neighbourHistory = station >= 0 ? histories.window(station) : new ObservationWindow(0);
+            List<WeatherForecastDto.ForecastItem> items =
+                    forecastModel.forecast(neighbour.stationKey(), () -> neighbourHistory, now, hours);
+            if (items.isEmpty()) {
+                continue;
+            }
+
+            double distance = Math.max(MIN_NEIGHBOUR_DISTANCE_KM, neighbour.distanceKm());
+            double weight = 1.0 / (distance * distance);
+            for (int i = 0; i < hours; i++) {
+                WeatherForecastDto.ForecastItem item = items.get(i);
+                sums[i * 4] += weight * item.getTemperature();
+                sums[i * 4 + 1] += weight * item.getHumidity();
+                sums[i * 4 + 2] += weight * item.getPressure();
+                sums[i * 4 + 3] += weight * item.getPrecipitation();
+            }
+            totalWeight += weight;
+            used++;
+        }
+        if (used == 0) {
+            return null;
+        }
+
+        List<WeatherForecastDto.ForecastItem> forecasts = new ArrayList<>(hours);
+        for (int i = 0; i < hours; i++) {
+            forecasts.add(ForecastBounds.toItem(now.plus(i + 1, ChronoUnit.HOURS),
+                    sums[i * 4] / totalWeight, sums[i * 4 + 1] / totalWeight,
+                    sums[i * 4 + 2] / totalWeight, sums[i * 4 + 3] / totalWeight));
+        }
+
+        log.info("Generated forecast for station: {} from {} neighbouring stations", stationId, used);
+        return new WeatherForecastDto(stationId, now, List.copyOf(forecasts));
+    }
+
+    private WeatherForecastDto generateTestForecast(String stationId, int hours, ObservationWindow availableData) {
         List<WeatherForecastDto.ForecastItem> forecasts = new ArrayList<>();
         Instant now = Instant.now();
 
@@ -69,12 +378,11 @@ public class ForecastService {
         double basePressure = 1013.0;
         double basePrecipitation = 0.0;
 
-        if (!availableData.isEmpty()) {
-            WeatherData latest = availableData.get(0);
-            baseTemp = latest.getTemperature();
-            baseHumidity = latest.getHumidity();
-            basePressure = latest.getPressure();
-            basePrecipitation = latest.getPrecipitation();
+        if (availableData.size() > 0) {
+            baseTemp = availableData.getTemperature(0);
+            baseHumidity = availableData.getHumidity(0);
+            basePressure = availableData.getPressure(0);
+            basePrecipitation = availableData.getPrecipitation(0);
         }
 
         for (int i = 1; i <= hours; i++) {
@@ -97,43 +405,36 @@ public class ForecastService {
         WeatherForecastDto forecast = new WeatherForecastDto();
         forecast.setStationId(stationId);
         forecast.setGeneratedAt(now);
-        forecast.setForecasts(forecasts);
+        forecast.setForecasts(List.copyOf(forecasts));
 
         log.info("Generated test forecast for station: {} with {} hours", stationId, hours);
         return forecast;
     }
 
-    private WeatherForecastDto.ForecastItem calculateForecast(List<WeatherData> historicalData,
-                                                              Instant forecastTime, int hoursAhead) {
-        int n = historicalData.size();
+    /**
+     * Loads the history at most once, and only if the model asks for it.
+     */
+    private final class HistoryLoader implements Supplier<ObservationWindow> {
 
-        WeatherData latest = historicalData.get(0);
-        WeatherData previous = historicalData.get(Math.min(1, n - 1));
+        private final int stationKey;
+        private ObservationWindow historicalData;
 
-        double timeDiffHours = Math.max(1.0,
-                java.time.Duration.between(previous.getTimestamp(), latest.getTimestamp()).toHours());
-
-        double tempTrend = (latest.getTemperature() - previous.getTemperature()) / timeDiffHours;
-        double humidityTrend = (latest.getHumidity() - previous.getHumidity()) / timeDiffHours;
-        double pressureTrend = (latest.getPressure() - previous.getPressure()) / timeDiffHours;
-        double precipitationTrend = (latest.getPrecipitation() - previous.getPrecipitation()) / timeDiffHours;
-
-        double forecastTemp = latest.getTemperature() + (tempTrend * hoursAhead);
-        double forecastHumidity = latest.getHumidity() + (humidityTrend * hoursAhead);
-        double forecastPressure = latest.getPressure() + (pressureTrend * hoursAhead);
-        double forecastPrecipitation = Math.max(0, latest.getPrecipitation() + (precipitationTrend * hoursAhead));
+        private HistoryLoader(int stationKey) {
+            this.stationKey = stationKey;
+        }
 
-        forecastTemp = Math.max(-50, Math.min(50, forecastTemp));
-        forecastHumidity = Math.max(0, Math.min(100, forecastHumidity));
-        forecastPressure = Math.max(900, Math.min(1100, forecastPressure));
-        forecastPrecipitation = Math.max(0, Math.min(100, forecastPrecipitation));
+        @Override
+        public ObservationWindow get() {
+            if (historicalData == null) {
+                historicalData = weatherDataService.getLatestWindow(stationKey, historySize);
+            }
+            return historicalData;
+        }
+    }
 
-        return new WeatherForecastDto.ForecastItem(
-                forecastTime,
-                Math.round(forecastTemp * 10.0) / 10.0,
-                Math.round(forecastHumidity * 10.0) / 10.0,
-                Math.round(forecastPressure * 10.0) / 10.0,
-                Math.round(forecastPrecipitation * 10.0) / 10.0
-        );
+    /**
+     * Hours 0 marks a full-horizon entry; the model is its index in the registry.
+     */
+    private record CacheKey(int stationKey, int generation, int model, int hours) {
     }
 }
\ No newline at end of file
@@ -1,14 +1,25 @@
 package com.weather.processing.service;
 
 import com.weather.processing.entity.WeatherData;
+import com.weather.processing.event.WeatherDataSavedEvent;
+import com.weather.processing.forecast.ObservationWindow;
+import com.weather.processing.jfr.DedupCheckEvent;
+import com.weather.processing.jfr.PersistEvent;
+import com.weather.processing.messaging.PipelineMetrics;
+import com.weather.processing.repository.StationHistories;
 import com.weather.processing.repository.WeatherDataRepository;
+import com.weather.processing.station.StationDictionary;
 import com.weather.shared.messaging.WeatherMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -16,29 +27,76 @@ import java.util.List;
 public class WeatherDataService {
 
     private final WeatherDataRepository weatherDataRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StationDictionary stationDictionary;
+    private final PipelineMetrics pipelineMetrics;
 
-    @Transactional
-    public void saveWeatherData(WeatherMessage message) {
-        if (!weatherDataRepository.existsByStationIdAndTimestamp(message.getStationId(), message.getTimestamp())) {
-            WeatherData weatherData = new WeatherData();
-            weatherData.setStationId(message.getStationId());
-            weatherData.setTimestamp(message.getTimestamp());
-            weatherData.setTemperature(message.getTemperature());
-            weatherData.setHumidity(message.getHumidity());
-            weatherData.setPressure(message.getPressure());
-            weatherData.setPrecipitation(message.getPrecipitation());
+    @Value("${weather.aggregates.rollup.enabled:true}")
+    private boolean rollupEnabled;
 
-            weatherDataRepository.save(weatherData);
-            log.info("Saved weather data for station: {}, timestamp: {}",
-                    message.getStationId(), message.getTimestamp());
-        } else {
+    /**
+     * Stores the observation unless the station already has one with the same timestamp.
+     *
+     * @return {@code false} for a duplicate
+     */
+    @Transactional
+    public boolean saveWeatherData(WeatherMessage message) {
+        int stationKey = stationDictionary.getOrCreateKey(message.getStationId());
+        DedupCheckEvent dedupEvent = new DedupCheckEvent();
+        dedupEvent.begin();
+        long started = System.nanoTime();
+        boolean exists = weatherDataRepository.existsByStationKeyAndTimestamp(stationKey, message.getTimestamp());
+        long checked = System.nanoTime();
+        dedupEvent.complete(message.getStationId(), exists);
+        if (exists) {
+            pipelineMetrics.recordDedupCheck(checked - started, PipelineMetrics.Outcome.DUPLICATE);
             log.warn("Weather data already exists for station: {}, timestamp: {}",
                     message.getStationId(), message.getTimestamp());
+            return false;
+        }
+        pipelineMetrics.recordDedupCheck(checked - started, PipelineMetrics.Outcome.SAVED);
+
+        WeatherData weatherData = new WeatherData();
+        weatherData.setStationKey(stationKey);
+        weatherData.setTimestamp(message.getTimestamp());
+        weatherData.setTemperature(message.getTemperature());
+        weatherData.setHumidity(message.getHumidity());
+        weatherData.setPressure(message.getPressure());
+        weatherData.setPrecipitation(message.getPrecipitation());
+
+        PersistEvent persistEvent = new PersistEvent();
+        persistEvent.begin();
+        PipelineMetrics.Outcome written = PipelineMetrics.Outcome.FAILED;
+        try {
+            weatherDataRepository.save(weatherData);
+            if (rollupEnabled) {
+                weatherDataRepository.upsertHourlyRollup(weatherData);
+            }
+            written = PipelineMetrics.Outcome.SAVED;
+        } finally {
+            pipelineMetrics.recordDbWrite(System.nanoTime() - checked, written);
+            persistEvent.complete(message.getStationId(), rollupEnabled, written == PipelineMetrics.Outcome.SAVED);
         }
+        eventPublisher.publishEvent(new WeatherDataSavedEvent(weatherData));
+        log.info("Saved weather data for station: {}, timestamp: {}",
+                message.getStationId(), message.getTimestamp());
+        return true;
+    }
+
+    /**
+     * Latest observations of the station for the forecast models, read without a transaction or
+     * managed entities.
+     */
+    public ObservationWindow getLatestWindow(int stationKey, int limit) {
+        return weatherDataRepository.findLatestWindow(stationKey, limit);
+    }
+
+    public Optional<Instant> getLatestTimestamp(int stationKey) {
+        return weatherDataRepository.findLatestTimestamp(stationKey);
     }
 
-    public List<WeatherData> getLatestWeatherData(String stationId, int limit) {
-        return weatherDataRepository.findLatestByStationId(stationId, limit);
+    public StationHistories getLatestHistories(Collection<Integer> stationKeys, int limit) {
+        return weatherDataRepository.findLatestHistories(stationKeys, limit);
     }
 
     @Transactional(readOnly = true)
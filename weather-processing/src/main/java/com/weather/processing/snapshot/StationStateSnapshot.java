@@ -0,0 +1,235 @@
+package com.weather.processing.snapshot;
+
+import com.weather.shared.dto.WeatherForecastDto;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hot per-station state of the forecast path: the newest observation time of every station seen
+ * since start and the cached forecasts. It is stored in a memory-mapped file with a fixed binary
+ * layout, all numbers big-endian:
+ * <pre>
+ * int magic, int version, long createdAt second, int createdAt nano
+ * int models, per model: short length, UTF-8 name
+ * int stations, int[stations] key, long[stations] second, int[stations] nano
+ * int forecasts, per forecast: int station key, short model, short hours, short length, UTF-8 station id,
+ *     long generatedAt second, int generatedAt nano, short items,
+ *     per item: long second, int nano, double temperature, humidity, pressure, precipitation
+ * </pre>
+ * A new file is written next to the old one and moved over it, so a crash while writing leaves the
+ * previous snapshot intact.
+ */
+public final class StationStateSnapshot {
+
+    static final int MAGIC = 0x57535331;
+    static final int VERSION = 1;
+
+    public record CachedForecast(int stationKey, String model, int hours, WeatherForecastDto forecast) {
+    }
+
+    private final Instant createdAt;
+    private int[] stationKeys = new int[64];
+    private long[] latestSeconds = new long[64];
+    private int[] latestNanos = new int[64];
+    private int stations;
+    private final List<CachedForecast> forecasts = new ArrayList<>();
+
+    public StationStateSnapshot(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public void addLatestObservation(int stationKey, Instant timestamp) {
+        if (stations == stationKeys.length) {
+            stationKeys = Arrays.copyOf(stationKeys, stations * 2);
+            latestSeconds = Arrays.copyOf(latestSeconds, stations * 2);
+            latestNanos = Arrays.copyOf(latestNanos, stations * 2);
+        }
+        stationKeys[stations] = stationKey;
+        latestSeconds[stations] = timestamp.getEpochSecond();
+        latestNanos[stations] = timestamp.getNano();
+        stations++;
+    }
+
+    public void addForecast(int stationKey, String model, int hours, WeatherForecastDto forecast) {
+        forecasts.add(new CachedForecast(stationKey, model, hours, forecast));
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public int stationCount() {
+        return stations;
+    }
+
+    public int stationKey(int station) {
+        return stationKeys[station];
+    }
+
+    public Instant latestObservation(int station) {
+        return Instant.ofEpochSecond(latestSeconds[station], latestNanos[station]);
+    }
+
+    public List<CachedForecast> getForecasts() {
+        return forecasts;
+    }
+
+    /**
+     * Writes the snapshot to {@code file}, replacing the previous one atomically, and returns the
+     * number of bytes written.
+     */
+    public long write(Path file) throws IOException {
+        Map<String, Integer> models = new LinkedHashMap<>();
+        forecasts.forEach(forecast -> models.putIfAbsent(forecast.model(), models.size()));
+        List<byte[]> modelNames = models.keySet().stream().map(StationStateSnapshot::utf8).toList();
+
+        long size = 4 + 4 + 8 + 4 + 4 + 4 + (long) stations * (4 + 8 + 4) + 4;
+        for (byte[] name : modelNames) {
+            size += 2 + name.length;
+        }
+        List<byte[]> stationIds = new ArrayList<>(forecasts.size());
+        for (CachedForecast forecast : forecasts) {
+            byte[] stationId = utf8(forecast.forecast().getStationId());
+            stationIds.add(stationId);
+            size += 4 + 2 + 2 + 2 + stationId.length + 8 + 4 + 2
+                    + (long) forecast.forecast().getForecasts().size() * (8 + 4 + 4 * 8);
+        }
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = directory.resolve(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(createdAt.getEpochSecond()).putInt(createdAt.getNano());
+
+            buffer.putInt(modelNames.size());
+            modelNames.forEach(name -> putString(buffer, name));
+
+            buffer.putInt(stations);
+            for (int i = 0; i < stations; i++) {
+                buffer.putInt(stationKeys[i]);
+            }
+            for (int i = 0; i < stations; i++) {
+                buffer.putLong(latestSeconds[i]);
+            }
+            for (int i = 0; i < stations; i++) {
+                buffer.putInt(latestNanos[i]);
+            }
+
+            buffer.putInt(forecasts.size());
+            for (int f = 0; f < forecasts.size(); f++) {
+                CachedForecast forecast = forecasts.get(f);
+                buffer.putInt(forecast.stationKey())
+                        .putShort(models.get(forecast.model()).shortValue())
+                        .putShort((short) forecast.hours());
+                putString(buffer, stationIds.get(f));
+                Instant generatedAt = forecast.forecast().getGeneratedAt();
+                buffer.putLong(generatedAt.getEpochSecond()).putInt(generatedAt.getNano());
+                List<WeatherForecastDto.ForecastItem> items = forecast.forecast().getForecasts();
+                buffer.putShort((short) items.size());
+                for (WeatherForecastDto.ForecastItem item : items) {
+                    buffer.putLong(item.getTimestamp().getEpochSecond()).putInt(item.getTimestamp().getNano())
+                            .putDouble(orNaN(item.getTemperature())).putDouble(orNaN(item.getHumidity()))
+                            .putDouble(orNaN(item.getPressure())).putDouble(orNaN(item.getPrecipitation()));
+                }
+            }
+            buffer.force();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return size;
+    }
+
+    /**
+     * Reads a snapshot written by {@link #write(Path)}.
+     *
+     * @throws IOException if the file cannot be read, is not a snapshot of this version or is truncated
+     */
+    public static StationStateSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int magic = buffer.getInt();
+            int version = buffer.getInt();
+            if (magic != MAGIC || version != VERSION) {
+                throw new IOException("Not a station state snapshot of version " + VERSION + ": " + file);
+            }
+            StationStateSnapshot snapshot = new StationStateSnapshot(
+                    Instant.ofEpochSecond(buffer.getLong(), buffer.getInt()));
+
+            String[] models = new String[buffer.getInt()];
+            for (int i = 0; i < models.length; i++) {
+                models[i] = getString(buffer);
+            }
+
+            int stations = buffer.getInt();
+            int[] keys = new int[stations];
+            long[] seconds = new long[stations];
+            for (int i = 0; i < stations; i++) {
+                keys[i] = buffer.getInt();
+            }
+            for (int i = 0; i < stations; i++) {
+                seconds[i] = buffer.getLong();
+            }
+            for (int i = 0; i < stations; i++) {
+                snapshot.addLatestObservation(keys[i], Instant.ofEpochSecond(seconds[i], buffer.getInt()));
+            }
+
+            int forecasts = buffer.getInt();
+            for (int f = 0; f < forecasts; f++) {
+                int stationKey = buffer.getInt();
+                String model = models[buffer.getShort()];
+                int hours = buffer.getShort();
+                String stationId = getString(buffer);
+                Instant generatedAt = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+                WeatherForecastDto.ForecastItem[] items = new WeatherForecastDto.ForecastItem[buffer.getShort()];
+                for (int i = 0; i < items.length; i++) {
+                    items[i] = new WeatherForecastDto.ForecastItem(
+                            Instant.ofEpochSecond(buffer.getLong(), buffer.getInt()),
+                            orNull(buffer.getDouble()), orNull(buffer.getDouble()),
+                            orNull(buffer.getDouble()), orNull(buffer.getDouble()));
+                }
+                snapshot.addForecast(stationKey, model, hours,
+                        new WeatherForecastDto(stationId, generatedAt, List.of(items)));
+            }
+            return snapshot;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("Truncated station state snapshot: " + file, e);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putString(MappedByteBuffer buffer, byte[] value) {
+        buffer.putShort((short) value.length).put(value);
+    }
+
+    private static String getString(MappedByteBuffer buffer) {
+        byte[] value = new byte[buffer.getShort()];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static double orNaN(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+
+    private static Double orNull(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,200 @@
+package com.weather.processing.snapshot;
+
+import com.weather.processing.repository.StationHistories;
+import com.weather.processing.service.ForecastService;
+import com.weather.processing.service.WeatherDataService;
+import com.weather.processing.station.StationTable;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Warm start of the forecast path. The state captured by {@link ForecastService#captureState()} is
+ * written to {@code weather.snapshot.path} every {@code weather.snapshot.interval} and on shutdown,
+ * and read back on start before the web server and the message listeners start.
+ * <p>
+ * On restore the newest stored observation of every station in the snapshot is read in one batch.
+ * A station is current if that observation is the one the snapshot knew about, compared at second
+ * resolution; stations observed since the snapshot was taken start cold. Forecasts older than the
+ * forecast cache TTL are dropped.
+ */
+@Slf4j
+@Component
+public class StationStateSnapshotService implements SmartLifecycle {
+
+    public static final String RESTORE_DURATION = "weather.snapshot.restore.duration";
+    public static final String RESTORE_AGE = "weather.snapshot.restore.age";
+    public static final String RESTORE_STALE_STATIONS = "weather.snapshot.restore.stale.stations";
+    public static final String WRITE = "weather.snapshot.write";
+
+    // Web server and message listener containers start in later phases and stop in earlier ones.
+    private static final int PHASE = 0;
+
+    private final ForecastService forecastService;
+    private final WeatherDataService weatherDataService;
+    private final TaskScheduler taskScheduler;
+    private final Timer writeTimer;
+    private final AtomicLong restoreMillis = new AtomicLong();
+    private final AtomicLong restoreAgeSeconds = new AtomicLong();
+    private final AtomicLong staleStations = new AtomicLong();
+    private volatile ScheduledFuture<?> scheduledWrite;
+    private volatile boolean running;
+
+    @Value("${weather.snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${weather.snapshot.path:state/station-state.snapshot}")
+    private Path path;
+
+    @Value("${weather.snapshot.interval:5m}")
+    private Duration interval;
+
+    @Value("${weather.cache.forecasts.ttl:30m}")
+    private Duration forecastsTtl;
+
+    public StationStateSnapshotService(ForecastService forecastService, WeatherDataService weatherDataService,
+                                       TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+        this.forecastService = forecastService;
+        this.weatherDataService = weatherDataService;
+        this.taskScheduler = taskScheduler;
+        this.writeTimer = Timer.builder(WRITE)
+                .description("Writing the station state snapshot")
+                .register(meterRegistry);
+        TimeGauge.builder(RESTORE_DURATION, restoreMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Reading and reconciling the station state snapshot on start")
+                .register(meterRegistry);
+        TimeGauge.builder(RESTORE_AGE, restoreAgeSeconds, TimeUnit.SECONDS, AtomicLong::get)
+                .description("Age of the station state snapshot when it was restored")
+                .register(meterRegistry);
+        Gauge.builder(RESTORE_STALE_STATIONS, staleStations, AtomicLong::get)
+                .description("Stations of the restored snapshot with observations newer than the snapshot")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        if (enabled) {
+            if (Files.exists(path)) {
+                restore();
+            } else {
+                log.info("No station state snapshot at {}, starting cold", path);
+            }
+            scheduledWrite = taskScheduler.scheduleWithFixedDelay(this::write, Instant.now().plus(interval), interval);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduledWrite != null) {
+            scheduledWrite.cancel(false);
+            write();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    // The final write on stop may overlap a scheduled one still in flight; both go through the same .tmp file.
+    synchronized void write() {
+        long started = System.nanoTime();
+        try {
+            StationStateSnapshot snapshot = forecastService.captureState();
+            long bytes = snapshot.write(path);
+            long elapsed = System.nanoTime() - started;
+            writeTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Wrote station state snapshot: {} stations, {} forecasts, {} bytes in {} ms",
+                    snapshot.stationCount(), snapshot.getForecasts().size(), bytes,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write station state snapshot to {}", path, e);
+        }
+    }
+
+    void restore() {
+        long started = System.nanoTime();
+        StationStateSnapshot snapshot;
+        try {
+            snapshot = StationStateSnapshot.read(path);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable station state snapshot {}: {}", path, e.getMessage());
+            return;
+        }
+
+        Set<Integer> stationKeys = new HashSet<>();
+        StationTable<Instant> latest = new StationTable<>(snapshot.stationCount());
+        for (int station = 0; station < snapshot.stationCount(); station++) {
+            stationKeys.add(snapshot.stationKey(station));
+            latest.put(snapshot.stationKey(station), snapshot.latestObservation(station));
+        }
+        snapshot.getForecasts().forEach(forecast -> stationKeys.add(forecast.stationKey()));
+        StationHistories stored;
+        try {
+            stored = weatherDataService.getLatestHistories(stationKeys, 1);
+        } catch (RuntimeException e) {
+            log.warn("Cannot reconcile station state snapshot with the database, starting cold", e);
+            return;
+        }
+
+        StationTable<Boolean> current = new StationTable<>(stationKeys.size());
+        int stale = 0;
+        for (int stationKey : stationKeys) {
+            int station = stored.indexOf(stationKey);
+            Instant known = latest.get(stationKey);
+            boolean unchanged = known == null
+                    ? station < 0
+                    : station >= 0 && stored.epochSecond(stored.rowStart(station)) == known.getEpochSecond();
+            if (unchanged) {
+                current.put(stationKey, Boolean.TRUE);
+                if (known != null) {
+                    forecastService.restoreLatestObservation(stationKey, known);
+                }
+            } else {
+                stale++;
+            }
+        }
+
+        Instant now = Instant.now();
+        int forecasts = 0;
+        for (StationStateSnapshot.CachedForecast forecast : snapshot.getForecasts()) {
+            boolean fresh = forecast.forecast().getGeneratedAt().plus(forecastsTtl).isAfter(now);
+            if (fresh && current.get(forecast.stationKey()) != null && forecastService.restoreForecast(forecast)) {
+                forecasts++;
+            }
+        }
+
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        Duration age = Duration.between(snapshot.getCreatedAt(), now);
+        restoreMillis.set(elapsed);
+        restoreAgeSeconds.set(Math.max(0, age.toSeconds()));
+        staleStations.set(stale);
+        log.info("Restored station state snapshot taken {} s ago in {} ms: {} of {} stations current, "
+                        + "{} of {} forecasts restored", age.toSeconds(), elapsed, stationKeys.size() - stale,
+                stationKeys.size(), forecasts, snapshot.getForecasts().size());
+    }
+}
\ No newline at end of file
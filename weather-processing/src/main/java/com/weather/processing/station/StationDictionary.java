@@ -0,0 +1,112 @@
+package com.weather.processing.station;
+
+import com.weather.processing.entity.Station;
+import com.weather.processing.repository.StationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps external station ids to the integer keys of the {@code stations} table. Everything past
+ * ingest — storage, indexes, caches and in-memory model state — uses the key.
+ * <p>
+ * Lookups read a concurrent map and a {@link StationTable} without locking; misses fall through
+ * to the database, and unknown ids get a row of their own in a separate transaction, so the key
+ * exists before any observation references it.
+ */
+@Slf4j
+@Component
+public class StationDictionary {
+
+    private final StationRepository stationRepository;
+    private final TransactionTemplate requiresNew;
+    private final Map<String, Integer> keys = new ConcurrentHashMap<>();
+    private final StationTable<String> stationIds = new StationTable<>(1024);
+
+    public StationDictionary(StationRepository stationRepository, PlatformTransactionManager transactionManager) {
+        this.stationRepository = stationRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        stationRepository.findAll().forEach(this::remember);
+        log.info("Loaded station dictionary with {} stations", stationIds.size());
+    }
+
+    /**
+     * Returns the key of the station, registering it if it has never been seen.
+     */
+    public int getOrCreateKey(String stationId) {
+        Integer key = keys.get(stationId);
+        if (key != null) {
+            return key;
+        }
+        return createKey(stationId);
+    }
+
+    public OptionalInt findKey(String stationId) {
+        Integer key = keys.get(stationId);
+        if (key != null) {
+            return OptionalInt.of(key);
+        }
+        return stationRepository.findByStationId(stationId)
+                .map(station -> OptionalInt.of(remember(station)))
+                .orElseGet(OptionalInt::empty);
+    }
+
+    public String getStationId(int key) {
+        String stationId = stationIds.get(key);
+        if (stationId != null) {
+            return stationId;
+        }
+        Station station = stationRepository.findById(key)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown station key: " + key));
+        remember(station);
+        return station.getStationId();
+    }
+
+    public int size() {
+        return stationIds.size();
+    }
+
+    private synchronized int createKey(String stationId) {
+        Integer known = keys.get(stationId);
+        if (known != null) {
+            return known;
+        }
+
+        Station station;
+        try {
+            station = requiresNew.execute(status -> stationRepository.findByStationId(stationId)
+                    .orElseGet(() -> stationRepository.save(newStation(stationId))));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance registered the same station first
+            station = stationRepository.findByStationId(stationId).orElseThrow(() -> e);
+        }
+        log.debug("Registered station: {} with key: {}", stationId, station.getId());
+        return remember(station);
+    }
+
+    private int remember(Station station) {
+        stationIds.put(station.getId(), station.getStationId());
+        keys.put(station.getStationId(), station.getId());
+        return station.getId();
+    }
+
+    private static Station newStation(String stationId) {
+        Station station = new Station();
+        station.setStationId(stationId);
+        return station;
+    }
+}
\ No newline at end of file
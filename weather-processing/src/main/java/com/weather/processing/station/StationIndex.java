@@ -0,0 +1,378 @@
+package com.weather.processing.station;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable k-d tree of station positions. Points are stored as unit vectors on the sphere, so
+ * Euclidean (chord) distance orders stations exactly like great-circle distance and there are no
+ * special cases at the poles or the antimeridian.
+ * <p>
+ * The tree is implicit: every range {@code [lo, hi)} of the arrays is a subtree whose root is the
+ * middle element, split on axis {@code depth % 3}. Stations registered after the build go to a
+ * small overlay that is scanned linearly and shadows tree entries with the same key; the tree is
+ * rebuilt once the overlay holds {@link #OVERLAY_LIMIT} stations, so registering one station
+ * costs O(n log n / OVERLAY_LIMIT) amortized instead of a full rebuild.
+ */
+public final class StationIndex {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    static final int OVERLAY_LIMIT = 512;
+
+    private static final StationIndex EMPTY = new StationIndex(Tree.build(new Entry[0]), new Entry[0]);
+
+    private final Tree tree;
+    private final Entry[] overlay;
+    private final double[][] overlayCoordinates;
+    private final Map<Integer, Integer> overlayPositions;
+    private final int size;
+
+    public record Entry(int stationKey, double latitude, double longitude) {
+    }
+
+    public record Neighbour(int stationKey, double latitude, double longitude, double distanceKm) {
+    }
+
+    private StationIndex(Tree tree, Entry[] overlay) {
+        this.tree = tree;
+        this.overlay = overlay;
+        this.overlayCoordinates = new double[3][overlay.length];
+        this.overlayPositions = new HashMap<>();
+        int added = 0;
+        for (int i = 0; i < overlay.length; i++) {
+            double[] vector = toVector(overlay[i].latitude(), overlay[i].longitude());
+            for (int axis = 0; axis < 3; axis++) {
+                overlayCoordinates[axis][i] = vector[axis];
+            }
+            overlayPositions.put(overlay[i].stationKey(), i);
+            if (tree.positionOf(overlay[i].stationKey()) < 0) {
+                added++;
+            }
+        }
+        this.size = tree.size() + added;
+    }
+
+    public static StationIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds an index in O(n log n); a later entry with the same station key replaces an earlier one.
+     */
+    public static StationIndex of(List<Entry> entries) {
+        Map<Integer, Entry> unique = new HashMap<>(Math.max(16, entries.size() * 4 / 3 + 1));
+        for (Entry entry : entries) {
+            unique.put(entry.stationKey(), entry);
+        }
+        return new StationIndex(Tree.build(unique.values().toArray(Entry[]::new)), new Entry[0]);
+    }
+
+    /**
+     * Returns a new index with the station added or moved.
+     */
+    public StationIndex with(Entry entry) {
+        Integer existing = overlayPositions.get(entry.stationKey());
+        if (existing != null) {
+            Entry[] next = overlay.clone();
+            next[existing] = entry;
+            return new StationIndex(tree, next);
+        }
+        if (overlay.length < OVERLAY_LIMIT) {
+            Entry[] next = Arrays.copyOf(overlay, overlay.length + 1);
+            next[overlay.length] = entry;
+            return new StationIndex(tree, next);
+        }
+
+        List<Entry> entries = new ArrayList<>(tree.size() + overlay.length + 1);
+        for (int i = 0; i < tree.size(); i++) {
+            entries.add(new Entry(tree.stationKeys[i], tree.latitudes[i], tree.longitudes[i]));
+        }
+        entries.addAll(Arrays.asList(overlay));
+        entries.add(entry);
+        return of(entries);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Entry find(int stationKey) {
+        Integer overlayPosition = overlayPositions.get(stationKey);
+        if (overlayPosition != null) {
+            return overlay[overlayPosition];
+        }
+        int position = tree.positionOf(stationKey);
+        return position < 0 ? null : new Entry(stationKey, tree.latitudes[position], tree.longitudes[position]);
+    }
+
+    /**
+     * Returns up to {@code k} accepted stations closest to the point, nearest first.
+     */
+    public List<Neighbour> nearest(double latitude, double longitude, int k, IntPredicate accept) {
+        if (k <= 0 || size == 0) {
+            return List.of();
+        }
+        double[] query = toVector(latitude, longitude);
+        // The search preallocates k slots: never more than there are stations.
+        NearestSearch search = new NearestSearch(query, Math.min(k, size), accept);
+        search.visit(0, tree.size(), 0);
+        for (int i = 0; i < overlay.length; i++) {
+            double distanceSquared = overlayDistanceSquared(query, i);
+            if (search.accepts(distanceSquared) && accept.test(overlay[i].stationKey())) {
+                search.offer(tree.size() + i, distanceSquared);
+            }
+        }
+        return search.result();
+    }
+
+    /**
+     * Returns up to {@code limit} stations within {@code radiusKm} of the point, nearest first.
+     */
+    public List<Neighbour> withinRadius(double latitude, double longitude, double radiusKm, int limit) {
+        if (limit <= 0 || size == 0) {
+            return List.of();
+        }
+        double chord = radiusKm >= Math.PI * EARTH_RADIUS_KM ? 2 : 2 * Math.sin(radiusKm / (2 * EARTH_RADIUS_KM));
+        double maxDistanceSquared = chord * chord;
+        double[] query = toVector(latitude, longitude);
+
+        List<Neighbour> found = new ArrayList<>();
+        visitRadius(query, maxDistanceSquared, 0, tree.size(), 0, found);
+        for (int i = 0; i < overlay.length; i++) {
+            double distanceSquared = overlayDistanceSquared(query, i);
+            if (distanceSquared <= maxDistanceSquared) {
+                found.add(neighbour(tree.size() + i, distanceSquared));
+            }
+        }
+        found.sort(Comparator.comparingDouble(Neighbour::distanceKm));
+        return found.size() > limit ? List.copyOf(found.subList(0, limit)) : found;
+    }
+
+    private void visitRadius(double[] query, double maxDistanceSquared, int lo, int hi, int depth,
+                             List<Neighbour> found) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        double distanceSquared = tree.distanceSquared(query, mid);
+        if (distanceSquared <= maxDistanceSquared && !isShadowed(mid)) {
+            found.add(neighbour(mid, distanceSquared));
+        }
+
+        int axis = depth % 3;
+        double diff = query[axis] - tree.coordinates[axis][mid];
+        if (diff < 0 || diff * diff <= maxDistanceSquared) {
+            visitRadius(query, maxDistanceSquared, lo, mid, depth + 1, found);
+        }
+        if (diff >= 0 || diff * diff <= maxDistanceSquared) {
+            visitRadius(query, maxDistanceSquared, mid + 1, hi, depth + 1, found);
+        }
+    }
+
+    private boolean isShadowed(int treePosition) {
+        return !overlayPositions.isEmpty() && overlayPositions.containsKey(tree.stationKeys[treePosition]);
+    }
+
+    private double overlayDistanceSquared(double[] query, int overlayPosition) {
+        double dx = query[0] - overlayCoordinates[0][overlayPosition];
+        double dy = query[1] - overlayCoordinates[1][overlayPosition];
+        double dz = query[2] - overlayCoordinates[2][overlayPosition];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Positions below {@code tree.size()} refer to the tree, the rest to the overlay.
+     */
+    private Neighbour neighbour(int position, double chordSquared) {
+        double distanceKm = 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(chordSquared) / 2));
+        if (position >= tree.size()) {
+            Entry entry = overlay[position - tree.size()];
+            return new Neighbour(entry.stationKey(), entry.latitude(), entry.longitude(), distanceKm);
+        }
+        return new Neighbour(tree.stationKeys[position], tree.latitudes[position], tree.longitudes[position],
+                distanceKm);
+    }
+
+    static double[] toVector(double latitude, double longitude) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double cosPhi = Math.cos(phi);
+        return new double[]{cosPhi * Math.cos(lambda), cosPhi * Math.sin(lambda), Math.sin(phi)};
+    }
+
+    private static final class Tree {
+
+        private final int[] stationKeys;
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final double[][] coordinates;
+        // Station keys are dense, so the position lookup is an array rather than a map
+        private final int[] positionsByKey;
+
+        private Tree(int n, int maxKey) {
+            stationKeys = new int[n];
+            latitudes = new double[n];
+            longitudes = new double[n];
+            coordinates = new double[3][n];
+            positionsByKey = new int[maxKey + 1];
+            Arrays.fill(positionsByKey, -1);
+        }
+
+        private static Tree build(Entry[] entries) {
+            int n = entries.length;
+            double[][] vectors = new double[3][n];
+            int[] order = new int[n];
+            int maxKey = -1;
+            for (int i = 0; i < n; i++) {
+                maxKey = Math.max(maxKey, entries[i].stationKey());
+                double[] vector = toVector(entries[i].latitude(), entries[i].longitude());
+                for (int axis = 0; axis < 3; axis++) {
+                    vectors[axis][i] = vector[axis];
+                }
+                order[i] = i;
+            }
+            split(vectors, order, 0, n, 0);
+
+            Tree tree = new Tree(n, maxKey);
+            for (int i = 0; i < n; i++) {
+                Entry entry = entries[order[i]];
+                tree.stationKeys[i] = entry.stationKey();
+                tree.latitudes[i] = entry.latitude();
+                tree.longitudes[i] = entry.longitude();
+                for (int axis = 0; axis < 3; axis++) {
+                    tree.coordinates[axis][i] = vectors[axis][order[i]];
+                }
+                tree.positionsByKey[entry.stationKey()] = i;
+            }
+            return tree;
+        }
+
+        private int size() {
+            return stationKeys.length;
+        }
+
+        private int positionOf(int stationKey) {
+            return stationKey >= 0 && stationKey < positionsByKey.length ? positionsByKey[stationKey] : -1;
+        }
+
+        private double distanceSquared(double[] query, int position) {
+            double dx = query[0] - coordinates[0][position];
+            double dy = query[1] - coordinates[1][position];
+            double dz = query[2] - coordinates[2][position];
+            return dx * dx + dy * dy + dz * dz;
+        }
+
+        private static void split(double[][] vectors, int[] order, int lo, int hi, int depth) {
+            if (hi - lo <= 1) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            select(vectors[depth % 3], order, lo, hi - 1, mid);
+            split(vectors, order, lo, mid, depth + 1);
+            split(vectors, order, mid + 1, hi, depth + 1);
+        }
+
+        /**
+         * Quickselect: reorders {@code order[lo..hi]} so the k-th smallest value is at {@code k},
+         * with smaller or equal values before it and greater or equal values after it.
+         */
+        private static void select(double[] values, int[] order, int lo, int hi, int k) {
+            while (hi > lo) {
+                double pivot = values[order[(lo + hi) >>> 1]];
+                int i = lo;
+                int j = hi;
+                while (i <= j) {
+                    while (values[order[i]] < pivot) {
+                        i++;
+                    }
+                    while (values[order[j]] > pivot) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        int tmp = order[i];
+                        order[i++] = order[j];
+                        order[j--] = tmp;
+                    }
+                }
+                if (k <= j) {
+                    hi = j;
+                } else if (k >= i) {
+                    lo = i;
+                } else {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Bounded best-k search keeping candidates in a small array sorted by distance.
+     */
+    private final class NearestSearch {
+
+        private final double[] query;
+        private final IntPredicate accept;
+        private final int[] best;
+        private final double[] bestDistances;
+        private int count;
+
+        private NearestSearch(double[] query, int k, IntPredicate accept) {
+            this.query = query;
+            this.accept = accept;
+            this.best = new int[k];
+            this.bestDistances = new double[k];
+        }
+
+        private void visit(int lo, int hi, int depth) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            double distanceSquared = tree.distanceSquared(query, mid);
+            if (accepts(distanceSquared) && !isShadowed(mid) && accept.test(tree.stationKeys[mid])) {
+                offer(mid, distanceSquared);
+            }
+
+            int axis = depth % 3;
+            double diff = query[axis] - tree.coordinates[axis][mid];
+            int nearLo = diff < 0 ? lo : mid + 1;
+            int nearHi = diff < 0 ? mid : hi;
+            int farLo = diff < 0 ? mid + 1 : lo;
+            int farHi = diff < 0 ? hi : mid;
+
+            visit(nearLo, nearHi, depth + 1);
+            if (accepts(diff * diff)) {
+                visit(farLo, farHi, depth + 1);
+            }
+        }
+
+        private boolean accepts(double distanceSquared) {
+            return count < best.length || distanceSquared < bestDistances[count - 1];
+        }
+
+        private void offer(int position, double distanceSquared) {
+            int i = count < best.length ? count++ : count - 1;
+            while (i > 0 && bestDistances[i - 1] > distanceSquared) {
+                best[i] = best[i - 1];
+                bestDistances[i] = bestDistances[i - 1];
+                i--;
+            }
+            best[i] = position;
+            bestDistances[i] = distanceSquared;
+        }
+
+        private List<Neighbour> result() {
+            List<Neighbour> neighbours = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                neighbours.add(neighbour(best[i], bestDistances[i]));
+            }
+            return neighbours;
+        }
+    }
+}
\ No newline at end of file
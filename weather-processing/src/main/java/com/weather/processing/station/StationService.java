@@ -0,0 +1,94 @@
+package com.weather.processing.station;
+
+import com.weather.processing.entity.Station;
+import com.weather.processing.repository.StationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Station registry backed by the {@code stations} table. Stations with coordinates are mirrored
+ * in a {@link StationIndex}; lookups read the current index without locking, registrations build
+ * a new one and swap it in.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StationService {
+
+    private final StationRepository stationRepository;
+    private final StationDictionary stationDictionary;
+
+    private volatile StationIndex index = StationIndex.empty();
+
+    @Value("${weather.stations.max-neighbours:100}")
+    private int maxNeighbours;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadIndex() {
+        List<StationIndex.Entry> entries = stationRepository.findByLatitudeIsNotNullAndLongitudeIsNotNull().stream()
+                .map(station -> new StationIndex.Entry(station.getId(), station.getLatitude(), station.getLongitude()))
+                .toList();
+        index = StationIndex.of(entries);
+        log.info("Loaded spatial index with {} stations", index.size());
+    }
+
+    @Transactional
+    public synchronized Station registerStation(String stationId, String name, double latitude, double longitude) {
+        int stationKey = stationDictionary.getOrCreateKey(stationId);
+        Station station = stationRepository.findById(stationKey)
+                .orElseThrow(() -> new IllegalStateException("Station row missing for key: " + stationKey));
+        station.setName(name);
+        station.setLatitude(latitude);
+        station.setLongitude(longitude);
+        Station saved = stationRepository.save(station);
+
+        index = index.with(new StationIndex.Entry(stationKey, latitude, longitude));
+        log.info("Registered station: {} at ({}, {})", stationId, latitude, longitude);
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Station> findStation(String stationId) {
+        return stationRepository.findByStationId(stationId);
+    }
+
+    /**
+     * Returns up to {@code k} registered stations closest to the given one, excluding the station
+     * itself, or an empty list if the station is unknown or has no coordinates.
+     */
+    public List<StationIndex.Neighbour> findNeighbours(String stationId, int k) {
+        if (k <= 0 || k > maxNeighbours) {
+            throw new IllegalArgumentException("k must be between 1 and " + maxNeighbours);
+        }
+        return stationDictionary.findKey(stationId).stream()
+                .mapToObj(stationKey -> findNeighbours(stationKey, k))
+                .findFirst()
+                .orElse(List.of());
+    }
+
+    public List<StationIndex.Neighbour> findNeighbours(int stationKey, int k) {
+        StationIndex current = index;
+        StationIndex.Entry station = current.find(stationKey);
+        if (station == null) {
+            return List.of();
+        }
+        return current.nearest(station.latitude(), station.longitude(), k, key -> key != stationKey);
+    }
+
+    public List<StationIndex.Neighbour> findWithinRadius(double latitude, double longitude, double radiusKm,
+                                                         int limit) {
+        return index.withinRadius(latitude, longitude, radiusKm, limit);
+    }
+
+    public int getIndexedStations() {
+        return index.size();
+    }
+}
\ No newline at end of file
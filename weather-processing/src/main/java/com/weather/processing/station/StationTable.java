@@ -0,0 +1,109 @@
+package com.weather.processing.station;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BinaryOperator;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Array indexed by station key. Keys come from an identity column and are dense, so a slot per
+ * key replaces a hash map entry with its boxed key. Reads are lock-free; writes are serialized and
+ * grow the array by doubling.
+ */
+public final class StationTable<T> {
+
+    private volatile AtomicReferenceArray<T> values;
+    private int size;
+
+    public StationTable(int initialCapacity) {
+        values = new AtomicReferenceArray<>(Math.max(16, initialCapacity));
+    }
+
+    public T get(int key) {
+        AtomicReferenceArray<T> current = values;
+        return key >= 0 && key < current.length() ? current.get(key) : null;
+    }
+
+    public synchronized void put(int key, T value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Station key must not be negative: " + key);
+        }
+        ensureCapacity(key);
+        T previous = values.getAndSet(key, value);
+        if (previous == null && value != null) {
+            size++;
+        } else if (previous != null && value == null) {
+            size--;
+        }
+    }
+
+    /**
+     * Empties the slot and returns what it held.
+     */
+    public synchronized T remove(int key) {
+        if (key < 0 || key >= values.length()) {
+            return null;
+        }
+        T previous = values.getAndSet(key, null);
+        if (previous != null) {
+            size--;
+        }
+        return previous;
+    }
+
+    /**
+     * Stores {@code value} if the slot is empty, otherwise the result of {@code remapping} applied
+     * to the current and the given value, and returns what was stored.
+     */
+    public synchronized T merge(int key, T value, BinaryOperator<T> remapping) {
+        T current = get(key);
+        T merged = current == null ? value : remapping.apply(current, value);
+        put(key, merged);
+        return merged;
+    }
+
+    /**
+     * Stores {@code value} only if the slot still holds {@code expected}; a {@code null} value empties
+     * it. Returns whether it was stored.
+     */
+    public synchronized boolean replace(int key, T expected, T value) {
+        if (expected == null || get(key) != expected) {
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Hands every non-empty slot to {@code action} in key order. Concurrent writes may or may not
+     * be seen.
+     */
+    public void forEach(ObjIntConsumer<T> action) {
+        AtomicReferenceArray<T> current = values;
+        for (int key = 0; key < current.length(); key++) {
+            T value = current.get(key);
+            if (value != null) {
+                action.accept(value, key);
+            }
+        }
+    }
+
+    private void ensureCapacity(int key) {
+        AtomicReferenceArray<T> current = values;
+        if (key < current.length()) {
+            return;
+        }
+        int capacity = current.length();
+        while (capacity <= key) {
+            capacity *= 2;
+        }
+        AtomicReferenceArray<T> grown = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+        values = grown;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+-- Схема, которую раньше создавал Hibernate (ddl-auto: update). Существующая база без истории миграций
+-- принимается за версию 0 (baseline-on-migrate), поэтому этот и все следующие скрипты выполняются и для неё;
+-- таблица создаётся, только если её ещё нет.
+
+CREATE TABLE IF NOT EXISTS weather_data
+(
+    id            bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    station_id    varchar(255)                NOT NULL,
+    timestamp     timestamp(6) with time zone NOT NULL,
+    temperature   float(53)                   NOT NULL,
+    humidity      float(53)                   NOT NULL,
+    pressure      float(53)                   NOT NULL,
+    precipitation float(53)                   NOT NULL,
+    CONSTRAINT uk_weather_data_station_timestamp UNIQUE (station_id, timestamp)
+);
\ No newline at end of file
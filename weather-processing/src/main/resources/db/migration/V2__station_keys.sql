@@ -0,0 +1,49 @@
+-- Переход weather_data со строкового station_id на целочисленный station_key из словаря stations.
+-- Станции заполняются из уже сохранённых наблюдений, ключи проставляются по ним,
+-- после чего station_id удаляется вместе со своим уникальным индексом.
+
+CREATE TABLE IF NOT EXISTS stations
+(
+    id         integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    station_id varchar(255) NOT NULL,
+    name       varchar(255),
+    latitude   float(53),
+    longitude  float(53),
+    CONSTRAINT uk_stations_station_id UNIQUE (station_id)
+);
+
+DO
+$$
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM information_schema.columns
+               WHERE table_schema = current_schema()
+                 AND table_name = 'weather_data'
+                 AND column_name = 'station_id') THEN
+        INSERT INTO stations (station_id)
+        SELECT DISTINCT station_id
+        FROM weather_data
+        ON CONFLICT (station_id) DO NOTHING;
+
+        ALTER TABLE weather_data ADD COLUMN IF NOT EXISTS station_key integer;
+
+        UPDATE weather_data w
+        SET station_key = s.id
+        FROM stations s
+        WHERE s.station_id = w.station_id;
+
+        ALTER TABLE weather_data ALTER COLUMN station_key SET NOT NULL;
+        ALTER TABLE weather_data DROP COLUMN station_id;
+    END IF;
+
+    IF NOT EXISTS (SELECT 1
+                   FROM pg_constraint
+                   WHERE conrelid = 'weather_data'::regclass
+                     AND contype = 'f') THEN
+        ALTER TABLE weather_data
+            ADD CONSTRAINT weather_data_station_key_fkey FOREIGN KEY (station_key) REFERENCES stations (id);
+    END IF;
+END
+$$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_weather_data_station_timestamp ON weather_data (station_key, timestamp);
\ No newline at end of file
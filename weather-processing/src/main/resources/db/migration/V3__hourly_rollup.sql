@@ -0,0 +1,50 @@
+-- Часовые агрегаты наблюдений по станциям. Таблица сразу заполняется по уже сохранённым наблюдениям,
+-- дальше её дополняет каждое новое наблюдение (weather.aggregates.rollup.enabled).
+
+CREATE TABLE IF NOT EXISTS weather_hourly_rollup
+(
+    id                 bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    station_key        integer                     NOT NULL,
+    bucket             timestamp(6) with time zone NOT NULL,
+    observations       bigint                      NOT NULL,
+    temperature_min    float(53)                   NOT NULL,
+    temperature_max    float(53)                   NOT NULL,
+    temperature_sum    float(53)                   NOT NULL,
+    humidity_min       float(53)                   NOT NULL,
+    humidity_max       float(53)                   NOT NULL,
+    humidity_sum       float(53)                   NOT NULL,
+    pressure_min       float(53)                   NOT NULL,
+    pressure_max       float(53)                   NOT NULL,
+    pressure_sum       float(53)                   NOT NULL,
+    precipitation_min  float(53)                   NOT NULL,
+    precipitation_max  float(53)                   NOT NULL,
+    precipitation_sum  float(53)                   NOT NULL,
+    CONSTRAINT uk_weather_hourly_rollup_station_bucket UNIQUE (station_key, bucket)
+);
+
+-- То же, что POST /api/v1/weather/aggregates/rollup/rebuild.
+INSERT INTO weather_hourly_rollup (station_key, bucket, observations,
+                                   temperature_min, temperature_max, temperature_sum,
+                                   humidity_min, humidity_max, humidity_sum,
+                                   pressure_min, pressure_max, pressure_sum,
+                                   precipitation_min, precipitation_max, precipitation_sum)
+SELECT station_key, date_trunc('hour', timestamp, 'UTC'), COUNT(*),
+       MIN(temperature), MAX(temperature), SUM(temperature),
+       MIN(humidity), MAX(humidity), SUM(humidity),
+       MIN(pressure), MAX(pressure), SUM(pressure),
+       MIN(precipitation), MAX(precipitation), SUM(precipitation)
+FROM weather_data
+GROUP BY 1, 2
+ON CONFLICT (station_key, bucket) DO UPDATE SET observations      = EXCLUDED.observations,
+                                                temperature_min   = EXCLUDED.temperature_min,
+                                                temperature_max   = EXCLUDED.temperature_max,
+                                                temperature_sum   = EXCLUDED.temperature_sum,
+                                                humidity_min      = EXCLUDED.humidity_min,
+                                                humidity_max      = EXCLUDED.humidity_max,
+                                                humidity_sum      = EXCLUDED.humidity_sum,
+                                                pressure_min      = EXCLUDED.pressure_min,
+                                                pressure_max      = EXCLUDED.pressure_max,
+                                                pressure_sum      = EXCLUDED.pressure_sum,
+                                                precipitation_min = EXCLUDED.precipitation_min,
+                                                precipitation_max = EXCLUDED.precipitation_max,
+                                                precipitation_sum = EXCLUDED.precipitation_sum;
\ No newline at end of file
@@ -0,0 +1,165 @@
+package com.weather.processing.aggregate;
+
+import com.weather.processing.entity.WeatherData;
+import com.weather.processing.event.WeatherDataSavedEvent;
+import com.weather.processing.repository.WeatherDataRepository;
+import com.weather.processing.station.StationDictionary;
+import com.weather.shared.dto.WeatherAggregateDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WeatherAggregateServiceTest {
+
+    private static final int STATION_KEY = 1;
+    private static final Instant FROM = Instant.parse("2025-10-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2025-10-31T00:00:00Z");
+
+    @Mock
+    private WeatherDataRepository weatherDataRepository;
+
+    @Mock
+    private StationDictionary stationDictionary;
+
+    private WeatherAggregateService weatherAggregateService;
+
+    @BeforeEach
+    void setUp() {
+        weatherAggregateService = new WeatherAggregateService(weatherDataRepository, stationDictionary,
+                new ConcurrentMapCacheManager(WeatherAggregateService.AGGREGATE_CACHE));
+        ReflectionTestUtils.setField(weatherAggregateService, "rollupEnabled", true);
+        ReflectionTestUtils.setField(weatherAggregateService, "maxBuckets", 1000);
+        lenient().when(stationDictionary.findKey("station-1")).thenReturn(OptionalInt.of(STATION_KEY));
+    }
+
+    @Test
+    void shouldAnswerHourAlignedQueryFromRollup() {
+        // Given
+        List<WeatherAggregateDto.Bucket> buckets = List.of(createBucket(FROM));
+        when(weatherDataRepository.aggregateRollup(STATION_KEY, AggregateMetric.TEMPERATURE, Duration.ofDays(1), FROM, TO))
+                .thenReturn(buckets);
+
+        // When
+        WeatherAggregateDto result = weatherAggregateService.aggregate("station-1", "temperature", "1d", FROM, TO, null);
+
+        // Then
+        assertEquals("rollup", result.getSource());
+        assertEquals("1d", result.getWindow());
+        assertEquals("temperature", result.getMetric());
+        assertEquals(buckets, result.getBuckets());
+        verify(weatherDataRepository, never()).aggregate(anyInt(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldComputePercentilesFromRawRows() {
+        // Given
+        when(weatherDataRepository.aggregate(STATION_KEY, AggregateMetric.HUMIDITY, Duration.ofHours(1), FROM, TO,
+                List.of(0.5, 0.95))).thenReturn(List.of(createBucket(FROM)));
+
+        // When
+        WeatherAggregateDto result = weatherAggregateService.aggregate("station-1", "humidity", "60m", FROM, TO,
+                List.of(0.5, 0.95));
+
+        // Then
+        assertEquals("raw", result.getSource());
+        assertEquals("1h", result.getWindow());
+        verify(weatherDataRepository, never()).aggregateRollup(anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldComputeUnalignedWindowsFromRawRows() {
+        // Given
+        when(weatherDataRepository.aggregate(eq(STATION_KEY), eq(AggregateMetric.PRESSURE), eq(Duration.ofMinutes(15)),
+                eq(FROM), eq(FROM.plusSeconds(86400)), eq(List.of()))).thenReturn(List.of());
+
+        // When
+        WeatherAggregateDto result = weatherAggregateService.aggregate("station-1", "pressure", "15m", FROM,
+                FROM.plusSeconds(86400), List.of());
+
+        // Then
+        assertEquals("raw", result.getSource());
+        assertTrue(result.getBuckets().isEmpty());
+    }
+
+    @Test
+    void shouldServeRepeatedQueryFromCacheUntilNewObservation() {
+        // Given
+        when(weatherDataRepository.aggregateRollup(anyInt(), any(), any(), any(), any()))
+                .thenReturn(List.of(createBucket(FROM)));
+        weatherAggregateService.aggregate("station-1", "temperature", "1h", FROM, TO, null);
+
+        // When
+        weatherAggregateService.aggregate("station-1", "temperature", "1h", FROM, TO, null);
+        verify(weatherDataRepository, times(1)).aggregateRollup(anyInt(), any(), any(), any(), any());
+        weatherAggregateService.onWeatherDataSaved(new WeatherDataSavedEvent(createWeatherData()));
+        weatherAggregateService.aggregate("station-1", "temperature", "1h", FROM, TO, null);
+
+        // Then
+        verify(weatherDataRepository, times(2)).aggregateRollup(anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldReturnEmptyAggregatesForUnknownStation() {
+        // Given
+        when(stationDictionary.findKey("unknown")).thenReturn(OptionalInt.empty());
+
+        // When
+        WeatherAggregateDto result = weatherAggregateService.aggregate("unknown", "temperature", "1h", FROM, TO, null);
+
+        // Then
+        assertTrue(result.getBuckets().isEmpty());
+        verifyNoInteractions(weatherDataRepository);
+    }
+
+    @Test
+    void shouldRejectInvalidQueries() {
+        assertThrows(IllegalArgumentException.class,
+                () -> weatherAggregateService.aggregate("station-1", "wind", "1h", FROM, TO, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> weatherAggregateService.aggregate("station-1", "temperature", "1w", FROM, TO, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> weatherAggregateService.aggregate("station-1", "temperature", "30s", FROM, TO, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> weatherAggregateService.aggregate("station-1", "temperature", "1m", FROM, TO, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> weatherAggregateService.aggregate("station-1", "temperature", "1h", FROM, TO, List.of(1.5)));
+        assertThrows(IllegalArgumentException.class,
+                () -> weatherAggregateService.aggregate("station-1", "temperature", "1h", TO, FROM, null));
+    }
+
+    @Test
+    void shouldLabelPercentiles() {
+        assertEquals("p50", AggregateQuery.percentileLabel(0.5));
+        assertEquals("p99.9", AggregateQuery.percentileLabel(0.999));
+        assertEquals("p100", AggregateQuery.percentileLabel(1.0));
+    }
+
+    private WeatherAggregateDto.Bucket createBucket(Instant start) {
+        return new WeatherAggregateDto.Bucket(start, 24L, 10.0, 20.0, 15.0, null);
+    }
+
+    private WeatherData createWeatherData() {
+        WeatherData data = new WeatherData();
+        data.setStationKey(STATION_KEY);
+        data.setTimestamp(FROM);
+        data.setTemperature(15.0);
+        data.setHumidity(60.0);
+        data.setPressure(1013.0);
+        data.setPrecipitation(0.0);
+        return data;
+    }
+}
\ No newline at end of file
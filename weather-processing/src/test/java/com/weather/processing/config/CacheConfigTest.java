@@ -0,0 +1,73 @@
+package com.weather.processing.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.weather.shared.dto.WeatherForecastDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    @Test
+    void shouldWeighForecastsByNumberOfItems() {
+        // Given
+        WeatherForecastDto oneHour = createForecast(1);
+        WeatherForecastDto fullDay = createForecast(24);
+
+        // When
+        int oneHourWeight = CacheConfig.estimateSize(oneHour);
+        int fullDayWeight = CacheConfig.estimateSize(fullDay);
+
+        // Then
+        assertEquals(23 * CacheConfig.FORECAST_ITEM_BYTES, fullDayWeight - oneHourWeight);
+    }
+
+    @Test
+    void shouldEvictWhenMaxSizeExceeded() {
+        // Given
+        Cache<Object, Object> cache = CacheConfig.forecastCacheBuilder(DataSize.ofKilobytes(16), Duration.ofMinutes(30))
+                .executor(Runnable::run)
+                .build();
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            cache.put((long) i << 32, createForecast(24));
+        }
+        cache.cleanUp();
+
+        // Then
+        assertTrue(cache.policy().eviction().orElseThrow().weightedSize().orElseThrow() <= 16 * 1024);
+        assertTrue(cache.stats().evictionCount() > 0);
+    }
+
+    @Test
+    void shouldRecordHitsAndMisses() {
+        // Given
+        Cache<Object, Object> cache = CacheConfig.forecastCacheBuilder(DataSize.ofMegabytes(1), Duration.ofMinutes(30))
+                .build();
+        cache.put(1L << 32, createForecast(24));
+
+        // When
+        cache.getIfPresent(1L << 32);
+        cache.getIfPresent(2L << 32);
+
+        // Then
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    private WeatherForecastDto createForecast(int hours) {
+        List<WeatherForecastDto.ForecastItem> items = new ArrayList<>();
+        Instant now = Instant.parse("2025-10-31T11:00:00Z");
+        for (int i = 1; i <= hours; i++) {
+            items.add(new WeatherForecastDto.ForecastItem(now.plusSeconds(3600L * i), 20.0, 60.0, 1013.0, 0.0));
+        }
+        return new WeatherForecastDto("station-1", now, items);
+    }
+}
\ No newline at end of file
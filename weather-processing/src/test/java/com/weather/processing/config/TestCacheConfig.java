@@ -10,6 +10,6 @@ public class TestCacheConfig {
 
     @Bean
     public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("weatherForecasts");
+        return new ConcurrentMapCacheManager("weatherForecasts", "forecastResponses", "weatherAggregates");
     }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.weather.processing.export;
+
+import com.weather.processing.entity.WeatherData;
+import com.weather.processing.repository.WeatherDataRepository;
+import com.weather.processing.station.StationDictionary;
+import com.weather.shared.columnar.ColumnarObservationReader;
+import com.weather.shared.dto.WeatherDataDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ObservationExportServiceTest {
+
+    private static final Instant FROM = Instant.parse("2025-10-31T00:00:00Z");
+    private static final Instant TO = Instant.parse("2025-11-01T00:00:00Z");
+
+    @Mock
+    private WeatherDataRepository weatherDataRepository;
+
+    @Mock
+    private StationDictionary stationDictionary;
+
+    private ObservationExportService observationExportService;
+
+    @BeforeEach
+    void setUp() {
+        observationExportService = new ObservationExportService(weatherDataRepository, stationDictionary);
+        ReflectionTestUtils.setField(observationExportService, "rowGroupSize", 2);
+        ReflectionTestUtils.setField(observationExportService, "fetchSize", 500);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldExportStationsInOrderAndSkipUnknown() throws Exception {
+        // Given
+        when(stationDictionary.findKey("station-1")).thenReturn(OptionalInt.of(1));
+        when(stationDictionary.findKey("station-2")).thenReturn(OptionalInt.of(2));
+        when(stationDictionary.findKey("unknown")).thenReturn(OptionalInt.empty());
+        doAnswer(invocation -> {
+            int stationKey = invocation.getArgument(0);
+            Consumer<WeatherData> action = invocation.getArgument(6);
+            for (int hour = 1; hour <= 3; hour++) {
+                action.accept(createWeatherData(stationKey, FROM.plus(hour, ChronoUnit.HOURS), 20.0 + hour));
+            }
+            return null;
+        }).when(weatherDataRepository).streamHistory(anyInt(), eq(FROM), eq(TO), isNull(), eq(0), eq(500),
+                any(Consumer.class));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = observationExportService.export(
+                ExportQuery.of(List.of("station-2", "unknown", "station-1"), FROM, TO, 10), out);
+
+        // Then
+        List<WeatherDataDto> exported = new ArrayList<>();
+        try (ColumnarObservationReader reader = new ColumnarObservationReader(
+                new ByteArrayInputStream(out.toByteArray()))) {
+            reader.readAll(exported::add);
+        }
+        assertEquals(6, rows);
+        assertEquals(6, exported.size());
+        assertEquals("station-1", exported.get(0).getStationId());
+        assertEquals("station-2", exported.get(5).getStationId());
+        assertEquals(FROM.plus(3, ChronoUnit.HOURS), exported.get(5).getTimestamp());
+        assertEquals(23.0, exported.get(5).getTemperature());
+    }
+
+    @Test
+    void shouldRejectInvalidQueries() {
+        assertThrows(IllegalArgumentException.class, () -> ExportQuery.of(List.of(), FROM, TO, 10));
+        assertThrows(IllegalArgumentException.class, () -> ExportQuery.of(List.of("a", "b", "c"), FROM, TO, 2));
+        assertThrows(IllegalArgumentException.class, () -> ExportQuery.of(List.of("station-1"), TO, FROM, 10));
+    }
+
+    private WeatherData createWeatherData(int stationKey, Instant timestamp, double temperature) {
+        WeatherData data = new WeatherData();
+        data.setStationKey(stationKey);
+        data.setTimestamp(timestamp);
+        data.setTemperature(temperature);
+        data.setHumidity(60.0);
+        data.setPressure(1013.0);
+        data.setPrecipitation(0.0);
+        return data;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,204 @@
+package com.weather.processing.fleet;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.processing.forecast.batch.BatchForecastEngine;
+import com.weather.processing.repository.StationHistories;
+import com.weather.processing.repository.WeatherDataRepository;
+import com.weather.processing.station.StationDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FleetForecastJobTest {
+
+    private static final Instant NOW = Instant.parse("2025-10-31T12:00:00Z");
+
+    @Mock
+    private WeatherDataRepository weatherDataRepository;
+
+    @Mock
+    private StationDictionary stationDictionary;
+
+    private FleetForecastJob fleetForecastJob;
+
+    @BeforeEach
+    void setUp() {
+        fleetForecastJob = new FleetForecastJob(weatherDataRepository, new BatchForecastEngine(false),
+                stationDictionary);
+        lenient().when(stationDictionary.getStationId(anyInt()))
+                .thenAnswer(invocation -> "station-" + invocation.getArgument(0));
+        ReflectionTestUtils.setField(fleetForecastJob, "chunkSize", 2);
+        ReflectionTestUtils.setField(fleetForecastJob, "computeBatchSize", 1);
+        ReflectionTestUtils.setField(fleetForecastJob, "parallelism", 2);
+        ReflectionTestUtils.setField(fleetForecastJob, "maxForecastHours", 24);
+        ReflectionTestUtils.setField(fleetForecastJob, "configuredModel", "linear");
+    }
+
+    @Test
+    void shouldStreamForecastsForAllStationsInKeysetOrder() throws Exception {
+        // Given
+        when(weatherDataRepository.findStationKeysAfter(0, 2)).thenReturn(List.of(1, 2));
+        when(weatherDataRepository.findStationKeysAfter(2, 2)).thenReturn(List.of(3));
+        when(weatherDataRepository.findStationKeysAfter(3, 2)).thenReturn(List.of());
+        when(weatherDataRepository.findLatestHistories(eq(List.of(1, 2)), eq(2))).thenReturn(histories(1, 2));
+        when(weatherDataRepository.findLatestHistories(eq(List.of(3)), eq(2))).thenReturn(histories(3));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        FleetForecastReport report = fleetForecastJob.run(3, FleetForecastFormat.NDJSON, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        ObjectMapper mapper = new ObjectMapper();
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode forecast = mapper.readTree(lines[i]);
+            assertEquals("station-" + (i + 1), forecast.get("stationId").asText());
+            assertEquals(3, forecast.get("forecasts").size());
+            assertEquals(22.0, forecast.get("forecasts").get(0).get("temperature").asDouble(), 0.01);
+        }
+        assertTrue(report.isSuccessful());
+        assertEquals("linear", report.getModel());
+        assertEquals(2, report.getChunks());
+        assertEquals(3, report.getStationsWritten());
+        assertEquals(fleetForecastJob.getLastReport().orElseThrow(), report);
+    }
+
+    @Test
+    void shouldSkipStationsWithoutEnoughHistory() throws Exception {
+        // Given
+        StationHistories histories = histories(1);
+        histories.add(2, NOW.getEpochSecond(), 15.0, 60.0, 1013.0, 0.0);
+        when(weatherDataRepository.findStationKeysAfter(0, 2)).thenReturn(List.of(1, 2));
+        when(weatherDataRepository.findStationKeysAfter(2, 2)).thenReturn(List.of());
+        when(weatherDataRepository.findLatestHistories(anyCollection(), eq(2))).thenReturn(histories);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        FleetForecastReport report = fleetForecastJob.run(2, FleetForecastFormat.CSV, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(CsvFleetForecastWriter.HEADER, lines[0]);
+        assertEquals(3, lines.length);
+        assertTrue(lines[1].startsWith("station-1,"));
+        assertEquals(2, report.getStationsProcessed());
+        assertEquals(1, report.getStationsSkipped());
+    }
+
+    @Test
+    void shouldDeletePartialFileWhenRunFails(@TempDir Path outputDir) throws Exception {
+        // Given
+        ReflectionTestUtils.setField(fleetForecastJob, "outputDir", outputDir.toString());
+        when(weatherDataRepository.findStationKeysAfter(0, 2)).thenReturn(List.of(1, 2));
+        when(weatherDataRepository.findLatestHistories(anyCollection(), eq(2)))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> fleetForecastJob.runToFile(2, FleetForecastFormat.NDJSON));
+
+        // Then
+        try (var files = Files.list(outputDir)) {
+            assertEquals(0, files.count());
+        }
+        assertFalse(fleetForecastJob.getLastReport().orElseThrow().isSuccessful());
+    }
+
+    @Test
+    void shouldNameLinearModelWhenAnotherModelIsConfigured() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(fleetForecastJob, "configuredModel", "holt");
+        when(weatherDataRepository.findStationKeysAfter(0, 2)).thenReturn(List.of());
+
+        // When
+        FleetForecastReport report = fleetForecastJob.run(2, FleetForecastFormat.NDJSON, new ByteArrayOutputStream());
+
+        // Then
+        assertEquals("linear", report.getModel());
+    }
+
+    @Test
+    void shouldAllowOneRunAtATimeAndReleaseItWhenRunFails() {
+        // Given
+        when(weatherDataRepository.findStationKeysAfter(0, 2)).thenThrow(new IllegalStateException("connection lost"));
+        assertTrue(fleetForecastJob.tryStart());
+
+        // When
+        boolean secondClaim = fleetForecastJob.tryStart();
+        boolean exportStarted = fleetForecastJob.startExport(2, FleetForecastFormat.NDJSON);
+        assertThrows(IllegalStateException.class,
+                () -> fleetForecastJob.runStarted(2, FleetForecastFormat.NDJSON, new ByteArrayOutputStream()));
+
+        // Then
+        assertFalse(secondClaim);
+        assertFalse(exportStarted);
+        assertFalse(fleetForecastJob.isRunning());
+        assertTrue(fleetForecastJob.tryStart());
+    }
+
+    @Test
+    void shouldExportInBackgroundAndReleaseJob(@TempDir Path outputDir) throws Exception {
+        // Given
+        ReflectionTestUtils.setField(fleetForecastJob, "outputDir", outputDir.toString());
+        when(weatherDataRepository.findStationKeysAfter(0, 2)).thenReturn(List.of());
+
+        // When
+        boolean started = fleetForecastJob.startExport(2, FleetForecastFormat.CSV);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (fleetForecastJob.isRunning() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Then
+        assertTrue(started);
+        assertFalse(fleetForecastJob.isRunning());
+        assertTrue(fleetForecastJob.getLastReport().orElseThrow().isSuccessful());
+        try (var files = Files.list(outputDir)) {
+            List<Path> written = files.toList();
+            assertEquals(1, written.size());
+            assertTrue(written.get(0).toString().endsWith(".csv"));
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidHours() {
+        assertThrows(IllegalArgumentException.class,
+                () -> fleetForecastJob.run(0, FleetForecastFormat.NDJSON, new ByteArrayOutputStream()));
+        assertThrows(IllegalArgumentException.class,
+                () -> fleetForecastJob.run(25, FleetForecastFormat.NDJSON, new ByteArrayOutputStream()));
+        verifyNoInteractions(weatherDataRepository);
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> FleetForecastFormat.of("xml"));
+        assertEquals(FleetForecastFormat.CSV, FleetForecastFormat.of("CSV"));
+    }
+
+    private StationHistories histories(int... stationKeys) {
+        StationHistories histories = new StationHistories(stationKeys.length, stationKeys.length * 2);
+        for (int stationKey : stationKeys) {
+            histories.add(stationKey, NOW.getEpochSecond(), 21.0, 60.0, 1013.0, 0.0);
+            histories.add(stationKey, NOW.minusSeconds(3600).getEpochSecond(), 20.0, 60.0, 1013.0, 0.0);
+        }
+        return histories;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,237 @@
+package com.weather.processing.forecast;
+
+import com.weather.processing.entity.WeatherData;
+import com.weather.shared.dto.WeatherForecastDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoltForecastModelTest {
+
+    private static final int STATION_KEY = 1;
+    private static final Instant BASE = Instant.parse("2025-10-31T00:00:00Z");
+
+    private HoltForecastModel model;
+
+    @BeforeEach
+    void setUp() {
+        model = new HoltForecastModel(0.5, 0.3);
+    }
+
+    @Test
+    void shouldFollowLinearTrend() {
+        // Given - temperature rises by one degree per hour
+        List<WeatherData> history = newestFirst(
+                createWeatherData(0, 20.0), createWeatherData(1, 21.0),
+                createWeatherData(2, 22.0), createWeatherData(3, 23.0));
+
+        // When
+        List<WeatherForecastDto.ForecastItem> forecasts = model.forecast(STATION_KEY, window(history), BASE, 3);
+
+        // Then
+        assertEquals(3, forecasts.size());
+        assertEquals(24.0, forecasts.get(0).getTemperature(), 0.01);
+        assertEquals(25.0, forecasts.get(1).getTemperature(), 0.01);
+        assertEquals(26.0, forecasts.get(2).getTemperature(), 0.01);
+    }
+
+    @Test
+    void shouldReturnEmptyWhenNotEnoughObservations() {
+        // When
+        List<WeatherForecastDto.ForecastItem> forecasts =
+                model.forecast(STATION_KEY, window(List.of(createWeatherData(0, 20.0))), BASE, 3);
+
+        // Then
+        assertTrue(forecasts.isEmpty());
+    }
+
+    @Test
+    void shouldUpdateStateIncrementallyWithoutHistoryScan() {
+        // Given
+        AtomicInteger historyLoads = new AtomicInteger();
+        List<WeatherData> history = newestFirst(createWeatherData(0, 20.0), createWeatherData(1, 21.0));
+        Supplier<ObservationWindow> supplier = () -> {
+            historyLoads.incrementAndGet();
+            return ObservationWindow.of(history);
+        };
+        model.forecast(STATION_KEY, supplier, BASE, 1);
+
+        // When
+        model.onObservation(createWeatherData(2, 22.0));
+        model.onObservation(createWeatherData(3, 23.0));
+        List<WeatherForecastDto.ForecastItem> forecasts = model.forecast(STATION_KEY, supplier, BASE, 1);
+
+        // Then
+        assertEquals(1, historyLoads.get());
+        assertEquals(24.0, forecasts.get(0).getTemperature(), 0.01);
+    }
+
+    @Test
+    void shouldReseedFromHistoryAfterInvalidation() {
+        // Given
+        AtomicInteger historyLoads = new AtomicInteger();
+        List<WeatherData> history = newestFirst(createWeatherData(0, 20.0), createWeatherData(1, 21.0));
+        Supplier<ObservationWindow> supplier = () -> {
+            historyLoads.incrementAndGet();
+            return ObservationWindow.of(history);
+        };
+        model.forecast(STATION_KEY, supplier, BASE, 1);
+
+        // When
+        model.invalidate(STATION_KEY);
+        history.add(0, createWeatherData(2, 22.0));
+        List<WeatherForecastDto.ForecastItem> forecasts = model.forecast(STATION_KEY, supplier, BASE, 1);
+
+        // Then
+        assertEquals(2, historyLoads.get());
+        assertEquals(1, model.getTrackedStations());
+        assertEquals(23.0, forecasts.get(0).getTemperature(), 0.01);
+    }
+
+    @Test
+    void shouldReplayObservationCommittedWhileHistoryIsRead() {
+        // Given - observation 2 commits after the history was read but before the state is stored
+        AtomicInteger historyLoads = new AtomicInteger();
+        List<WeatherData> history = newestFirst(createWeatherData(0, 20.0), createWeatherData(1, 21.0));
+        Supplier<ObservationWindow> supplier = () -> {
+            historyLoads.incrementAndGet();
+            ObservationWindow read = ObservationWindow.of(history);
+            model.onObservation(createWeatherData(2, 22.0));
+            return read;
+        };
+
+        // When
+        List<WeatherForecastDto.ForecastItem> first = model.forecast(STATION_KEY, supplier, BASE, 1);
+        List<WeatherForecastDto.ForecastItem> second = model.forecast(STATION_KEY, supplier, BASE, 1);
+
+        // Then
+        assertEquals(1, historyLoads.get());
+        assertEquals(23.0, first.get(0).getTemperature(), 0.01);
+        assertEquals(23.0, second.get(0).getTemperature(), 0.01);
+    }
+
+    @Test
+    void shouldNotStoreStateSeededAcrossInvalidation() {
+        // Given
+        List<WeatherData> history = newestFirst(createWeatherData(0, 20.0), createWeatherData(1, 21.0));
+        Supplier<ObservationWindow> supplier = () -> {
+            ObservationWindow read = ObservationWindow.of(history);
+            model.invalidate(STATION_KEY);
+            return read;
+        };
+
+        // When
+        List<WeatherForecastDto.ForecastItem> forecasts = model.forecast(STATION_KEY, supplier, BASE, 1);
+
+        // Then
+        assertEquals(22.0, forecasts.get(0).getTemperature(), 0.01);
+        assertEquals(0, model.getTrackedStations());
+    }
+
+    @Test
+    void shouldReleaseSlotWhenHistoryReadFails() {
+        // Given
+        Supplier<ObservationWindow> failing = () -> {
+            throw new IllegalStateException("database is down");
+        };
+
+        // When
+        assertThrows(IllegalStateException.class, () -> model.forecast(STATION_KEY, failing, BASE, 1));
+        model.onObservation(createWeatherData(0, 20.0));
+
+        // Then
+        assertEquals(0, model.getTrackedStations());
+    }
+
+    @Test
+    void shouldIgnoreOutOfOrderObservations() {
+        // Given
+        List<WeatherData> history = newestFirst(createWeatherData(0, 20.0), createWeatherData(1, 21.0));
+        ForecastValues before = snapshot(model.forecast(STATION_KEY, window(history), BASE, 1));
+
+        // When
+        model.onObservation(createWeatherData(0, 35.0));
+
+        // Then
+        assertEquals(before, snapshot(model.forecast(STATION_KEY, window(List.of()), BASE, 1)));
+    }
+
+    @Test
+    void shouldClampForecastToPhysicalBounds() {
+        // Given - humidity climbs by 30% per hour
+        List<WeatherData> history = newestFirst(createWeatherData(0, 20.0), createWeatherData(1, 20.0));
+        history.get(1).setHumidity(90.0);
+
+        // When
+        List<WeatherForecastDto.ForecastItem> forecasts = model.forecast(STATION_KEY, window(history), BASE, 5);
+
+        // Then
+        forecasts.forEach(item -> assertTrue(item.getHumidity() <= 100.0));
+    }
+
+    @Test
+    void shouldNotAmplifyNoiseBetweenReadingsMinutesApart() {
+        // Given - readings one minute apart that only differ by sensor noise
+        List<WeatherData> history = newestFirst(
+                createWeatherDataAtMinute(0, 20.0), createWeatherDataAtMinute(1, 20.5),
+                createWeatherDataAtMinute(2, 20.0), createWeatherDataAtMinute(3, 20.4));
+
+        // When
+        List<WeatherForecastDto.ForecastItem> forecasts = model.forecast(STATION_KEY, window(history), BASE, 24);
+
+        // Then
+        assertEquals(24, forecasts.size());
+        assertEquals(20.4, forecasts.get(23).getTemperature(), 10.0);
+    }
+
+    @Test
+    void shouldRejectInvalidSmoothingFactors() {
+        assertThrows(IllegalArgumentException.class, () -> new HoltForecastModel(0.0, 0.3));
+        assertThrows(IllegalArgumentException.class, () -> new HoltForecastModel(0.5, 1.5));
+    }
+
+    private record ForecastValues(double temperature, double humidity, double pressure, double precipitation) {
+    }
+
+    private ForecastValues snapshot(List<WeatherForecastDto.ForecastItem> forecasts) {
+        WeatherForecastDto.ForecastItem item = forecasts.get(0);
+        return new ForecastValues(item.getTemperature(), item.getHumidity(), item.getPressure(),
+                item.getPrecipitation());
+    }
+
+    private Supplier<ObservationWindow> window(List<WeatherData> newestFirst) {
+        return () -> ObservationWindow.of(newestFirst);
+    }
+
+    private List<WeatherData> newestFirst(WeatherData... oldestFirst) {
+        List<WeatherData> data = new ArrayList<>(List.of(oldestFirst));
+        Collections.reverse(data);
+        return data;
+    }
+
+    private WeatherData createWeatherDataAtMinute(int minute, double temperature) {
+        WeatherData data = createWeatherData(3, temperature);
+        data.setTimestamp(BASE.minus(3, ChronoUnit.MINUTES).plus(minute, ChronoUnit.MINUTES));
+        return data;
+    }
+
+    private WeatherData createWeatherData(int hour, double temperature) {
+        WeatherData data = new WeatherData();
+        data.setStationKey(STATION_KEY);
+        data.setTimestamp(BASE.minus(3, ChronoUnit.HOURS).plus(hour, ChronoUnit.HOURS));
+        data.setTemperature(temperature);
+        data.setHumidity(60.0);
+        data.setPressure(1013.0);
+        data.setPrecipitation(0.0);
+        return data;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.weather.processing.forecast;
+
+import com.weather.processing.entity.WeatherData;
+import com.weather.shared.dto.WeatherForecastDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeastSquaresForecastModelTest {
+
+    private static final int STATION_KEY = 1;
+    private static final Instant NOW = Instant.parse("2025-10-31T12:00:00Z");
+
+    private final LeastSquaresForecastModel regressionModel = new LeastSquaresForecastModel();
+    private final LinearTrendForecastModel linearModel = new LinearTrendForecastModel();
+
+    @Test
+    void shouldMatchTwoPointExtrapolationOnExactTrend() {
+        // Given - every metric changes linearly, sampled hourly
+        List<WeatherData> history = new ArrayList<>();
+        for (int hoursAgo = 0; hoursAgo < 15; hoursAgo++) {
+            history.add(createWeatherData(hoursAgo, 20.0 - 0.5 * hoursAgo, 60.0 + hoursAgo,
+                    1013.0 - 0.2 * hoursAgo, 2.0 - 0.1 * hoursAgo));
+        }
+
+        ObservationWindow window = ObservationWindow.of(history);
+
+        // When
+        List<WeatherForecastDto.ForecastItem> regression = regressionModel.forecast(STATION_KEY, () -> window, NOW, 12);
+        List<WeatherForecastDto.ForecastItem> linear = linearModel.forecast(STATION_KEY, () -> window, NOW, 12);
+
+        // Then
+        assertEquals(linear, regression);
+    }
+
+    @Test
+    void shouldUseActualTimestampGaps() {
+        // Given - temperature rises by one degree per hour, observed at uneven intervals
+        ObservationWindow history = ObservationWindow.of(List.of(
+                createWeatherData(0, 20.0, 60.0, 1013.0, 0.0),
+                createWeatherData(1, 19.0, 60.0, 1013.0, 0.0),
+                createWeatherData(3, 17.0, 60.0, 1013.0, 0.0),
+                createWeatherData(7, 13.0, 60.0, 1013.0, 0.0)));
+
+        // When
+        List<WeatherForecastDto.ForecastItem> forecasts = regressionModel.forecast(STATION_KEY, () -> history, NOW, 2);
+
+        // Then
+        assertEquals(21.0, forecasts.get(0).getTemperature(), 0.01);
+        assertEquals(22.0, forecasts.get(1).getTemperature(), 0.01);
+        assertEquals(60.0, forecasts.get(1).getHumidity(), 0.01);
+    }
+
+    @Test
+    void shouldBeMoreAccurateThanTwoPointExtrapolationOnNoisyData() {
+        // Given
+        Random random = new Random(42);
+        double regressionError = 0;
+        double linearError = 0;
+
+        for (int trial = 0; trial < 500; trial++) {
+            double slope = random.nextDouble() * 2 - 1;
+            List<WeatherData> history = new ArrayList<>();
+            for (int hoursAgo = 0; hoursAgo < 15; hoursAgo++) {
+                double temperature = 10.0 - slope * hoursAgo + random.nextGaussian();
+                history.add(createWeatherData(hoursAgo, temperature, 60.0, 1013.0, 0.0));
+            }
+            double expected = 10.0 + slope * 6;
+            ObservationWindow window = ObservationWindow.of(history);
+
+            // When
+            double regression = regressionModel.forecast(STATION_KEY, () -> window, NOW, 6).get(5).getTemperature();
+            double linear = linearModel.forecast(STATION_KEY, () -> window, NOW, 6).get(5).getTemperature();
+
+            regressionError += Math.abs(regression - expected);
+            linearError += Math.abs(linear - expected);
+        }
+
+        // Then
+        assertTrue(regressionError * 3 < linearError,
+                "regression error " + regressionError + " vs two-point error " + linearError);
+    }
+
+    @Test
+    void shouldReturnEmptyWhenNotEnoughObservations() {
+        // When
+        List<WeatherForecastDto.ForecastItem> forecasts = regressionModel.forecast(STATION_KEY,
+                () -> ObservationWindow.of(List.of(createWeatherData(0, 20.0, 60.0, 1013.0, 0.0))), NOW, 3);
+
+        // Then
+        assertTrue(forecasts.isEmpty());
+    }
+
+    @Test
+    void shouldReuseWindowAcrossHistoriesOfDifferentSize() {
+        // Given
+        ObservationWindow window = new ObservationWindow(1);
+        List<WeatherData> longHistory = new ArrayList<>();
+        for (int hoursAgo = 0; hoursAgo < 40; hoursAgo++) {
+            longHistory.add(createWeatherData(hoursAgo, 20.0, 60.0, 1013.0, 0.0));
+        }
+
+        // When
+        window.load(longHistory);
+        window.load(List.of(createWeatherData(0, 21.0, 60.0, 1013.0, 0.0)));
+
+        // Then
+        assertEquals(1, window.size());
+        assertEquals(21.0, window.getTemperature(0));
+        assertTrue(LeastSquaresForecastModel.forecast(window, NOW, 3).isEmpty());
+    }
+
+    private WeatherData createWeatherData(int hoursAgo, double temperature, double humidity, double pressure,
+                                          double precipitation) {
+        WeatherData data = new WeatherData();
+        data.setStationKey(STATION_KEY);
+        data.setTimestamp(NOW.minus(hoursAgo, ChronoUnit.HOURS));
+        data.setTemperature(temperature);
+        data.setHumidity(humidity);
+        data.setPressure(pressure);
+        data.setPrecipitation(precipitation);
+        return data;
+    }
+}
\ No newline at end of file
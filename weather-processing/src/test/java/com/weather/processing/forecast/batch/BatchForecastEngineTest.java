@@ -0,0 +1,155 @@
+package com.weather.processing.forecast.batch;
+
+import com.weather.processing.entity.WeatherData;
+import com.weather.processing.forecast.LinearTrendForecastModel;
+import com.weather.processing.forecast.ObservationWindow;
+import com.weather.processing.repository.StationHistories;
+import com.weather.shared.dto.WeatherForecastDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class BatchForecastEngineTest {
+
+    private static final Instant NOW = Instant.parse("2025-10-31T12:00:00Z");
+    private static final int HOURS = 24;
+
+    private final LinearTrendForecastModel linearModel = new LinearTrendForecastModel();
+
+    @Test
+    void shouldUseVectorKernelOnlyWhenAvailable() {
+        String expected = BatchForecastEngine.vectorKernel().isPresent() ? "vector(" : ScalarBatchForecastKernel.NAME;
+        assertTrue(new BatchForecastEngine(true).getKernelName().startsWith(expected));
+        assertEquals(ScalarBatchForecastKernel.NAME, new BatchForecastEngine(false).getKernelName());
+    }
+
+    @Test
+    void shouldMatchLinearModelWithScalarKernel() {
+        assertMatchesLinearModel(new ScalarBatchForecastKernel());
+    }
+
+    @Test
+    void shouldMatchLinearModelWithVectorKernel() {
+        assertMatchesLinearModel(vectorKernel());
+    }
+
+    @Test
+    void shouldRoundHalfwayValuesLikeMathRound() {
+        // Given - latest values whose tenths sit exactly on or just below .x5
+        double[] values = {0.05, 0.15, -0.05, -0.15, 0.25, -0.25, 0.049999999999999996, 12.345, -12.345};
+        List<List<WeatherData>> histories = new ArrayList<>();
+        for (double value : values) {
+            histories.add(List.of(
+                    createWeatherData(NOW, value, value + 50, 1000 + value, Math.abs(value)),
+                    createWeatherData(NOW.minusSeconds(3600), value, value + 50, 1000 + value, Math.abs(value))));
+        }
+
+        // Then
+        assertKernelMatches(new ScalarBatchForecastKernel(), histories);
+        assertKernelMatches(vectorKernel(), histories);
+    }
+
+    @Test
+    void shouldSkipStationsWithoutEnoughHistory() {
+        // Given
+        StationBatch batch = new StationBatch(2);
+
+        // When & Then
+        assertFalse(batch.add("station-1", List.of(createWeatherData(NOW, 20, 60, 1013, 0))));
+        assertEquals(0, batch.size());
+    }
+
+    @Test
+    void shouldMatchLinearModelWithPrimitiveHistories() {
+        // Given
+        Random random = new Random(7);
+        List<List<WeatherData>> histories = new ArrayList<>();
+        StationHistories primitive = new StationHistories(64, 128);
+        for (int s = 0; s < 64; s++) {
+            List<WeatherData> history = createRandomHistory(random);
+            histories.add(history);
+            for (WeatherData data : history) {
+                primitive.add(s, data.getTimestamp().getEpochSecond(), data.getTemperature(), data.getHumidity(),
+                        data.getPressure(), data.getPrecipitation());
+            }
+        }
+        StationBatch batch = new StationBatch(histories.size());
+
+        // When
+        for (int s = 0; s < histories.size(); s++) {
+            assertTrue(batch.add("station-" + s, primitive, primitive.indexOf(s)));
+        }
+        BatchForecast out = new BatchForecast(batch.capacity(), HOURS);
+        new ScalarBatchForecastKernel().forecast(batch, out);
+
+        // Then
+        for (int s = 0; s < histories.size(); s++) {
+            ObservationWindow history = ObservationWindow.of(histories.get(s));
+            assertEquals(linearModel.forecast(s, () -> history, NOW, HOURS), out.toForecast(s, NOW).getForecasts());
+        }
+    }
+
+    // Built only with the Maven profile vector; the default build checks the scalar kernel alone.
+    private BatchForecastKernel vectorKernel() {
+        Optional<BatchForecastKernel> kernel = BatchForecastEngine.vectorKernel();
+        assumeTrue(kernel.isPresent(), "Vector API kernel is not built or jdk.incubator.vector is not resolved");
+        return kernel.get();
+    }
+
+    private void assertMatchesLinearModel(BatchForecastKernel kernel) {
+        Random random = new Random(42);
+        List<List<WeatherData>> histories = new ArrayList<>();
+        for (int s = 0; s < 1_003; s++) {
+            histories.add(createRandomHistory(random));
+        }
+        assertKernelMatches(kernel, histories);
+    }
+
+    private void assertKernelMatches(BatchForecastKernel kernel, List<List<WeatherData>> histories) {
+        StationBatch batch = new StationBatch(histories.size());
+        for (int s = 0; s < histories.size(); s++) {
+            assertTrue(batch.add("station-" + s, histories.get(s)));
+        }
+
+        BatchForecast out = new BatchForecast(batch.capacity(), HOURS);
+        kernel.forecast(batch, out);
+
+        for (int s = 0; s < histories.size(); s++) {
+            ObservationWindow history = ObservationWindow.of(histories.get(s));
+            List<WeatherForecastDto.ForecastItem> expected =
+                    linearModel.forecast(s, () -> history, NOW, HOURS);
+            WeatherForecastDto actual = out.toForecast(s, NOW);
+            assertEquals(expected, actual.getForecasts(), "station-" + s);
+        }
+    }
+
+    private List<WeatherData> createRandomHistory(Random random) {
+        Instant latest = NOW.minusSeconds(random.nextInt(7200));
+        Instant previous = latest.minusSeconds(60 + random.nextInt(6 * 3600));
+        // wide ranges so that some forecasts hit every clamp bound
+        return List.of(
+                createWeatherData(latest, -60 + random.nextDouble() * 120, random.nextDouble() * 100,
+                        950 + random.nextDouble() * 100, random.nextDouble() * 10),
+                createWeatherData(previous, -60 + random.nextDouble() * 120, random.nextDouble() * 100,
+                        950 + random.nextDouble() * 100, random.nextDouble() * 10));
+    }
+
+    private WeatherData createWeatherData(Instant timestamp, double temperature, double humidity,
+                                          double pressure, double precipitation) {
+        WeatherData data = new WeatherData();
+        data.setStationKey(1);
+        data.setTimestamp(timestamp);
+        data.setTemperature(temperature);
+        data.setHumidity(humidity);
+        data.setPressure(pressure);
+        data.setPrecipitation(precipitation);
+        return data;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.weather.processing.history;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.processing.entity.WeatherData;
+import com.weather.processing.repository.WeatherDataRepository;
+import com.weather.processing.station.StationDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WeatherHistoryServiceTest {
+
+    private static final int STATION_KEY = 1;
+    private static final Instant FROM = Instant.parse("2025-10-31T00:00:00Z");
+    private static final Instant TO = Instant.parse("2025-11-01T00:00:00Z");
+
+    @Mock
+    private WeatherDataRepository weatherDataRepository;
+
+    @Mock
+    private StationDictionary stationDictionary;
+
+    private WeatherHistoryService weatherHistoryService;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        weatherHistoryService = new WeatherHistoryService(weatherDataRepository, stationDictionary);
+        ReflectionTestUtils.setField(weatherHistoryService, "fetchSize", 500);
+    }
+
+    @Test
+    void shouldStreamWholeRangeWithoutPageToken() throws Exception {
+        // Given
+        when(stationDictionary.findKey("station-1")).thenReturn(OptionalInt.of(STATION_KEY));
+        stubRows(null, 0, 3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        int count = weatherHistoryService.stream(HistoryQuery.of("station-1", FROM, TO, null, 0), out);
+
+        // Then
+        JsonNode history = mapper.readTree(out.toByteArray());
+        assertEquals(3, count);
+        assertEquals("station-1", history.get("stationId").asText());
+        assertEquals(3, history.get("observations").size());
+        assertEquals("2025-10-31T01:00:00Z", history.get("observations").get(0).get("timestamp").asText());
+        assertEquals(21.0, history.get("observations").get(0).get("temperature").asDouble());
+        assertFalse(history.has("nextPageToken"));
+    }
+
+    @Test
+    void shouldReturnPageWithTokenOfLastWrittenRow() throws Exception {
+        // Given
+        when(stationDictionary.findKey("station-1")).thenReturn(OptionalInt.of(STATION_KEY));
+        stubRows(null, 3, 3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        weatherHistoryService.stream(HistoryQuery.of("station-1", FROM, TO, null, 2), out);
+
+        // Then
+        JsonNode history = mapper.readTree(out.toByteArray());
+        assertEquals(2, history.get("observations").size());
+        assertEquals(2, history.get("count").asInt());
+        assertEquals(FROM.plus(2, ChronoUnit.HOURS), HistoryPageToken.decode(history.get("nextPageToken").asText()));
+    }
+
+    @Test
+    void shouldContinueAfterPageToken() throws Exception {
+        // Given
+        Instant after = FROM.plus(2, ChronoUnit.HOURS).plusNanos(1000);
+        when(stationDictionary.findKey("station-1")).thenReturn(OptionalInt.of(STATION_KEY));
+        stubRows(after, 3, 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        weatherHistoryService.stream(HistoryQuery.of("station-1", FROM, TO, HistoryPageToken.encode(after), 2), out);
+
+        // Then
+        JsonNode history = mapper.readTree(out.toByteArray());
+        assertEquals(1, history.get("observations").size());
+        assertFalse(history.has("nextPageToken"));
+    }
+
+    @Test
+    void shouldStreamEmptyHistoryForUnknownStation() throws Exception {
+        // Given
+        when(stationDictionary.findKey("unknown")).thenReturn(OptionalInt.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        int count = weatherHistoryService.stream(HistoryQuery.of("unknown", FROM, TO, null, 0), out);
+
+        // Then
+        assertEquals(0, count);
+        assertEquals(0, mapper.readTree(out.toByteArray()).get("observations").size());
+        verifyNoInteractions(weatherDataRepository);
+    }
+
+    @Test
+    void shouldRejectInvalidQueries() {
+        assertThrows(IllegalArgumentException.class, () -> HistoryQuery.of("station-1", TO, FROM, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> HistoryQuery.of("station-1", FROM, TO, null, -1));
+        assertThrows(IllegalArgumentException.class, () -> HistoryQuery.of(" ", FROM, TO, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> HistoryQuery.of("station-1", FROM, TO, "broken!", 0));
+        assertThrows(IllegalArgumentException.class, () -> HistoryQuery.of("station-1", FROM, TO, "AAAA", 0));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubRows(Instant after, int rowLimit, int rows) {
+        doAnswer(invocation -> {
+            Consumer<WeatherData> action = invocation.getArgument(6);
+            for (int hour = 1; hour <= rows; hour++) {
+                action.accept(createWeatherData(FROM.plus(hour, ChronoUnit.HOURS), 20.0 + hour));
+            }
+            return null;
+        }).when(weatherDataRepository).streamHistory(eq(STATION_KEY), eq(FROM), eq(TO), eq(after), eq(rowLimit),
+                eq(500), any(Consumer.class));
+    }
+
+    private WeatherData createWeatherData(Instant timestamp, double temperature) {
+        WeatherData data = new WeatherData();
+        data.setStationKey(STATION_KEY);
+        data.setTimestamp(timestamp);
+        data.setTemperature(temperature);
+        data.setHumidity(60.0);
+        data.setPressure(1013.0);
+        data.setPrecipitation(0.0);
+        return data;
+    }
+}
\ No newline at end of file
@@ -1,18 +1,27 @@
 package com.weather.processing.integration;
 
+import com.weather.processing.aggregate.AggregateMetric;
 import com.weather.processing.config.TestCacheConfig;
 import com.weather.processing.entity.WeatherData;
+import com.weather.processing.forecast.ObservationWindow;
+import com.weather.processing.repository.StationHistories;
 import com.weather.processing.repository.WeatherDataRepository;
+import com.weather.processing.station.StationDictionary;
+import com.weather.shared.dto.WeatherAggregateDto;
+import org.flywaydb.core.Flyway;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import javax.sql.DataSource;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -36,16 +45,28 @@ class WeatherProcessingIntegrationTest {
         registry.add("spring.datasource.username", postgres::getUsername);
         registry.add("spring.datasource.password", postgres::getPassword);
         registry.add("spring.cache.type", () -> "none");
+        // Several statements for a handful of stations.
+        registry.add("weather.history.latest-batch-size", () -> "2");
     }
 
     @Autowired
     private WeatherDataRepository weatherDataRepository;
 
+    @Autowired
+    private StationDictionary stationDictionary;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
     @Test
     void shouldSaveAndRetrieveWeatherData() {
         // Given
+        int stationKey = stationDictionary.getOrCreateKey("test-station");
         WeatherData weatherData = new WeatherData();
-        weatherData.setStationId("test-station");
+        weatherData.setStationKey(stationKey);
         weatherData.setTimestamp(Instant.now());
         weatherData.setTemperature(25.5);
         weatherData.setHumidity(65.0);
@@ -54,22 +75,23 @@ class WeatherProcessingIntegrationTest {
 
         // When
         WeatherData saved = weatherDataRepository.save(weatherData);
-        List<WeatherData> found = weatherDataRepository.findByStationIdOrderByTimestampDesc("test-station");
+        List<WeatherData> found = weatherDataRepository.findByStationKeyOrderByTimestampDesc(stationKey);
 
         // Then
         assertNotNull(saved.getId());
         assertEquals(1, found.size());
-        assertEquals("test-station", found.get(0).getStationId());
+        assertEquals(stationKey, found.get(0).getStationKey());
+        assertEquals("test-station", stationDictionary.getStationId(stationKey));
         assertEquals(25.5, found.get(0).getTemperature());
     }
 
     @Test
     void shouldFindLatestWeatherData() {
         // Given
-        String stationId = "station-latest";
+        int stationKey = stationDictionary.getOrCreateKey("station-latest");
 
         WeatherData olderData = new WeatherData();
-        olderData.setStationId(stationId);
+        olderData.setStationKey(stationKey);
         olderData.setTimestamp(Instant.now().minus(2, ChronoUnit.HOURS));
         olderData.setTemperature(20.0);
         olderData.setHumidity(60.0);
@@ -77,7 +99,7 @@ class WeatherProcessingIntegrationTest {
         olderData.setPrecipitation(0.0);
 
         WeatherData newerData = new WeatherData();
-        newerData.setStationId(stationId);
+        newerData.setStationKey(stationKey);
         newerData.setTimestamp(Instant.now().minus(1, ChronoUnit.HOURS));
         newerData.setTemperature(22.0);
         newerData.setHumidity(62.0);
@@ -88,11 +110,167 @@ class WeatherProcessingIntegrationTest {
         weatherDataRepository.save(newerData);
 
         // When
-        List<WeatherData> latest = weatherDataRepository.findLatestByStationId(stationId, 5);
+        ObservationWindow latest = weatherDataRepository.findLatestWindow(stationKey, 5);
 
         // Then
         assertEquals(2, latest.size());
-        assertEquals(22.0, latest.get(0).getTemperature());
-        assertEquals(20.0, latest.get(1).getTemperature());
+        assertEquals(22.0, latest.getTemperature(0));
+        assertEquals(20.0, latest.getTemperature(1));
+    }
+
+    @Test
+    void shouldAggregateRollupLikeRawRows() {
+        // Given - five readings in the first 3h window, one in the second
+        int stationKey = stationDictionary.getOrCreateKey("station-rollup");
+        Instant from = Instant.parse("2025-10-31T00:00:00Z");
+        Instant to = from.plus(6, ChronoUnit.HOURS);
+        saveWithRollup(observation(stationKey, from.plus(10, ChronoUnit.MINUTES), 10.0));
+        saveWithRollup(observation(stationKey, from.plus(40, ChronoUnit.MINUTES), 14.0));
+        saveWithRollup(observation(stationKey, from.plus(65, ChronoUnit.MINUTES), 20.0));
+        saveWithRollup(observation(stationKey, from.plus(150, ChronoUnit.MINUTES), 8.0));
+        saveWithRollup(observation(stationKey, from.plus(170, ChronoUnit.MINUTES), 12.0));
+        saveWithRollup(observation(stationKey, from.plus(359, ChronoUnit.MINUTES), 30.0));
+
+        // When
+        List<WeatherAggregateDto.Bucket> raw = weatherDataRepository.aggregate(stationKey,
+                AggregateMetric.TEMPERATURE, Duration.ofHours(3), from, to, List.of(0.5));
+        List<WeatherAggregateDto.Bucket> rollup = weatherDataRepository.aggregateRollup(stationKey,
+                AggregateMetric.TEMPERATURE, Duration.ofHours(3), from, to);
+
+        // Then
+        assertEquals(2, raw.size());
+        assertEquals(from, raw.get(0).getStart());
+        assertEquals(5L, raw.get(0).getCount());
+        assertEquals(12.8, raw.get(0).getAvg(), 1e-9);
+        assertEquals(12.0, raw.get(0).getPercentiles().get("p50"), 1e-9);
+        assertEquals(from.plus(3, ChronoUnit.HOURS), raw.get(1).getStart());
+        assertEquals(1L, raw.get(1).getCount());
+        assertSameBuckets(raw, rollup);
+    }
+
+    @Test
+    void shouldRebuildRollupFromRawRows() {
+        // Given - stored while the rollup was disabled, plus one hour counted twice
+        int stationKey = stationDictionary.getOrCreateKey("station-rebuild");
+        Instant from = Instant.parse("2025-10-30T00:00:00Z");
+        Instant to = from.plus(2, ChronoUnit.HOURS);
+        weatherDataRepository.save(observation(stationKey, from.plus(5, ChronoUnit.MINUTES), 4.0));
+        weatherDataRepository.save(observation(stationKey, from.plus(55, ChronoUnit.MINUTES), 6.0));
+        WeatherData counted = observation(stationKey, from.plus(90, ChronoUnit.MINUTES), 9.0);
+        saveWithRollup(counted);
+        weatherDataRepository.upsertHourlyRollup(counted);
+
+        // When
+        int hours = weatherDataRepository.rebuildHourlyRollup();
+        List<WeatherAggregateDto.Bucket> raw = weatherDataRepository.aggregate(stationKey,
+                AggregateMetric.TEMPERATURE, Duration.ofHours(1), from, to, List.of());
+        List<WeatherAggregateDto.Bucket> rollup = weatherDataRepository.aggregateRollup(stationKey,
+                AggregateMetric.TEMPERATURE, Duration.ofHours(1), from, to);
+
+        // Then
+        assertTrue(hours >= 2);
+        assertEquals(2, raw.size());
+        assertEquals(2L, raw.get(0).getCount());
+        assertEquals(1L, raw.get(1).getCount());
+        assertSameBuckets(raw, rollup);
+    }
+
+    @Test
+    void shouldMigrateDatabaseCreatedBeforeMigrations() {
+        // Given - the schema Hibernate used to create, with observations of two stations
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS legacy CASCADE");
+        jdbcTemplate.execute("CREATE SCHEMA legacy");
+        jdbcTemplate.execute("CREATE TABLE legacy.weather_data (id bigint GENERATED BY DEFAULT AS IDENTITY, "
+                + "station_id varchar(255) NOT NULL, timestamp timestamp(6) with time zone NOT NULL, "
+                + "temperature float(53) NOT NULL, humidity float(53) NOT NULL, pressure float(53) NOT NULL, "
+                + "precipitation float(53) NOT NULL, PRIMARY KEY (id), UNIQUE (station_id, timestamp))");
+        jdbcTemplate.execute("INSERT INTO legacy.weather_data "
+                + "(station_id, timestamp, temperature, humidity, pressure, precipitation) VALUES "
+                + "('legacy-a', '2025-01-01T00:10:00Z', 1, 50, 1000, 0), "
+                + "('legacy-a', '2025-01-01T00:40:00Z', 3, 60, 1002, 1), "
+                + "('legacy-b', '2025-01-01T01:05:00Z', 10, 70, 1010, 0)");
+
+        // When
+        Flyway.configure()
+                .dataSource(dataSource)
+                .schemas("legacy")
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        // Then
+        List<String> columns = jdbcTemplate.queryForList("SELECT column_name FROM information_schema.columns "
+                + "WHERE table_schema = 'legacy' AND table_name = 'weather_data'", String.class);
+        assertTrue(columns.contains("station_key"));
+        assertFalse(columns.contains("station_id"));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM legacy.weather_data w "
+                + "JOIN legacy.stations s ON s.id = w.station_key WHERE s.station_id = 'legacy-a'", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_constraint "
+                + "WHERE conrelid = 'legacy.weather_data'::regclass AND contype = 'f'", Integer.class));
+        assertEquals(List.of(2L, 4.0), jdbcTemplate.queryForObject("SELECT r.observations, r.temperature_sum "
+                        + "FROM legacy.weather_hourly_rollup r JOIN legacy.stations s ON s.id = r.station_key "
+                        + "WHERE s.station_id = 'legacy-a' AND r.bucket = '2025-01-01T00:00:00Z'",
+                (rs, rowNum) -> List.of(rs.getLong(1), rs.getDouble(2))));
+        assertEquals(List.of("1", "2", "3"), jdbcTemplate.queryForList("SELECT version FROM "
+                + "legacy.flyway_schema_history WHERE success AND version <> '0' ORDER BY installed_rank",
+                String.class));
+    }
+
+    @Test
+    void shouldFindNewestRowsOfEveryStation() {
+        // Given
+        int busy = stationDictionary.getOrCreateKey("history-busy");
+        int quiet = stationDictionary.getOrCreateKey("history-quiet");
+        int empty = stationDictionary.getOrCreateKey("history-empty");
+        Instant base = Instant.parse("2025-10-29T00:00:00Z");
+        for (int hour = 0; hour < 4; hour++) {
+            weatherDataRepository.save(observation(busy, base.plus(hour, ChronoUnit.HOURS), 20.0 + hour));
+        }
+        weatherDataRepository.save(observation(quiet, base, 5.0));
+
+        // When
+        StationHistories histories = weatherDataRepository.findLatestHistories(List.of(empty, quiet, busy), 2);
+
+        // Then
+        assertEquals(2, histories.stationCount());
+        assertEquals(-1, histories.indexOf(empty));
+        ObservationWindow busyRows = histories.window(histories.indexOf(busy));
+        assertEquals(2, busyRows.size());
+        assertEquals(base.plus(3, ChronoUnit.HOURS).getEpochSecond(), busyRows.getEpochSecond(0));
+        assertEquals(23.0, busyRows.getTemperature(0));
+        assertEquals(22.0, busyRows.getTemperature(1));
+        ObservationWindow quietRows = histories.window(histories.indexOf(quiet));
+        assertEquals(1, quietRows.size());
+        assertEquals(5.0, quietRows.getTemperature(0));
+    }
+
+    private void saveWithRollup(WeatherData data) {
+        weatherDataRepository.save(data);
+        weatherDataRepository.upsertHourlyRollup(data);
+    }
+
+    private static WeatherData observation(int stationKey, Instant timestamp, double temperature) {
+        WeatherData data = new WeatherData();
+        data.setStationKey(stationKey);
+        data.setTimestamp(timestamp);
+        data.setTemperature(temperature);
+        data.setHumidity(60.0);
+        data.setPressure(1013.0);
+        data.setPrecipitation(0.0);
+        return data;
+    }
+
+    private static void assertSameBuckets(List<WeatherAggregateDto.Bucket> raw,
+                                          List<WeatherAggregateDto.Bucket> rollup) {
+        assertEquals(raw.size(), rollup.size());
+        for (int i = 0; i < raw.size(); i++) {
+            assertEquals(raw.get(i).getStart(), rollup.get(i).getStart());
+            assertEquals(raw.get(i).getCount(), rollup.get(i).getCount());
+            assertEquals(raw.get(i).getMin(), rollup.get(i).getMin(), 1e-9);
+            assertEquals(raw.get(i).getMax(), rollup.get(i).getMax(), 1e-9);
+            assertEquals(raw.get(i).getAvg(), rollup.get(i).getAvg(), 1e-9);
+        }
     }
 }
\ No newline at end of file
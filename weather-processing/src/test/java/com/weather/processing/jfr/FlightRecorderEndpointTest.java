@@ -0,0 +1,114 @@
+package com.weather.processing.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEndpointTest {
+
+    private FlightRecorderEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new FlightRecorderEndpoint();
+        ReflectionTestUtils.setField(endpoint, "defaultDuration", Duration.ofSeconds(60));
+        ReflectionTestUtils.setField(endpoint, "maxDuration", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(endpoint, "maxSize", DataSize.ofMegabytes(10));
+        ReflectionTestUtils.setField(endpoint, "maxRecordings", 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.closeAll();
+    }
+
+    @Test
+    void shouldRecordWeatherEventsAndDownloadThem() throws Exception {
+        // Given
+        long id = started(endpoint.start(30L, null));
+
+        // When
+        DedupCheckEvent dedup = new DedupCheckEvent();
+        dedup.begin();
+        dedup.complete("station-1", true);
+        ForecastCacheEvent cache = new ForecastCacheEvent();
+        cache.begin();
+        cache.complete("station-1", "linear", 0, false);
+        endpoint.stop(id);
+        WebEndpointResponse<Object> download = endpoint.download(id);
+
+        // Then
+        assertEquals(200, download.getStatus());
+        Path file = Files.createTempFile("endpoint-test", ".jfr");
+        try (InputStream in = ((Resource) download.getBody()).getInputStream()) {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        RecordedEvent recordedDedup = single(events, "com.weather.DedupCheck");
+        assertEquals("station-1", recordedDedup.getString("stationId"));
+        assertTrue(recordedDedup.getBoolean("duplicate"));
+        RecordedEvent recordedCache = single(events, "com.weather.ForecastCache");
+        assertEquals("linear", recordedCache.getString("model"));
+        assertFalse(recordedCache.getBoolean("hit"));
+    }
+
+    @Test
+    void shouldListStopAndDeleteRecordings() {
+        // Given
+        long id = started(endpoint.start(null, "profile"));
+
+        // When
+        FlightRecorderEndpoint.RecordingInfo running = endpoint.recordings().get(0);
+        endpoint.stop(id);
+        FlightRecorderEndpoint.RecordingInfo stopped = endpoint.recordings().get(0);
+        WebEndpointResponse<Object> deleted = endpoint.delete(id);
+
+        // Then
+        assertEquals("RUNNING", running.state());
+        assertEquals(60, running.durationSeconds());
+        assertEquals("STOPPED", stopped.state());
+        assertEquals(204, deleted.getStatus());
+        assertTrue(endpoint.recordings().isEmpty());
+        assertEquals(404, endpoint.download(id).getStatus());
+    }
+
+    @Test
+    void shouldRejectUnboundedOrExcessRecordings() {
+        assertEquals(400, endpoint.start(3600L, null).getStatus());
+        assertEquals(400, endpoint.start(10L, "everything").getStatus());
+
+        started(endpoint.start(10L, null));
+        assertEquals(409, endpoint.start(10L, null).getStatus());
+        assertEquals(404, endpoint.stop(-1).getStatus());
+    }
+
+    private static long started(WebEndpointResponse<Object> response) {
+        assertEquals(200, response.getStatus());
+        return ((FlightRecorderEndpoint.RecordingInfo) response.getBody()).id();
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, matching.size());
+        return matching.get(0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.weather.processing.messaging;
+
+import com.weather.processing.event.StationUpdatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StationInvalidationListenerTest {
+
+    private static final Instant LATEST = Instant.parse("2025-10-31T10:00:00.250Z");
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StationInvalidationPublisher publisher;
+    private StationInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new StationInvalidationPublisher(mock(RabbitTemplate.class), meterRegistry);
+        listener = new StationInvalidationListener(publisher, eventPublisher, meterRegistry);
+    }
+
+    @Test
+    void shouldRaiseStationUpdatedEventPerStation() {
+        // Given
+        StationInvalidationMessage message = new StationInvalidationMessage("other-instance", new int[]{1, 7},
+                new long[]{LATEST.getEpochSecond(), LATEST.getEpochSecond() - 60},
+                new int[]{LATEST.getNano(), 0});
+
+        // When
+        listener.receiveInvalidation(message);
+
+        // Then
+        ArgumentCaptor<StationUpdatedEvent> captor = ArgumentCaptor.forClass(StationUpdatedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        List<StationUpdatedEvent> events = captor.getAllValues();
+        assertEquals(1, events.get(0).getStationKey());
+        assertEquals(LATEST, events.get(0).getLatestTimestamp());
+        assertEquals(7, events.get(1).getStationKey());
+        assertEquals(LATEST.minusSeconds(60).minusMillis(250), events.get(1).getLatestTimestamp());
+        assertEquals(2.0, meterRegistry.get(StationInvalidationListener.APPLIED).counter().count());
+    }
+
+    @Test
+    void shouldIgnoreOwnMessages() {
+        // Given
+        StationInvalidationMessage message = new StationInvalidationMessage(publisher.getOrigin(), new int[]{1},
+                new long[]{LATEST.getEpochSecond()}, new int[]{LATEST.getNano()});
+
+        // When
+        listener.receiveInvalidation(message);
+
+        // Then
+        verifyNoInteractions(eventPublisher);
+        assertEquals(0.0, meterRegistry.get(StationInvalidationListener.APPLIED).counter().count());
+    }
+}
\ No newline at end of file
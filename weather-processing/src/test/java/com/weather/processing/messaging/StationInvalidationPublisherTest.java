@@ -0,0 +1,139 @@
+package com.weather.processing.messaging;
+
+import com.weather.processing.entity.WeatherData;
+import com.weather.processing.event.WeatherDataSavedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.weather.shared.config.RabbitMQConfig.WEATHER_INVALIDATION_EXCHANGE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StationInvalidationPublisherTest {
+
+    private static final Instant BASE = Instant.parse("2025-10-31T10:00:00.250Z");
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StationInvalidationPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new StationInvalidationPublisher(rabbitTemplate, meterRegistry);
+        ReflectionTestUtils.setField(publisher, "enabled", true);
+        ReflectionTestUtils.setField(publisher, "maxBatchSize", 5000);
+    }
+
+    @Test
+    void shouldCoalesceObservationsPerStationKeepingNewest() {
+        // Given
+        publisher.onWeatherDataSaved(saved(1, BASE.plusSeconds(60)));
+        publisher.onWeatherDataSaved(saved(1, BASE));
+        publisher.onWeatherDataSaved(saved(2, BASE));
+
+        // When
+        publisher.flush();
+
+        // Then
+        StationInvalidationMessage message = published(1).get(0);
+        assertEquals(publisher.getOrigin(), message.getOrigin());
+        assertEquals(2, message.getStationKeys().length);
+        int first = message.getStationKeys()[0] == 1 ? 0 : 1;
+        assertEquals(BASE.plusSeconds(60).getEpochSecond(), message.getEpochSeconds()[first]);
+        assertEquals(BASE.getNano(), message.getNanos()[first]);
+        assertEquals(3.0, meterRegistry.get(StationInvalidationPublisher.OBSERVATIONS).counter().count());
+        assertEquals(2.0, meterRegistry.get(StationInvalidationPublisher.STATIONS).counter().count());
+    }
+
+    @Test
+    void shouldSplitWindowIntoBatches() {
+        // Given
+        ReflectionTestUtils.setField(publisher, "maxBatchSize", 2);
+        for (int stationKey = 1; stationKey <= 5; stationKey++) {
+            publisher.onWeatherDataSaved(saved(stationKey, BASE));
+        }
+
+        // When
+        publisher.flush();
+
+        // Then
+        List<StationInvalidationMessage> messages = published(3);
+        assertEquals(List.of(2, 2, 1), messages.stream().map(message -> message.getStationKeys().length).toList());
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5}, messages.stream()
+                .flatMapToInt(message -> Arrays.stream(message.getStationKeys())).sorted().toArray());
+        assertEquals(3.0, meterRegistry.get(StationInvalidationPublisher.MESSAGES).counter().count());
+    }
+
+    @Test
+    void shouldPublishNothingForEmptyWindow() {
+        // Given
+        publisher.onWeatherDataSaved(saved(1, BASE));
+        publisher.flush();
+
+        // When
+        publisher.flush();
+
+        // Then
+        verify(rabbitTemplate, times(1)).convertAndSend(anyString(), anyString(), any(Object.class));
+    }
+
+    @Test
+    void shouldNotFailIngestionWhenBrokerIsUnavailable() {
+        // Given
+        doThrow(new AmqpException("connection refused")).when(rabbitTemplate)
+                .convertAndSend(anyString(), anyString(), any(Object.class));
+        publisher.onWeatherDataSaved(saved(1, BASE));
+
+        // When & Then
+        assertDoesNotThrow(publisher::flush);
+        assertEquals(0.0, meterRegistry.get(StationInvalidationPublisher.MESSAGES).counter().count());
+    }
+
+    @Test
+    void shouldRetryFailedBatchWithNextWindowKeepingNewest() {
+        // Given
+        doThrow(new AmqpException("connection refused")).doNothing().when(rabbitTemplate)
+                .convertAndSend(anyString(), anyString(), any(Object.class));
+        publisher.onWeatherDataSaved(saved(1, BASE.plusSeconds(60)));
+        publisher.onWeatherDataSaved(saved(2, BASE));
+        publisher.flush();
+        publisher.onWeatherDataSaved(saved(1, BASE));
+        publisher.onWeatherDataSaved(saved(2, BASE.plusSeconds(120)));
+
+        // When
+        publisher.flush();
+
+        // Then
+        StationInvalidationMessage retried = published(2).get(1);
+        assertEquals(2, retried.getStationKeys().length);
+        for (int i = 0; i < 2; i++) {
+            Instant expected = retried.getStationKeys()[i] == 1 ? BASE.plusSeconds(60) : BASE.plusSeconds(120);
+            assertEquals(expected, Instant.ofEpochSecond(retried.getEpochSeconds()[i], retried.getNanos()[i]));
+        }
+        assertEquals(1.0, meterRegistry.get(StationInvalidationPublisher.MESSAGES).counter().count());
+    }
+
+    private List<StationInvalidationMessage> published(int messages) {
+        ArgumentCaptor<StationInvalidationMessage> captor = ArgumentCaptor.forClass(StationInvalidationMessage.class);
+        verify(rabbitTemplate, times(messages)).convertAndSend(eq(WEATHER_INVALIDATION_EXCHANGE), eq(""),
+                captor.capture());
+        return captor.getAllValues();
+    }
+
+    private WeatherDataSavedEvent saved(int stationKey, Instant timestamp) {
+        WeatherData data = new WeatherData();
+        data.setStationKey(stationKey);
+        data.setTimestamp(timestamp);
+        return new WeatherDataSavedEvent(data);
+    }
+}
\ No newline at end of file
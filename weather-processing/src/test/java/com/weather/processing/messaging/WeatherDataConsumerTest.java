@@ -0,0 +1,81 @@
+package com.weather.processing.messaging;
+
+import com.weather.processing.service.WeatherDataService;
+import com.weather.shared.messaging.WeatherMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WeatherDataConsumerTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WeatherDataService weatherDataService = mock(WeatherDataService.class);
+    private WeatherDataConsumer consumer;
+    private WeatherMessage message;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new WeatherDataConsumer(weatherDataService, new PipelineMetrics(meterRegistry));
+        message = new WeatherMessage("station-1", Instant.now(), 25.5, 65.0, 1013.25, 0.0);
+    }
+
+    @Test
+    void shouldRecordQueueWaitAndTotalFromGatewayHeaders() {
+        // Given
+        long now = System.currentTimeMillis();
+        when(weatherDataService.saveWeatherData(message)).thenReturn(true);
+
+        // When
+        consumer.receiveWeatherData(message, now - 500, now - 200);
+
+        // Then
+        Timer queueWait = timer(PipelineMetrics.QUEUE_WAIT, "saved");
+        Timer total = timer(PipelineMetrics.TOTAL, "saved");
+        assertEquals(1, queueWait.count());
+        assertTrue(queueWait.totalTime(TimeUnit.MILLISECONDS) >= 200);
+        assertTrue(total.totalTime(TimeUnit.MILLISECONDS) >= 500);
+    }
+
+    @Test
+    void shouldTagDuplicatesAndFailures() {
+        // Given
+        long now = System.currentTimeMillis();
+        WeatherMessage failing = new WeatherMessage("station-2", Instant.now(), 25.5, 65.0, 1013.25, 0.0);
+        when(weatherDataService.saveWeatherData(message)).thenReturn(false);
+        when(weatherDataService.saveWeatherData(failing)).thenThrow(new IllegalStateException("DB down"));
+
+        // When
+        consumer.receiveWeatherData(message, now, now);
+        assertThrows(RuntimeException.class, () -> consumer.receiveWeatherData(failing, now, now));
+
+        // Then
+        assertEquals(1, timer(PipelineMetrics.TOTAL, "duplicate").count());
+        assertEquals(1, timer(PipelineMetrics.TOTAL, "failed").count());
+        assertEquals(0, timer(PipelineMetrics.TOTAL, "saved").count());
+    }
+
+    @Test
+    void shouldSkipLatencyWithoutHeaders() {
+        // Given
+        when(weatherDataService.saveWeatherData(message)).thenReturn(true);
+
+        // When
+        consumer.receiveWeatherData(message, null, null);
+
+        // Then
+        assertEquals(0, timer(PipelineMetrics.QUEUE_WAIT, "saved").count());
+        assertEquals(0, timer(PipelineMetrics.TOTAL, "saved").count());
+    }
+
+    private Timer timer(String name, String outcome) {
+        return meterRegistry.get(name).tag("outcome", outcome).timer();
+    }
+}
\ No newline at end of file
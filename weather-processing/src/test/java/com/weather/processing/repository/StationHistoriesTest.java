@@ -0,0 +1,55 @@
+package com.weather.processing.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StationHistoriesTest {
+
+    @Test
+    void shouldGroupRowsByStationBeyondInitialCapacity() {
+        // Given
+        StationHistories histories = new StationHistories(1, 1);
+
+        // When
+        for (int stationKey = 1; stationKey <= 5; stationKey++) {
+            for (int row = 0; row < 3; row++) {
+                histories.add(stationKey * 10, 1_000 - row, stationKey, 60.0 + row, 1013.0, 0.0);
+            }
+        }
+
+        // Then
+        assertEquals(5, histories.stationCount());
+        assertEquals(15, histories.rowCount());
+        int station = histories.indexOf(30);
+        assertEquals(2, station);
+        assertEquals(3, histories.rowCount(station));
+        assertEquals(6, histories.rowStart(station));
+        assertEquals(9, histories.rowEnd(station));
+        assertEquals(1_000, histories.epochSecond(histories.rowStart(station)));
+        assertEquals(3.0, histories.temperature(histories.rowStart(station)));
+        assertEquals(62.0, histories.humidity(histories.rowEnd(station) - 1));
+    }
+
+    @Test
+    void shouldReportMissingStations() {
+        // Given
+        StationHistories histories = new StationHistories(0, 0);
+        histories.add(2, 1_000, 20.0, 60.0, 1013.0, 0.0);
+
+        // Then
+        assertEquals(-1, histories.indexOf(1));
+        assertEquals(-1, histories.indexOf(3));
+        assertEquals(0, histories.indexOf(2));
+    }
+
+    @Test
+    void shouldRejectDescendingStationKeys() {
+        // Given
+        StationHistories histories = new StationHistories(2, 2);
+        histories.add(2, 1_000, 20.0, 60.0, 1013.0, 0.0);
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> histories.add(1, 1_000, 20.0, 60.0, 1013.0, 0.0));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.weather.processing.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.weather.processing.entity.WeatherData;
+import com.weather.processing.event.WeatherDataSavedEvent;
+import com.weather.processing.forecast.ForecastModelRegistry;
+import com.weather.processing.forecast.ForecastVersion;
+import com.weather.processing.forecast.HoltForecastModel;
+import com.weather.processing.forecast.LinearTrendForecastModel;
+import com.weather.shared.dto.WeatherForecastDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.MediaType;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static com.weather.processing.service.ForecastResponseCache.Encoding;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ForecastResponseCacheTest {
+
+    private static final int STATION_KEY = 1;
+    private static final Instant LATEST = Instant.parse("2025-10-31T10:00:00Z");
+
+    @Mock
+    private ForecastService forecastService;
+
+    private ForecastModelRegistry registry;
+    private ForecastResponseCache responseCache;
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @BeforeEach
+    void setUp() {
+        registry = new ForecastModelRegistry(
+                List.of(new LinearTrendForecastModel(), new HoltForecastModel(0.5, 0.3)),
+                LinearTrendForecastModel.NAME);
+        responseCache = new ForecastResponseCache(forecastService, registry,
+                new ConcurrentMapCacheManager(ForecastResponseCache.RESPONSE_CACHE), objectMapper);
+    }
+
+    @Test
+    void shouldServeCachedBytesWithoutRegeneratingForecast() throws Exception {
+        // Given
+        WeatherForecastDto forecast = createForecast();
+        when(forecastService.generateForecast("station-1", 3, LinearTrendForecastModel.NAME)).thenReturn(forecast);
+
+        // When
+        byte[] first = responseCache.get("station-1", 3, version(LATEST), Encoding.JSON).body();
+        byte[] second = responseCache.get("station-1", 3, version(LATEST), Encoding.JSON).body();
+
+        // Then
+        assertSame(first, second);
+        assertEquals(forecast, objectMapper.readValue(first, WeatherForecastDto.class));
+        verify(forecastService, times(1)).generateForecast("station-1", 3, LinearTrendForecastModel.NAME);
+    }
+
+    @Test
+    void shouldCacheEachEncodingSeparately() throws Exception {
+        // Given
+        WeatherForecastDto forecast = createForecast();
+        when(forecastService.generateForecast("station-1", 3, LinearTrendForecastModel.NAME)).thenReturn(forecast);
+
+        // When
+        byte[] json = responseCache.get("station-1", 3, version(LATEST), Encoding.JSON).body();
+        byte[] smile = responseCache.get("station-1", 3, version(LATEST), Encoding.SMILE).body();
+
+        // Then
+        assertNotEquals(json.length, smile.length);
+        SmileMapper smileMapper = new SmileMapper();
+        smileMapper.registerModule(new JavaTimeModule());
+        assertEquals(forecast, smileMapper.readValue(smile, WeatherForecastDto.class));
+    }
+
+    @Test
+    void shouldReencodeWhenVersionChanges() {
+        // Given
+        when(forecastService.generateForecast("station-1", 3, LinearTrendForecastModel.NAME))
+                .thenReturn(createForecast());
+        responseCache.get("station-1", 3, version(LATEST), Encoding.JSON);
+
+        // When
+        ForecastResponseCache.EncodedForecast encoded =
+                responseCache.get("station-1", 3, version(LATEST.plusSeconds(60)), Encoding.JSON);
+
+        // Then
+        assertEquals(version(LATEST.plusSeconds(60)).eTag(), encoded.eTag());
+        verify(forecastService, times(2)).generateForecast("station-1", 3, LinearTrendForecastModel.NAME);
+    }
+
+    @Test
+    void shouldInvalidateStationResponsesOnNewObservation() {
+        // Given
+        Cache cache = spy(new ConcurrentMapCache(ForecastResponseCache.RESPONSE_CACHE));
+        CacheManager cacheManager = mock(CacheManager.class);
+        when(cacheManager.getCache(ForecastResponseCache.RESPONSE_CACHE)).thenReturn(cache);
+        responseCache = new ForecastResponseCache(forecastService, registry, cacheManager, objectMapper);
+        when(forecastService.generateForecast("station-1", 3, LinearTrendForecastModel.NAME))
+                .thenReturn(createForecast());
+        responseCache.get("station-1", 3, version(LATEST), Encoding.SMILE);
+        WeatherData observation = new WeatherData();
+        observation.setStationKey(STATION_KEY);
+
+        // When
+        responseCache.onWeatherDataSaved(new WeatherDataSavedEvent(observation));
+        responseCache.get("station-1", 3, version(LATEST), Encoding.SMILE);
+
+        // Then - the old entry is left to age out instead of evicting every model, horizon and encoding
+        verify(forecastService, times(2)).generateForecast("station-1", 3, LinearTrendForecastModel.NAME);
+        verify(cache, never()).evict(any());
+    }
+
+    @Test
+    void shouldNegotiateEncodingInPreferenceOrder() {
+        MediaType smile = MediaType.parseMediaType(ForecastResponseCache.SMILE_VALUE);
+        assertEquals(Encoding.SMILE, Encoding.negotiate(List.of(smile, MediaType.APPLICATION_JSON)).orElseThrow());
+        assertEquals(Encoding.JSON, Encoding.negotiate(List.of(MediaType.ALL)).orElseThrow());
+        assertTrue(Encoding.negotiate(List.of(MediaType.APPLICATION_XML)).isEmpty());
+    }
+
+    private ForecastVersion version(Instant latest) {
+        return ForecastVersion.of(STATION_KEY, latest, registry.resolve(null), 3);
+    }
+
+    private WeatherForecastDto createForecast() {
+        Instant now = Instant.parse("2025-10-31T10:00:00Z");
+        List<WeatherForecastDto.ForecastItem> items = List.of(
+                new WeatherForecastDto.ForecastItem(now.plus(1, ChronoUnit.HOURS), 20.5, 60.0, 1013.0, 0.0),
+                new WeatherForecastDto.ForecastItem(now.plus(2, ChronoUnit.HOURS), 21.0, 59.0, 1013.1, 0.0),
+                new WeatherForecastDto.ForecastItem(now.plus(3, ChronoUnit.HOURS), 21.5, 58.0, 1013.2, 0.0));
+        return new WeatherForecastDto("station-1", now, items);
+    }
+}
\ No newline at end of file
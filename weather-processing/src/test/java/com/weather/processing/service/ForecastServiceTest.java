@@ -1,18 +1,42 @@
 package com.weather.processing.service;
 
+import com.weather.processing.config.CacheConfig;
 import com.weather.processing.entity.WeatherData;
+import com.weather.processing.event.StationUpdatedEvent;
+import com.weather.processing.event.WeatherDataSavedEvent;
+import com.weather.processing.forecast.ForecastModelRegistry;
+import com.weather.processing.forecast.ForecastVersion;
+import com.weather.processing.forecast.HoltForecastModel;
+import com.weather.processing.forecast.LinearTrendForecastModel;
+import com.weather.processing.forecast.ObservationWindow;
+import com.weather.processing.repository.StationHistories;
+import com.weather.processing.snapshot.StationStateSnapshot;
+import com.weather.processing.station.StationDictionary;
+import com.weather.processing.station.StationIndex;
+import com.weather.processing.station.StationService;
 import com.weather.shared.dto.WeatherForecastDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -21,16 +45,40 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class ForecastServiceTest {
 
+    private static final int STATION_KEY = 1;
+    private static final int SPARSE_STATION_KEY = 2;
+    private static final int NEAR = 3;
+    private static final int SINGLE_OBSERVATION = 4;
+    private static final int FAR = 5;
+    private static final int TOO_FAR = 6;
+
     @Mock
     private WeatherDataService weatherDataService;
 
+    @Mock
+    private StationService stationService;
+
+    @Mock
+    private StationDictionary stationDictionary;
+
     private ForecastService forecastService;
 
     @BeforeEach
     void setUp() {
-        forecastService = new ForecastService(weatherDataService);
+        ForecastModelRegistry registry = new ForecastModelRegistry(
+                List.of(new LinearTrendForecastModel(), new HoltForecastModel(0.5, 0.3)),
+                LinearTrendForecastModel.NAME);
+        forecastService = new ForecastService(weatherDataService, registry,
+                new ConcurrentMapCacheManager(ForecastService.FORECAST_CACHE), stationService, stationDictionary);
         ReflectionTestUtils.setField(forecastService, "historySize", 15);
         ReflectionTestUtils.setField(forecastService, "maxForecastHours", 24);
+        ReflectionTestUtils.setField(forecastService, "horizonMode", ForecastHorizonMode.PER_REQUEST);
+        ReflectionTestUtils.setField(forecastService, "neighbourCount", 2);
+        ReflectionTestUtils.setField(forecastService, "neighbourCandidates", 4);
+        ReflectionTestUtils.setField(forecastService, "neighbourMaxDistanceKm", 300.0);
+        lenient().when(stationDictionary.findKey("station-1")).thenReturn(OptionalInt.of(STATION_KEY));
+        lenient().when(stationDictionary.findKey("sparse-station")).thenReturn(OptionalInt.of(SPARSE_STATION_KEY));
+        lenient().when(stationDictionary.getStationId(STATION_KEY)).thenReturn("station-1");
     }
 
     @Test
@@ -40,8 +88,8 @@ class ForecastServiceTest {
         int hours = 3;
         List<WeatherData> historicalData = createHistoricalData();
 
-        when(weatherDataService.getLatestWeatherData(eq(stationId), eq(15)))
-                .thenReturn(historicalData);
+        when(weatherDataService.getLatestWindow(eq(STATION_KEY), eq(15)))
+                .thenReturn(ObservationWindow.of(historicalData));
 
         // When
         WeatherForecastDto forecast = forecastService.generateForecast(stationId, hours);
@@ -66,8 +114,8 @@ class ForecastServiceTest {
         String stationId = "station-1";
         int hours = 3;
 
-        when(weatherDataService.getLatestWeatherData(eq(stationId), eq(15)))
-                .thenReturn(List.of(createWeatherData(1))); // Only one data point
+        when(weatherDataService.getLatestWindow(eq(STATION_KEY), eq(15)))
+                .thenReturn(ObservationWindow.of(List.of(createWeatherData(1)))); // Only one data point
 
         // When & Then
         WeatherForecastDto result = forecastService.generateForecast(stationId, hours);
@@ -89,8 +137,8 @@ class ForecastServiceTest {
         String stationId = "station-1";
         int hours = 3;
 
-        when(weatherDataService.getLatestWeatherData(eq(stationId), eq(15)))
-                .thenReturn(List.of());
+        when(weatherDataService.getLatestWindow(eq(STATION_KEY), eq(15)))
+                .thenReturn(new ObservationWindow(0));
 
         // When & Then
         WeatherForecastDto result = forecastService.generateForecast(stationId, hours);
@@ -143,8 +191,8 @@ class ForecastServiceTest {
                 createWeatherDataWithValues(2, 20.0, 64.0, 1008.0, 0.0)
         );
 
-        when(weatherDataService.getLatestWeatherData(eq(stationId), eq(15)))
-                .thenReturn(historicalData);
+        when(weatherDataService.getLatestWindow(eq(STATION_KEY), eq(15)))
+                .thenReturn(ObservationWindow.of(historicalData));
 
         // When
         WeatherForecastDto forecast = forecastService.generateForecast(stationId, hours);
@@ -164,8 +212,8 @@ class ForecastServiceTest {
         int hours = 5;
         List<WeatherData> historicalData = createHistoricalData();
 
-        when(weatherDataService.getLatestWeatherData(eq(stationId), eq(15)))
-                .thenReturn(historicalData);
+        when(weatherDataService.getLatestWindow(eq(STATION_KEY), eq(15)))
+                .thenReturn(ObservationWindow.of(historicalData));
 
         // When
         WeatherForecastDto forecast = forecastService.generateForecast(stationId, hours);
@@ -192,8 +240,8 @@ class ForecastServiceTest {
 
         WeatherData latestData = createWeatherDataWithValues(0, 25.5, 65.0, 1013.25, 1.0);
 
-        when(weatherDataService.getLatestWeatherData(eq(stationId), eq(15)))
-                .thenReturn(List.of(latestData));
+        when(weatherDataService.getLatestWindow(eq(STATION_KEY), eq(15)))
+                .thenReturn(ObservationWindow.of(List.of(latestData)));
 
         // When
         WeatherForecastDto result = forecastService.generateForecast(stationId, hours);
@@ -209,6 +257,328 @@ class ForecastServiceTest {
         assertTrue(firstForecast.getPressure() >= 1013.2 && firstForecast.getPressure() <= 1013.4);
     }
 
+    @Test
+    void shouldGenerateForecastWithRequestedModel() {
+        // Given
+        String stationId = "station-1";
+        int hours = 4;
+
+        when(weatherDataService.getLatestWindow(eq(STATION_KEY), eq(15)))
+                .thenReturn(ObservationWindow.of(createHistoricalData()));
+
+        // When
+        WeatherForecastDto forecast = forecastService.generateForecast(stationId, hours, HoltForecastModel.NAME);
+
+        // Then
+        assertEquals(hours, forecast.getForecasts().size());
+        // history is cooling by one degree per hour
+        assertTrue(forecast.getForecasts().get(0).getTemperature() < 20.0);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenUnknownModel() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> forecastService.generateForecast("station-1", 3, "unknown"));
+
+        verifyNoInteractions(weatherDataService);
+    }
+
+    @Test
+    void shouldServeAnyHorizonFromSingleComputation() {
+        // Given
+        String stationId = "station-1";
+        ReflectionTestUtils.setField(forecastService, "horizonMode", ForecastHorizonMode.LAZY);
+
+        when(weatherDataService.getLatestWindow(eq(STATION_KEY), eq(15)))
+                .thenReturn(ObservationWindow.of(createHistoricalData()));
+
+        // When
+        WeatherForecastDto threeHours = forecastService.generateForecast(stationId, 3);
+        WeatherForecastDto fullDay = forecastService.generateForecast(stationId, 24);
+
+        // Then
+        assertEquals(3, threeHours.getForecasts().size());
+        assertEquals(24, fullDay.getForecasts().size());
+        assertEquals(fullDay.getForecasts().subList(0, 3), threeHours.getForecasts());
+        assertEquals(fullDay.getGeneratedAt(), threeHours.getGeneratedAt());
+        verify(weatherDataService, times(1)).getLatestWindow(STATION_KEY, 15);
+    }
+
+    @Test
+    void shouldRecomputeHorizonLazilyAfterNewObservation() {
+        // Given
+        String stationId = "station-1";
+        ReflectionTestUtils.setField(forecastService, "horizonMode", ForecastHorizonMode.LAZY);
+
+        when(weatherDataService.getLatestWindow(eq(STATION_KEY), eq(15)))
+                .thenReturn(ObservationWindow.of(createHistoricalData()));
+        forecastService.generateForecast(stationId, 3);
+
+        // When
+        forecastService.onWeatherDataSaved(new WeatherDataSavedEvent(createWeatherData(0)));
+        verify(weatherDataService, times(1)).getLatestWindow(STATION_KEY, 15);
+        forecastService.generateForecast(stationId, 3);
+
+        // Then
+        verify(weatherDataService, times(2)).getLatestWindow(STATION_KEY, 15);
+    }
+
+    @Test
+    void shouldEvictPerRequestEntriesOnNewObservation() {
+        // Given
+        String stationId = "station-1";
+
+        when(weatherDataService.getLatestWindow(eq(STATION_KEY), eq(15)))
+                .thenReturn(ObservationWindow.of(createHistoricalData()));
+        forecastService.generateForecast(stationId, 3);
+        forecastService.generateForecast(stationId, 3);
+        verify(weatherDataService, times(1)).getLatestWindow(STATION_KEY, 15);
+
+        // When
+        forecastService.onWeatherDataSaved(new WeatherDataSavedEvent(createWeatherData(0)));
+        forecastService.generateForecast(stationId, 3);
+
+        // Then
+        verify(weatherDataService, times(2)).getLatestWindow(STATION_KEY, 15);
+    }
+
+    @Test
+    void shouldInvalidateStationWithoutEvictingKeyByKey() {
+        // Given
+        Cache cache = spy(new ConcurrentMapCache(ForecastService.FORECAST_CACHE));
+        CacheManager cacheManager = mock(CacheManager.class);
+        when(cacheManager.getCache(ForecastService.FORECAST_CACHE)).thenReturn(cache);
+        ReflectionTestUtils.setField(forecastService, "cacheManager", cacheManager);
+        when(weatherDataService.getLatestWindow(eq(STATION_KEY), eq(15)))
+                .thenReturn(ObservationWindow.of(createHistoricalData()));
+        forecastService.generateForecast("station-1", 3);
+
+        // When
+        forecastService.onWeatherDataSaved(new WeatherDataSavedEvent(createWeatherData(0)));
+        forecastService.generateForecast("station-1", 3);
+
+        // Then
+        verify(cache, never()).evict(any());
+        verify(weatherDataService, times(2)).getLatestWindow(STATION_KEY, 15);
+    }
+
+    @Test
+    void shouldDeriveForecastVersionWithoutComputingForecast() {
+        // Given
+        Instant latest = Instant.parse("2025-10-31T10:00:00Z");
+        when(weatherDataService.getLatestTimestamp(STATION_KEY)).thenReturn(Optional.of(latest));
+
+        // When
+        ForecastVersion version = forecastService.getForecastVersion("station-1", 3, null).orElseThrow();
+        ForecastVersion again = forecastService.getForecastVersion("station-1", 3, null).orElseThrow();
+        ForecastVersion holt = forecastService.getForecastVersion("station-1", 3, HoltForecastModel.NAME).orElseThrow();
+
+        // Then
+        assertEquals(latest, version.lastModified());
+        assertTrue(version.eTag().startsWith("W/\""));
+        assertEquals(version, again);
+        assertNotEquals(version.eTag(), holt.eTag());
+        verify(weatherDataService, times(1)).getLatestTimestamp(STATION_KEY);
+        verify(weatherDataService, never()).getLatestWindow(anyInt(), anyInt());
+    }
+
+    @Test
+    void shouldChangeForecastVersionOnNewObservation() {
+        // Given
+        Instant latest = Instant.parse("2025-10-31T10:00:00Z");
+        when(weatherDataService.getLatestTimestamp(STATION_KEY)).thenReturn(Optional.of(latest));
+        ForecastVersion before = forecastService.getForecastVersion("station-1", 3, null).orElseThrow();
+        WeatherData observation = createWeatherData(0);
+
+        // When
+        forecastService.onWeatherDataSaved(new WeatherDataSavedEvent(observation));
+        ForecastVersion after = forecastService.getForecastVersion("station-1", 3, null).orElseThrow();
+
+        // Then
+        assertNotEquals(before.eTag(), after.eTag());
+        assertEquals(observation.getTimestamp(), after.lastModified());
+    }
+
+    @Test
+    void shouldEvictAndChangeForecastVersionOnRemoteUpdate() {
+        // Given
+        Instant latest = Instant.parse("2025-10-31T10:00:00Z");
+        Instant remote = latest.plus(15, ChronoUnit.MINUTES);
+        when(weatherDataService.getLatestTimestamp(STATION_KEY)).thenReturn(Optional.of(latest));
+        when(weatherDataService.getLatestWindow(eq(STATION_KEY), eq(15)))
+                .thenReturn(ObservationWindow.of(createHistoricalData()));
+        ForecastVersion before = forecastService.getForecastVersion("station-1", 3, null).orElseThrow();
+        forecastService.generateForecast("station-1", 3);
+
+        // When
+        forecastService.onStationUpdated(new StationUpdatedEvent(STATION_KEY, remote));
+        ForecastVersion after = forecastService.getForecastVersion("station-1", 3, null).orElseThrow();
+        forecastService.generateForecast("station-1", 3);
+
+        // Then
+        assertNotEquals(before.eTag(), after.eTag());
+        assertEquals(remote, after.lastModified());
+        verify(weatherDataService, times(2)).getLatestWindow(STATION_KEY, 15);
+    }
+
+    @Test
+    void shouldHaveNoForecastVersionWithoutObservations() {
+        // Given
+        when(stationDictionary.findKey("unknown")).thenReturn(OptionalInt.empty());
+        when(weatherDataService.getLatestTimestamp(STATION_KEY)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertTrue(forecastService.getForecastVersion("unknown", 3, null).isEmpty());
+        assertTrue(forecastService.getForecastVersion("station-1", 3, null).isEmpty());
+    }
+
+    @Test
+    void shouldPrecomputeHorizonEagerlyOnNewObservation() {
+        // Given
+        String stationId = "station-1";
+        ReflectionTestUtils.setField(forecastService, "horizonMode", ForecastHorizonMode.EAGER);
+
+        when(weatherDataService.getLatestWindow(eq(STATION_KEY), eq(15)))
+                .thenReturn(ObservationWindow.of(createHistoricalData()));
+
+        // When
+        forecastService.onWeatherDataSaved(new WeatherDataSavedEvent(createWeatherData(0)));
+        WeatherForecastDto forecast = forecastService.generateForecast(stationId, 6);
+
+        // Then
+        assertEquals(6, forecast.getForecasts().size());
+        verify(weatherDataService, times(1)).getLatestWindow(STATION_KEY, 15);
+    }
+
+    @Test
+    void shouldRestoreCapturedStateWithoutDatabaseReads() {
+        // Given
+        Instant latest = Instant.parse("2025-10-31T10:00:00.5Z");
+        when(weatherDataService.getLatestTimestamp(STATION_KEY)).thenReturn(Optional.of(latest));
+        when(weatherDataService.getLatestWindow(eq(STATION_KEY), eq(15)))
+                .thenReturn(ObservationWindow.of(createHistoricalData()));
+        ForecastService before = caffeineForecastService(ForecastHorizonMode.LAZY);
+        ForecastVersion version = before.getForecastVersion("station-1", 3, null).orElseThrow();
+        WeatherForecastDto forecast = before.generateForecast("station-1", 3);
+        StationStateSnapshot snapshot = before.captureState();
+
+        // When
+        ForecastService after = caffeineForecastService(ForecastHorizonMode.LAZY);
+        for (int station = 0; station < snapshot.stationCount(); station++) {
+            after.restoreLatestObservation(snapshot.stationKey(station), snapshot.latestObservation(station));
+        }
+        snapshot.getForecasts().forEach(after::restoreForecast);
+
+        // Then
+        assertEquals(1, snapshot.getForecasts().size());
+        assertEquals(version, after.getForecastVersion("station-1", 3, null).orElseThrow());
+        assertEquals(forecast, after.generateForecast("station-1", 3));
+        assertFalse(caffeineForecastService(ForecastHorizonMode.PER_REQUEST)
+                .restoreForecast(snapshot.getForecasts().get(0)));
+        verify(weatherDataService, times(1)).getLatestTimestamp(STATION_KEY);
+        verify(weatherDataService, times(1)).getLatestWindow(STATION_KEY, 15);
+    }
+
+    @Test
+    void shouldRestoreForecastWithRemainingLifetimeOnly() {
+        // Given
+        ForecastService service = caffeineForecastService(ForecastHorizonMode.PER_REQUEST);
+        Instant now = Instant.now();
+        StationStateSnapshot.CachedForecast aging = new StationStateSnapshot.CachedForecast(STATION_KEY,
+                LinearTrendForecastModel.NAME, 3, new WeatherForecastDto("station-1", now.minus(Duration.ofMinutes(25)),
+                List.of()));
+        StationStateSnapshot.CachedForecast expired = new StationStateSnapshot.CachedForecast(STATION_KEY,
+                LinearTrendForecastModel.NAME, 6, new WeatherForecastDto("station-1", now.minus(Duration.ofMinutes(31)),
+                List.of()));
+
+        // When
+        boolean agingRestored = service.restoreForecast(aging);
+        boolean expiredRestored = service.restoreForecast(expired);
+
+        // Then
+        assertTrue(agingRestored);
+        assertFalse(expiredRestored);
+        CaffeineCache cache = (CaffeineCache) ((CaffeineCacheManager) ReflectionTestUtils.getField(service,
+                "cacheManager")).getCache(ForecastService.FORECAST_CACHE);
+        assertEquals(1, cache.getNativeCache().estimatedSize());
+        Object key = cache.getNativeCache().asMap().keySet().iterator().next();
+        Duration expiresAfter = cache.getNativeCache().policy().expireVariably().orElseThrow()
+                .getExpiresAfter(key).orElseThrow();
+        assertTrue(expiresAfter.compareTo(Duration.ofMinutes(5)) <= 0, expiresAfter.toString());
+    }
+
+    @Test
+    void shouldInterpolateForecastFromNearestObservedStations() {
+        // Given
+        String stationId = "sparse-station";
+        when(weatherDataService.getLatestWindow(eq(SPARSE_STATION_KEY), eq(15))).thenReturn(new ObservationWindow(0));
+        when(stationService.findNeighbours(SPARSE_STATION_KEY, 4)).thenReturn(List.of(
+                new StationIndex.Neighbour(NEAR, 0, 0, 10.0),
+                new StationIndex.Neighbour(SINGLE_OBSERVATION, 0, 0, 15.0),
+                new StationIndex.Neighbour(FAR, 0, 0, 20.0),
+                new StationIndex.Neighbour(TOO_FAR, 0, 0, 400.0)));
+        when(weatherDataService.getLatestHistories(eq(List.of(NEAR, SINGLE_OBSERVATION, FAR)), eq(15)))
+                .thenReturn(histories(Map.of(
+                        NEAR, List.of(createWeatherDataWithValues(0, 10.0, 50.0, 1000.0, 0.0),
+                                createWeatherDataWithValues(1, 10.0, 50.0, 1000.0, 0.0)),
+                        SINGLE_OBSERVATION, List.of(createWeatherDataWithValues(0, 40.0, 90.0, 900.0, 5.0)),
+                        FAR, List.of(createWeatherDataWithValues(0, 20.0, 100.0, 1010.0, 5.0),
+                                createWeatherDataWithValues(1, 20.0, 100.0, 1010.0, 5.0)))));
+
+        // When
+        WeatherForecastDto forecast = forecastService.generateForecast(stationId, 2);
+
+        // Then - weights 1/10^2 and 1/20^2
+        assertEquals(stationId, forecast.getStationId());
+        assertEquals(2, forecast.getForecasts().size());
+        WeatherForecastDto.ForecastItem item = forecast.getForecasts().get(1);
+        assertEquals(12.0, item.getTemperature(), 0.01);
+        assertEquals(60.0, item.getHumidity(), 0.01);
+        assertEquals(1002.0, item.getPressure(), 0.01);
+        assertEquals(1.0, item.getPrecipitation(), 0.01);
+    }
+
+    @Test
+    void shouldFallBackToTestForecastWhenNoNeighboursHaveHistory() {
+        // Given
+        String stationId = "sparse-station";
+        when(weatherDataService.getLatestWindow(eq(SPARSE_STATION_KEY), eq(15))).thenReturn(new ObservationWindow(0));
+        when(stationService.findNeighbours(SPARSE_STATION_KEY, 4))
+                .thenReturn(List.of(new StationIndex.Neighbour(NEAR, 0, 0, 10.0)));
+        when(weatherDataService.getLatestHistories(eq(List.of(NEAR)), eq(15))).thenReturn(histories(Map.of()));
+
+        // When
+        WeatherForecastDto forecast = forecastService.generateForecast(stationId, 1);
+
+        // Then
+        assertEquals(20.5, forecast.getForecasts().get(0).getTemperature(), 0.01);
+    }
+
+    private ForecastService caffeineForecastService(ForecastHorizonMode horizonMode) {
+        ForecastModelRegistry registry = new ForecastModelRegistry(
+                List.of(new LinearTrendForecastModel(), new HoltForecastModel(0.5, 0.3)),
+                LinearTrendForecastModel.NAME);
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(ForecastService.FORECAST_CACHE,
+                CacheConfig.forecastCacheBuilder(DataSize.ofMegabytes(1), Duration.ofMinutes(30)).build());
+        ForecastService service = new ForecastService(weatherDataService, registry, cacheManager, stationService,
+                stationDictionary);
+        ReflectionTestUtils.setField(service, "historySize", 15);
+        ReflectionTestUtils.setField(service, "maxForecastHours", 24);
+        ReflectionTestUtils.setField(service, "horizonMode", horizonMode);
+        ReflectionTestUtils.setField(service, "forecastsTtl", Duration.ofMinutes(30));
+        return service;
+    }
+
+    private StationHistories histories(Map<Integer, List<WeatherData>> newestFirst) {
+        StationHistories histories = new StationHistories(newestFirst.size(), newestFirst.size() * 2);
+        newestFirst.keySet().stream().sorted().forEach(stationKey -> newestFirst.get(stationKey).forEach(data ->
+                histories.add(stationKey, data.getTimestamp().getEpochSecond(), data.getTemperature(),
+                        data.getHumidity(), data.getPressure(), data.getPrecipitation())));
+        return histories;
+    }
+
     private List<WeatherData> createHistoricalData() {
         return Arrays.asList(
                 createWeatherData(0),
@@ -221,7 +591,7 @@ class ForecastServiceTest {
 
     private WeatherData createWeatherData(int hoursAgo) {
         WeatherData data = new WeatherData();
-        data.setStationId("station-1");
+        data.setStationKey(STATION_KEY);
         data.setTimestamp(Instant.now().minus(hoursAgo, ChronoUnit.HOURS));
         data.setTemperature(20.0 + hoursAgo);
         data.setHumidity(60.0 - hoursAgo);
@@ -232,7 +602,7 @@ class ForecastServiceTest {
 
     private WeatherData createWeatherDataWithValues(int hoursAgo, double temp, double humidity, double pressure, double precipitation) {
         WeatherData data = new WeatherData();
-        data.setStationId("station-1");
+        data.setStationKey(STATION_KEY);
         data.setTimestamp(Instant.now().minus(hoursAgo, ChronoUnit.HOURS));
         data.setTemperature(temp);
         data.setHumidity(humidity);
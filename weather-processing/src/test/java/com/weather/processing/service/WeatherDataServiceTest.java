@@ -1,15 +1,23 @@
 package com.weather.processing.service;
 
 import com.weather.processing.entity.WeatherData;
+import com.weather.processing.event.WeatherDataSavedEvent;
+import com.weather.processing.forecast.ObservationWindow;
+import com.weather.processing.messaging.PipelineMetrics;
 import com.weather.processing.repository.WeatherDataRepository;
+import com.weather.processing.station.StationDictionary;
 import com.weather.shared.messaging.WeatherMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Instant;
 import java.util.List;
@@ -21,9 +29,22 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class WeatherDataServiceTest {
 
+    private static final int STATION_KEY = 1;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @Mock
     private WeatherDataRepository weatherDataRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StationDictionary stationDictionary;
+
+    @Spy
+    private PipelineMetrics pipelineMetrics = new PipelineMetrics(meterRegistry);
+
     @InjectMocks
     private WeatherDataService weatherDataService;
 
@@ -42,17 +63,22 @@ class WeatherDataServiceTest {
                 0.0
         );
 
-        when(weatherDataRepository.existsByStationIdAndTimestamp(
-                eq("station-1"),
+        when(stationDictionary.getOrCreateKey("station-1")).thenReturn(STATION_KEY);
+        when(weatherDataRepository.existsByStationKeyAndTimestamp(
+                eq(STATION_KEY),
                 any(Instant.class)))
                 .thenReturn(false);
 
         // When
-        weatherDataService.saveWeatherData(message);
+        boolean saved = weatherDataService.saveWeatherData(message);
 
         // Then
+        assertTrue(saved);
         verify(weatherDataRepository).save(any(WeatherData.class));
-        verify(weatherDataRepository).existsByStationIdAndTimestamp("station-1", message.getTimestamp());
+        verify(weatherDataRepository).existsByStationKeyAndTimestamp(STATION_KEY, message.getTimestamp());
+        verify(eventPublisher).publishEvent(any(WeatherDataSavedEvent.class));
+        assertEquals(1, timerCount(PipelineMetrics.DEDUP_CHECK, "saved"));
+        assertEquals(1, timerCount(PipelineMetrics.DB_WRITE, "saved"));
     }
 
     @Test
@@ -67,35 +93,52 @@ class WeatherDataServiceTest {
                 0.0
         );
 
-        when(weatherDataRepository.existsByStationIdAndTimestamp(
-                eq("station-1"),
+        when(stationDictionary.getOrCreateKey("station-1")).thenReturn(STATION_KEY);
+        when(weatherDataRepository.existsByStationKeyAndTimestamp(
+                eq(STATION_KEY),
                 any(Instant.class)))
                 .thenReturn(true);
 
         // When
-        weatherDataService.saveWeatherData(message);
+        boolean saved = weatherDataService.saveWeatherData(message);
 
         // Then
+        assertFalse(saved);
         verify(weatherDataRepository, never()).save(any(WeatherData.class));
-        verify(weatherDataRepository).existsByStationIdAndTimestamp("station-1", message.getTimestamp());
+        verify(weatherDataRepository).existsByStationKeyAndTimestamp(STATION_KEY, message.getTimestamp());
+        verifyNoInteractions(eventPublisher);
+        assertEquals(1, timerCount(PipelineMetrics.DEDUP_CHECK, "duplicate"));
+        assertEquals(0, timerCount(PipelineMetrics.DB_WRITE, "saved"));
     }
 
     @Test
-    void shouldGetLatestWeatherData() {
+    void shouldRecordFailedWrite() {
+        // Given
+        WeatherMessage message = new WeatherMessage("station-1", Instant.now(), 25.5, 65.0, 1013.25, 0.0);
+        when(stationDictionary.getOrCreateKey("station-1")).thenReturn(STATION_KEY);
+        when(weatherDataRepository.save(any(WeatherData.class))).thenThrow(new IllegalStateException("DB down"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> weatherDataService.saveWeatherData(message));
+        assertEquals(1, timerCount(PipelineMetrics.DB_WRITE, "failed"));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldGetLatestWindow() {
         // Given
-        String stationId = "station-1";
         int limit = 10;
-        List<WeatherData> expectedData = List.of(createWeatherData());
+        ObservationWindow expectedWindow = ObservationWindow.of(List.of(createWeatherData()));
 
-        when(weatherDataRepository.findLatestByStationId(eq(stationId), eq(limit)))
-                .thenReturn(expectedData);
+        when(weatherDataRepository.findLatestWindow(eq(STATION_KEY), eq(limit)))
+                .thenReturn(expectedWindow);
 
         // When
-        List<WeatherData> result = weatherDataService.getLatestWeatherData(stationId, limit);
+        ObservationWindow result = weatherDataService.getLatestWindow(STATION_KEY, limit);
 
         // Then
-        assertEquals(expectedData, result);
-        verify(weatherDataRepository).findLatestByStationId(stationId, limit);
+        assertSame(expectedWindow, result);
+        verify(weatherDataRepository).findLatestWindow(STATION_KEY, limit);
     }
 
     @Test
@@ -112,10 +155,14 @@ class WeatherDataServiceTest {
         verify(weatherDataRepository).count();
     }
 
+    private long timerCount(String name, String outcome) {
+        return meterRegistry.get(name).tag("outcome", outcome).timer().count();
+    }
+
     private WeatherData createWeatherData() {
         WeatherData data = new WeatherData();
         data.setId(1L);
-        data.setStationId("station-1");
+        data.setStationKey(STATION_KEY);
         data.setTimestamp(Instant.now());
         data.setTemperature(25.5);
         data.setHumidity(65.0);
@@ -0,0 +1,159 @@
+package com.weather.processing.snapshot;
+
+import com.weather.processing.repository.StationHistories;
+import com.weather.processing.service.ForecastService;
+import com.weather.processing.service.WeatherDataService;
+import com.weather.shared.dto.WeatherForecastDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StationStateSnapshotServiceTest {
+
+    private static final int UNCHANGED = 1;
+    private static final int OBSERVED_SINCE = 2;
+    private static final int WITHOUT_OBSERVATIONS = 3;
+
+    @Mock
+    private ForecastService forecastService;
+
+    @Mock
+    private WeatherDataService weatherDataService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @TempDir
+    private Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StationStateSnapshotService snapshotService;
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        snapshotService = new StationStateSnapshotService(forecastService, weatherDataService, taskScheduler,
+                meterRegistry);
+        file = directory.resolve("station-state.snapshot");
+        ReflectionTestUtils.setField(snapshotService, "enabled", true);
+        ReflectionTestUtils.setField(snapshotService, "path", file);
+        ReflectionTestUtils.setField(snapshotService, "interval", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(snapshotService, "forecastsTtl", Duration.ofMinutes(30));
+    }
+
+    @Test
+    void shouldRestoreOnlyStationsWithoutNewerObservations() throws IOException {
+        // Given
+        Instant now = Instant.now();
+        Instant latest = now.minus(10, ChronoUnit.MINUTES).truncatedTo(ChronoUnit.SECONDS).plusMillis(250);
+        Instant fresh = now.minus(5, ChronoUnit.MINUTES);
+        StationStateSnapshot snapshot = new StationStateSnapshot(now.minus(1, ChronoUnit.MINUTES));
+        snapshot.addLatestObservation(UNCHANGED, latest);
+        snapshot.addLatestObservation(OBSERVED_SINCE, latest);
+        snapshot.addForecast(UNCHANGED, "linear", 3, forecast("station-1", fresh));
+        snapshot.addForecast(UNCHANGED, "linear", 6, forecast("station-1", now.minus(2, ChronoUnit.HOURS)));
+        snapshot.addForecast(OBSERVED_SINCE, "linear", 3, forecast("station-2", fresh));
+        snapshot.addForecast(WITHOUT_OBSERVATIONS, "linear", 3, forecast("station-3", fresh));
+        snapshot.write(file);
+
+        StationHistories stored = new StationHistories(2, 2);
+        stored.add(UNCHANGED, latest.getEpochSecond(), 20.0, 60.0, 1013.0, 0.0);
+        stored.add(OBSERVED_SINCE, latest.getEpochSecond() + 60, 20.0, 60.0, 1013.0, 0.0);
+        when(weatherDataService.getLatestHistories(anyCollection(), eq(1))).thenReturn(stored);
+        when(forecastService.restoreForecast(any())).thenReturn(true);
+
+        // When
+        snapshotService.start();
+
+        // Then
+        verify(weatherDataService).getLatestHistories(
+                argThat((Collection<Integer> keys) -> Set.copyOf(keys).equals(
+                        Set.of(UNCHANGED, OBSERVED_SINCE, WITHOUT_OBSERVATIONS))), eq(1));
+        verify(forecastService).restoreLatestObservation(UNCHANGED, latest);
+        verify(forecastService, never()).restoreLatestObservation(eq(OBSERVED_SINCE), any());
+        verify(forecastService).restoreForecast(argThat(forecast -> forecast.stationKey() == UNCHANGED
+                && forecast.hours() == 3));
+        verify(forecastService).restoreForecast(argThat(forecast -> forecast.stationKey() == WITHOUT_OBSERVATIONS));
+        verifyNoMoreInteractions(forecastService);
+        assertEquals(1.0, meterRegistry.get(StationStateSnapshotService.RESTORE_STALE_STATIONS).gauge().value());
+        assertEquals(60.0, meterRegistry.get(StationStateSnapshotService.RESTORE_AGE).timeGauge()
+                .value(TimeUnit.SECONDS), 1.0);
+        verify(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), any(Instant.class),
+                eq(Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void shouldStartColdFromUnreadableSnapshot() throws IOException {
+        // Given
+        Files.writeString(file, "garbage");
+
+        // When
+        snapshotService.start();
+
+        // Then
+        assertTrue(snapshotService.isRunning());
+        verifyNoInteractions(forecastService, weatherDataService);
+    }
+
+    @Test
+    void shouldWriteSnapshotOnStop() throws IOException {
+        // Given
+        StationStateSnapshot snapshot = new StationStateSnapshot(Instant.now());
+        snapshot.addLatestObservation(UNCHANGED, Instant.now());
+        when(forecastService.captureState()).thenReturn(snapshot);
+        doReturn(mock(ScheduledFuture.class)).when(taskScheduler)
+                .scheduleWithFixedDelay(any(Runnable.class), any(Instant.class), any(Duration.class));
+        snapshotService.start();
+
+        // When
+        snapshotService.stop();
+
+        // Then
+        assertFalse(snapshotService.isRunning());
+        assertEquals(1, StationStateSnapshot.read(file).stationCount());
+        assertEquals(1, meterRegistry.get(StationStateSnapshotService.WRITE).timer().count());
+    }
+
+    @Test
+    void shouldDoNothingWhenDisabled() {
+        // Given
+        ReflectionTestUtils.setField(snapshotService, "enabled", false);
+
+        // When
+        snapshotService.start();
+        snapshotService.stop();
+
+        // Then
+        verifyNoInteractions(forecastService, weatherDataService, taskScheduler);
+        assertFalse(Files.exists(file));
+    }
+
+    private WeatherForecastDto forecast(String stationId, Instant generatedAt) {
+        return new WeatherForecastDto(stationId, generatedAt, List.of(new WeatherForecastDto.ForecastItem(
+                generatedAt.plus(1, ChronoUnit.HOURS), 20.0, 60.0, 1013.0, 0.0)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.weather.processing.snapshot;
+
+import com.weather.shared.dto.WeatherForecastDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StationStateSnapshotTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2025-10-31T12:00:00.123456Z");
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldReadWhatWasWritten() throws IOException {
+        // Given
+        StationStateSnapshot snapshot = new StationStateSnapshot(CREATED_AT);
+        for (int stationKey = 1; stationKey <= 100; stationKey++) {
+            snapshot.addLatestObservation(stationKey, CREATED_AT.minusSeconds(stationKey));
+        }
+        WeatherForecastDto forecast = new WeatherForecastDto("station-1", CREATED_AT, List.of(
+                new WeatherForecastDto.ForecastItem(CREATED_AT.plusSeconds(3600), 21.5, 60.0, 1013.2, 0.0),
+                new WeatherForecastDto.ForecastItem(CREATED_AT.plusSeconds(7200), 22.0, 58.0, 1013.3, null)));
+        snapshot.addForecast(1, "linear", 0, forecast);
+        snapshot.addForecast(1, "holt", 2, forecast);
+        Path file = directory.resolve("state").resolve("station-state.snapshot");
+
+        // When
+        long bytes = snapshot.write(file);
+        StationStateSnapshot read = StationStateSnapshot.read(file);
+
+        // Then
+        assertEquals(Files.size(file), bytes);
+        assertFalse(Files.exists(directory.resolve("state").resolve("station-state.snapshot.tmp")));
+        assertEquals(CREATED_AT, read.getCreatedAt());
+        assertEquals(100, read.stationCount());
+        assertEquals(42, read.stationKey(41));
+        assertEquals(CREATED_AT.minusSeconds(42), read.latestObservation(41));
+        assertEquals(List.of(new StationStateSnapshot.CachedForecast(1, "linear", 0, forecast),
+                new StationStateSnapshot.CachedForecast(1, "holt", 2, forecast)), read.getForecasts());
+    }
+
+    @Test
+    void shouldReplacePreviousSnapshot() throws IOException {
+        // Given
+        Path file = directory.resolve("station-state.snapshot");
+        StationStateSnapshot first = new StationStateSnapshot(CREATED_AT);
+        first.addLatestObservation(1, CREATED_AT);
+        first.write(file);
+
+        // When
+        new StationStateSnapshot(CREATED_AT.plusSeconds(60)).write(file);
+
+        // Then
+        StationStateSnapshot read = StationStateSnapshot.read(file);
+        assertEquals(CREATED_AT.plusSeconds(60), read.getCreatedAt());
+        assertEquals(0, read.stationCount());
+    }
+
+    @Test
+    void shouldRejectForeignAndTruncatedFiles() throws IOException {
+        // Given
+        Path foreign = Files.write(directory.resolve("foreign"), "not a snapshot".getBytes());
+        Path truncated = directory.resolve("truncated");
+        StationStateSnapshot snapshot = new StationStateSnapshot(CREATED_AT);
+        snapshot.addLatestObservation(1, CREATED_AT);
+        snapshot.write(truncated);
+        byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 3));
+
+        // When & Then
+        assertThrows(IOException.class, () -> StationStateSnapshot.read(foreign));
+        assertThrows(IOException.class, () -> StationStateSnapshot.read(truncated));
+    }
+}
\ No newline at end of file
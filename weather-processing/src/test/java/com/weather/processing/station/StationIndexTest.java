@@ -0,0 +1,169 @@
+package com.weather.processing.station;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StationIndexTest {
+
+    private static final int EAST = 1;
+    private static final int WEST = 2;
+    private static final int GREENWICH = 3;
+
+    @Test
+    void shouldFindSameNearestStationsAsBruteForce() {
+        // Given
+        Random random = new Random(7);
+        List<StationIndex.Entry> entries = randomEntries(random, 5000);
+        StationIndex index = StationIndex.of(entries);
+
+        for (int query = 0; query < 200; query++) {
+            double latitude = random.nextDouble() * 180 - 90;
+            double longitude = random.nextDouble() * 360 - 180;
+
+            // When
+            List<StationIndex.Neighbour> nearest = index.nearest(latitude, longitude, 8, key -> true);
+
+            // Then
+            List<Integer> expected = entries.stream()
+                    .sorted(Comparator.comparingDouble(entry -> haversineKm(latitude, longitude, entry)))
+                    .limit(8)
+                    .map(StationIndex.Entry::stationKey)
+                    .toList();
+            assertEquals(expected, nearest.stream().map(StationIndex.Neighbour::stationKey).toList());
+        }
+    }
+
+    @Test
+    void shouldFindSameStationsWithinRadiusAsBruteForce() {
+        // Given
+        Random random = new Random(11);
+        List<StationIndex.Entry> entries = randomEntries(random, 5000);
+        StationIndex index = StationIndex.of(entries);
+
+        for (int query = 0; query < 100; query++) {
+            double latitude = random.nextDouble() * 180 - 90;
+            double longitude = random.nextDouble() * 360 - 180;
+
+            // When
+            List<StationIndex.Neighbour> found = index.withinRadius(latitude, longitude, 500, Integer.MAX_VALUE);
+
+            // Then
+            long expected = entries.stream().filter(entry -> haversineKm(latitude, longitude, entry) <= 500).count();
+            assertEquals(expected, found.size());
+            found.forEach(neighbour -> assertTrue(neighbour.distanceKm() <= 500));
+        }
+    }
+
+    @Test
+    void shouldMeasureGreatCircleDistanceAcrossAntimeridian() {
+        // Given - one degree of longitude apart at the equator, on both sides of 180
+        StationIndex index = StationIndex.of(List.of(
+                new StationIndex.Entry(EAST, 0, 179.5),
+                new StationIndex.Entry(WEST, 0, -179.5),
+                new StationIndex.Entry(GREENWICH, 0, 0)));
+
+        // When
+        List<StationIndex.Neighbour> nearest = index.nearest(0, 179.5, 2, key -> key != EAST);
+
+        // Then
+        assertEquals(WEST, nearest.get(0).stationKey());
+        assertEquals(111.2, nearest.get(0).distanceKm(), 0.1);
+        assertEquals(GREENWICH, nearest.get(1).stationKey());
+    }
+
+    @Test
+    void shouldReplaceMovedStation() {
+        // Given
+        StationIndex index = StationIndex.of(List.of(
+                new StationIndex.Entry(1, 55.75, 37.62),
+                new StationIndex.Entry(2, 59.94, 30.31)));
+
+        // When
+        StationIndex moved = index.with(new StationIndex.Entry(1, 59.93, 30.30));
+
+        // Then
+        assertEquals(2, moved.size());
+        assertEquals(59.93, moved.find(1).latitude());
+        assertEquals(55.75, index.find(1).latitude());
+        assertTrue(moved.nearest(59.94, 30.31, 1, key -> key != 2).get(0).distanceKm() < 2);
+    }
+
+    @Test
+    void shouldMatchBruteForceWhileRegistrationsAreInOverlay() {
+        // Given - enough registrations to fill the overlay, trigger a rebuild and fill it again
+        Random random = new Random(13);
+        List<StationIndex.Entry> entries = new ArrayList<>(randomEntries(random, 2000));
+        StationIndex index = StationIndex.of(entries);
+        for (StationIndex.Entry entry : randomEntries(random, StationIndex.OVERLAY_LIMIT + 100)) {
+            StationIndex.Entry registered = random.nextBoolean()
+                    ? entry
+                    : new StationIndex.Entry(random.nextInt(2000) + 1, entry.latitude(), entry.longitude());
+            entries.removeIf(existing -> existing.stationKey() == registered.stationKey());
+            entries.add(registered);
+            index = index.with(registered);
+        }
+
+        // When & Then
+        assertEquals(entries.size(), index.size());
+        for (int query = 0; query < 100; query++) {
+            double latitude = random.nextDouble() * 180 - 90;
+            double longitude = random.nextDouble() * 360 - 180;
+            List<Integer> expected = entries.stream()
+                    .sorted(Comparator.comparingDouble(entry -> haversineKm(latitude, longitude, entry)))
+                    .limit(5)
+                    .map(StationIndex.Entry::stationKey)
+                    .toList();
+            assertEquals(expected, index.nearest(latitude, longitude, 5, key -> true).stream()
+                    .map(StationIndex.Neighbour::stationKey).toList());
+        }
+    }
+
+    @Test
+    void shouldReturnAllStationsWhenKExceedsIndexSize() {
+        // Given
+        StationIndex index = StationIndex.of(List.of(
+                new StationIndex.Entry(EAST, 0, 1),
+                new StationIndex.Entry(WEST, 0, -1),
+                new StationIndex.Entry(GREENWICH, 0, 0)));
+
+        // When - a k this large would not fit in memory if it were allocated as is
+        List<StationIndex.Neighbour> nearest = index.nearest(0, 0, Integer.MAX_VALUE, key -> true);
+
+        // Then
+        assertEquals(GREENWICH, nearest.get(0).stationKey());
+        assertEquals(3, nearest.size());
+    }
+
+    @Test
+    void shouldHandleEmptyIndex() {
+        assertTrue(StationIndex.empty().nearest(0, 0, 3, key -> true).isEmpty());
+        assertTrue(StationIndex.empty().withinRadius(0, 0, 100, 10).isEmpty());
+        assertNull(StationIndex.empty().find(1));
+    }
+
+    private List<StationIndex.Entry> randomEntries(Random random, int count) {
+        List<StationIndex.Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Uniform on the sphere, so polar queries are covered as well
+            double latitude = Math.toDegrees(Math.asin(random.nextDouble() * 2 - 1));
+            double longitude = random.nextDouble() * 360 - 180;
+            entries.add(new StationIndex.Entry(i + 1, latitude, longitude));
+        }
+        return entries;
+    }
+
+    private double haversineKm(double latitude, double longitude, StationIndex.Entry entry) {
+        double phi1 = Math.toRadians(latitude);
+        double phi2 = Math.toRadians(entry.latitude());
+        double dPhi = phi2 - phi1;
+        double dLambda = Math.toRadians(entry.longitude() - longitude);
+        double a = Math.pow(Math.sin(dPhi / 2), 2) + Math.cos(phi1) * Math.cos(phi2) * Math.pow(Math.sin(dLambda / 2), 2);
+        return 2 * StationIndex.EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
\ No newline at end of file
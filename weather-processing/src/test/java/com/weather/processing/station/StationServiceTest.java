@@ -0,0 +1,50 @@
+package com.weather.processing.station;
+
+import com.weather.processing.repository.StationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StationServiceTest {
+
+    @Mock
+    private StationRepository stationRepository;
+
+    @Mock
+    private StationDictionary stationDictionary;
+
+    private StationService stationService;
+
+    @BeforeEach
+    void setUp() {
+        stationService = new StationService(stationRepository, stationDictionary);
+        ReflectionTestUtils.setField(stationService, "maxNeighbours", 100);
+    }
+
+    @Test
+    void shouldRejectNeighbourCountOutsideLimit() {
+        assertThrows(IllegalArgumentException.class, () -> stationService.findNeighbours("station-1", 0));
+        assertThrows(IllegalArgumentException.class, () -> stationService.findNeighbours("station-1", 101));
+        assertThrows(IllegalArgumentException.class,
+                () -> stationService.findNeighbours("station-1", Integer.MAX_VALUE));
+        verifyNoInteractions(stationDictionary);
+    }
+
+    @Test
+    void shouldReturnNoNeighboursForUnknownStation() {
+        // Given
+        when(stationDictionary.findKey("unknown")).thenReturn(OptionalInt.empty());
+
+        // When / Then
+        assertTrue(stationService.findNeighbours("unknown", 100).isEmpty());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.weather.shared.columnar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Layout shared by {@link ColumnarObservationWriter} and {@link ColumnarObservationReader}:
+ * <pre>
+ * file      := "WCOL" version:u8 rowGroup* rows:i32(=0) totalRows:i64
+ * rowGroup  := rows:i32 minMicros:i64 maxMicros:i64 chunk{6}
+ * chunk     := rawLength:i32 deflatedLength:i32 deflated bytes
+ * </pre>
+ * Columns are station, timestamp, temperature, humidity, pressure and precipitation. Stations are a
+ * row-group dictionary followed by (index, run length) pairs, timestamps are epoch microseconds
+ * stored as zigzag varint deltas, and metrics are the XOR of each value's bits with the previous
+ * value's, which leaves mostly zero bytes for slowly changing series.
+ */
+final class ColumnEncoding {
+
+    static final byte[] MAGIC = {'W', 'C', 'O', 'L'};
+    static final int VERSION = 1;
+    static final int METRICS = 4;
+
+    private ColumnEncoding() {
+    }
+
+    static void writeChunk(DataOutputStream out, ByteArrayOutputStream raw, Deflater deflater) throws IOException {
+        byte[] input = raw.toByteArray();
+        deflater.reset();
+        deflater.setInput(input);
+        deflater.finish();
+
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream(Math.max(64, input.length / 2));
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            deflated.write(buffer, 0, deflater.deflate(buffer));
+        }
+
+        out.writeInt(input.length);
+        out.writeInt(deflated.size());
+        deflated.writeTo(out);
+    }
+
+    static ByteBuffer readChunk(DataInputStream in, Inflater inflater) throws IOException {
+        int rawLength = in.readInt();
+        int deflatedLength = in.readInt();
+        if (rawLength < 0 || deflatedLength < 0) {
+            throw new IOException("Corrupt column chunk");
+        }
+        byte[] deflated = new byte[deflatedLength];
+        in.readFully(deflated);
+
+        byte[] raw = new byte[rawLength];
+        inflater.reset();
+        inflater.setInput(deflated);
+        try {
+            int read = 0;
+            while (read < rawLength) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new EOFException("Column chunk is shorter than declared");
+                }
+                read += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt column chunk", e);
+        }
+        return ByteBuffer.wrap(raw);
+    }
+
+    static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static long readVarLong(ByteBuffer in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    static String readString(ByteBuffer in) throws IOException {
+        byte[] bytes = new byte[(int) readVarLong(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.weather.shared.columnar;
+
+import com.weather.shared.dto.WeatherDataDto;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.Inflater;
+
+/**
+ * Reads files produced by {@link ColumnarObservationWriter} one row group at a time.
+ */
+public class ColumnarObservationReader implements AutoCloseable {
+
+    private final DataInputStream in;
+    private final Inflater inflater = new Inflater();
+    private long rowsRead;
+    private boolean done;
+
+    public ColumnarObservationReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        byte[] magic = new byte[ColumnEncoding.MAGIC.length];
+        this.in.readFully(magic);
+        if (!Arrays.equals(magic, ColumnEncoding.MAGIC)) {
+            throw new IOException("Not a columnar observation file");
+        }
+        int version = this.in.readUnsignedByte();
+        if (version != ColumnEncoding.VERSION) {
+            throw new IOException("Unsupported columnar file version: " + version);
+        }
+    }
+
+    /**
+     * Returns the next row group, or {@code null} after the last one.
+     */
+    public RowGroup nextRowGroup() throws IOException {
+        if (done) {
+            return null;
+        }
+        int rows = in.readInt();
+        if (rows == 0) {
+            long totalRows = in.readLong();
+            if (totalRows != rowsRead) {
+                throw new IOException("Expected " + totalRows + " rows but read " + rowsRead);
+            }
+            done = true;
+            return null;
+        }
+        if (rows < 0) {
+            throw new IOException("Corrupt row group header");
+        }
+        long minMicros = in.readLong();
+        long maxMicros = in.readLong();
+
+        String[] stations = decodeStations(ColumnEncoding.readChunk(in, inflater), rows);
+
+        ByteBuffer timestamps = ColumnEncoding.readChunk(in, inflater);
+        long[] micros = new long[rows];
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            previous += ColumnEncoding.unzigzag(ColumnEncoding.readVarLong(timestamps));
+            micros[i] = previous;
+        }
+
+        double[][] metrics = new double[ColumnEncoding.METRICS][rows];
+        for (double[] column : metrics) {
+            ByteBuffer chunk = ColumnEncoding.readChunk(in, inflater);
+            long previousBits = 0;
+            for (int i = 0; i < rows; i++) {
+                previousBits ^= chunk.getLong();
+                column[i] = Double.longBitsToDouble(previousBits);
+            }
+        }
+
+        rowsRead += rows;
+        return new RowGroup(rows, minMicros, maxMicros, stations, micros, metrics);
+    }
+
+    public long readAll(Consumer<WeatherDataDto> action) throws IOException {
+        RowGroup group;
+        while ((group = nextRowGroup()) != null) {
+            for (int i = 0; i < group.size(); i++) {
+                action.accept(group.get(i));
+            }
+        }
+        return rowsRead;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        in.close();
+    }
+
+    private static String[] decodeStations(ByteBuffer chunk, int rows) throws IOException {
+        String[] dictionary = new String[(int) ColumnEncoding.readVarLong(chunk)];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = ColumnEncoding.readString(chunk);
+        }
+        String[] stations = new String[rows];
+        long runs = ColumnEncoding.readVarLong(chunk);
+        int row = 0;
+        for (long run = 0; run < runs; run++) {
+            String station = dictionary[(int) ColumnEncoding.readVarLong(chunk)];
+            int length = (int) ColumnEncoding.readVarLong(chunk);
+            if (row + length > rows) {
+                throw new IOException("Station runs exceed row count");
+            }
+            Arrays.fill(stations, row, row + length, station);
+            row += length;
+        }
+        return stations;
+    }
+
+    /**
+     * Decoded columns of one row group; timestamps are epoch microseconds.
+     */
+    public record RowGroup(int size, long minMicros, long maxMicros, String[] stations, long[] micros,
+                           double[][] metrics) {
+
+        public Instant timestamp(int row) {
+            return Instant.EPOCH.plusSeconds(Math.floorDiv(micros[row], 1_000_000L))
+                    .plusNanos(Math.floorMod(micros[row], 1_000_000L) * 1000);
+        }
+
+        public WeatherDataDto get(int row) {
+            return new WeatherDataDto(stations[row], timestamp(row), metrics[0][row], metrics[1][row],
+                    metrics[2][row], metrics[3][row]);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.weather.shared.columnar;
+
+import com.weather.shared.dto.WeatherDataDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Writes observations as compressed column chunks, one row group per {@code rowGroupSize} rows.
+ * Only the current row group is held in memory. Timestamps are stored with microsecond precision.
+ * The stream is not closed by {@link #finish()}.
+ */
+public class ColumnarObservationWriter {
+
+    private final DataOutputStream out;
+    private final int rowGroupSize;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+
+    private final String[] stations;
+    private final long[] micros;
+    private final double[][] metrics;
+    private int rows;
+    private long totalRows;
+    private boolean finished;
+
+    public ColumnarObservationWriter(OutputStream out, int rowGroupSize) throws IOException {
+        if (rowGroupSize <= 0) {
+            throw new IllegalArgumentException("Row group size must be positive");
+        }
+        this.out = new DataOutputStream(out);
+        this.rowGroupSize = rowGroupSize;
+        this.stations = new String[rowGroupSize];
+        this.micros = new long[rowGroupSize];
+        this.metrics = new double[ColumnEncoding.METRICS][rowGroupSize];
+
+        this.out.write(ColumnEncoding.MAGIC);
+        this.out.writeByte(ColumnEncoding.VERSION);
+    }
+
+    public void write(WeatherDataDto data) throws IOException {
+        write(data.getStationId(), data.getTimestamp(), data.getTemperature(), data.getHumidity(),
+                data.getPressure(), data.getPrecipitation());
+    }
+
+    public void write(String stationId, Instant timestamp, double temperature, double humidity, double pressure,
+                      double precipitation) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("Writer is finished");
+        }
+        stations[rows] = stationId;
+        micros[rows] = ChronoUnit.MICROS.between(Instant.EPOCH, timestamp);
+        metrics[0][rows] = temperature;
+        metrics[1][rows] = humidity;
+        metrics[2][rows] = pressure;
+        metrics[3][rows] = precipitation;
+        if (++rows == rowGroupSize) {
+            flushRowGroup();
+        }
+    }
+
+    public long getTotalRows() {
+        return totalRows + rows;
+    }
+
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        flushRowGroup();
+        out.writeInt(0);
+        out.writeLong(totalRows);
+        out.flush();
+        deflater.end();
+        finished = true;
+    }
+
+    private void flushRowGroup() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < rows; i++) {
+            min = Math.min(min, micros[i]);
+            max = Math.max(max, micros[i]);
+        }
+        out.writeInt(rows);
+        out.writeLong(min);
+        out.writeLong(max);
+
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(rows * 8);
+        encodeStations(raw);
+        ColumnEncoding.writeChunk(out, raw, deflater);
+
+        raw.reset();
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            ColumnEncoding.writeVarLong(raw, ColumnEncoding.zigzag(micros[i] - previous));
+            previous = micros[i];
+        }
+        ColumnEncoding.writeChunk(out, raw, deflater);
+
+        for (double[] column : metrics) {
+            raw.reset();
+            long previousBits = 0;
+            for (int i = 0; i < rows; i++) {
+                long bits = Double.doubleToRawLongBits(column[i]);
+                ColumnEncoding.writeLong(raw, bits ^ previousBits);
+                previousBits = bits;
+            }
+            ColumnEncoding.writeChunk(out, raw, deflater);
+        }
+
+        totalRows += rows;
+        rows = 0;
+    }
+
+    private void encodeStations(ByteArrayOutputStream column) {
+        Map<String, Integer> dictionary = new HashMap<>();
+        ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        ByteArrayOutputStream runs = new ByteArrayOutputStream();
+        int runCount = 0;
+        for (int start = 0; start < rows; ) {
+            int end = start + 1;
+            while (end < rows && stations[end].equals(stations[start])) {
+                end++;
+            }
+            Integer index = dictionary.get(stations[start]);
+            if (index == null) {
+                index = dictionary.size();
+                dictionary.put(stations[start], index);
+                ColumnEncoding.writeString(entries, stations[start]);
+            }
+            ColumnEncoding.writeVarLong(runs, index);
+            ColumnEncoding.writeVarLong(runs, end - start);
+            runCount++;
+            start = end;
+        }
+
+        ColumnEncoding.writeVarLong(column, dictionary.size());
+        column.writeBytes(entries.toByteArray());
+        ColumnEncoding.writeVarLong(column, runCount);
+        column.writeBytes(runs.toByteArray());
+    }
+}
\ No newline at end of file
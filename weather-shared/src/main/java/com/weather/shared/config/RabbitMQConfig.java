@@ -4,4 +4,11 @@ public class RabbitMQConfig {
     public static final String WEATHER_DATA_QUEUE = "weather.data.queue";
     public static final String WEATHER_DATA_EXCHANGE = "weather.data.exchange";
     public static final String WEATHER_DATA_ROUTING_KEY = "weather.data";
+    public static final String WEATHER_LIVE_EXCHANGE = "weather.live.exchange";
+    // Stations updated by one weather-processing instance, for the caches of the others.
+    public static final String WEATHER_INVALIDATION_EXCHANGE = "weather.invalidation.exchange";
+
+    // Epoch millis stamped by the gateway, used for pipeline latency metrics in processing.
+    public static final String WEATHER_RECEIVED_AT_HEADER = "x-weather-received-at";
+    public static final String WEATHER_PUBLISHED_AT_HEADER = "x-weather-published-at";
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.weather.shared.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeatherAggregateDto {
+
+    private String stationId;
+
+    private String metric;
+
+    private String window;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "UTC")
+    private Instant from;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "UTC")
+    private Instant to;
+
+    /**
+     * {@code rollup} if the buckets were computed from the hourly rollup, {@code raw} otherwise.
+     */
+    private String source;
+
+    private List<Bucket> buckets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Bucket {
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "UTC")
+        private Instant start;
+        private Long count;
+        private Double min;
+        private Double max;
+        private Double avg;
+        // Keyed like "p50" or "p99.9".
+        private Map<String, Double> percentiles;
+    }
+}
\ No newline at end of file
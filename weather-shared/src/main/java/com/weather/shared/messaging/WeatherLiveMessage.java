@@ -0,0 +1,20 @@
+package com.weather.shared.messaging;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.weather.shared.dto.WeatherForecastDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stored observation, optionally with the forecast refreshed by it, fanned out to every gateway.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WeatherLiveMessage {
+    private String stationId;
+    private WeatherMessage observation;
+    private WeatherForecastDto forecast;
+}
\ No newline at end of file
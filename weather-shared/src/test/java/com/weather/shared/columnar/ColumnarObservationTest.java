@@ -0,0 +1,105 @@
+package com.weather.shared.columnar;
+
+import com.weather.shared.dto.WeatherDataDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarObservationTest {
+
+    private static final Instant BASE = Instant.parse("2025-10-31T00:00:00Z");
+
+    @Test
+    void shouldRoundTripAcrossRowGroups() throws IOException {
+        // Given
+        List<WeatherDataDto> observations = new ArrayList<>();
+        for (int station = 1; station <= 3; station++) {
+            for (int minute = 0; minute < 100; minute++) {
+                observations.add(new WeatherDataDto("station-" + station,
+                        BASE.plus(minute, ChronoUnit.MINUTES).plusNanos(123_000), 20.0 + minute * 0.1,
+                        60.0 - station, 1013.25, minute % 10 == 0 ? 0.5 : 0.0));
+            }
+        }
+
+        // When
+        byte[] file = write(observations, 64);
+        List<WeatherDataDto> read = new ArrayList<>();
+        long rows;
+        try (ColumnarObservationReader reader = new ColumnarObservationReader(new ByteArrayInputStream(file))) {
+            rows = reader.readAll(read::add);
+        }
+
+        // Then
+        assertEquals(300, rows);
+        assertEquals(observations, read);
+    }
+
+    @Test
+    void shouldExposeRowGroupStatistics() throws IOException {
+        // Given
+        List<WeatherDataDto> observations = List.of(
+                new WeatherDataDto("station-1", BASE.plusSeconds(60), 20.0, 60.0, 1013.0, 0.0),
+                new WeatherDataDto("station-2", BASE, 21.0, 61.0, 1012.0, 0.0));
+
+        // When
+        try (ColumnarObservationReader reader = new ColumnarObservationReader(
+                new ByteArrayInputStream(write(observations, 10)))) {
+            ColumnarObservationReader.RowGroup group = reader.nextRowGroup();
+
+            // Then
+            assertEquals(2, group.size());
+            assertEquals(BASE, group.timestamp(1));
+            assertEquals(ChronoUnit.MICROS.between(Instant.EPOCH, BASE), group.minMicros());
+            assertNull(reader.nextRowGroup());
+        }
+    }
+
+    @Test
+    void shouldCompressRepetitiveSeries() throws IOException {
+        // Given
+        List<WeatherDataDto> observations = new ArrayList<>();
+        for (int minute = 0; minute < 10_000; minute++) {
+            observations.add(new WeatherDataDto("station-1", BASE.plus(minute, ChronoUnit.MINUTES),
+                    20.0, 60.0, 1013.0, 0.0));
+        }
+
+        // When
+        byte[] file = write(observations, 4096);
+
+        // Then - far below the 48 bytes per row of the raw columns
+        assertTrue(file.length < observations.size(), "file size: " + file.length);
+    }
+
+    @Test
+    void shouldRejectTruncatedFile() throws IOException {
+        // Given
+        byte[] file = write(List.of(new WeatherDataDto("station-1", BASE, 20.0, 60.0, 1013.0, 0.0)), 10);
+        byte[] truncated = Arrays.copyOf(file, file.length - 4);
+
+        // When & Then
+        try (ColumnarObservationReader reader = new ColumnarObservationReader(new ByteArrayInputStream(truncated))) {
+            assertThrows(IOException.class, () -> reader.readAll(row -> {
+            }));
+        }
+        assertThrows(IOException.class, () -> new ColumnarObservationReader(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5})));
+    }
+
+    private byte[] write(List<WeatherDataDto> observations, int rowGroupSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ColumnarObservationWriter writer = new ColumnarObservationWriter(out, rowGroupSize);
+        for (WeatherDataDto observation : observations) {
+            writer.write(observation);
+        }
+        writer.finish();
+        return out.toByteArray();
+    }
+}
\ No newline at end of file